@@ -2,7 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.assetconsumer.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetConsumerEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.NewAssetEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.UpdatedAssetEvent;
@@ -12,6 +11,7 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
@@ -136,15 +136,14 @@ public class AssetConsumerPublisher
      */
     private String getJSONPayload(AssetConsumerEvent event)
     {
-        ObjectMapper objectMapper = new ObjectMapper();
-        String       jsonString   = null;
+        String jsonString = null;
 
         /*
          * This class
          */
         try
         {
-            jsonString = objectMapper.writeValueAsString(event);
+            jsonString = OpenMetadataTopicEventMapper.writeEvent(event);
         }
         catch (Throwable  error)
         {
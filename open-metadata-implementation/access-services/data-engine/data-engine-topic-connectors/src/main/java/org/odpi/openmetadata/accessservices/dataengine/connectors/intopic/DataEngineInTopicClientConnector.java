@@ -3,12 +3,12 @@
 
 package org.odpi.openmetadata.accessservices.dataengine.connectors.intopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventHeader;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineAuditCode;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineErrorCode;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventMapper;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicSenderConnectorBase;
 
 
@@ -30,12 +30,11 @@ public class DataEngineInTopicClientConnector extends OpenMetadataTopicSenderCon
     public void sendEvent(DataEngineEventHeader event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
 
         try
         {
 
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = OpenMetadataTopicEventMapper.writeEvent(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
@@ -2,7 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.subjectarea.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.subjectarea.events.SubjectAreaEvent;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.SubjectAreaErrorCode;
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
@@ -11,6 +10,7 @@ import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -183,15 +183,14 @@ public class SubjectAreaPublisher
      */
     private String getJSONPayload(SubjectAreaEvent event)
     {
-        ObjectMapper objectMapper = new ObjectMapper();
-        String       jsonString   = null;
+        String jsonString = null;
 
         /*
          * This class
          */
         try
         {
-            jsonString = objectMapper.writeValueAsString(event);
+            jsonString = OpenMetadataTopicEventMapper.writeEvent(event);
         }
         catch (Throwable  error)
         {
@@ -0,0 +1,336 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * CSVFileLineIndex records where each line of a CSV file starts so that any run of lines can be read with a
+ * single positioned read rather than by scanning the file from the beginning.  The index is built with one pass
+ * over the file.  It is only valid for the version of the file it was built from - identified by the file's
+ * last modified time and length.
+ *
+ * Lines are counted in the same way as java.util.Scanner: the lines after the last line that contains a
+ * non-whitespace character are ignored.
+ */
+class CSVFileLineIndex
+{
+    private static final int   scanBufferSize = 64 * 1024;
+    private static final int   defaultReadBufferSize = 1024 * 1024;
+
+    private final int          readBufferSize;
+    private final long         lastModified;
+    private final long         fileLength;
+    private final Charset      charset;
+    private final FileChannel  fileChannel;
+
+    /*
+     * lineStarts[n] is the offset of the first byte of line n.  There is an extra entry after the last line
+     * that marks where it ends.
+     */
+    private long[]             lineStarts;
+    private int                lineCount = 0;
+
+
+    /**
+     * Build the index for the current version of the file.  The file is kept open until the index is closed.
+     *
+     * @param file file to index
+     * @throws IOException unable to open or read the file
+     */
+    CSVFileLineIndex(File   file) throws IOException
+    {
+        this(file, defaultReadBufferSize);
+    }
+
+
+    /**
+     * Build the index for the current version of the file, reading runs of lines in chunks of the requested size.
+     *
+     * @param file file to index
+     * @param readBufferSize maximum number of bytes read from the file in one go unless a single line is longer
+     * @throws IOException unable to open or read the file
+     */
+    CSVFileLineIndex(File   file,
+                     int    readBufferSize) throws IOException
+    {
+        this.readBufferSize = readBufferSize;
+        this.lastModified = file.lastModified();
+        this.fileLength = file.length();
+        this.charset = Charset.defaultCharset();
+        this.fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        try
+        {
+            this.buildIndex();
+        }
+        catch (IOException error)
+        {
+            fileChannel.close();
+            throw error;
+        }
+    }
+
+
+    /**
+     * Scan the file recording the start of each line.  A line ends with "\n", "\r\n" or "\r".
+     *
+     * @throws IOException unable to read the file
+     */
+    private void buildIndex() throws IOException
+    {
+        ByteBuffer buffer           = ByteBuffer.allocate(scanBufferSize);
+        long       position         = 0;
+        long       lineStart        = 0;
+        boolean    lineHasContent   = false;
+        boolean    afterReturn      = false;
+        int        linesFound       = 0;
+
+        lineStarts = new long[1024];
+
+        while (fileChannel.read(buffer, position) > 0)
+        {
+            buffer.flip();
+
+            while (buffer.hasRemaining())
+            {
+                byte character = buffer.get();
+
+                if (afterReturn)
+                {
+                    afterReturn = false;
+
+                    /*
+                     * A "\r" on its own ends the line before this character.
+                     */
+                    if (character != '\n')
+                    {
+                        linesFound = this.addLine(linesFound, lineStart, lineHasContent);
+                        lineStart = position;
+                        lineHasContent = false;
+                    }
+                }
+
+                if (character == '\r')
+                {
+                    afterReturn = true;
+                }
+                else if (character == '\n')
+                {
+                    linesFound = this.addLine(linesFound, lineStart, lineHasContent);
+                    lineStart = position + 1;
+                    lineHasContent = false;
+                }
+                else if (! this.isWhitespace(character))
+                {
+                    lineHasContent = true;
+                }
+
+                position++;
+            }
+
+            buffer.clear();
+        }
+
+        if (afterReturn || (lineStart < position))
+        {
+            linesFound = this.addLine(linesFound, lineStart, lineHasContent);
+            lineStart = position;
+        }
+
+        this.ensureCapacity(linesFound + 1);
+        lineStarts[linesFound] = lineStart;
+
+        /*
+         * The lines after the last line with content are not counted, so the end of the last counted line is
+         * the start of the line after it.
+         */
+        lineStarts = Arrays.copyOf(lineStarts, lineCount + 1);
+    }
+
+
+    /**
+     * Record the start of a line.
+     *
+     * @param lineNumber number of the line
+     * @param lineStart offset of the first byte of the line
+     * @param lineHasContent does the line contain a non-whitespace character
+     * @return number of lines found so far
+     */
+    private int addLine(int      lineNumber,
+                        long     lineStart,
+                        boolean  lineHasContent)
+    {
+        this.ensureCapacity(lineNumber + 1);
+        lineStarts[lineNumber] = lineStart;
+
+        if (lineHasContent)
+        {
+            lineCount = lineNumber + 1;
+        }
+
+        return lineNumber + 1;
+    }
+
+
+    /**
+     * Make sure the array of line starts has room for the requested number of entries.
+     *
+     * @param size number of entries needed
+     */
+    private void ensureCapacity(int   size)
+    {
+        if (size > lineStarts.length)
+        {
+            lineStarts = Arrays.copyOf(lineStarts, Math.max(size, lineStarts.length * 2));
+        }
+    }
+
+
+    /**
+     * Test for the single byte whitespace characters that java.util.Scanner skips.
+     *
+     * @param character byte from the file
+     * @return boolean flag
+     */
+    private boolean isWhitespace(byte   character)
+    {
+        return (character >= 0) && Character.isWhitespace((char)character);
+    }
+
+
+    /**
+     * Return whether this index was built from the current version of the file.
+     *
+     * @param file file to test
+     * @return boolean flag
+     */
+    boolean isCurrent(File   file)
+    {
+        return (file.lastModified() == lastModified) && (file.length() == fileLength);
+    }
+
+
+    /**
+     * Return the number of lines in the file.
+     *
+     * @return count
+     */
+    int getLineCount()
+    {
+        return lineCount;
+    }
+
+
+    /**
+     * Return a run of lines from the file without their line terminators.  The lines are read from the file with
+     * positioned reads of whole lines, each read being no bigger than the read buffer size unless a single line is
+     * bigger.  This keeps the memory used by a large request in proportion to the lines it returns.
+     *
+     * @param firstLine number of the first line to return - the first line of the file is line 0
+     * @param maximumLines maximum number of lines to return
+     * @return list of lines - empty if the first line is after the end of the file
+     * @throws IOException unable to read the file
+     */
+    List<String> readLines(int    firstLine,
+                           int    maximumLines) throws IOException
+    {
+        List<String> lines = new ArrayList<>();
+
+        if ((firstLine < 0) || (firstLine >= lineCount) || (maximumLines <= 0))
+        {
+            return lines;
+        }
+
+        int  endLine    = (int)Math.min((long)firstLine + maximumLines, lineCount);
+        int  line       = firstLine;
+
+        while (line < endLine)
+        {
+            /*
+             * Each chunk holds at least one line, and then as many of the following lines as fit in the buffer.
+             */
+            long startByte    = lineStarts[line];
+            int  chunkEndLine = line + 1;
+
+            while ((chunkEndLine < endLine) && (lineStarts[chunkEndLine + 1] - startByte <= readBufferSize))
+            {
+                chunkEndLine++;
+            }
+
+            byte[] bytes = this.readBytes(startByte, lineStarts[chunkEndLine]);
+
+            for (; line < chunkEndLine; line++)
+            {
+                int lineStart = (int)(lineStarts[line] - startByte);
+                int lineEnd   = (int)(lineStarts[line + 1] - startByte);
+
+                if ((lineEnd > lineStart) && (bytes[lineEnd - 1] == '\n'))
+                {
+                    lineEnd--;
+                }
+
+                if ((lineEnd > lineStart) && (bytes[lineEnd - 1] == '\r'))
+                {
+                    lineEnd--;
+                }
+
+                lines.add(new String(bytes, lineStart, lineEnd - lineStart, charset));
+            }
+        }
+
+        return lines;
+    }
+
+
+    /**
+     * Read a range of bytes from the file with positioned reads.
+     *
+     * @param startByte offset of the first byte to read
+     * @param endByte offset after the last byte to read
+     * @return bytes from the file
+     * @throws IOException unable to read the file or the range is too big for a single array
+     */
+    private byte[] readBytes(long   startByte,
+                             long   endByte) throws IOException
+    {
+        if (endByte - startByte > Integer.MAX_VALUE - 8)
+        {
+            throw new IOException("The line starting at byte " + startByte + " is too long to read: " + (endByte - startByte) + " bytes");
+        }
+
+        byte[]     bytes  = new byte[(int)(endByte - startByte)];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        while (buffer.hasRemaining())
+        {
+            if (fileChannel.read(buffer, startByte + buffer.position()) < 0)
+            {
+                throw new IOException("Unexpected end of file at byte " + (startByte + buffer.position()));
+            }
+        }
+
+        return bytes;
+    }
+
+
+    /**
+     * Close the file.
+     *
+     * @throws IOException problem closing the file
+     */
+    void close() throws IOException
+    {
+        fileChannel.close();
+    }
+}
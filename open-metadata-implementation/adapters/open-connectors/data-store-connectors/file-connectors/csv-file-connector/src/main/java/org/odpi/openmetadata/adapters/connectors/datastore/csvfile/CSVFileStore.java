@@ -42,8 +42,8 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned to count the records the first time it is
+     * read and again each time it changes.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -74,4 +74,20 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return a batch of consecutive data records.  The first record is record 0.  If the first line of the file is
+     * the column names then record 0 is the line following the column names.  This is more efficient than
+     * readRecord() when stepping through all of the records of a large file.
+     *
+     * @param startingRecordNumber number of the first record to return
+     * @param maximumRecords maximum number of records to return
+     * @return list of records, each a list of column values.  The list is empty if the file does not include
+     * the starting record.
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    List<List<String>> readRecords(int  startingRecordNumber,
+                                   int  maximumRecords) throws FileException, FileReadException;
 }
@@ -29,6 +29,11 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
 
+    /*
+     * The line index is built the first time a record is requested and rebuilt when the file changes.
+     */
+    private CSVFileLineIndex lineIndex = null;
+
     /*
      * Variables used for logging and debug.
      */
@@ -127,8 +132,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned to build the line index the first time it is
+     * read, and again each time it changes.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,33 +143,11 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
+        long rowCount = this.getLineIndex(methodName).getLineCount();
 
-        File fileStore = getFile(methodName);
-
-        try
+        if ((rowCount > 0) && (columnNames == null))
         {
-            Scanner scanner  = new Scanner(fileStore);
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
-            scanner.close();
-
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
-        {
-            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
-                                                                                                               error.getMessage()),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        error,
-                                        fileStoreName);
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -222,6 +205,45 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return a batch of consecutive data records.  The first record is record 0.  If the first line of the file
+     * is the column names then record 0 is the line following the column names.  The records in the batch are
+     * retrieved with a single read of the file, which makes this the efficient way to step through all of the
+     * records of a large file.
+     *
+     * @param startingRecordNumber number of the first record to return
+     * @param maximumRecords maximum number of records to return
+     * @return list of records, each a list of column values.  A record for an empty line is null.  The list is
+     * empty if the file does not include the starting record.
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file
+     */
+    public List<List<String>> readRecords(int  startingRecordNumber,
+                                          int  maximumRecords) throws FileException, FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        int firstLine = startingRecordNumber;
+
+        if (columnNames == null)
+        {
+            firstLine = startingRecordNumber + 1;
+        }
+
+        List<List<String>> records = new ArrayList<>();
+
+        if (startingRecordNumber >= 0)
+        {
+            for (String line : this.readLines(firstLine, maximumRecords, methodName))
+            {
+                records.add(parseRecord(line));
+            }
+        }
+
+        return records;
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
@@ -234,34 +256,40 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>      readRow(int     recordLocation,
                                       String  methodName) throws FileException, FileReadException
     {
+        List<String> lines = this.readLines(recordLocation, 1, methodName);
 
-        File fileStore = super.getFile(methodName);
-
-        try
+        if (lines.isEmpty())
         {
-            Scanner scanner        = new Scanner(fileStore);
-
-            int rowCounter = 0;
-            while (scanner.hasNext())
-            {
-                if (rowCounter == recordLocation)
-                {
-                    return parseRecord(scanner.nextLine());
-                }
-                else
-                {
-                    scanner.nextLine();
-                }
-                rowCounter ++;
-            }
-            scanner.close();
-
             throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
                                                                                                       Integer.toString(recordLocation)),
                                         this.getClass().getName(),
                                         methodName,
                                         fileStoreName);
+        }
+
+        return parseRecord(lines.get(0));
+    }
+
 
+    /**
+     * Return a run of lines from the file.  The first line is line 0.
+     *
+     * @param firstLine number of the first line to return
+     * @param maximumLines maximum number of lines to return
+     * @param methodName name of calling method
+     * @return list of lines; empty if the file does not include the first line
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file
+     */
+    private List<String>      readLines(int     firstLine,
+                                        int     maximumLines,
+                                        String  methodName) throws FileException, FileReadException
+    {
+        CSVFileLineIndex index = this.getLineIndex(methodName);
+
+        try
+        {
+            return index.readLines(firstLine, maximumLines);
         }
         catch (IOException  error)
         {
@@ -275,6 +303,63 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return the line index for the current version of the file.  The index is rebuilt if the file has changed
+     * since it was last built.
+     *
+     * @param methodName name of calling method
+     * @return line index
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file
+     */
+    private synchronized CSVFileLineIndex getLineIndex(String  methodName) throws FileException, FileReadException
+    {
+        File fileStore = super.getFile(methodName);
+
+        if ((lineIndex == null) || (! lineIndex.isCurrent(fileStore)))
+        {
+            this.closeLineIndex();
+
+            try
+            {
+                lineIndex = new CSVFileLineIndex(fileStore);
+            }
+            catch (IOException  error)
+            {
+                throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                                   error.getMessage()),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            error,
+                                            fileStoreName);
+            }
+        }
+
+        return lineIndex;
+    }
+
+
+    /**
+     * Close the file held open by the line index.
+     */
+    private synchronized void closeLineIndex()
+    {
+        if (lineIndex != null)
+        {
+            try
+            {
+                lineIndex.close();
+            }
+            catch (IOException  error)
+            {
+                log.debug("Ignoring unexpected exception closing " + fileStoreName + ": " + error.getMessage());
+            }
+
+            lineIndex = null;
+        }
+    }
+
+
     /**
      * Step through the record, character by character, extracting each column and enduring that escaped double quotes
      * and other tricks found in CSV files are handled.
@@ -373,6 +458,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      */
     public void disconnect()
     {
+        this.closeLineIndex();
+
         try
         {
             super.disconnect();
@@ -0,0 +1,85 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that CSVFileLineIndex returns the same lines whatever the size of the chunks it reads them in.
+ */
+public class CSVFileLineIndexTest
+{
+    private static final List<String> expectedLines = Arrays.asList("Name,Description",
+                                                                    "a,first",
+                                                                    "",
+                                                                    "b,a line that is longer than the small read buffer",
+                                                                    "c,after a return",
+                                                                    "d,after a return and a new line",
+                                                                    "e,last");
+
+    private static final String       fileContent   = "Name,Description\n" +
+                                                      "a,first\n" +
+                                                      "\n" +
+                                                      "b,a line that is longer than the small read buffer\n" +
+                                                      "c,after a return\r" +
+                                                      "d,after a return and a new line\r\n" +
+                                                      "e,last\n" +
+                                                      "  \n";
+
+
+    /**
+     * Every run of lines is the same when it is read in small chunks as when it is read in one go.
+     *
+     * @throws Exception problem in test
+     */
+    @Test public void testReadLinesInChunks() throws Exception
+    {
+        File file = File.createTempFile("CSVFileLineIndexTest", ".csv");
+
+        try
+        {
+            Files.write(file.toPath(), fileContent.getBytes(Charset.defaultCharset()));
+
+            CSVFileLineIndex wholeIndex = new CSVFileLineIndex(file);
+            CSVFileLineIndex chunkIndex = new CSVFileLineIndex(file, 16);
+
+            try
+            {
+                assertEquals(wholeIndex.getLineCount(), expectedLines.size());
+                assertEquals(chunkIndex.getLineCount(), expectedLines.size());
+
+                for (int firstLine = 0; firstLine < expectedLines.size(); firstLine++)
+                {
+                    for (int maximumLines = 1; maximumLines <= expectedLines.size() + 1; maximumLines++)
+                    {
+                        List<String> expected = expectedLines.subList(firstLine, Math.min(firstLine + maximumLines, expectedLines.size()));
+
+                        assertEquals(wholeIndex.readLines(firstLine, maximumLines), expected);
+                        assertEquals(chunkIndex.readLines(firstLine, maximumLines), expected);
+                    }
+                }
+
+                assertTrue(chunkIndex.readLines(expectedLines.size(), 1).isEmpty());
+                assertTrue(chunkIndex.readLines(0, 0).isEmpty());
+            }
+            finally
+            {
+                wholeIndex.close();
+                chunkIndex.close();
+            }
+        }
+        finally
+        {
+            assertTrue(file.delete());
+        }
+    }
+}
@@ -101,6 +101,16 @@ public class CSVFileStoreConnectorTest
             assertTrue(columnNames.size() == columns.size());
         }
 
+        List<List<String>>  records = connector.readRecords(1, 10000);
+
+        assertTrue(records.size() == connector.getRecordCount() - 1);
+        for (int i=0; i<records.size(); i++)
+        {
+            assertTrue(records.get(i).equals(connector.readRecord(i + 1)));
+        }
+
+        assertTrue(connector.readRecords(10000, 10).isEmpty());
+
         try
         {
             connector.readRecord(10000);
@@ -32,6 +32,8 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
     private final static String BOOLEAN_UC_FALSE  = "FALSE";
     private final static String BOOLEAN_LC_FALSE  = "false";
 
+    private final static int    recordBatchSize   = 1000;
+
 
 
     /**
@@ -194,32 +196,42 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
                 size = size + delimiterCount;
 
-                for (int recordNumber=0; recordNumber < recordCount ; recordNumber++)
-                {
-                    List<String>  recordValues = assetConnector.readRecord(recordNumber);
+                /*
+                 * The records are read in batches - each batch is a single read of the file.
+                 */
+                List<List<String>>  records      = assetConnector.readRecords(0, recordBatchSize);
+                int                 recordNumber = 0;
 
-                    if ((recordValues != null) && (! recordValues.isEmpty()))
+                while (! records.isEmpty())
+                {
+                    for (List<String>  recordValues : records)
                     {
-                        int columnPosition = 0;
-                        int recordLength = 0;
-
-                        for (String fieldValue : recordValues)
+                        if ((recordValues != null) && (! recordValues.isEmpty()))
                         {
-                            DataField             dataField   = dataFields.get(columnPosition);
-                            DataProfileAnnotation dataProfile = dataProfiles.get(columnPosition);
+                            int columnPosition = 0;
+                            int recordLength = 0;
 
-                            dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
+                            for (String fieldValue : recordValues)
+                            {
+                                DataField             dataField   = dataFields.get(columnPosition);
+                                DataProfileAnnotation dataProfile = dataProfiles.get(columnPosition);
 
-                            dataProfile.setValueCount(this.getValueCount(dataProfile.getValueCount(), fieldValue));
-                            dataProfile.setValueList(this.getValueList(dataProfile.getValueList(), fieldValue));
+                                dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
 
-                            recordLength = recordLength + fieldValue.length();
+                                dataProfile.setValueCount(this.getValueCount(dataProfile.getValueCount(), fieldValue));
+                                dataProfile.setValueList(this.getValueList(dataProfile.getValueList(), fieldValue));
 
-                            columnPosition++;
-                        }
+                                recordLength = recordLength + fieldValue.length();
+
+                                columnPosition++;
+                            }
 
-                        size = size + recordLength + delimiterCount;
+                            size = size + recordLength + delimiterCount;
+                        }
                     }
+
+                    recordNumber = recordNumber + records.size();
+                    records = assetConnector.readRecords(recordNumber, recordBatchSize);
                 }
 
                 for (int columnNumber=0 ; columnNumber < columnNames.size(); columnNumber++)
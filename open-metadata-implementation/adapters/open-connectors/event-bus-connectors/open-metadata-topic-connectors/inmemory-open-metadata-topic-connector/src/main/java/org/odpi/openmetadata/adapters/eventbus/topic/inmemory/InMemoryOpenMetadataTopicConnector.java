@@ -59,7 +59,7 @@ public class InMemoryOpenMetadataTopicConnector extends OpenMetadataTopicConnect
     public void sendEvent(String event)
     {
         this.putEvent(event);
-
+        super.incomingEventsAvailable();
     }
 
 
@@ -5,6 +5,7 @@ package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.errors.RetriableException;
 import org.apache.kafka.common.errors.WakeupException;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
@@ -13,7 +14,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -23,10 +27,23 @@ import java.util.concurrent.TimeUnit;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ *
+ * Events are taken from the send buffer in batches of up to max_batch_size events.  All of the events in a batch
+ * are passed to the Kafka producer before waiting for any of them to be acknowledged, which allows the Kafka
+ * producer to group (and, if configured, compress) them into a single request.  The send buffer can be given a
+ * maximum size, in which case the threads sending events wait when it is full.  If Kafka fails to send an event
+ * in a batch, that event and every event after it in the batch are retried in their original order; if they
+ * still cannot be sent, they are held and sent first once the producer has recovered.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable
 {
-    private final List<String> sendBuffer = Collections.synchronizedList(new ArrayList<>());
+    private final BlockingQueue<String> sendBuffer;
+
+    /*
+     * Events that could not be sent after the maximum number of retries.  They are sent before the events in the
+     * send buffer.  This list is only used by the producer thread.
+     */
+    private final List<String>          resendBuffer = new ArrayList<>();
 
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
 
@@ -39,6 +56,10 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     private final String   topicName;
     private final int sleepTime = 1000;
     private static final long recoverySleepTimeSec = 10L;
+    private static final long maxRetryCount = 10L;
+
+    private final int                             maxBatchSize;
+    private final long                            maxBatchDelay;
 
     private final String                          localServerId;
     private final Properties                      producerProperties;
@@ -56,14 +77,16 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      * @param topicName name of the topic to listen on.
      * @param localServerId identifier to enable receiver to identify that an event came from this server.
      * @param producerProperties properties for the consumer.
+     * @param producerConfig Egeria configuration for the producer.
      * @param connector connector holding the inbound listeners.
      * @param auditLog  audit log for this component.
      */
-    KafkaOpenMetadataEventProducer(String                          topicName,
-                                   String                          localServerId,
-                                   Properties                      producerProperties,
-                                   KafkaOpenMetadataTopicConnector connector,
-                                   AuditLog                        auditLog)
+    KafkaOpenMetadataEventProducer(String                                      topicName,
+                                   String                                      localServerId,
+                                   Properties                                  producerProperties,
+                                   KafkaOpenMetadataEventProducerConfiguration producerConfig,
+                                   KafkaOpenMetadataTopicConnector             connector,
+                                   AuditLog                                    auditLog)
     {
         this.auditLog = auditLog;
         this.topicName = topicName;
@@ -72,6 +95,20 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         this.producerProperties = producerProperties;
         this.listenerThreadName = defaultThreadName + topicName;
 
+        this.maxBatchSize = Math.max(producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_SIZE), 1);
+        this.maxBatchDelay = producerConfig.getLongProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_DELAY_MS);
+
+        int maxQueueSize = producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_QUEUE_SIZE);
+
+        if (maxQueueSize > 0)
+        {
+            this.sendBuffer = new LinkedBlockingQueue<>(maxQueueSize);
+        }
+        else
+        {
+            this.sendBuffer = new LinkedBlockingQueue<>();
+        }
+
         final String           actionDescription = "new producer";
 
         auditLog.logMessage(actionDescription,
@@ -83,77 +120,133 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
 
     /**
-     * Sends the supplied event to the topic.  It retries if Kafka is not responding.
+     * Sends the supplied events to the topic.  All of the events are passed to the Kafka producer before waiting
+     * for the results so that Kafka can send them together.  If Kafka reports a retryable error for one of the
+     * events, that event and all of the events after it are sent again in their original order.  This means the
+     * later events may be received twice, but the last copy of each event is always received in the order that
+     * the events were published.  If the events still fail after the maximum number of retries, they are kept
+     * to be sent ahead of any newer events once the producer has recovered, and an exception is thrown.
      *
-     * @param event object containing the event properties.
+     * @param events list of objects containing the event properties.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
-    private void publishEvent(String event) throws ConnectorCheckedException
+    void publishEvents(List<String> events) throws ConnectorCheckedException
     {
         final String methodName = "publishEvent";
 
-        boolean                  eventSent = false;
+        List<String>             unsentEvents = events;
         long                     eventRetryCount = 0;
 
         if (producer == null)
         {
             log.debug("Creating Producer");
-            producer = new KafkaProducer<>(producerProperties);
+            producer = createProducer();
         }
-        while (!eventSent)
+        while (! unsentEvents.isEmpty())
         {
             try
             {
-                log.debug("Sending message {0}" + event);
-                ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
-                producer.send(record).get();
-                eventSent = true;
-                messageSendCount++;
-            }
-            catch (ExecutionException error)
-            {
-                /*
-                 * This may be a simple timeout or something else more
-                 */
-                log.debug("Kafka had trouble sending event: " + event + "exception message is " + error.getMessage());
+                List<Future<RecordMetadata>> results = new ArrayList<>();
 
-                if (!isExceptionRetryable(error))
+                for (String event : unsentEvents)
                 {
-                    /* kafka thinks this isn't a retryable problem */
-                    /* so let the caller try */
-
-                    producer.close();
-                    producer = null;
-
-                    throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
-                                                                                                                                          topicName,
-                                                                                                                                          error.getMessage()),
-                                                                                                                                          this.getClass().getName(),
-                                                                                                                                          methodName,
-                                                                                                                                          error);
+                    log.debug("Sending message {0}" + event);
+                    ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
+                    results.add(producer.send(record));
                 }
-                if (eventRetryCount == 10)
+
+                /*
+                 * The results are checked in order.  The first event that Kafka failed to send is sent again,
+                 * along with every event after it, so that the events are received in the order they were
+                 * published.
+                 */
+                int                firstFailedEvent = results.size();
+                ExecutionException retryableError   = null;
+
+                for (int i = 0; i < results.size(); i++)
                 {
-                    /* we've retried now let the caller retry */
-                    producer.close();
-                    producer = null;
-                    log.error("Retryable Exception closed producer ");
-                    break;
+                    try
+                    {
+                        results.get(i).get();
+
+                        if (retryableError == null)
+                        {
+                            messageSendCount++;
+                        }
+                    }
+                    catch (ExecutionException error)
+                    {
+                        /*
+                         * This may be a simple timeout or something else more
+                         */
+                        log.debug("Kafka had trouble sending event: " + unsentEvents.get(i) + "exception message is " + error.getMessage());
+
+                        if (!isExceptionRetryable(error))
+                        {
+                            /* kafka thinks this isn't a retryable problem */
+                            /* so let the caller try */
+
+                            producer.close();
+                            producer = null;
+
+                            throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
+                                                                                                                                                  topicName,
+                                                                                                                                                  error.getMessage()),
+                                                                                                                                                  this.getClass().getName(),
+                                                                                                                                                  methodName,
+                                                                                                                                                  error);
+                        }
+
+                        if (retryableError == null)
+                        {
+                            firstFailedEvent = i;
+                            retryableError = error;
+                        }
+                    }
                 }
-                else
+
+                unsentEvents = new ArrayList<>(unsentEvents.subList(firstFailedEvent, unsentEvents.size()));
+
+                if (retryableError != null)
                 {
-                    if (eventRetryCount == 0)
+                    if (eventRetryCount == maxRetryCount)
                     {
-                        auditLog.logMessage(methodName,
-                                            KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(topicName,
-                                                                                                                                   Long.toString(messageSendCount),
-                                                                                                                                   Long.toString(this.getSendBufferSize()),
-                                                                                                                                   error.getMessage()));
+                        /*
+                         * We've retried - keep the events that are still unsent so they are sent first when
+                         * the producer recovers, and let the caller wait for the error to clear.
+                         */
+                        producer.close();
+                        producer = null;
+                        log.error("Retryable Exception closed producer with " + unsentEvents.size() + " unsent events");
+
+                        resendBuffer.addAll(0, unsentEvents);
+
+                        throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(retryableError.getClass().getName(),
+                                                                                                                                              topicName,
+                                                                                                                                              retryableError.getMessage()),
+                                                            this.getClass().getName(),
+                                                            methodName,
+                                                            retryableError);
+                    }
+                    else
+                    {
+                        if (eventRetryCount == 0)
+                        {
+                            auditLog.logMessage(methodName,
+                                                KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(topicName,
+                                                                                                                                       Long.toString(messageSendCount),
+                                                                                                                                       Long.toString(this.getSendBufferSize()),
+                                                                                                                                       retryableError.getMessage()));
+                        }
+
+                        eventRetryCount++;
                     }
-
-                    eventRetryCount++;
                 }
             }
+            catch (ConnectorCheckedException error)
+            {
+                throw error;
+            }
             catch (WakeupException error)
             {
                 log.error("Wake up for shut down " + error.toString());
@@ -177,6 +270,17 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     }
 
 
+    /**
+     * Create the Kafka producer used to send the events.
+     *
+     * @return new producer
+     */
+    Producer<String, String> createProducer()
+    {
+        return new KafkaProducer<>(producerProperties);
+    }
+
+
     /**
      * This is the method that provides the behaviour of the thread.
      */
@@ -195,25 +299,15 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         {
             try
             {
-                String bufferedEvent = this.getEvent();
-
                 /*
-                 * If there are no events waiting then sleep
+                 * Wait for an event to arrive and then send it, along with any other waiting events.
                  */
-                if (bufferedEvent == null)
-                {
-                    TimeUnit.MILLISECONDS.sleep(sleepTime);
-                }
-                else
+                List<String> bufferedEvents = this.getEvents();
+
+                while (! bufferedEvents.isEmpty())
                 {
-                    /*
-                     * Send all waiting events
-                     */
-                    while (bufferedEvent != null)
-                    {
-                        publishEvent(bufferedEvent);
-                        bufferedEvent = this.getEvent();
-                    }
+                    publishEvents(bufferedEvents);
+                    bufferedEvents = this.getEvents();
                 }
             }
             catch (InterruptedException   error)
@@ -251,13 +345,29 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
 
     /**
-     * Supports putting events to the in memory OMRS Topic
+     * Supports putting events to the in memory OMRS Topic.  If the send buffer is full, the caller waits
+     * for space, unless the producer is shutting down.
      *
      * @param newEvent  event to publish
      */
     private void putEvent(String  newEvent)
     {
-        sendBuffer.add(newEvent);
+        try
+        {
+            while (! sendBuffer.offer(newEvent, sleepTime, TimeUnit.MILLISECONDS))
+            {
+                if (! isRunning())
+                {
+                    log.error("Event discarded because the producer has stopped: " + newEvent);
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            log.error("Event discarded because the sending thread was interrupted: " + newEvent);
+            Thread.currentThread().interrupt();
+        }
     }
 
 
@@ -268,23 +378,60 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      */
     private int getSendBufferSize()
     {
-        return sendBuffer.size();
+        return sendBuffer.size() + resendBuffer.size();
     }
 
 
     /**
-     * Returns all of the events found on the in memory OMRS Topic.
+     * Returns the next batch of events to send.  Events that failed to send earlier come first.  Otherwise the
+     * batch is taken from the in memory OMRS Topic.  If there are no events, it waits
+     * a short time for one to arrive.  Once there is an event, it waits up to the maximum batch delay for the
+     * batch to fill.
      *
-     * @return list of received events.
+     * @return list of events to send - empty if none
+     * @throws InterruptedException the thread has been interrupted
      */
-    private String getEvent()
+    List<String> getEvents() throws InterruptedException
     {
-        if (sendBuffer.isEmpty())
+        if (! resendBuffer.isEmpty())
         {
-            return null;
+            List<String> events = new ArrayList<>(resendBuffer);
+
+            resendBuffer.clear();
+
+            return events;
+        }
+
+        List<String> events = new ArrayList<>();
+
+        String firstEvent = sendBuffer.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+        if (firstEvent != null)
+        {
+            events.add(firstEvent);
+            sendBuffer.drainTo(events, maxBatchSize - events.size());
+
+            if ((maxBatchDelay > 0) && (events.size() < maxBatchSize))
+            {
+                long deadline = System.currentTimeMillis() + maxBatchDelay;
+                long waitTime = maxBatchDelay;
+
+                while ((events.size() < maxBatchSize) && (waitTime > 0))
+                {
+                    String nextEvent = sendBuffer.poll(waitTime, TimeUnit.MILLISECONDS);
+
+                    if (nextEvent != null)
+                    {
+                        events.add(nextEvent);
+                        sendBuffer.drainTo(events, maxBatchSize - events.size());
+                    }
+
+                    waitTime = deadline - System.currentTimeMillis();
+                }
+            }
         }
 
-        return sendBuffer.remove(0);
+        return events;
     }
 
 
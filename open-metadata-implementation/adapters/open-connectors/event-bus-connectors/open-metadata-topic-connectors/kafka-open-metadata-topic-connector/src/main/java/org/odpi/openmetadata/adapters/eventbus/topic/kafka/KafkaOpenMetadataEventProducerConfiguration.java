@@ -0,0 +1,118 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+
+import java.util.Properties;
+
+
+/**
+ * Configuration for the {@link KafkaOpenMetadataEventProducer}
+ *
+ */
+public class KafkaOpenMetadataEventProducerConfiguration
+{
+    private final Properties properties;
+    private final AuditLog   auditLog;
+
+    KafkaOpenMetadataEventProducerConfiguration(Properties properties,
+                                                AuditLog   auditLog)
+    {
+        this.properties = properties;
+        this.auditLog = auditLog;
+    }
+
+
+    /**
+     * Gets the value of property whose value is an integer.  If the configured value is not an integer,
+     * the error is logged and the property's default value is returned.
+     *
+     * @param property property object
+     * @return property value
+     */
+    int getIntProperty(KafkaOpenMetadataEventProducerProperty property)
+    {
+        String value = getProperty(property);
+
+        try
+        {
+            return Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException error)
+        {
+            logInvalidProperty(property, value);
+
+            return Integer.parseInt(property.getDefaultValue());
+        }
+    }
+
+
+    /**
+     * Gets the value of a property whose value is a long integer.  If the configured value is not an integer,
+     * the error is logged and the property's default value is returned.
+     *
+     * @param property property object
+     * @return property value
+     */
+    long getLongProperty(KafkaOpenMetadataEventProducerProperty property)
+    {
+        String value = getProperty(property);
+
+        try
+        {
+            return Long.parseLong(value.trim());
+        }
+        catch (NumberFormatException error)
+        {
+            logInvalidProperty(property, value);
+
+            return Long.parseLong(property.getDefaultValue());
+        }
+    }
+
+
+    /**
+     * Log that a numeric property has a value that is not a number.
+     *
+     * @param property property object
+     * @param value configured value
+     */
+    private void logInvalidProperty(KafkaOpenMetadataEventProducerProperty property,
+                                    String                                 value)
+    {
+        final String actionDescription = "getProperty";
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                KafkaOpenMetadataTopicConnectorAuditCode.INVALID_PROPERTY.getMessageDefinition(property.getPropertyName(),
+                                                                                                               value,
+                                                                                                               property.getDefaultValue()));
+        }
+    }
+
+
+    /**
+     * Gets the value of a property whose value is a String.
+     *
+     * @param property property object
+     * @return property value
+     */
+    public String getProperty(KafkaOpenMetadataEventProducerProperty property)
+    {
+        String value = properties.getProperty(property.getPropertyName(), property.getDefaultValue());
+
+        if (value == null || value.trim().length() == 0)
+        {
+            final String actionDescription = "getProperty";
+
+            auditLog.logMessage(actionDescription,
+                                KafkaOpenMetadataTopicConnectorAuditCode.MISSING_PROPERTY.getMessageDefinition(property.getPropertyName()));
+
+            return property.getDefaultValue();
+        }
+
+        return value;
+    }
+}
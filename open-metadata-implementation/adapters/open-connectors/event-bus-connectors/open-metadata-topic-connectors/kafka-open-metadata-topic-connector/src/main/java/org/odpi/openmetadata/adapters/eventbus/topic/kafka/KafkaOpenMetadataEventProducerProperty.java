@@ -0,0 +1,46 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * Configurable properties for the KafkaOpenMetadataEventProducer
+ *
+ */
+public enum KafkaOpenMetadataEventProducerProperty
+{
+    /*
+     * The maximum number of events that are sent to Kafka together before waiting for Kafka to acknowledge them.
+     * A value of 1 means each event is acknowledged before the next is sent.  Larger values allow the Kafka
+     * producer to group the events into batches, and compress them if the compression.type producer property is set.
+     */
+    MAX_BATCH_SIZE("max_batch_size", "1"),
+
+    /*
+     * The time, in milliseconds, to wait for more events to arrive once the first event of a batch is available.
+     * This is only used when the max_batch_size is greater than 1.
+     */
+    MAX_BATCH_DELAY_MS("max_batch_delay_ms", "0"),
+
+    /*
+     * Controls the maximum number of events waiting to be sent to Kafka.  When this size is reached, the
+     * threads sending events wait until there is space.  A value of 0 means there is no limit.
+     */
+    MAX_QUEUE_SIZE("max_send_queue_size", "0");
+
+    private final String propertyName;
+    private final String defaultValue;
+
+    KafkaOpenMetadataEventProducerProperty(String name, String defaultValue)
+    {
+        this.propertyName = name;
+        this.defaultValue = defaultValue;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+}
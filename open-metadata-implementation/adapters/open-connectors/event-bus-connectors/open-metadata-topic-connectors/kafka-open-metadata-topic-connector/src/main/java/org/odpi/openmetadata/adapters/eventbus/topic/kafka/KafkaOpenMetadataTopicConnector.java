@@ -33,11 +33,13 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     
     private final Properties producerProperties = new Properties();
     private final Properties consumerEgeriaProperties = new Properties();
+    private final Properties producerEgeriaProperties = new Properties();
     private final Properties consumerProperties = new Properties();
 
 
     private KafkaOpenMetadataEventConsumer consumer = null;
     private KafkaOpenMetadataEventProducer producer = null;
+    private KafkaOpenMetadataEventProducerConfiguration producerConfig = null;
 
     private String       topicName          = null;
     private String       serverId           = null;
@@ -64,7 +66,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
             /* we don't care why the thread ended , we just restart it */
             /* The thread will log on exit and on restart already, so no need to let anyone know */
-            producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, KafkaOpenMetadataTopicConnector.this, auditLog);
+            producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, producerConfig, KafkaOpenMetadataTopicConnector.this, auditLog);
             producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
             executor.execute(producerThread);
         }
@@ -180,6 +182,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
             
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaConsumerPropertyName);
             copyProperties(propertiesObject, consumerEgeriaProperties);
+
+            propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaProducerPropertyName);
+            copyProperties(propertiesObject, producerEgeriaProperties);
         }
         catch (Throwable   error)
         {
@@ -256,7 +261,8 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         consumerThread = new Thread(consumer, threadHeader + "Consumer-" + topicName);
         consumerThread.start();
 
-        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, this, auditLog);
+        producerConfig = new KafkaOpenMetadataEventProducerConfiguration(producerEgeriaProperties, auditLog);
+        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, producerConfig, this, auditLog);
         producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
         executor = new KafkaProducerExecutor();
         executor.execute(producerThread);
@@ -290,8 +296,8 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     {
         List<IncomingEvent> newEvents = null;
 
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
-        // (superclass) so it should not block.
+        // This method is called from an independent thread managed by OpenMetadataTopic
+        // (superclass) whenever distributeToListeners signals new events, so it should not block.
 
         if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
         {
@@ -314,6 +320,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     {
         log.debug("distribute event to listeners" + event);
         incomingEventsList.add(event);
+        super.incomingEventsAvailable();
     }
 
 
@@ -125,7 +125,13 @@ public enum KafkaOpenMetadataTopicConnectorAuditCode implements AuditLogMessageS
             "Depending on the nature of the error, events may no longer be exchanged with the topic.",
             "Check the OMAG Server's audit log and Kafka error logs for related messages that " +
                                          "indicate the cause of this error.  Work to clear the underlying error.  " +
-                                         "Once fixed, it may be necessary to restart the server to cause a reconnect to Kafka.")
+                                         "Once fixed, it may be necessary to restart the server to cause a reconnect to Kafka."),
+
+    INVALID_PROPERTY("OCF-KAFKA-TOPIC-CONNECTOR-0018",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "Property {0} in the Kafka Event Bus configuration has value {1}, which is not a number.  The default value {2} is used instead",
+            "The connector continues to start up using the default value for the property.",
+            "Correct the value of the property in the event bus properties in the server configuration.")
     ;
 
     private final AuditLogMessageDefinition messageDefinition;
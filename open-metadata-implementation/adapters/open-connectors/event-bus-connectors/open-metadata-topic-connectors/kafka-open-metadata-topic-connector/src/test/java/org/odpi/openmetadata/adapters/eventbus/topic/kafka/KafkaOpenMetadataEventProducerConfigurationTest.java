@@ -0,0 +1,66 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.testng.annotations.Test;
+
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Validate the parsing of the numeric properties of the Kafka producer.
+ */
+public class KafkaOpenMetadataEventProducerConfigurationTest
+{
+    /**
+     * Properties that are not set take their default value.
+     */
+    @Test
+    public void testDefaults()
+    {
+        KafkaOpenMetadataEventProducerConfiguration configuration = new KafkaOpenMetadataEventProducerConfiguration(new Properties(), null);
+
+        assertEquals(configuration.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_SIZE), 1);
+        assertEquals(configuration.getLongProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_DELAY_MS), 0L);
+        assertEquals(configuration.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_QUEUE_SIZE), 0);
+    }
+
+
+    /**
+     * Numeric values are used, ignoring surrounding spaces.
+     */
+    @Test
+    public void testNumericValues()
+    {
+        Properties properties = new Properties();
+
+        properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_SIZE.getPropertyName(), "50");
+        properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_DELAY_MS.getPropertyName(), " 25 ");
+
+        KafkaOpenMetadataEventProducerConfiguration configuration = new KafkaOpenMetadataEventProducerConfiguration(properties, null);
+
+        assertEquals(configuration.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_SIZE), 50);
+        assertEquals(configuration.getLongProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_DELAY_MS), 25L);
+    }
+
+
+    /**
+     * Values that are not numbers fall back to the default value rather than failing.
+     */
+    @Test
+    public void testInvalidValues()
+    {
+        Properties properties = new Properties();
+
+        properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_SIZE.getPropertyName(), "fifty");
+        properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_DELAY_MS.getPropertyName(), "1.5");
+        properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_QUEUE_SIZE.getPropertyName(), "99999999999");
+
+        KafkaOpenMetadataEventProducerConfiguration configuration = new KafkaOpenMetadataEventProducerConfiguration(properties, null);
+
+        assertEquals(configuration.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_SIZE), 1);
+        assertEquals(configuration.getLongProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_DELAY_MS), 0L);
+        assertEquals(configuration.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_QUEUE_SIZE), 0);
+    }
+}
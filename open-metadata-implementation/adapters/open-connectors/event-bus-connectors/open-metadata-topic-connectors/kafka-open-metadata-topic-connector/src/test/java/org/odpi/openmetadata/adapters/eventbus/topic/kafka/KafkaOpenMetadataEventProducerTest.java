@@ -0,0 +1,197 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate that the events of a batch are received in the order they were published when Kafka fails to send
+ * one of them.
+ */
+public class KafkaOpenMetadataEventProducerTest
+{
+    private static final List<String> batch = Arrays.asList("event-0", "event-1", "event-2", "event-3", "event-4");
+
+
+    /**
+     * Event producer that sends the events to a fake Kafka producer.  The fake producer fails to send an event
+     * for the requested number of attempts and records the events that it sends successfully.
+     */
+    private static class TestEventProducer extends KafkaOpenMetadataEventProducer
+    {
+        private final Map<String, Integer> failureCounts;
+        private final List<String>         deliveredEvents = new ArrayList<>();
+
+
+        /**
+         * Constructor.
+         *
+         * @param failureCounts number of times each event fails to send
+         */
+        TestEventProducer(Map<String, Integer> failureCounts)
+        {
+            super("test-topic",
+                  "test-server",
+                  new Properties(),
+                  new KafkaOpenMetadataEventProducerConfiguration(new Properties(), null),
+                  null,
+                  new AuditLog(new AuditLogDestination()
+                  {
+                      @Override
+                      public void addLogRecord(AuditLogRecord logRecord)
+                      {
+                      }
+                  }, 0, "test", "test", null));
+
+            this.failureCounts = failureCounts;
+        }
+
+
+        /**
+         * Return a fake producer that completes each send immediately.
+         *
+         * @return producer
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        Producer<String, String> createProducer()
+        {
+            return (Producer<String, String>) Proxy.newProxyInstance(Producer.class.getClassLoader(),
+                                                                      new Class<?>[]{Producer.class},
+                                                                      (proxy, method, args) ->
+            {
+                if ("send".equals(method.getName()))
+                {
+                    String                    event  = ((ProducerRecord<String, String>) args[0]).value();
+                    int                       count  = failureCounts.getOrDefault(event, 0);
+                    CompletableFuture<Object> result = new CompletableFuture<>();
+
+                    if (count > 0)
+                    {
+                        failureCounts.put(event, count - 1);
+                        result.completeExceptionally(new TimeoutException("Test failure"));
+                    }
+                    else
+                    {
+                        deliveredEvents.add(event);
+                        result.complete(null);
+                    }
+
+                    return result;
+                }
+
+                return null;
+            });
+        }
+
+
+        /**
+         * Return the events that were sent successfully, in the order they were sent.
+         *
+         * @return list of events
+         */
+        List<String> getDeliveredEvents()
+        {
+            return deliveredEvents;
+        }
+    }
+
+
+    /**
+     * Return the last copy of each event in the order they were received.
+     *
+     * @param deliveredEvents events in the order they were received
+     * @return events with earlier copies removed
+     */
+    private List<String> getLastCopies(List<String> deliveredEvents)
+    {
+        List<String> lastCopies = new ArrayList<>();
+
+        for (String event : deliveredEvents)
+        {
+            lastCopies.remove(event);
+            lastCopies.add(event);
+        }
+
+        return lastCopies;
+    }
+
+
+    /**
+     * A failure in the middle of a batch sends the failed event and every event after it again, in order.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testMidBatchFailure() throws Exception
+    {
+        Map<String, Integer> failureCounts = new HashMap<>();
+
+        failureCounts.put("event-2", 1);
+
+        TestEventProducer eventProducer = new TestEventProducer(failureCounts);
+
+        eventProducer.publishEvents(batch);
+
+        assertEquals(eventProducer.getDeliveredEvents(),
+                     Arrays.asList("event-0", "event-1", "event-3", "event-4", "event-2", "event-3", "event-4"));
+        assertEquals(getLastCopies(eventProducer.getDeliveredEvents()), batch);
+    }
+
+
+    /**
+     * Events that still fail after the maximum number of retries are sent, in order, ahead of newer events once
+     * the producer has recovered.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testRetriesExhausted() throws Exception
+    {
+        Map<String, Integer> failureCounts = new HashMap<>();
+
+        failureCounts.put("event-1", 11);
+        failureCounts.put("event-3", 11);
+
+        TestEventProducer eventProducer = new TestEventProducer(failureCounts);
+
+        try
+        {
+            eventProducer.publishEvents(batch);
+            fail("Events sent despite failures");
+        }
+        catch (ConnectorCheckedException error)
+        {
+            /*
+             * Expected.
+             */
+        }
+
+        List<String> heldEvents = eventProducer.getEvents();
+
+        assertEquals(heldEvents, batch.subList(1, batch.size()));
+
+        eventProducer.publishEvents(heldEvents);
+
+        assertEquals(getLastCopies(eventProducer.getDeliveredEvents()), batch);
+    }
+}
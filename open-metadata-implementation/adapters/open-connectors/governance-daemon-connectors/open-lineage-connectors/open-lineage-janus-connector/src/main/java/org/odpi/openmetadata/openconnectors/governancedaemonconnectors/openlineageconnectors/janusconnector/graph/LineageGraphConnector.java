@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
@@ -26,7 +27,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -44,6 +49,7 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outV;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.unfold;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.GRAPH_DISCONNECT_ERROR;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.GRAPH_TRAVERSAL_EMPTY;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.PROCESS_LINEAGE_REBUILD_ERROR;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.PROCESS_MAPPING_ERROR;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ASSET_SCHEMA_TYPE;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ATTRIBUTE_FOR_SCHEMA;
@@ -79,16 +85,44 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PREFIX_ELEMENT;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PREFIX_INSTANCE_PROPERTY;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_GUID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_LINEAGE_CHANGE_ID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_RELATIONSHIP_GUID;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_NAME_PORT_TYPE;
 
 public class LineageGraphConnector extends LineageGraphConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(LineageGraphConnector.class);
+
+    /*
+     * Number of edges between a process and the columns linked to its port schemas with a lineage mapping:
+     * process - port alias - port implementation - port schema - port column - column
+     */
+    private static final int PROCESS_TO_COLUMN_DISTANCE = 5;
+    private static final int LINEAGE_RESULT_CACHE_SIZE = 500;
+    private static final int STORE_BATCH_ATTEMPTS = 3;
     private LineageGraphConnectorHelper helper;
     private GraphTraversalSource g;
     private GraphFactory graphFactory;
     private AuditLog auditLog;
+    private final LineageResultCache lineageResultCache = new LineageResultCache(LINEAGE_RESULT_CACHE_SIZE);
+
+    public LineageGraphConnector() {
+    }
+
+    /**
+     * Creates a connector on a graph that is already open. Used by the tests.
+     *
+     * @param graphFactory - The factory that opened the graph
+     * @param g            - Graph traversal object
+     * @param auditLog     - Destination for the audit log messages
+     */
+    LineageGraphConnector(GraphFactory graphFactory, GraphTraversalSource g, AuditLog auditLog) {
+        this.graphFactory = graphFactory;
+        this.g = g;
+        this.auditLog = auditLog;
+        this.helper = new LineageGraphConnectorHelper(g, graphFactory.isSupportingTransactions());
+    }
 
     /**
      * Instantiates the graph based on the configuration passed.
@@ -137,19 +171,95 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
 
     }
 
+    /**
+     * Derives the column and table lineage for the processes that have changed since the last run. A process is
+     * picked up when its lineage completed flag is not set: the flag is cleared whenever the process or one of
+     * the ports, schemas or columns around it is stored or updated, and it is missing on new processes.
+     */
     @Override
     public void schedulerTask() {
+        List<Object> processIds;
+        try {
+            processIds = g.V().has(PROPERTY_KEY_LABEL, PROCESS)
+                    .not(__.has(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, true))
+                    .id().toList();
+            if (graphFactory.isSupportingTransactions()) {
+                g.tx().commit();
+            }
+        } catch (Exception e) {
+            log.error("Something went wrong when trying to find the processes to map. The error is: ", e);
+            auditLog.logException("Something went wrong when trying to find the processes to map.", PROCESS_MAPPING_ERROR.getMessageDefinition(), e);
+            if (graphFactory.isSupportingTransactions()) {
+                g.tx().rollback();
+            }
+            return;
+        }
+
+        log.debug("Deriving the lineage of {} processes", processIds.size());
+        processIds.forEach(this::mapProcess);
+
+        if (!processIds.isEmpty()) {
+            lineageResultCache.invalidate();
+        }
+    }
+
+    /**
+     * Marks every process so that the next run of the scheduler task derives the lineage of the whole graph again.
+     *
+     * @throws OpenLineageException if the processes could not be marked
+     */
+    @Override
+    public void rebuildProcessLineage() throws OpenLineageException {
+        try {
+            markProcessesForLineageUpdate(g.V().has(PROPERTY_KEY_LABEL, PROCESS));
+            if (graphFactory.isSupportingTransactions()) {
+                g.tx().commit();
+            }
+        } catch (Exception e) {
+            log.error("Something went wrong when trying to mark the processes for a lineage rebuild. The error is: ", e);
+            if (graphFactory.isSupportingTransactions()) {
+                g.tx().rollback();
+            }
+            JanusConnectorErrorCode errorCode = PROCESS_LINEAGE_REBUILD_ERROR;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage();
+            throw new OpenLineageException(500,
+                    LineageGraphConnector.class.getName(),
+                    "rebuildProcessLineage",
+                    errorMessage,
+                    errorCode.getSystemAction(),
+                    errorCode.getUserAction(),
+                    e);
+        }
+    }
+
+    /**
+     * Derives the column and table lineage of a single process. The process is flagged as completed only once the
+     * derived nodes and edges are committed, and only if its change id is the one read before the lineage was
+     * derived. A change made to the process or its surroundings while it is being mapped sets a new change id, so
+     * the flag stays cleared and the process is picked up again by the next run. A failed mapping leaves the flag
+     * cleared.
+     *
+     * @param processId - The id of the process vertex
+     */
+    private void mapProcess(Object processId) {
         try {
-            //TODO investigate possibility of adding the PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG again
-            List<Vertex> vertices = g.V().has(PROPERTY_KEY_LABEL, PROCESS).toList();
+            Map<Object, Object> processProperties = g.V(processId)
+                    .elementMap(PROPERTY_KEY_ENTITY_GUID, PROPERTY_KEY_PROCESS_LINEAGE_CHANGE_ID).toList().get(0);
+            String guid = processProperties.get(PROPERTY_KEY_ENTITY_GUID).toString();
+            Object changeId = processProperties.get(PROPERTY_KEY_PROCESS_LINEAGE_CHANGE_ID);
 
-            List<String> guidList = vertices.stream()
-                    .map(v -> g.V(v.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID).toString())
-                    .collect(Collectors.toList());
+            findInputColumns(g, guid);
+            if (graphFactory.isSupportingTransactions()) {
+                g.tx().commit();
+            }
 
-            guidList.forEach(
-                    guid -> findInputColumns(g, guid)
-            );
+            GraphTraversal<Vertex, Vertex> unchangedProcess = g.V(processId);
+            if (changeId == null) {
+                unchangedProcess = unchangedProcess.hasNot(PROPERTY_KEY_PROCESS_LINEAGE_CHANGE_ID);
+            } else {
+                unchangedProcess = unchangedProcess.has(PROPERTY_KEY_PROCESS_LINEAGE_CHANGE_ID, changeId);
+            }
+            unchangedProcess.property(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, true).iterate();
             if (graphFactory.isSupportingTransactions()) {
                 g.tx().commit();
             }
@@ -162,6 +272,39 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         }
     }
 
+    /**
+     * Clears the lineage completed flag of the processes whose lineage may change because of an update to the given
+     * vertices. These are the processes themselves and the processes connected to them through their ports, port
+     * schemas, schema attributes and lineage mappings.
+     *
+     * @param vertexIds - The ids of the vertices that were stored or updated
+     */
+    private void markProcessesForLineageUpdate(Set<Object> vertexIds) {
+        if (vertexIds.isEmpty()) {
+            return;
+        }
+
+        markProcessesForLineageUpdate(g.V(vertexIds.toArray())
+                .union(__.identity(),
+                        __.repeat(__.both(PROCESS_PORT, PORT_DELEGATION, PORT_SCHEMA, ATTRIBUTE_FOR_SCHEMA, LINEAGE_MAPPING).dedup())
+                                .emit()
+                                .times(PROCESS_TO_COLUMN_DISTANCE))
+                .has(PROPERTY_KEY_LABEL, PROCESS)
+                .dedup());
+    }
+
+    /**
+     * Clears the lineage completed flag of the given processes and gives them a new change id, so that a mapping
+     * of the processes that is running at the same time does not flag them as completed.
+     *
+     * @param processes - The traversal to the process vertices
+     */
+    private void markProcessesForLineageUpdate(GraphTraversal<Vertex, Vertex> processes) {
+        processes.property(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, false)
+                .property(PROPERTY_KEY_PROCESS_LINEAGE_CHANGE_ID, UUID.randomUUID().toString())
+                .iterate();
+    }
+
     /**
      * Finds the paths to the input columns from all the processes in the graph.
      *
@@ -367,13 +510,95 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      */
     @Override
     public void storeToGraph(Set<GraphContext> graphContext) {
+        try {
+            Set<Object> storedVertexIds = storeBatchToGraph(graphContext);
+
+            try {
+                markProcessesForLineageUpdate(storedVertexIds);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().commit();
+                }
+            } catch (Exception e) {
+                log.error("An exception happened when trying to mark the processes affected by the stored vertices. The error is", e);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
+            }
+        } finally {
+            lineageResultCache.invalidate();
+        }
+    }
+
+    /**
+     * Stores all the graph contexts in one transaction. The batch is retried when the transaction fails, for example
+     * because of a conflict with a concurrent update. If it keeps failing, the graph contexts are stored one at a time
+     * so that a single bad graph context does not stop the others from being stored.
+     *
+     * @param graphContext - graph Collection that contains vertices and edges to be stored
+     *
+     * @return the ids of the stored vertices
+     */
+    private Set<Object> storeBatchToGraph(Set<GraphContext> graphContext) {
+        Map<String, LineageEntity> entities = getLatestEntities(graphContext);
+
+        for (int attempt = 1; attempt <= STORE_BATCH_ATTEMPTS; attempt++) {
+            try {
+                Set<Object> storedVertexIds = upsertBatchToGraph(graphContext, entities);
+
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().commit();
+                }
+                return storedVertexIds;
+            } catch (Exception e) {
+                log.debug("Attempt {} to store a batch of {} graph contexts failed", attempt, graphContext.size(), e);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
+            }
+        }
+
+        log.warn("Storing a batch of {} graph contexts failed {} times, storing them one at a time", graphContext.size(), STORE_BATCH_ATTEMPTS);
+        return storeEachToGraph(graphContext, entities);
+    }
+
+    /**
+     * Returns the entities of the graph contexts keyed by guid. When the graph contexts hold different copies of
+     * an entity, the copy with the highest version is kept; of the copies with the same version, the last one wins.
+     *
+     * @param graphContext - graph Collection that contains vertices and edges to be stored
+     *
+     * @return the entity to store for each guid, in the order the guids were first seen
+     */
+    private Map<String, LineageEntity> getLatestEntities(Set<GraphContext> graphContext) {
+        Map<String, LineageEntity> entities = new LinkedHashMap<>();
+        graphContext.forEach(entry -> {
+            addLatestEntity(entities, entry.getFromVertex());
+            addLatestEntity(entities, entry.getToVertex());
+        });
+        return entities;
+    }
+
+    private void addLatestEntity(Map<String, LineageEntity> entities, LineageEntity entity) {
+        entities.merge(entity.getGuid(), entity, (seen, next) -> next.getVersion() >= seen.getVersion() ? next : seen);
+    }
+
+    /**
+     * Stores the graph contexts one at a time, each in its own transaction
+     *
+     * @param graphContext - graph Collection that contains vertices and edges to be stored
+     * @param entities     - The entity to store for each guid
+     *
+     * @return the ids of the stored vertices
+     */
+    Set<Object> storeEachToGraph(Set<GraphContext> graphContext, Map<String, LineageEntity> entities) {
+        Set<Object> storedVertexIds = new HashSet<>();
 
         graphContext.forEach(entry -> {
             try {
-                LineageEntity fromEntity = entry.getFromVertex();
-                LineageEntity toEntity = entry.getToVertex();
+                LineageEntity fromEntity = entities.get(entry.getFromVertex().getGuid());
+                LineageEntity toEntity = entities.get(entry.getToVertex().getGuid());
 
-                upsertToGraph(fromEntity, toEntity, entry.getRelationshipType(), entry.getRelationshipGuid());
+                storedVertexIds.addAll(upsertToGraph(fromEntity, toEntity, entry.getRelationshipType(), entry.getRelationshipGuid()));
 
                 if (graphFactory.isSupportingTransactions()) {
                     g.tx().commit();
@@ -385,9 +610,50 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                 }
             }
         });
+
+        return storedVertexIds;
+    }
+
+    /**
+     * Creates or updates the vertices and relationships of a batch of graph contexts. The vertices that already
+     * exist are looked up with a single query on the guid index.
+     *
+     * @param graphContext - graph Collection that contains vertices and edges to be stored
+     * @param entities     - The entity to store for each guid
+     *
+     * @return the ids of the stored vertices
+     */
+    Set<Object> upsertBatchToGraph(Set<GraphContext> graphContext, Map<String, LineageEntity> entities) {
+        Map<String, Vertex> vertices = new HashMap<>();
+        g.V().has(PROPERTY_KEY_ENTITY_GUID, P.within(entities.keySet()))
+                .forEachRemaining(vertex -> vertices.putIfAbsent(vertex.value(PROPERTY_KEY_ENTITY_GUID), vertex));
+
+        for (LineageEntity entity : entities.values()) {
+            vertices.computeIfAbsent(entity.getGuid(),
+                    guid -> g.addV(entity.getTypeDefName()).property(PROPERTY_KEY_ENTITY_GUID, guid).next());
+        }
+
+        for (GraphContext entry : graphContext) {
+            upsertEdge(vertices.get(entry.getFromVertex().getGuid()), vertices.get(entry.getToVertex().getGuid()),
+                    entry.getRelationshipType(), entry.getRelationshipGuid());
+        }
+
+        entities.values().forEach(entity -> addOrUpdatePropertiesVertex(vertices.get(entity.getGuid()), entity));
+
+        return vertices.values().stream().map(Vertex::id).collect(Collectors.toSet());
     }
 
-    private void upsertToGraph(LineageEntity fromEntity, LineageEntity toEntity, String relationshipLabel, String relationshipGuid) {
+    /**
+     * Creates or updates two vertices and the relationship between them
+     *
+     * @param fromEntity        - The entity at the start of the relationship
+     * @param toEntity          - The entity at the end of the relationship
+     * @param relationshipLabel - The type of the relationship
+     * @param relationshipGuid  - The unique identifier of the relationship
+     *
+     * @return Return the ids of the two vertices
+     */
+    private Set<Object> upsertToGraph(LineageEntity fromEntity, LineageEntity toEntity, String relationshipLabel, String relationshipGuid) {
 
         Vertex from = g.V().has(PROPERTY_KEY_ENTITY_GUID, fromEntity.getGuid())
                 .fold()
@@ -403,15 +669,31 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                                 .property(PROPERTY_KEY_ENTITY_GUID, toEntity.getGuid()))
                 .next();
 
+        upsertEdge(from, to, relationshipLabel, relationshipGuid);
+
+        addOrUpdatePropertiesVertex(from, fromEntity);
+        addOrUpdatePropertiesVertex(to, toEntity);
+        //TODO add relationship properties -> meaning add relationship properties on AssetLineage omas event
 
+        Set<Object> vertexIds = new HashSet<>();
+        vertexIds.add(from.id());
+        vertexIds.add(to.id());
+        return vertexIds;
+    }
+
+    /**
+     * Creates the relationship between two vertices if it does not exist yet
+     *
+     * @param from              - The vertex at the start of the relationship
+     * @param to                - The vertex at the end of the relationship
+     * @param relationshipLabel - The type of the relationship
+     * @param relationshipGuid  - The unique identifier of the relationship
+     */
+    private void upsertEdge(Vertex from, Vertex to, String relationshipLabel, String relationshipGuid) {
         g.V(from.id()).as("from")
                 .V(to.id())
                 .coalesce(inE(relationshipLabel).where(outV().as("from")),
                         addE(relationshipLabel).from("from")).property(PROPERTY_KEY_RELATIONSHIP_GUID, relationshipGuid).next();
-
-        addOrUpdatePropertiesVertex(from, fromEntity);
-        addOrUpdatePropertiesVertex(to, toEntity);
-        //TODO add relationship properties -> meaning add relationship properties on AssetLineage omas event
     }
 
     /**
@@ -455,25 +737,31 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      */
     @Override
     public void updateEntity(LineageEntity lineageEntity) {
-        Iterator<Vertex> vertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, lineageEntity.getGuid());
-        if (!vertex.hasNext()) {
-            log.debug("when trying to update, vertex with guid {} was not found  ", lineageEntity.getGuid());
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().rollback();
-            }
-            return;
-        }
-
         try {
-            addOrUpdatePropertiesVertex(vertex.next(), lineageEntity);
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().commit();
+            Iterator<Vertex> vertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, lineageEntity.getGuid());
+            if (!vertex.hasNext()) {
+                log.debug("when trying to update, vertex with guid {} was not found  ", lineageEntity.getGuid());
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
+                return;
             }
-        } catch (Exception e) {
-            log.error("An exception happened during update of the properties with exception: ", e);
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().rollback();
+
+            try {
+                Vertex updatedVertex = vertex.next();
+                addOrUpdatePropertiesVertex(updatedVertex, lineageEntity);
+                markProcessesForLineageUpdate(Collections.singleton(updatedVertex.id()));
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().commit();
+                }
+            } catch (Exception e) {
+                log.error("An exception happened during update of the properties with exception: ", e);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
             }
+        } finally {
+            lineageResultCache.invalidate();
         }
     }
 
@@ -485,21 +773,25 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      */
     @Override
     public void upsertRelationship(LineageRelationship lineageRelationship) {
-
-        LineageEntity firstEnd = lineageRelationship.getSourceEntity();
-        LineageEntity secondEnd = lineageRelationship.getTargetEntity();
-
         try {
-            upsertToGraph(firstEnd, secondEnd, lineageRelationship.getTypeDefName(), lineageRelationship.getGuid());
-            addOrUpdatePropertiesEdge(lineageRelationship);
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().commit();
-            }
-        } catch (Exception e) {
-            log.debug("An exception happened during update of the properties with error:", e);
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().rollback();
+            LineageEntity firstEnd = lineageRelationship.getSourceEntity();
+            LineageEntity secondEnd = lineageRelationship.getTargetEntity();
+
+            try {
+                Set<Object> vertexIds = upsertToGraph(firstEnd, secondEnd, lineageRelationship.getTypeDefName(), lineageRelationship.getGuid());
+                addOrUpdatePropertiesEdge(lineageRelationship);
+                markProcessesForLineageUpdate(vertexIds);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().commit();
+                }
+            } catch (Exception e) {
+                log.debug("An exception happened during update of the properties with error:", e);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
             }
+        } finally {
+            lineageResultCache.invalidate();
         }
     }
 
@@ -510,25 +802,29 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      */
     @Override
     public void updateRelationship(LineageRelationship lineageRelationship) {
-        Iterator<Edge> edge = g.E().has(PROPERTY_KEY_RELATIONSHIP_GUID, lineageRelationship.getGuid());
-        if (!edge.hasNext()) {
-            log.debug("when trying to update, edge with guid {} was not found", lineageRelationship.getGuid());
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().rollback();
-            }
-            return;
-        }
-
         try {
-            addOrUpdatePropertiesEdge(lineageRelationship);
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().commit();
+            Iterator<Edge> edge = g.E().has(PROPERTY_KEY_RELATIONSHIP_GUID, lineageRelationship.getGuid());
+            if (!edge.hasNext()) {
+                log.debug("when trying to update, edge with guid {} was not found", lineageRelationship.getGuid());
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
+                return;
             }
-        } catch (Exception e) {
-            log.debug("An exception happened during update of the properties with error:", e);
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().rollback();
+
+            try {
+                addOrUpdatePropertiesEdge(lineageRelationship);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().commit();
+                }
+            } catch (Exception e) {
+                log.debug("An exception happened during update of the properties with error:", e);
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
             }
+        } finally {
+            lineageResultCache.invalidate();
         }
     }
 
@@ -539,27 +835,31 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      */
     @Override
     public void updateClassification(Set<GraphContext> classificationContext) {
-        for (GraphContext graphContext : classificationContext) {
-            String classificationGuid = graphContext.getToVertex().getGuid();
-            Iterator<Vertex> vertexIterator = g.V().has(PROPERTY_KEY_ENTITY_GUID, classificationGuid);
-            if (!vertexIterator.hasNext()) {
-                log.debug("Classification with guid {} not found", classificationGuid);
-                if (graphFactory.isSupportingTransactions()) {
-                    g.tx().rollback();
+        try {
+            for (GraphContext graphContext : classificationContext) {
+                String classificationGuid = graphContext.getToVertex().getGuid();
+                Iterator<Vertex> vertexIterator = g.V().has(PROPERTY_KEY_ENTITY_GUID, classificationGuid);
+                if (!vertexIterator.hasNext()) {
+                    log.debug("Classification with guid {} not found", classificationGuid);
+                    if (graphFactory.isSupportingTransactions()) {
+                        g.tx().rollback();
+                    }
+                    continue;
                 }
-                continue;
-            }
 
-            Vertex storedClassification = vertexIterator.next();
-            long storedClassificationVersion = (long) g.V(storedClassification.id()).elementMap(PROPERTY_KEY_ENTITY_VERSION)
-                    .toList().get(0).get(PROPERTY_KEY_ENTITY_VERSION);
-            if (storedClassificationVersion < graphContext.getToVertex().getVersion()) {
-                addOrUpdatePropertiesVertex(storedClassification, graphContext.getToVertex());
-                if (graphFactory.isSupportingTransactions()) {
-                    g.tx().commit();
+                Vertex storedClassification = vertexIterator.next();
+                long storedClassificationVersion = (long) g.V(storedClassification.id()).elementMap(PROPERTY_KEY_ENTITY_VERSION)
+                        .toList().get(0).get(PROPERTY_KEY_ENTITY_VERSION);
+                if (storedClassificationVersion < graphContext.getToVertex().getVersion()) {
+                    addOrUpdatePropertiesVertex(storedClassification, graphContext.getToVertex());
+                    if (graphFactory.isSupportingTransactions()) {
+                        g.tx().commit();
+                    }
+                    break;
                 }
-                break;
             }
+        } finally {
+            lineageResultCache.invalidate();
         }
     }
 
@@ -570,74 +870,85 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      */
     @Override
     public void deleteClassification(Set<GraphContext> classificationContext) {
-
-        for (GraphContext context : classificationContext) {
-            Graph entityAndClassificationsGraph = (Graph) g.V().has(PROPERTY_KEY_ENTITY_GUID, context.getFromVertex().getGuid())
-                    .bothE(EDGE_LABEL_CLASSIFICATION).subgraph("s").cap("s").next();
-
-            Iterator<Edge> edges = entityAndClassificationsGraph.edges();
-
-            while (edges.hasNext()) {
-                Edge edge = edges.next();
-                String storedClassificationGuid =
-                        (String) g.E(edge.id()).inV().elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID);
-
-                if (context.getToVertex().getGuid().equals(storedClassificationGuid)) {
-                    try {
-                        g.V().has(PROPERTY_KEY_ENTITY_GUID, storedClassificationGuid).drop();
-                        g.E(edge.id()).drop();
-                        if (graphFactory.isSupportingTransactions()) {
-                            g.tx().commit();
-                        }
-                        break;
-                    } catch (Exception e) {
-                        log.debug("An exception happened during delete of classifications with error:", e);
-                        if (graphFactory.isSupportingTransactions()) {
-                            g.tx().rollback();
+        try {
+            for (GraphContext context : classificationContext) {
+                Graph entityAndClassificationsGraph = (Graph) g.V().has(PROPERTY_KEY_ENTITY_GUID, context.getFromVertex().getGuid())
+                        .bothE(EDGE_LABEL_CLASSIFICATION).subgraph("s").cap("s").next();
+
+                Iterator<Edge> edges = entityAndClassificationsGraph.edges();
+
+                while (edges.hasNext()) {
+                    Edge edge = edges.next();
+                    String storedClassificationGuid =
+                            (String) g.E(edge.id()).inV().elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID);
+
+                    if (context.getToVertex().getGuid().equals(storedClassificationGuid)) {
+                        try {
+                            g.V().has(PROPERTY_KEY_ENTITY_GUID, storedClassificationGuid).drop();
+                            g.E(edge.id()).drop();
+                            if (graphFactory.isSupportingTransactions()) {
+                                g.tx().commit();
+                            }
+                            break;
+                        } catch (Exception e) {
+                            log.debug("An exception happened during delete of classifications with error:", e);
+                            if (graphFactory.isSupportingTransactions()) {
+                                g.tx().rollback();
+                            }
                         }
-                    }
 
+                    }
                 }
             }
+        } finally {
+            lineageResultCache.invalidate();
         }
     }
 
     @Override
     public void deleteEntity(String guid, Object version) {
-        Iterator<Vertex> vertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).has(PROPERTY_KEY_ENTITY_VERSION, version);
+        try {
+            Iterator<Vertex> vertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).has(PROPERTY_KEY_ENTITY_VERSION, version);
 
-        //TODO add check when we will have classifications to delete classifications first
-        if (!vertex.hasNext()) {
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().rollback();
+            //TODO add check when we will have classifications to delete classifications first
+            if (!vertex.hasNext()) {
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
+                log.debug("Vertex with guid did not delete {}", guid);
+                return;
             }
-            log.debug("Vertex with guid did not delete {}", guid);
-            return;
-        }
 
-        g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).drop();
-        if (graphFactory.isSupportingTransactions()) {
-            g.tx().commit();
+            g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).drop();
+            if (graphFactory.isSupportingTransactions()) {
+                g.tx().commit();
+            }
+            log.debug("Vertex with guid {} deleted", guid);
+        } finally {
+            lineageResultCache.invalidate();
         }
-        log.debug("Vertex with guid {} deleted", guid);
     }
 
     @Override
     public void deleteRelationship(String guid) {
-        Iterator<Edge> edge = g.E().has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
-        if (!edge.hasNext()) {
-            if (graphFactory.isSupportingTransactions()) {
-                g.tx().rollback();
+        try {
+            Iterator<Edge> edge = g.E().has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
+            if (!edge.hasNext()) {
+                if (graphFactory.isSupportingTransactions()) {
+                    g.tx().rollback();
+                }
+                log.debug("Edge with guid did not delete {}", guid);
+                return;
             }
-            log.debug("Edge with guid did not delete {}", guid);
-            return;
-        }
 
-        g.E(edge.next().id()).drop();
-        if (graphFactory.isSupportingTransactions()) {
-            g.tx().commit();
+            g.E(edge.next().id()).drop();
+            if (graphFactory.isSupportingTransactions()) {
+                g.tx().commit();
+            }
+            log.debug("Edge with guid {} deleted", guid);
+        } finally {
+            lineageResultCache.invalidate();
         }
-        log.debug("Edge with guid {} deleted", guid);
     }
 
     /**
@@ -743,11 +1054,40 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      * {@inheritDoc}
      */
     public LineageResponse lineage(Scope scope, String guid, String displayNameMustContain, boolean includeProcesses) {
-        GraphTraversal<Vertex, Vertex> vertexGraphTraversal = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid);
-        if (!vertexGraphTraversal.hasNext()) {
-            return new LineageResponse();
+        Optional<LineageVerticesAndEdges> lineageVerticesAndEdges =
+                Optional.ofNullable(lineageResultCache.get(scope, guid, includeProcesses));
+
+        if (!lineageVerticesAndEdges.isPresent()) {
+            long cacheGeneration = lineageResultCache.getGeneration();
+
+            GraphTraversal<Vertex, Vertex> vertexGraphTraversal = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid);
+            if (!vertexGraphTraversal.hasNext()) {
+                return new LineageResponse();
+            }
+
+            lineageVerticesAndEdges = queryLineage(scope, guid, includeProcesses);
+            if (lineageVerticesAndEdges.isPresent()) {
+                lineageResultCache.put(scope, guid, includeProcesses, lineageVerticesAndEdges.get(), cacheGeneration);
+            }
         }
 
+        if (lineageVerticesAndEdges.isPresent() && !displayNameMustContain.isEmpty()) {
+            helper.filterDisplayName(lineageVerticesAndEdges.get(), displayNameMustContain);
+        }
+
+        return new LineageResponse(lineageVerticesAndEdges.orElse(null));
+    }
+
+    /**
+     * Runs a lineage query against the graph.
+     *
+     * @param scope            the scope of the query
+     * @param guid             the guid of the queried node
+     * @param includeProcesses whether processes are included in the result
+     *
+     * @return the lineage of the node, if the scope applies to it
+     */
+    private Optional<LineageVerticesAndEdges> queryLineage(Scope scope, String guid, boolean includeProcesses) {
         Optional<LineageVerticesAndEdges> lineageVerticesAndEdges = Optional.empty();
 
         switch (scope) {
@@ -767,11 +1107,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                 lineageVerticesAndEdges = helper.verticalLineage(guid);
                 break;
         }
-        if (lineageVerticesAndEdges.isPresent() && !displayNameMustContain.isEmpty()) {
-            helper.filterDisplayName(lineageVerticesAndEdges.get(), displayNameMustContain);
-        }
-
-        return new LineageResponse(lineageVerticesAndEdges.orElse(null));
+        return lineageVerticesAndEdges;
     }
 
 
@@ -127,15 +127,17 @@ public class LineageGraphConnectorHelper {
         List<Vertex> sourcesList = null;
 
         try {
+            // Each vertex is expanded once: dedup() rather than simplePath() keeps the traversal linear in the size
+            // of the lineage instead of following every path through it
             sourceGraph = (Graph)
                     g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
                             until(inE(edgeLabel).count().is(0)).
-                            repeat((Traversal) inE(edgeLabel).subgraph("subGraph").outV().simplePath()).
+                            repeat((Traversal) inE(edgeLabel).subgraph("subGraph").outV().dedup()).
                             cap("subGraph").next();
 
             sourcesList = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
                     until(inE(edgeLabel).count().is(0)).
-                    repeat(inE(edgeLabel).outV().simplePath()).
+                    repeat(inE(edgeLabel).outV().dedup()).
                     dedup().toList();
 
             commitTransaction();
@@ -172,12 +174,12 @@ public class LineageGraphConnectorHelper {
             destinationGraph = (Graph)
                     g.V().has(PROPERTY_KEY_ENTITY_GUID, guid)
                             .until(outE(edgeLabel).count().is(0))
-                            .repeat((Traversal) outE(edgeLabel).subgraph("subGraph").inV().simplePath())
+                            .repeat((Traversal) outE(edgeLabel).subgraph("subGraph").inV().dedup())
                             .cap("subGraph").next();
 
             destinationsList = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
                     until(outE(edgeLabel).count().is(0)).
-                    repeat(outE(edgeLabel).inV().simplePath()).
+                    repeat(outE(edgeLabel).inV().dedup()).
                     dedup().toList();
 
             commitTransaction();
@@ -215,9 +217,9 @@ public class LineageGraphConnectorHelper {
                     g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
                             union(
                                     until(inE(edgeLabel).count().is(0)).
-                                            repeat((Traversal) inE(edgeLabel).subgraph("subGraph").outV().simplePath()),
+                                            repeat((Traversal) inE(edgeLabel).subgraph("subGraph").outV().dedup()),
                                     until(outE(edgeLabel).count().is(0)).
-                                            repeat((Traversal) outE(edgeLabel).subgraph("subGraph").inV().simplePath())
+                                            repeat((Traversal) outE(edgeLabel).subgraph("subGraph").inV().dedup())
                             ).cap("subGraph").next();
 
             commitTransaction();
@@ -0,0 +1,133 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageEdge;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Bounded cache of lineage query results, keyed by the queried guid, the scope and whether processes are included.
+ * The least recently used result is evicted when the cache is full.
+ *
+ * The whole cache is invalidated whenever the lineage graph changes, once the change has been committed (or rolled
+ * back). Every invalidation moves the cache to a new generation, and a result is only added if the cache is still at
+ * the generation it had when the query started. This stops a query that overlaps with a change to the graph from
+ * caching a result that is already out of date: a query that started before the commit completed has an older
+ * generation, whether it read the graph before or after the commit.
+ */
+class LineageResultCache {
+
+    private final int maxSize;
+    private final Map<Key, LineageVerticesAndEdges> results;
+    private long generation = 0;
+
+    /**
+     * @param maxSize the maximum number of results that are kept
+     */
+    LineageResultCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.results = new LinkedHashMap<Key, LineageVerticesAndEdges>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, LineageVerticesAndEdges> eldest) {
+                return size() > LineageResultCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the current generation of the cache. This is passed to {@link #put} once the query completes.
+     *
+     * @return the generation
+     */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns a copy of a cached result so that the caller can filter it without changing the cached result.
+     *
+     * @param scope            the scope of the query
+     * @param guid             the guid of the queried node
+     * @param includeProcesses whether processes are included in the result
+     *
+     * @return a copy of the cached result or null if the result is not cached
+     */
+    synchronized LineageVerticesAndEdges get(Scope scope, String guid, boolean includeProcesses) {
+        LineageVerticesAndEdges result = results.get(new Key(scope, guid, includeProcesses));
+        if (result == null) {
+            return null;
+        }
+        return copy(result);
+    }
+
+    /**
+     * Caches a copy of a result, unless the graph has changed since the query started.
+     *
+     * @param scope            the scope of the query
+     * @param guid             the guid of the queried node
+     * @param includeProcesses whether processes are included in the result
+     * @param result           the result of the query
+     * @param queryGeneration  the generation of the cache when the query started
+     */
+    synchronized void put(Scope scope, String guid, boolean includeProcesses, LineageVerticesAndEdges result, long queryGeneration) {
+        if (maxSize <= 0 || result == null || queryGeneration != generation) {
+            return;
+        }
+        results.put(new Key(scope, guid, includeProcesses), copy(result));
+    }
+
+    /**
+     * Removes all of the cached results. Called whenever the lineage graph changes.
+     */
+    synchronized void invalidate() {
+        generation++;
+        results.clear();
+    }
+
+    private LineageVerticesAndEdges copy(LineageVerticesAndEdges result) {
+        Set<LineageVertex> lineageVertices = result.getLineageVertices() == null ? null : new LinkedHashSet<>(result.getLineageVertices());
+        Set<LineageEdge> lineageEdges = result.getLineageEdges() == null ? null : new LinkedHashSet<>(result.getLineageEdges());
+        return new LineageVerticesAndEdges(lineageVertices, lineageEdges);
+    }
+
+    /**
+     * Identifies a lineage query.
+     */
+    private static class Key {
+
+        private final Scope scope;
+        private final String guid;
+        private final boolean includeProcesses;
+
+        private Key(Scope scope, String guid, boolean includeProcesses) {
+            this.scope = scope;
+            this.guid = guid;
+            this.includeProcesses = includeProcesses;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return includeProcesses == key.includeProcesses && scope == key.scope && Objects.equals(guid, key.guid);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, guid, includeProcesses);
+        }
+    }
+}
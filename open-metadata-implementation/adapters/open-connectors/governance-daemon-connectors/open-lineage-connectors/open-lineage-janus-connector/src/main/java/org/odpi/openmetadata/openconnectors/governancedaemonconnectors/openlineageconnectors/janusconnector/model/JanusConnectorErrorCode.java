@@ -114,7 +114,12 @@ public enum JanusConnectorErrorCode implements AuditLogMessageSet {
             OMRSAuditLogRecordSeverity.EXCEPTION,
             "There is an already index with this name in the open metadata repository",
             "The system is unable to create an index with the name because it already exists.",
-            "Correct the index name.");
+            "Correct the index name."),
+    PROCESS_LINEAGE_REBUILD_ERROR( "OPEN-LINEAGE-SERVICES-021",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "The processes could not be marked for a rebuild of their lineage",
+            "The system was unable to clear the lineage completed flag of the processes in the lineage graph.",
+            "Check that the lineage graph is available and retry the request.");
 
 
     private static final Logger log = LoggerFactory.getLogger(JanusConnectorErrorCode.class);
@@ -0,0 +1,286 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.factory.GraphFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ATTRIBUTE_FOR_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.LINEAGE_MAPPING;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_DELEGATION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_IMPLEMENTATION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS_PORT;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_COLUMN;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_SCHEMA_TYPE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_VERSION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_INSTANCEPROP_DISPLAY_NAME;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG;
+
+public class LineageGraphConnectorTest {
+
+    private static final String PORT_ALIAS = "PortAlias";
+
+    private JanusGraph graph;
+    private GraphTraversalSource g;
+    private LineageGraphConnector connector;
+
+    @BeforeEach
+    public void setUp() {
+        graph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        g = graph.traversal();
+
+        GraphFactory graphFactory = mock(GraphFactory.class);
+        when(graphFactory.isSupportingTransactions()).thenReturn(true);
+
+        connector = new LineageGraphConnector(graphFactory, g, mock(AuditLog.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        graph.close();
+    }
+
+    /**
+     * Stores two processes whose port columns are linked with a lineage mapping, and a process that is not
+     * connected to them:
+     * p1 - a1 - i1 - s1 - c1 - c2 - s2 - i2 - a2 - p2, and p3 - a3
+     */
+    private void storeProcesses() {
+        Set<GraphContext> graphContexts = new LinkedHashSet<>();
+        graphContexts.add(getGraphContext(PROCESS_PORT, "p1", PROCESS, "a1", PORT_ALIAS));
+        graphContexts.add(getGraphContext(PORT_DELEGATION, "a1", PORT_ALIAS, "i1", PORT_IMPLEMENTATION));
+        graphContexts.add(getGraphContext(PORT_SCHEMA, "i1", PORT_IMPLEMENTATION, "s1", TABULAR_SCHEMA_TYPE));
+        graphContexts.add(getGraphContext(ATTRIBUTE_FOR_SCHEMA, "s1", TABULAR_SCHEMA_TYPE, "c1", TABULAR_COLUMN));
+        graphContexts.add(getGraphContext(LINEAGE_MAPPING, "c1", TABULAR_COLUMN, "c2", TABULAR_COLUMN));
+        graphContexts.add(getGraphContext(ATTRIBUTE_FOR_SCHEMA, "s2", TABULAR_SCHEMA_TYPE, "c2", TABULAR_COLUMN));
+        graphContexts.add(getGraphContext(PORT_SCHEMA, "i2", PORT_IMPLEMENTATION, "s2", TABULAR_SCHEMA_TYPE));
+        graphContexts.add(getGraphContext(PORT_DELEGATION, "a2", PORT_ALIAS, "i2", PORT_IMPLEMENTATION));
+        graphContexts.add(getGraphContext(PROCESS_PORT, "p2", PROCESS, "a2", PORT_ALIAS));
+        connector.storeToGraph(graphContexts);
+
+        connector.storeToGraph(Collections.singleton(getGraphContext(PROCESS_PORT, "p3", PROCESS, "a3", PORT_ALIAS)));
+    }
+
+    @Test
+    public void storedProcessesAreMappedByTheSchedulerTask() {
+        storeProcesses();
+
+        assertFalse(isLineageCompleted("p1"));
+        assertFalse(isLineageCompleted("p2"));
+        assertFalse(isLineageCompleted("p3"));
+
+        connector.schedulerTask();
+
+        assertTrue(isLineageCompleted("p1"));
+        assertTrue(isLineageCompleted("p2"));
+        assertTrue(isLineageCompleted("p3"));
+    }
+
+    @Test
+    public void updateMarksOnlyTheConnectedProcesses() {
+        storeProcesses();
+        connector.schedulerTask();
+
+        connector.updateEntity(getEntity("c1", TABULAR_COLUMN));
+
+        assertFalse(isLineageCompleted("p1"));
+        assertFalse(isLineageCompleted("p2"));
+        assertTrue(isLineageCompleted("p3"));
+
+        connector.schedulerTask();
+
+        assertTrue(isLineageCompleted("p1"));
+        assertTrue(isLineageCompleted("p2"));
+        assertTrue(isLineageCompleted("p3"));
+    }
+
+    @Test
+    public void updateOfAProcessMarksTheProcess() {
+        storeProcesses();
+        connector.schedulerTask();
+
+        connector.updateEntity(getEntity("p3", PROCESS));
+
+        assertTrue(isLineageCompleted("p1"));
+        assertTrue(isLineageCompleted("p2"));
+        assertFalse(isLineageCompleted("p3"));
+    }
+
+    @Test
+    public void rebuildMarksEveryProcess() throws Exception {
+        storeProcesses();
+        connector.schedulerTask();
+
+        connector.rebuildProcessLineage();
+
+        assertFalse(isLineageCompleted("p1"));
+        assertFalse(isLineageCompleted("p2"));
+        assertFalse(isLineageCompleted("p3"));
+
+        connector.schedulerTask();
+
+        assertTrue(isLineageCompleted("p1"));
+        assertTrue(isLineageCompleted("p2"));
+        assertTrue(isLineageCompleted("p3"));
+    }
+
+    @Test
+    public void batchStoresOneVertexForEachEntity() {
+        storeProcesses();
+
+        assertEquals(12L, countVertices());
+        assertEquals(1L, countVertices("c1"));
+        assertEquals(1L, countVertices("c2"));
+        assertEquals(2L, g.V().has(PROPERTY_KEY_ENTITY_GUID, "c1").bothE().count().next());
+        g.tx().commit();
+    }
+
+    @Test
+    public void batchStoresTheLatestCopyOfEachEntity() {
+        Set<GraphContext> graphContexts = new LinkedHashSet<>();
+        graphContexts.add(new GraphContext(ATTRIBUTE_FOR_SCHEMA, "s1-c1",
+                getEntity("s1", TABULAR_SCHEMA_TYPE), getEntity("c1", TABULAR_COLUMN, 2L, "newer")));
+        graphContexts.add(new GraphContext(LINEAGE_MAPPING, "c1-c2",
+                getEntity("c1", TABULAR_COLUMN, 1L, "older"), getEntity("c2", TABULAR_COLUMN, 1L, "first")));
+        graphContexts.add(new GraphContext(ATTRIBUTE_FOR_SCHEMA, "s2-c2",
+                getEntity("s2", TABULAR_SCHEMA_TYPE), getEntity("c2", TABULAR_COLUMN, 1L, "last")));
+
+        connector.storeToGraph(graphContexts);
+
+        assertEquals(4L, countVertices());
+        assertEquals("newer", getVertexProperty("c1", PROPERTY_KEY_INSTANCEPROP_DISPLAY_NAME));
+        assertEquals(2L, getVertexProperty("c1", PROPERTY_KEY_ENTITY_VERSION));
+        assertEquals("last", getVertexProperty("c2", PROPERTY_KEY_INSTANCEPROP_DISPLAY_NAME));
+    }
+
+    @Test
+    public void failedBatchIsRetried() {
+        LineageGraphConnector spyConnector = spy(connector);
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new IllegalStateException("Conflicting update");
+        }).doCallRealMethod().when(spyConnector).upsertBatchToGraph(any(), any());
+        connector = spyConnector;
+
+        storeProcesses();
+
+        verify(spyConnector, times(3)).upsertBatchToGraph(any(), any());
+        verify(spyConnector, never()).storeEachToGraph(any(), any());
+        assertEquals(12L, countVertices());
+        assertEquals(1L, countVertices("c1"));
+        assertFalse(isLineageCompleted("p1"));
+    }
+
+    @Test
+    public void batchThatKeepsFailingIsStoredOneAtATime() {
+        LineageGraphConnector spyConnector = spy(connector);
+        doThrow(new IllegalStateException("Conflicting update")).when(spyConnector).upsertBatchToGraph(any(), any());
+        connector = spyConnector;
+
+        storeProcesses();
+
+        verify(spyConnector, times(6)).upsertBatchToGraph(any(), any());
+        verify(spyConnector, times(2)).storeEachToGraph(any(), any());
+        assertEquals(12L, countVertices());
+        assertEquals(1L, countVertices("c1"));
+
+        connector.schedulerTask();
+
+        assertTrue(isLineageCompleted("p1"));
+        assertTrue(isLineageCompleted("p2"));
+        assertTrue(isLineageCompleted("p3"));
+    }
+
+    @Test
+    public void badGraphContextDoesNotStopTheOthers() {
+        LineageEntity badEntity = getEntity("bad", TABULAR_COLUMN);
+        badEntity.setProperties(null);
+
+        Set<GraphContext> graphContexts = new LinkedHashSet<>();
+        graphContexts.add(getGraphContext(PROCESS_PORT, "p1", PROCESS, "a1", PORT_ALIAS));
+        graphContexts.add(new GraphContext(ATTRIBUTE_FOR_SCHEMA, "s1-bad", getEntity("s1", TABULAR_SCHEMA_TYPE), badEntity));
+        graphContexts.add(getGraphContext(PORT_DELEGATION, "a1", PORT_ALIAS, "i1", PORT_IMPLEMENTATION));
+
+        connector.storeToGraph(graphContexts);
+
+        assertEquals(1L, countVertices("p1"));
+        assertEquals(1L, countVertices("a1"));
+        assertEquals(1L, countVertices("i1"));
+        assertEquals(0L, countVertices("s1"));
+        assertEquals(0L, countVertices("bad"));
+    }
+
+    private long countVertices() {
+        long count = g.V().count().next();
+        g.tx().commit();
+        return count;
+    }
+
+    private long countVertices(String guid) {
+        long count = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).count().next();
+        g.tx().commit();
+        return count;
+    }
+
+    private Object getVertexProperty(String guid, String propertyKey) {
+        Object value = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).values(propertyKey).next();
+        g.tx().commit();
+        return value;
+    }
+
+    private boolean isLineageCompleted(String guid) {
+        Optional<Object> flag = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).values(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG).tryNext();
+        g.tx().commit();
+        return flag.isPresent() && Boolean.TRUE.equals(flag.get());
+    }
+
+    private GraphContext getGraphContext(String relationshipType, String fromGuid, String fromType, String toGuid, String toType) {
+        return new GraphContext(relationshipType, fromGuid + "-" + toGuid, getEntity(fromGuid, fromType), getEntity(toGuid, toType));
+    }
+
+    private LineageEntity getEntity(String guid, String typeDefName) {
+        return getEntity(guid, typeDefName, 1L, guid);
+    }
+
+    private LineageEntity getEntity(String guid, String typeDefName, long version, String displayName) {
+        LineageEntity entity = new LineageEntity();
+        entity.setGuid(guid);
+        entity.setTypeDefName(typeDefName);
+        entity.setVersion(version);
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("displayName", displayName);
+        entity.setProperties(properties);
+        return entity;
+    }
+}
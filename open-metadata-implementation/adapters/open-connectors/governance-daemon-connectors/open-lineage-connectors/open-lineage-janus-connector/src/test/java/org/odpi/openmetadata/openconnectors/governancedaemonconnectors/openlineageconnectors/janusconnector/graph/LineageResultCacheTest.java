@@ -0,0 +1,106 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageEdge;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LineageResultCacheTest {
+
+    private static final String GUID = "guid1";
+    private static final String OTHER_GUID = "guid2";
+    private static final String THIRD_GUID = "guid3";
+
+    @Test
+    public void resultIsReturnedUntilInvalidated() {
+        LineageResultCache cache = new LineageResultCache(10);
+
+        assertNull(cache.get(Scope.END_TO_END, GUID, true));
+
+        cache.put(Scope.END_TO_END, GUID, true, getResult("v1", "v2"), cache.getGeneration());
+
+        LineageVerticesAndEdges cached = cache.get(Scope.END_TO_END, GUID, true);
+        assertNotNull(cached);
+        assertEquals(getResult("v1", "v2").getLineageVertices(), cached.getLineageVertices());
+
+        cache.invalidate();
+
+        assertNull(cache.get(Scope.END_TO_END, GUID, true));
+    }
+
+    @Test
+    public void resultsAreKeyedByScopeGuidAndProcesses() {
+        LineageResultCache cache = new LineageResultCache(10);
+
+        cache.put(Scope.END_TO_END, GUID, true, getResult("v1"), cache.getGeneration());
+
+        assertNull(cache.get(Scope.ULTIMATE_SOURCE, GUID, true));
+        assertNull(cache.get(Scope.END_TO_END, OTHER_GUID, true));
+        assertNull(cache.get(Scope.END_TO_END, GUID, false));
+        assertNotNull(cache.get(Scope.END_TO_END, GUID, true));
+    }
+
+    @Test
+    public void resultOfQueryThatOverlapsAChangeIsNotCached() {
+        LineageResultCache cache = new LineageResultCache(10);
+
+        long queryGeneration = cache.getGeneration();
+        cache.invalidate();
+        cache.put(Scope.END_TO_END, GUID, true, getResult("v1"), queryGeneration);
+
+        assertNull(cache.get(Scope.END_TO_END, GUID, true));
+    }
+
+    @Test
+    public void changingAReturnedResultDoesNotChangeTheCache() {
+        LineageResultCache cache = new LineageResultCache(10);
+        LineageVerticesAndEdges result = getResult("v1", "v2");
+
+        cache.put(Scope.END_TO_END, GUID, true, result, cache.getGeneration());
+        result.getLineageVertices().clear();
+        cache.get(Scope.END_TO_END, GUID, true).getLineageVertices().clear();
+
+        assertEquals(2, cache.get(Scope.END_TO_END, GUID, true).getLineageVertices().size());
+    }
+
+    @Test
+    public void leastRecentlyUsedResultIsEvicted() {
+        LineageResultCache cache = new LineageResultCache(2);
+
+        cache.put(Scope.END_TO_END, GUID, true, getResult("v1"), cache.getGeneration());
+        cache.put(Scope.END_TO_END, OTHER_GUID, true, getResult("v2"), cache.getGeneration());
+        cache.get(Scope.END_TO_END, GUID, true);
+        cache.put(Scope.END_TO_END, THIRD_GUID, true, getResult("v3"), cache.getGeneration());
+
+        assertNotNull(cache.get(Scope.END_TO_END, GUID, true));
+        assertNull(cache.get(Scope.END_TO_END, OTHER_GUID, true));
+        assertNotNull(cache.get(Scope.END_TO_END, THIRD_GUID, true));
+    }
+
+    @Test
+    public void cacheOfSizeZeroKeepsNothing() {
+        LineageResultCache cache = new LineageResultCache(0);
+
+        cache.put(Scope.END_TO_END, GUID, true, getResult("v1"), cache.getGeneration());
+
+        assertNull(cache.get(Scope.END_TO_END, GUID, true));
+    }
+
+    private LineageVerticesAndEdges getResult(String... nodeIDs) {
+        Set<LineageVertex> vertices = new HashSet<>();
+        for (String nodeID : nodeIDs) {
+            vertices.add(new LineageVertex(nodeID, "TabularColumn"));
+        }
+        return new LineageVerticesAndEdges(vertices, new HashSet<LineageEdge>());
+    }
+}
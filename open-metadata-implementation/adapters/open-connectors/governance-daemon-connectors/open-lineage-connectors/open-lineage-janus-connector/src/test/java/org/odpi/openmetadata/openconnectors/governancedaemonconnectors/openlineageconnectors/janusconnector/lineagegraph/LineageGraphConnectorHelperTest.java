@@ -38,6 +38,8 @@ public class LineageGraphConnectorHelperTest {
 
     static LineageGraphConnectorHelper mainGraphConnector;
 
+    private static final int LADDER_LAYERS = 20;
+
     @BeforeAll
     public static void beforeClass() {
         Graph graph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
@@ -49,6 +51,8 @@ public class LineageGraphConnectorHelperTest {
         addGlossaryLineageData(g);
 
         addTableLineageData(g);
+
+        addLadderLineageData(g);
     }
 
 
@@ -221,6 +225,65 @@ public class LineageGraphConnectorHelperTest {
         validateResponse(expectedNodeIDs, lineageVertices);
     }
 
+    /*
+     * The ladder has 2^LADDER_LAYERS distinct paths from its last layer to its first. A traversal that follows every
+     * path does not finish in a reasonable time, so these tests check that each vertex is only expanded once.
+     */
+    @Test
+    public void ultimateSourceLadder() {
+        HashSet<String> expectedNodeIDs = new HashSet<>();
+        final String queriedNodeID = ladderColumn(LADDER_LAYERS, "a");
+        expectedNodeIDs.add(ladderColumn(0, "a"));
+        expectedNodeIDs.add(ladderColumn(0, "b"));
+        expectedNodeIDs.add(queriedNodeID);
+        expectedNodeIDs.add(PROPERTY_VALUE_NODE_ID_CONDENSED_SOURCE);
+
+        LineageVerticesAndEdges lineageVerticesAndEdges = mainGraphConnector.ultimateSource(queriedNodeID, true).get();
+
+        validateResponse(expectedNodeIDs, lineageVerticesAndEdges.getLineageVertices());
+    }
+
+    @Test
+    public void ultimateDestinationLadder() {
+        HashSet<String> expectedNodeIDs = new HashSet<>();
+        final String queriedNodeID = ladderColumn(0, "a");
+        expectedNodeIDs.add(ladderColumn(LADDER_LAYERS, "a"));
+        expectedNodeIDs.add(ladderColumn(LADDER_LAYERS, "b"));
+        expectedNodeIDs.add(queriedNodeID);
+        expectedNodeIDs.add(PROPERTY_VALUE_NODE_ID_CONDENSED_DESTINATION);
+
+        LineageVerticesAndEdges lineageVerticesAndEdges = mainGraphConnector.ultimateDestination(queriedNodeID, true).get();
+
+        validateResponse(expectedNodeIDs, lineageVerticesAndEdges.getLineageVertices());
+    }
+
+    @Test
+    public void endToEndLadder() {
+        final int queriedLayer = LADDER_LAYERS / 2;
+        final String queriedNodeID = ladderColumn(queriedLayer, "a");
+
+        // Every vertex of the ladder except the other column of the queried layer, which is neither upstream nor
+        // downstream of the queried column
+        HashSet<String> expectedNodeIDs = new HashSet<>();
+        for (int layer = 0; layer <= LADDER_LAYERS; layer++) {
+            expectedNodeIDs.add(ladderColumn(layer, "a"));
+            if (layer != queriedLayer) {
+                expectedNodeIDs.add(ladderColumn(layer, "b"));
+            }
+            if (layer < LADDER_LAYERS) {
+                expectedNodeIDs.add(ladderProcess(layer));
+            }
+        }
+
+        LineageVerticesAndEdges lineageVerticesAndEdges = mainGraphConnector.endToEnd(queriedNodeID, true).get();
+
+        validateResponse(expectedNodeIDs, lineageVerticesAndEdges.getLineageVertices());
+
+        // Every edge is returned once, including the edges into vertices that are reached from two directions;
+        // only the two edges of the other column of the queried layer are missing
+        assertEquals(4 * LADDER_LAYERS - 2, lineageVerticesAndEdges.getLineageEdges().size());
+    }
+
     private void validateResponse(HashSet<String> expectedNodeIDs, Set<LineageVertex> lineageVertices) {
         assertEquals(expectedNodeIDs.size(), lineageVertices.size());
         for (LineageVertex returnedVertex : lineageVertices) {
@@ -304,6 +367,37 @@ public class LineageGraphConnectorHelperTest {
 
     }
 
+    /*
+     * Each layer of the ladder has two columns. Both columns of a layer flow through one process into both columns
+     * of the next layer, which doubles the number of paths at every layer.
+     */
+    private static void addLadderLineageData(GraphTraversalSource g) {
+        Vertex previousA = getVertex(g, TABULAR_COLUMN, ladderColumn(0, "a"), ladderColumn(0, "a"));
+        Vertex previousB = getVertex(g, TABULAR_COLUMN, ladderColumn(0, "b"), ladderColumn(0, "b"));
+
+        for (int layer = 0; layer < LADDER_LAYERS; layer++) {
+            Vertex process = getVertex(g, NODE_LABEL_SUB_PROCESS, ladderProcess(layer), ladderProcess(layer));
+            Vertex nextA = getVertex(g, TABULAR_COLUMN, ladderColumn(layer + 1, "a"), ladderColumn(layer + 1, "a"));
+            Vertex nextB = getVertex(g, TABULAR_COLUMN, ladderColumn(layer + 1, "b"), ladderColumn(layer + 1, "b"));
+
+            g.addE(EDGE_LABEL_COLUMN_DATA_FLOW).from(previousA).to(process).next();
+            g.addE(EDGE_LABEL_COLUMN_DATA_FLOW).from(previousB).to(process).next();
+            g.addE(EDGE_LABEL_COLUMN_DATA_FLOW).from(process).to(nextA).next();
+            g.addE(EDGE_LABEL_COLUMN_DATA_FLOW).from(process).to(nextB).next();
+
+            previousA = nextA;
+            previousB = nextB;
+        }
+    }
+
+    private static String ladderColumn(int layer, String column) {
+        return "ladder-c" + layer + column;
+    }
+
+    private static String ladderProcess(int layer) {
+        return "ladder-p" + layer;
+    }
+
     private static Vertex getVertex(GraphTraversalSource g, String nodeType, String guid, String nodeId) {
         Vertex vertex;
         if (NODE_LABEL_SUB_PROCESS.equals(nodeType)) {
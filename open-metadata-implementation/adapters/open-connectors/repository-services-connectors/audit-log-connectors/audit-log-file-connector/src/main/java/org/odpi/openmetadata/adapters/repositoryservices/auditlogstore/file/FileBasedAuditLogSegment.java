@@ -0,0 +1,537 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.File;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * FileBasedAuditLogSegment describes one segment file of the file based audit log.  Each segment holds a sequence
+ * of log records, one JSON record per line, in the order they were written.  The segment also keeps a small index
+ * of its contents - the range of time stamps, the severities and the reporting components of its records, and a
+ * bloom filter of the unique identifiers of its records - so that queries only read the segments that may contain
+ * matching records.  When a segment is closed, this index is saved in a file alongside the segment so it does not
+ * need to be rebuilt when the server restarts.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class FileBasedAuditLogSegment
+{
+    private static final String segmentFilePrefix     = "audit-log-";
+    private static final String segmentFileSuffix     = ".log";
+    private static final String compressedFileSuffix  = ".log.gz";
+    private static final String indexFileSuffix       = ".idx";
+
+    private static final int    guidFilterSize        = 8 * 1024;
+    private static final int    guidFilterHashCount   = 3;
+
+    private long        sequenceNumber = 0;
+    private long        firstTimeStamp = Long.MAX_VALUE;
+    private long        lastTimeStamp  = Long.MIN_VALUE;
+    private long        recordCount    = 0;
+    private long        segmentSize    = 0;
+    private boolean     compressed     = false;
+    private Set<String> severities     = new HashSet<>();
+    private Set<String> components     = new HashSet<>();
+    private byte[]      guidFilter     = null;
+
+
+    /**
+     * Default constructor used when the index of a segment is read from its index file.  The bloom filter is
+     * only set up if the index file has one.
+     */
+    public FileBasedAuditLogSegment()
+    {
+    }
+
+
+    /**
+     * Constructor for a new segment.
+     *
+     * @param sequenceNumber position of the segment in the audit log
+     */
+    FileBasedAuditLogSegment(long   sequenceNumber)
+    {
+        this.sequenceNumber = sequenceNumber;
+        this.guidFilter     = new byte[guidFilterSize];
+    }
+
+
+    /**
+     * Return the sequence number of the segment encoded in a segment or index file name.
+     *
+     * @param fileName name of a file in the audit log directory
+     * @return sequence number or -1 if the file is not part of the segmented audit log
+     */
+    static long parseSequenceNumber(String   fileName)
+    {
+        if ((fileName != null) && (fileName.startsWith(segmentFilePrefix)))
+        {
+            String sequenceNumber = null;
+
+            if (fileName.endsWith(compressedFileSuffix))
+            {
+                sequenceNumber = fileName.substring(segmentFilePrefix.length(), fileName.length() - compressedFileSuffix.length());
+            }
+            else if (fileName.endsWith(segmentFileSuffix))
+            {
+                sequenceNumber = fileName.substring(segmentFilePrefix.length(), fileName.length() - segmentFileSuffix.length());
+            }
+            else if (fileName.endsWith(indexFileSuffix))
+            {
+                sequenceNumber = fileName.substring(segmentFilePrefix.length(), fileName.length() - indexFileSuffix.length());
+            }
+
+            if (sequenceNumber != null)
+            {
+                try
+                {
+                    return Long.parseLong(sequenceNumber);
+                }
+                catch (NumberFormatException error)
+                {
+                    return -1;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Return the file that holds the records of the segment.
+     *
+     * @param directory audit log directory
+     * @return segment file - it is compressed if the segment has been compressed
+     */
+    File getSegmentFile(String   directory)
+    {
+        if (this.isCompressed())
+        {
+            return this.getCompressedSegmentFile(directory);
+        }
+
+        return this.getUncompressedSegmentFile(directory);
+    }
+
+
+    /**
+     * Return the file that holds the records of the segment before it is compressed.
+     *
+     * @param directory audit log directory
+     * @return segment file
+     */
+    File getUncompressedSegmentFile(String   directory)
+    {
+        return new File(directory, this.getFileNameRoot() + segmentFileSuffix);
+    }
+
+
+    /**
+     * Return the file that holds the records of the segment after it is compressed.
+     *
+     * @param directory audit log directory
+     * @return compressed segment file
+     */
+    File getCompressedSegmentFile(String   directory)
+    {
+        return new File(directory, this.getFileNameRoot() + compressedFileSuffix);
+    }
+
+
+    /**
+     * Return the file that holds the index of a closed segment.
+     *
+     * @param directory audit log directory
+     * @return index file
+     */
+    File getIndexFile(String   directory)
+    {
+        return new File(directory, this.getFileNameRoot() + indexFileSuffix);
+    }
+
+
+    /**
+     * Return the start of the file names for the segment.  The sequence number is padded so the files
+     * list in sequence.
+     *
+     * @return file name root
+     */
+    private String getFileNameRoot()
+    {
+        return segmentFilePrefix + String.format("%010d", sequenceNumber);
+    }
+
+
+    /**
+     * Add the description of a new record to the index of the segment.
+     *
+     * @param guid unique identifier of the record
+     * @param timeStamp time stamp of the record
+     * @param severity severity of the record
+     * @param component name of the reporting component
+     * @param recordSize number of characters written to the segment file for the record
+     */
+    synchronized void addRecord(String  guid,
+                                Date    timeStamp,
+                                String  severity,
+                                String  component,
+                                long    recordSize)
+    {
+        if ((guid != null) && (guidFilter != null))
+        {
+            for (int hashNumber = 0; hashNumber < guidFilterHashCount; hashNumber++)
+            {
+                int bit = getGUIDFilterBit(guid, hashNumber);
+
+                guidFilter[bit >>> 3] |= (byte)(1 << (bit & 7));
+            }
+        }
+
+        if (timeStamp != null)
+        {
+            firstTimeStamp = Math.min(firstTimeStamp, timeStamp.getTime());
+            lastTimeStamp  = Math.max(lastTimeStamp, timeStamp.getTime());
+        }
+
+        if (severity != null)
+        {
+            severities.add(severity);
+        }
+
+        if (component != null)
+        {
+            components.add(component);
+        }
+
+        recordCount++;
+        segmentSize = segmentSize + recordSize;
+    }
+
+
+    /**
+     * Test whether the segment may contain records that match a query.
+     *
+     * @param severity required severity or null for any severity
+     * @param component required reporting component or null for any component
+     * @param startDate start of time period or null for no start
+     * @param endDate end of time period or null for no end
+     * @return false if the segment definitely has no matching records
+     */
+    synchronized boolean mayContain(String  severity,
+                                    String  component,
+                                    Date    startDate,
+                                    Date    endDate)
+    {
+        if (recordCount == 0)
+        {
+            return false;
+        }
+
+        if ((startDate != null) && (lastTimeStamp < startDate.getTime()))
+        {
+            return false;
+        }
+
+        if ((endDate != null) && (firstTimeStamp > endDate.getTime()))
+        {
+            return false;
+        }
+
+        if ((severity != null) && (! severities.contains(severity)))
+        {
+            return false;
+        }
+
+        return (component == null) || (components.contains(component));
+    }
+
+
+    /**
+     * Test whether the segment may contain the record with a specific unique identifier.  The index of a segment
+     * saved without a bloom filter may contain any record.
+     *
+     * @param guid unique identifier of the record
+     * @return false if the segment definitely does not contain the record
+     */
+    synchronized boolean mayContainRecord(String   guid)
+    {
+        if (recordCount == 0)
+        {
+            return false;
+        }
+
+        if (guidFilter == null)
+        {
+            return true;
+        }
+
+        for (int hashNumber = 0; hashNumber < guidFilterHashCount; hashNumber++)
+        {
+            int bit = getGUIDFilterBit(guid, hashNumber);
+
+            if ((guidFilter[bit >>> 3] & (1 << (bit & 7))) == 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the bit of the bloom filter set by one of the hashes of a unique identifier.  The hashes are
+     * combined from the string hash code and an FNV-1a hash of the identifier.
+     *
+     * @param guid unique identifier of a record
+     * @param hashNumber which hash to use
+     * @return bit number
+     */
+    private int getGUIDFilterBit(String   guid,
+                                 int      hashNumber)
+    {
+        int secondHash = 0x811c9dc5;
+
+        for (int index = 0; index < guid.length(); index++)
+        {
+            secondHash = (secondHash ^ guid.charAt(index)) * 0x01000193;
+        }
+
+        return (guid.hashCode() + (hashNumber * (secondHash | 1))) & ((guidFilter.length * 8) - 1);
+    }
+
+
+    /**
+     * Return the position of the segment in the audit log.
+     *
+     * @return sequence number
+     */
+    public long getSequenceNumber()
+    {
+        return sequenceNumber;
+    }
+
+
+    /**
+     * Set up the position of the segment in the audit log.
+     *
+     * @param sequenceNumber sequence number
+     */
+    public void setSequenceNumber(long sequenceNumber)
+    {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+
+    /**
+     * Return the time stamp (in milliseconds) of the earliest record in the segment.
+     *
+     * @return time
+     */
+    public synchronized long getFirstTimeStamp()
+    {
+        return firstTimeStamp;
+    }
+
+
+    /**
+     * Set up the time stamp (in milliseconds) of the earliest record in the segment.
+     *
+     * @param firstTimeStamp time
+     */
+    public synchronized void setFirstTimeStamp(long firstTimeStamp)
+    {
+        this.firstTimeStamp = firstTimeStamp;
+    }
+
+
+    /**
+     * Return the time stamp (in milliseconds) of the latest record in the segment.
+     *
+     * @return time
+     */
+    public synchronized long getLastTimeStamp()
+    {
+        return lastTimeStamp;
+    }
+
+
+    /**
+     * Set up the time stamp (in milliseconds) of the latest record in the segment.
+     *
+     * @param lastTimeStamp time
+     */
+    public synchronized void setLastTimeStamp(long lastTimeStamp)
+    {
+        this.lastTimeStamp = lastTimeStamp;
+    }
+
+
+    /**
+     * Return the number of records in the segment.
+     *
+     * @return count
+     */
+    public synchronized long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Set up the number of records in the segment.
+     *
+     * @param recordCount count
+     */
+    public synchronized void setRecordCount(long recordCount)
+    {
+        this.recordCount = recordCount;
+    }
+
+
+    /**
+     * Return the number of characters written to the segment file.
+     *
+     * @return size before compression
+     */
+    public synchronized long getSegmentSize()
+    {
+        return segmentSize;
+    }
+
+
+    /**
+     * Set up the number of characters written to the segment file.
+     *
+     * @param segmentSize size before compression
+     */
+    public synchronized void setSegmentSize(long segmentSize)
+    {
+        this.segmentSize = segmentSize;
+    }
+
+
+    /**
+     * Return whether the segment file has been compressed.
+     *
+     * @return flag
+     */
+    public synchronized boolean isCompressed()
+    {
+        return compressed;
+    }
+
+
+    /**
+     * Set up whether the segment file has been compressed.
+     *
+     * @param compressed flag
+     */
+    public synchronized void setCompressed(boolean compressed)
+    {
+        this.compressed = compressed;
+    }
+
+
+    /**
+     * Return the severities of the records in the segment.
+     *
+     * @return set of severity names
+     */
+    public synchronized Set<String> getSeverities()
+    {
+        return new HashSet<>(severities);
+    }
+
+
+    /**
+     * Set up the severities of the records in the segment.
+     *
+     * @param severities set of severity names
+     */
+    public synchronized void setSeverities(Set<String> severities)
+    {
+        this.severities = (severities == null) ? new HashSet<>() : new HashSet<>(severities);
+    }
+
+
+    /**
+     * Return the names of the components that reported the records in the segment.
+     *
+     * @return set of component names
+     */
+    public synchronized Set<String> getComponents()
+    {
+        return new HashSet<>(components);
+    }
+
+
+    /**
+     * Set up the names of the components that reported the records in the segment.
+     *
+     * @param components set of component names
+     */
+    public synchronized void setComponents(Set<String> components)
+    {
+        this.components = (components == null) ? new HashSet<>() : new HashSet<>(components);
+    }
+
+
+    /**
+     * Return the bloom filter of the unique identifiers of the records in the segment.
+     *
+     * @return filter bits
+     */
+    public synchronized byte[] getGUIDFilter()
+    {
+        return guidFilter;
+    }
+
+
+    /**
+     * Set up the bloom filter of the unique identifiers of the records in the segment.  A filter that is
+     * missing or the wrong size is not used.
+     *
+     * @param guidFilter filter bits
+     */
+    public synchronized void setGUIDFilter(byte[] guidFilter)
+    {
+        if ((guidFilter != null) && (guidFilter.length == guidFilterSize))
+        {
+            this.guidFilter = guidFilter;
+        }
+        else
+        {
+            this.guidFilter = null;
+        }
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FileBasedAuditLogSegment{" +
+                       "sequenceNumber=" + sequenceNumber +
+                       ", recordCount=" + getRecordCount() +
+                       ", segmentSize=" + getSegmentSize() +
+                       ", compressed=" + isCompressed() +
+                       '}';
+    }
+}
@@ -3,8 +3,12 @@
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
@@ -14,23 +18,85 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory as a sequence of append-only segment files.  Each log record is
+ * written as a single line of JSON to the active segment.  When the active segment reaches its maximum size
+ * it is closed, its index is saved and a new segment is started.  Closed segments may optionally be compressed.
+ * <p>
+ *     Records are written through a buffer that is flushed to the file by a background thread at a regular
+ *     interval (or after every record if the interval is zero).  The buffer is also flushed before each query and
+ *     when the connector is disconnected.  If the server process fails, the records stored since the last flush -
+ *     at most flushInterval milliseconds of records - are lost.  Set flushInterval to zero where no records
+ *     may be lost.
+ * </p>
+ * <p>
+ *     The index of each segment records the range of time stamps, the severities and the reporting components
+ *     of its records, and a bloom filter of their unique identifiers, so the queries only read the segments that
+ *     may contain matching records.
+ * </p>
+ * <p>
+ *     The following configuration properties are supported:
+ * </p>
+ * <ul>
+ *     <li>maxSegmentSize - the number of characters written to a segment before a new segment is started.</li>
+ *     <li>flushInterval - the number of milliseconds between flushes of the buffered records to the active segment.
+ *     This is the longest time a stored record may be held in memory.  The default is 1000.</li>
+ *     <li>compressSegments - set to true to compress closed segments.</li>
+ * </ul>
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final String defaultDirectoryTemplate = "omag.server.auditlog";
 
+    private static final String maxSegmentSizeProperty   = "maxSegmentSize";
+    private static final String flushIntervalProperty    = "flushInterval";
+    private static final String compressSegmentsProperty = "compressSegments";
+
+    private static final ObjectMapper objectMapper  = new ObjectMapper();
+    private static final ObjectReader recordReader  = objectMapper.readerFor(OMRSAuditLogRecord.class);
+    private static final ObjectWriter recordWriter  = objectMapper.writerFor(OMRSAuditLogRecord.class);
+    private static final ObjectReader segmentReader = objectMapper.readerFor(FileBasedAuditLogSegment.class);
+    private static final ObjectWriter segmentWriter = objectMapper.writerFor(FileBasedAuditLogSegment.class);
+
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
-    private String configStoreTemplateName  = null;
+    private String  configStoreTemplateName  = null;
+    private long    maxSegmentSize           = 10 * 1024 * 1024;
+    private long    flushInterval            = 1000;
+    private boolean compressSegments         = false;
+
+    private final List<FileBasedAuditLogSegment> segments = new CopyOnWriteArrayList<>();
+
+    private FileBasedAuditLogSegment activeSegment    = null;
+    private Writer                   activeWriter     = null;
+    private boolean                  unflushedRecords = false;
+    private ScheduledExecutorService backgroundWriter = null;
 
 
     /**
@@ -42,7 +108,8 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Set up the name of the file store
+     * Set up the name of the file store, load the indexes of the existing segments and start the
+     * background writer.
      *
      * @throws ConnectorCheckedException something went wrong
      */
@@ -63,16 +130,55 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
             configStoreTemplateName = defaultDirectoryTemplate;
         }
 
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            Object maxSegmentSize   = configurationProperties.get(maxSegmentSizeProperty);
+            Object flushInterval    = configurationProperties.get(flushIntervalProperty);
+            Object compressSegments = configurationProperties.get(compressSegmentsProperty);
+
+            if (maxSegmentSize instanceof Number)
+            {
+                this.maxSegmentSize = ((Number)maxSegmentSize).longValue();
+            }
+
+            if (flushInterval instanceof Number)
+            {
+                this.flushInterval = ((Number)flushInterval).longValue();
+            }
+
+            if (compressSegments instanceof Boolean)
+            {
+                this.compressSegments = (Boolean)compressSegments;
+            }
+        }
+
+        backgroundWriter = Executors.newSingleThreadScheduledExecutor((runnable) ->
+                                                                      {
+                                                                          Thread thread = new Thread(runnable, "FileBasedAuditLogWriter: " + configStoreTemplateName);
+
+                                                                          thread.setDaemon(true);
+                                                                          return thread;
+                                                                      });
+
         try
         {
             File         configStoreDirectory = new File(configStoreTemplateName);
 
             FileUtils.forceMkdir(configStoreDirectory);
+
+            this.loadSegments(configStoreDirectory);
         }
         catch (IOException ioException)
         {
             log.error("Unusable Server Audit Log Store :(", ioException);
         }
+
+        if (flushInterval > 0)
+        {
+            backgroundWriter.scheduleWithFixedDelay(this::flushActiveSegment, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
 
@@ -93,12 +199,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
         {
             try
             {
-                File configStoreFile =
-                        new File(configStoreTemplateName + "/log-record-" + logRecord.getGUID());
-                ObjectMapper objectMapper    = new ObjectMapper();
-
-                String configStoreFileContents = objectMapper.writeValueAsString(logRecord);
-                FileUtils.writeStringToFile(configStoreFile, configStoreFileContents, (String)null, false);
+                this.appendRecord(logRecord, recordWriter.writeValueAsString(logRecord));
             }
             catch (IOException ioException)
             {
@@ -111,7 +212,8 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Retrieve a specific audit log record.
+     * Retrieve a specific audit log record.  The segments are searched from the most recent, skipping those
+     * whose bloom filter shows they do not hold the record.
      *
      * @param logRecordId unique identifier for the log record
      * @return requested audit log record
@@ -123,6 +225,47 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecord";
 
+        if (logRecordId == null)
+        {
+            return null;
+        }
+
+        this.flushActiveSegment();
+
+        List<FileBasedAuditLogSegment> searchSegments = new ArrayList<>(segments);
+
+        for (int segmentIndex = searchSegments.size() - 1; segmentIndex >= 0; segmentIndex--)
+        {
+            FileBasedAuditLogSegment segment = searchSegments.get(segmentIndex);
+
+            if (! segment.mayContainRecord(logRecordId))
+            {
+                continue;
+            }
+
+            try (BufferedReader reader = this.getSegmentReader(segment))
+            {
+                String line;
+
+                while ((line = reader.readLine()) != null)
+                {
+                    if (line.contains(logRecordId))
+                    {
+                        OMRSAuditLogRecord logRecord = this.parseRecord(line);
+
+                        if ((logRecord != null) && (logRecordId.equals(logRecord.getGUID())))
+                        {
+                            return logRecord;
+                        }
+                    }
+                }
+            }
+            catch (IOException ioException)
+            {
+                this.throwStoreNotAvailable(ioException, methodName);
+            }
+        }
+
         return null;
     }
 
@@ -149,7 +292,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        return this.findLogRecords(null, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -177,7 +320,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsBySeverity";
 
-        return null;
+        return this.findLogRecords(severity, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -205,17 +348,588 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByComponent";
 
-        return null;
+        return this.findLogRecords(null, component, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
     /**
-     * Free up any resources held since the connector is no longer needed.
+     * Free up any resources held since the connector is no longer needed.  Buffered records are written out
+     * and the index of the active segment is saved.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
     public  void disconnect() throws ConnectorCheckedException
     {
+        if (backgroundWriter != null)
+        {
+            backgroundWriter.shutdown();
+
+            try
+            {
+                backgroundWriter.awaitTermination(flushInterval + 1000, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this)
+        {
+            try
+            {
+                this.closeActiveSegment();
+            }
+            catch (IOException ioException)
+            {
+                log.error("Unable to close Server Audit Log Store segment", ioException);
+            }
+        }
+
         super.disconnect();
     }
+
+
+    /**
+     * Load the indexes of the segments already in the audit log directory.  A segment without an index was
+     * active when the server stopped - its index is rebuilt from its records and saved.  New records are always
+     * written to a new segment.
+     *
+     * @param configStoreDirectory audit log directory
+     * @throws IOException unable to read the directory
+     */
+    private void loadSegments(File   configStoreDirectory) throws IOException
+    {
+        String[]      fileNames       = configStoreDirectory.list();
+        TreeSet<Long> sequenceNumbers = new TreeSet<>();
+
+        if (fileNames != null)
+        {
+            for (String fileName : fileNames)
+            {
+                long sequenceNumber = FileBasedAuditLogSegment.parseSequenceNumber(fileName);
+
+                if (sequenceNumber >= 0)
+                {
+                    sequenceNumbers.add(sequenceNumber);
+                }
+            }
+        }
+
+        for (long sequenceNumber : sequenceNumbers)
+        {
+            FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(sequenceNumber);
+            File                     indexFile = segment.getIndexFile(configStoreTemplateName);
+
+            if (indexFile.exists())
+            {
+                segment = segmentReader.readValue(indexFile);
+                segment.setSequenceNumber(sequenceNumber);
+            }
+
+            File uncompressedFile = segment.getUncompressedSegmentFile(configStoreTemplateName);
+            File compressedFile   = segment.getCompressedSegmentFile(configStoreTemplateName);
+
+            if (uncompressedFile.exists() && compressedFile.exists())
+            {
+                /*
+                 * The server stopped while the segment was being compressed.  The index is only updated
+                 * once the compressed file is complete.
+                 */
+                if (segment.isCompressed())
+                {
+                    FileUtils.deleteQuietly(uncompressedFile);
+                }
+                else
+                {
+                    FileUtils.deleteQuietly(compressedFile);
+                }
+            }
+
+            segment.setCompressed(compressedFile.exists() && (! uncompressedFile.exists()));
+
+            if (! segment.getSegmentFile(configStoreTemplateName).exists())
+            {
+                log.debug("Ignoring audit log index with no segment file: " + indexFile.getName());
+                continue;
+            }
+
+            if (! indexFile.exists())
+            {
+                this.rebuildIndex(segment);
+                this.saveIndex(segment);
+            }
+
+            segments.add(segment);
+
+            if (compressSegments && (! segment.isCompressed()))
+            {
+                FileBasedAuditLogSegment segmentToCompress = segment;
+
+                backgroundWriter.execute(() -> this.compressSegment(segmentToCompress));
+            }
+        }
+    }
+
+
+    /**
+     * Rebuild the index of a segment from its records.
+     *
+     * @param segment segment with an empty index
+     * @throws IOException unable to read the segment
+     */
+    private void rebuildIndex(FileBasedAuditLogSegment   segment) throws IOException
+    {
+        try (BufferedReader reader = this.getSegmentReader(segment))
+        {
+            String line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                OMRSAuditLogRecord logRecord = this.parseRecord(line);
+
+                if (logRecord != null)
+                {
+                    segment.addRecord(logRecord.getGUID(),
+                                      logRecord.getTimeStamp(),
+                                      logRecord.getSeverity(),
+                                      this.getComponentName(logRecord),
+                                      line.length() + 1);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Save the index of a segment alongside the segment file.
+     *
+     * @param segment segment
+     * @throws IOException unable to write the index file
+     */
+    private void saveIndex(FileBasedAuditLogSegment   segment) throws IOException
+    {
+        segmentWriter.writeValue(segment.getIndexFile(configStoreTemplateName), segment);
+    }
+
+
+    /**
+     * Append a record to the active segment, starting a new segment if the active segment is full.
+     *
+     * @param logRecord log record
+     * @param jsonLogRecord log record as a single line of JSON
+     * @throws IOException unable to write to the segment file
+     */
+    private synchronized void appendRecord(OMRSAuditLogRecord   logRecord,
+                                           String               jsonLogRecord) throws IOException
+    {
+        if ((activeSegment != null) && (activeSegment.getSegmentSize() >= maxSegmentSize))
+        {
+            this.closeActiveSegment();
+        }
+
+        if (activeSegment == null)
+        {
+            this.openActiveSegment();
+        }
+
+        activeWriter.write(jsonLogRecord);
+        activeWriter.write('\n');
+
+        activeSegment.addRecord(logRecord.getGUID(),
+                                logRecord.getTimeStamp(),
+                                logRecord.getSeverity(),
+                                this.getComponentName(logRecord),
+                                jsonLogRecord.length() + 1);
+
+        if (flushInterval > 0)
+        {
+            unflushedRecords = true;
+        }
+        else
+        {
+            activeWriter.flush();
+        }
+    }
+
+
+    /**
+     * Start a new segment following the last one in the audit log.  The caller must hold this object's monitor.
+     *
+     * @throws IOException unable to create the segment file
+     */
+    private void openActiveSegment() throws IOException
+    {
+        long sequenceNumber = 1;
+
+        if (! segments.isEmpty())
+        {
+            sequenceNumber = segments.get(segments.size() - 1).getSequenceNumber() + 1;
+        }
+
+        FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(sequenceNumber);
+
+        activeWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(segment.getUncompressedSegmentFile(configStoreTemplateName), true),
+                                                                 StandardCharsets.UTF_8));
+        activeSegment = segment;
+        segments.add(segment);
+    }
+
+
+    /**
+     * Close the active segment and save its index.  The segment is compressed in the background if requested.
+     * The caller must hold this object's monitor.
+     *
+     * @throws IOException unable to complete the segment file
+     */
+    private void closeActiveSegment() throws IOException
+    {
+        if (activeSegment != null)
+        {
+            FileBasedAuditLogSegment closedSegment = activeSegment;
+
+            activeWriter.close();
+            activeWriter = null;
+            activeSegment = null;
+            unflushedRecords = false;
+
+            this.saveIndex(closedSegment);
+
+            if (compressSegments && (backgroundWriter != null) && (! backgroundWriter.isShutdown()))
+            {
+                backgroundWriter.execute(() -> this.compressSegment(closedSegment));
+            }
+        }
+    }
+
+
+    /**
+     * Write any buffered records to the active segment file.  This is called regularly by the background
+     * writer and before each query so that all stored records are visible to the query.
+     */
+    private synchronized void flushActiveSegment()
+    {
+        if ((activeWriter != null) && (unflushedRecords))
+        {
+            try
+            {
+                activeWriter.flush();
+                unflushedRecords = false;
+            }
+            catch (IOException ioException)
+            {
+                log.error("Unable to write to Server Audit Log Store", ioException);
+            }
+        }
+    }
+
+
+    /**
+     * Compress a closed segment.  The index is updated once the compressed file is complete and then the
+     * uncompressed file is removed.  Queries that are already reading the uncompressed file are not affected.
+     *
+     * @param segment closed segment
+     */
+    private void compressSegment(FileBasedAuditLogSegment   segment)
+    {
+        File uncompressedFile = segment.getUncompressedSegmentFile(configStoreTemplateName);
+        File compressedFile   = segment.getCompressedSegmentFile(configStoreTemplateName);
+
+        try
+        {
+            try (InputStream  inputStream  = new FileInputStream(uncompressedFile);
+                 OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(compressedFile)))
+            {
+                byte[] buffer = new byte[64 * 1024];
+                int    length;
+
+                while ((length = inputStream.read(buffer)) > 0)
+                {
+                    outputStream.write(buffer, 0, length);
+                }
+            }
+
+            segment.setCompressed(true);
+            this.saveIndex(segment);
+
+            FileUtils.deleteQuietly(uncompressedFile);
+        }
+        catch (IOException ioException)
+        {
+            log.error("Unable to compress Server Audit Log Store segment " + segment, ioException);
+
+            segment.setCompressed(false);
+            FileUtils.deleteQuietly(compressedFile);
+        }
+    }
+
+
+    /**
+     * Return the records from the segments that match the query criteria.  Only segments whose index shows
+     * they may contain matching records are read, and lines that can not match are skipped without being parsed.
+     *
+     * @param severity required severity or null for any severity
+     * @param component required reporting component or null for any component
+     * @param startDate start of time period or null for no start
+     * @param endDate end of time period or null for no end
+     * @param offset number of matching records to skip
+     * @param maximumRecords maximum number of records to return - zero means no limit
+     * @param methodName calling method
+     * @return list of matching records in the order they were stored or null if there are none
+     * @throws PagingErrorException the maximumRecords parameter is negative
+     * @throws RepositoryErrorException unable to read a segment
+     */
+    private List<OMRSAuditLogRecord> findLogRecords(String   severity,
+                                                    String   component,
+                                                    Date     startDate,
+                                                    Date     endDate,
+                                                    int      offset,
+                                                    int      maximumRecords,
+                                                    String   methodName) throws PagingErrorException,
+                                                                                RepositoryErrorException
+    {
+        if (maximumRecords < 0)
+        {
+            throw new PagingErrorException(OMRSErrorCode.NEGATIVE_PAGE_SIZE.getMessageDefinition(Integer.toString(maximumRecords),
+                                                                                                 methodName,
+                                                                                                 super.getDestinationName()),
+                                           this.getClass().getName(),
+                                           methodName);
+        }
+
+        this.flushActiveSegment();
+
+        List<OMRSAuditLogRecord> results         = new ArrayList<>();
+        int                      skippedRecords  = 0;
+        String                   severityFilter  = this.getLineFilter(severity);
+        String                   componentFilter = this.getLineFilter(component);
+
+        for (FileBasedAuditLogSegment segment : segments)
+        {
+            if (segment.mayContain(severity, component, startDate, endDate))
+            {
+                try (BufferedReader reader = this.getSegmentReader(segment))
+                {
+                    String line;
+
+                    while ((line = reader.readLine()) != null)
+                    {
+                        if (((severityFilter != null) && (! line.contains(severityFilter))) ||
+                            ((componentFilter != null) && (! line.contains(componentFilter))))
+                        {
+                            continue;
+                        }
+
+                        OMRSAuditLogRecord logRecord = this.parseRecord(line);
+
+                        if (this.isMatchingRecord(logRecord, severity, component, startDate, endDate))
+                        {
+                            if (skippedRecords < offset)
+                            {
+                                skippedRecords++;
+                            }
+                            else
+                            {
+                                results.add(logRecord);
+
+                                if ((maximumRecords > 0) && (results.size() >= maximumRecords))
+                                {
+                                    return results;
+                                }
+                            }
+                        }
+                    }
+                }
+                catch (IOException ioException)
+                {
+                    this.throwStoreNotAvailable(ioException, methodName);
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the text that must appear in a line of a segment file for its record to contain a value.
+     * Values with characters that are escaped in JSON can not be tested this way.
+     *
+     * @param value required value or null
+     * @return text to look for or null if the lines can not be filtered on the value
+     */
+    private String getLineFilter(String   value)
+    {
+        if (value != null)
+        {
+            for (char character : value.toCharArray())
+            {
+                if ((character == '"') || (character == '\\') || (character < ' '))
+                {
+                    return null;
+                }
+            }
+        }
+
+        return value;
+    }
+
+
+    /**
+     * Test whether a log record matches the query criteria.
+     *
+     * @param logRecord log record - may be null if the line could not be parsed
+     * @param severity required severity or null for any severity
+     * @param component required reporting component or null for any component
+     * @param startDate start of time period or null for no start
+     * @param endDate end of time period or null for no end
+     * @return boolean flag
+     */
+    private boolean isMatchingRecord(OMRSAuditLogRecord   logRecord,
+                                     String               severity,
+                                     String               component,
+                                     Date                 startDate,
+                                     Date                 endDate)
+    {
+        if (logRecord == null)
+        {
+            return false;
+        }
+
+        if ((severity != null) && (! severity.equals(logRecord.getSeverity())))
+        {
+            return false;
+        }
+
+        if ((component != null) && (! component.equals(this.getComponentName(logRecord))))
+        {
+            return false;
+        }
+
+        if ((startDate != null) || (endDate != null))
+        {
+            Date timeStamp = logRecord.getTimeStamp();
+
+            if (timeStamp == null)
+            {
+                return false;
+            }
+
+            if ((startDate != null) && (timeStamp.before(startDate)))
+            {
+                return false;
+            }
+
+            return (endDate == null) || (! timeStamp.after(endDate));
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the name of the component that reported a log record.
+     *
+     * @param logRecord log record
+     * @return component name or null
+     */
+    private String getComponentName(OMRSAuditLogRecord   logRecord)
+    {
+        AuditLogReportingComponent reportingComponent = logRecord.getOriginatorComponent();
+
+        if (reportingComponent != null)
+        {
+            return reportingComponent.getComponentName();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Parse a line from a segment file.  A line that can not be parsed (for example, the partly written last
+     * line of a segment that was active when the server failed) is skipped.
+     *
+     * @param line line of JSON
+     * @return log record or null
+     */
+    private OMRSAuditLogRecord parseRecord(String   line)
+    {
+        try
+        {
+            return recordReader.readValue(line);
+        }
+        catch (IOException ioException)
+        {
+            log.debug("Skipping unreadable audit log record: " + line);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Open a reader for the records in a segment.  If the segment is compressed while the reader is being
+     * opened, the compressed file is used.
+     *
+     * @param segment segment to read
+     * @return reader
+     * @throws IOException unable to open the segment file
+     */
+    private BufferedReader getSegmentReader(FileBasedAuditLogSegment   segment) throws IOException
+    {
+        InputStream inputStream;
+
+        try
+        {
+            inputStream = this.getSegmentInputStream(segment);
+        }
+        catch (FileNotFoundException notFound)
+        {
+            inputStream = this.getSegmentInputStream(segment);
+        }
+
+        return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Open the segment file, decompressing it if necessary.
+     *
+     * @param segment segment to read
+     * @return input stream
+     * @throws IOException unable to open the segment file
+     */
+    private InputStream getSegmentInputStream(FileBasedAuditLogSegment   segment) throws IOException
+    {
+        if (segment.isCompressed())
+        {
+            return new GZIPInputStream(new FileInputStream(segment.getCompressedSegmentFile(configStoreTemplateName)), 64 * 1024);
+        }
+
+        return new FileInputStream(segment.getUncompressedSegmentFile(configStoreTemplateName));
+    }
+
+
+    /**
+     * Throw an exception to report that the audit log store could not be read.
+     *
+     * @param ioException error from the file system
+     * @param methodName calling method
+     * @throws RepositoryErrorException resulting exception
+     */
+    private void throwStoreNotAvailable(IOException  ioException,
+                                        String       methodName) throws RepositoryErrorException
+    {
+        throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                             ioException.getMessage()),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           ioException);
+    }
 }
@@ -0,0 +1,364 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate the FileBasedAuditLogStoreConnector: the writing and reading of records, the rotation and compression
+ * of segments, the reloading of the segments on restart and the bloom filter of the segment index.
+ */
+public class FileBasedAuditLogStoreConnectorTest
+{
+    private static final String infoSeverity  = "Information";
+    private static final String errorSeverity = "Error";
+    private static final String componentA    = "ComponentA";
+    private static final String componentB    = "ComponentB";
+
+
+    /**
+     * Create and start a connector that writes to a directory.
+     *
+     * @param directory audit log directory
+     * @param maxSegmentSize maximum size of a segment
+     * @param compressSegments compress closed segments
+     * @return started connector
+     * @throws Exception problem in test
+     */
+    private FileBasedAuditLogStoreConnector getConnector(File    directory,
+                                                         long    maxSegmentSize,
+                                                         boolean compressSegments) throws Exception
+    {
+        Connection          connection              = new Connection();
+        Endpoint            endpoint                = new Endpoint();
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        endpoint.setAddress(directory.getAbsolutePath());
+        connection.setEndpoint(endpoint);
+        connection.setDisplayName("TestAuditLog");
+
+        configurationProperties.put("maxSegmentSize", maxSegmentSize);
+        configurationProperties.put("flushInterval", 0);
+        configurationProperties.put("compressSegments", compressSegments);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+
+        connector.initialize("test", new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    /**
+     * Return a log record.
+     *
+     * @param guid unique identifier
+     * @param timeStamp time of the record
+     * @param severity severity of the record
+     * @param component name of the reporting component
+     * @return log record
+     */
+    private OMRSAuditLogRecord getLogRecord(String  guid,
+                                            long    timeStamp,
+                                            String  severity,
+                                            String  component)
+    {
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord();
+
+        logRecord.setGUID(guid);
+        logRecord.setTimeStamp(new Date(timeStamp));
+        logRecord.setSeverity(severity);
+        logRecord.setOriginatorProperties(new HashMap<>());
+        logRecord.setOriginatorComponent(new AuditLogReportingComponent(1, component, "Test component", null));
+        logRecord.setMessageText("Test message for " + guid);
+
+        return logRecord;
+    }
+
+
+    /**
+     * Store twenty records, alternating the severity and component.
+     *
+     * @param connector connector to store the records in
+     * @throws Exception problem in test
+     */
+    private void storeLogRecords(FileBasedAuditLogStoreConnector connector) throws Exception
+    {
+        for (int recordNumber = 0; recordNumber < 20; recordNumber++)
+        {
+            connector.storeLogRecord(getLogRecord("guid-" + recordNumber,
+                                                  1000L * recordNumber,
+                                                  (recordNumber % 2 == 0) ? infoSeverity : errorSeverity,
+                                                  (recordNumber % 4 < 2) ? componentA : componentB));
+        }
+    }
+
+
+    /**
+     * Check the records returned by the queries match the twenty stored records.
+     *
+     * @param connector connector holding the records
+     * @throws Exception problem in test
+     */
+    private void validateLogRecords(FileBasedAuditLogStoreConnector connector) throws Exception
+    {
+        for (int recordNumber = 0; recordNumber < 20; recordNumber++)
+        {
+            OMRSAuditLogRecord logRecord = connector.getAuditLogRecord("guid-" + recordNumber);
+
+            assertNotNull(logRecord);
+            assertEquals(logRecord.getGUID(), "guid-" + recordNumber);
+            assertEquals(logRecord.getTimeStamp().getTime(), 1000L * recordNumber);
+        }
+
+        assertNull(connector.getAuditLogRecord("guid-unknown"));
+
+        List<OMRSAuditLogRecord> allRecords = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+
+        assertEquals(allRecords.size(), 20);
+
+        for (int recordNumber = 0; recordNumber < 20; recordNumber++)
+        {
+            assertEquals(allRecords.get(recordNumber).getGUID(), "guid-" + recordNumber);
+        }
+
+        List<OMRSAuditLogRecord> timeRecords = connector.getAuditLogRecordsByTimeStamp(new Date(5000), new Date(9000), 1, 3);
+
+        assertEquals(timeRecords.size(), 3);
+        assertEquals(timeRecords.get(0).getGUID(), "guid-6");
+        assertEquals(timeRecords.get(2).getGUID(), "guid-8");
+
+        List<OMRSAuditLogRecord> errorRecords = connector.getAuditLogRecordsBySeverity(errorSeverity, null, null, 0, 0);
+
+        assertEquals(errorRecords.size(), 10);
+
+        for (OMRSAuditLogRecord logRecord : errorRecords)
+        {
+            assertEquals(logRecord.getSeverity(), errorSeverity);
+        }
+
+        List<OMRSAuditLogRecord> componentRecords = connector.getAuditLogRecordsByComponent(componentB, new Date(0), new Date(7000), 0, 0);
+
+        assertEquals(componentRecords.size(), 4);
+        assertEquals(componentRecords.get(0).getGUID(), "guid-2");
+        assertEquals(componentRecords.get(3).getGUID(), "guid-7");
+
+        assertNull(connector.getAuditLogRecordsByComponent("ComponentC", null, null, 0, 0));
+    }
+
+
+    /**
+     * Return the number of files in the audit log directory with a suffix.
+     *
+     * @param directory audit log directory
+     * @param suffix file name suffix
+     * @return count
+     */
+    private int countFiles(File    directory,
+                           String  suffix)
+    {
+        int      count     = 0;
+        String[] fileNames = directory.list();
+
+        if (fileNames != null)
+        {
+            for (String fileName : fileNames)
+            {
+                if (fileName.endsWith(suffix))
+                {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Records stored in a single segment are returned by each type of query, before and after a restart.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testWriteAndRead() throws Exception
+    {
+        File directory = Files.createTempDirectory("audit-log-test").toFile();
+
+        try
+        {
+            FileBasedAuditLogStoreConnector connector = getConnector(directory, 10 * 1024 * 1024, false);
+
+            storeLogRecords(connector);
+            validateLogRecords(connector);
+            connector.disconnect();
+
+            assertEquals(countFiles(directory, ".log"), 1);
+            assertEquals(countFiles(directory, ".idx"), 1);
+
+            connector = getConnector(directory, 10 * 1024 * 1024, false);
+            validateLogRecords(connector);
+            connector.disconnect();
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+
+    /**
+     * Small segments are rotated, and the records are returned in order across the segments, before and
+     * after a restart.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testRotate() throws Exception
+    {
+        File directory = Files.createTempDirectory("audit-log-test").toFile();
+
+        try
+        {
+            FileBasedAuditLogStoreConnector connector = getConnector(directory, 1000, false);
+
+            storeLogRecords(connector);
+            validateLogRecords(connector);
+            connector.disconnect();
+
+            assertTrue(countFiles(directory, ".log") > 1);
+            assertEquals(countFiles(directory, ".idx"), countFiles(directory, ".log"));
+
+            connector = getConnector(directory, 1000, false);
+            validateLogRecords(connector);
+            connector.disconnect();
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+
+    /**
+     * Closed segments are compressed, and the records are still returned after a restart.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testCompressedSegments() throws Exception
+    {
+        File directory = Files.createTempDirectory("audit-log-test").toFile();
+
+        try
+        {
+            FileBasedAuditLogStoreConnector connector = getConnector(directory, 1000, true);
+
+            storeLogRecords(connector);
+            connector.disconnect();
+
+            connector = getConnector(directory, 1000, true);
+            validateLogRecords(connector);
+            connector.disconnect();
+
+            assertTrue(countFiles(directory, ".log.gz") > 0);
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+
+    /**
+     * The index of a segment that was active when the server stopped is rebuilt from its records.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testRebuildIndex() throws Exception
+    {
+        File directory = Files.createTempDirectory("audit-log-test").toFile();
+
+        try
+        {
+            FileBasedAuditLogStoreConnector connector = getConnector(directory, 10 * 1024 * 1024, false);
+
+            storeLogRecords(connector);
+            connector.disconnect();
+
+            FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(1);
+
+            assertTrue(segment.getIndexFile(directory.getAbsolutePath()).delete());
+
+            connector = getConnector(directory, 10 * 1024 * 1024, false);
+            validateLogRecords(connector);
+            connector.disconnect();
+
+            assertTrue(segment.getIndexFile(directory.getAbsolutePath()).exists());
+        }
+        finally
+        {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+
+    /**
+     * The bloom filter of a segment holds every record added to it, an empty segment holds no records and
+     * a segment without a filter may hold any record.
+     */
+    @Test
+    public void testGUIDFilter()
+    {
+        FileBasedAuditLogSegment segment = new FileBasedAuditLogSegment(1);
+
+        assertFalse(segment.mayContainRecord("guid-0"));
+
+        for (int recordNumber = 0; recordNumber < 1000; recordNumber++)
+        {
+            segment.addRecord("guid-" + recordNumber, new Date(), infoSeverity, componentA, 100);
+        }
+
+        int falsePositives = 0;
+
+        for (int recordNumber = 0; recordNumber < 1000; recordNumber++)
+        {
+            assertTrue(segment.mayContainRecord("guid-" + recordNumber));
+
+            if (segment.mayContainRecord("other-guid-" + recordNumber))
+            {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 50);
+
+        FileBasedAuditLogSegment oldSegment = new FileBasedAuditLogSegment();
+
+        oldSegment.setRecordCount(1);
+
+        assertTrue(oldSegment.mayContainRecord("guid-0"));
+    }
+}
@@ -2,19 +2,59 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
-import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
-
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * FileBasedOpenMetadataArchiveStoreConnector stores an open metadata archive as a JSON file.  If the file name
+ * ends in ".gz" the archive is written compressed with gzip.  Compressed archives are recognized when they are read
+ * whatever their name.
+ *
+ * The archive is read and written with the Jackson streaming API so that the instances in the archive are passed
+ * to, or taken from, the caller a batch at a time rather than being held in memory all at once.
+ */
 public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
 {
     /*
@@ -22,10 +62,55 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     private static final String defaultFilename = "open.metadata.archive";
 
+    /*
+     * This is the name of the configuration property for the number of instances passed to the archive
+     * content processor in each batch.
+     */
+    static final String  INSTANCE_BATCH_SIZE_PROPERTY = "instanceBatchSize";
+
+    private static final String compressedFileSuffix = ".gz";
+    private static final int    bufferSize           = 64 * 1024;
+
+    /*
+     * Names of the properties in the JSON archive.
+     */
+    private static final String classProperty                = "class";
+    private static final String archivePropertiesProperty    = "archiveProperties";
+    private static final String archiveTypeStoreProperty     = "archiveTypeStore";
+    private static final String archiveInstanceStoreProperty = "archiveInstanceStore";
+    private static final String entitiesProperty             = "entities";
+    private static final String relationshipsProperty        = "relationships";
+    private static final String classificationsProperty      = "classifications";
+
+    /*
+     * The sections of the instance store in the order they are passed to the processor.
+     */
+    private static final List<String> instanceSections = Arrays.asList(entitiesProperty,
+                                                                       relationshipsProperty,
+                                                                       classificationsProperty);
+
+    /*
+     * Readers and writers are immutable and may be shared by all instances of the connector.
+     */
+    private static final ObjectMapper objectMapper                = new ObjectMapper();
+    private static final JsonFactory  jsonFactory                 = objectMapper.getFactory();
+    private static final ObjectReader archiveReader               = objectMapper.readerFor(OpenMetadataArchive.class);
+    private static final ObjectReader archivePropertiesReader     = objectMapper.readerFor(OpenMetadataArchiveProperties.class);
+    private static final ObjectReader archiveTypeStoreReader      = objectMapper.readerFor(OpenMetadataArchiveTypeStore.class);
+    private static final ObjectReader entityReader                = objectMapper.readerFor(EntityDetail.class);
+    private static final ObjectReader relationshipReader          = objectMapper.readerFor(Relationship.class);
+    private static final ObjectReader classificationReader        = objectMapper.readerFor(ClassificationEntityExtension.class);
+    private static final ObjectWriter archivePropertiesWriter     = getWriter(OpenMetadataArchiveProperties.class);
+    private static final ObjectWriter archiveTypeStoreWriter      = getWriter(OpenMetadataArchiveTypeStore.class);
+    private static final ObjectWriter entityWriter                = getWriter(EntityDetail.class);
+    private static final ObjectWriter relationshipWriter          = getWriter(Relationship.class);
+    private static final ObjectWriter classificationWriter        = getWriter(ClassificationEntityExtension.class);
+
     /*
      * Variables used in writing to the file.
      */
-    private String archiveStoreName = null;
+    private String archiveStoreName  = null;
+    private int    instanceBatchSize = DEFAULT_INSTANCE_BATCH_SIZE;
 
     /*
      * Variables used for logging and debug.
@@ -41,6 +126,24 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     }
 
 
+    /**
+     * Return a writer for one of the parts of the archive.  The writer does not flush the file after each value.
+     *
+     * @param valueClass class of the value to write
+     * @return object writer
+     */
+    private static ObjectWriter getWriter(Class<?>   valueClass)
+    {
+        return objectMapper.writerFor(valueClass).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+
+    /**
+     * Initialize the connector.
+     *
+     * @param connectorInstanceId   unique id for the connector instance   useful for messages etc
+     * @param connectionProperties   POJO for the configuration used to create the connector.
+     */
     @Override
     public void initialize(String connectorInstanceId, ConnectionProperties connectionProperties)
     {
@@ -57,6 +160,57 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
         {
             archiveStoreName = defaultFilename;
         }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            Object batchSizeProperty = configurationProperties.get(INSTANCE_BATCH_SIZE_PROPERTY);
+
+            if (batchSizeProperty != null)
+            {
+                instanceBatchSize = this.getInstanceBatchSize(batchSizeProperty);
+            }
+        }
+    }
+
+
+    /**
+     * Return the batch size from the value of the instanceBatchSize configuration property.  The value may be
+     * any number or a string holding a whole number.  A value that is not a positive whole number is ignored.
+     *
+     * @param batchSizeProperty value of the configuration property
+     * @return batch size
+     */
+    private int getInstanceBatchSize(Object   batchSizeProperty)
+    {
+        long batchSize = 0;
+
+        try
+        {
+            if (batchSizeProperty instanceof Number)
+            {
+                batchSize = ((Number) batchSizeProperty).longValue();
+            }
+            else if (batchSizeProperty instanceof String)
+            {
+                batchSize = Long.parseLong(((String) batchSizeProperty).trim());
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            batchSize = 0;
+        }
+
+        if ((batchSize > 0) && (batchSize <= Integer.MAX_VALUE))
+        {
+            return (int) batchSize;
+        }
+
+        log.warn("Ignoring " + INSTANCE_BATCH_SIZE_PROPERTY + " value " + batchSizeProperty + " for open metadata archive " +
+                         archiveStoreName + "; using " + DEFAULT_INSTANCE_BATCH_SIZE);
+
+        return DEFAULT_INSTANCE_BATCH_SIZE;
     }
 
 
@@ -67,31 +221,275 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     public OpenMetadataArchive getArchiveContents()
     {
-        File                archiveStoreFile     = new File(archiveStoreName);
-        OpenMetadataArchive newOpenMetadataArchive;
+        OpenMetadataArchive newOpenMetadataArchive = null;
+
+        try (InputStream archiveStream = this.getInputStream())
+        {
+            log.debug("Retrieving open metadata archive " + archiveStoreName);
+
+            if (archiveStream != null)
+            {
+                newOpenMetadataArchive = archiveReader.readValue(archiveStream);
+            }
+        }
+        catch (IOException ioException)
+        {
+            log.debug("Unusable open metadata archive " + archiveStoreName, ioException);
+        }
+
+        if (newOpenMetadataArchive == null)
+        {
+            newOpenMetadataArchive = new OpenMetadataArchive();
+        }
+
+        return newOpenMetadataArchive;
+    }
+
+
+    /**
+     * Pass the contents of the archive to the processor: the archive properties, then the type store and then
+     * the instances in batches - entities, then relationships, then classifications.  The file is read with a
+     * streaming parser.  Each instance is bound to a bean as it is reached and the beans are released once their
+     * batch is processed.  Normally, the sections of the archive are in the order they are needed and the file
+     * is read once.  A section that comes before a section it depends on is skipped and read from a later pass
+     * over the file.
+     *
+     * @param processor receiver of the archive contents
+     */
+    @Override
+    public void processArchiveContents(OpenMetadataArchiveContentProcessor   processor)
+    {
+        final String actionDescription = "Process open metadata archive";
 
         try
         {
-            log.debug("Retrieving server configuration properties");
+            ArchiveReadState readState = new ArchiveReadState();
 
-            String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
+            this.readArchive(processor, readState, false);
 
-            ObjectMapper objectMapper = new ObjectMapper();
+            /*
+             * Each pass processes at least the first of the outstanding sections.
+             */
+            while (readState.instanceStoreSkipped || readState.hasPendingInstanceSections())
+            {
+                int processedCount = readState.instanceSectionsProcessed.size();
+
+                readState.instanceStoreSkipped = false;
+                this.readArchive(processor, readState, true);
 
-            newOpenMetadataArchive = objectMapper.readValue(configStoreFileContents, OpenMetadataArchive.class);
+                if ((processedCount == readState.instanceSectionsProcessed.size()) && (readState.hasPendingInstanceSections()))
+                {
+                    log.error("Open metadata archive " + archiveStoreName + " changed while it was being read");
+                    break;
+                }
+            }
         }
         catch (IOException ioException)
+        {
+            log.error("Unable to read open metadata archive " + archiveStoreName, ioException);
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.BAD_ARCHIVE_STORE.getMessageDefinition(ioException.getClass().getName(),
+                                                                                         ioException.getMessage()));
+            }
+        }
+    }
+
+
+    /**
+     * Make one pass over the archive file, passing its contents to the processor.
+     *
+     * @param processor receiver of the archive contents
+     * @param readState what has been passed to the processor so far
+     * @param instancesOnly only process the instance store - used for the second pass
+     * @throws IOException the archive file is not readable or is not valid JSON
+     */
+    private void readArchive(OpenMetadataArchiveContentProcessor   processor,
+                             ArchiveReadState                      readState,
+                             boolean                               instancesOnly) throws IOException
+    {
+        try (InputStream archiveStream = this.getInputStream())
+        {
+            if (archiveStream == null)
+            {
+                log.debug("No open metadata archive " + archiveStoreName);
+                return;
+            }
+
+            try (JsonParser parser = jsonFactory.createParser(archiveStream))
+            {
+                if (parser.nextToken() != JsonToken.START_OBJECT)
+                {
+                    return;
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME)
+                {
+                    String    fieldName  = parser.getCurrentName();
+                    JsonToken valueToken = parser.nextToken();
+
+                    if (valueToken == JsonToken.VALUE_NULL)
+                    {
+                        continue;
+                    }
+
+                    if ((! instancesOnly) && (archivePropertiesProperty.equals(fieldName)))
+                    {
+                        OpenMetadataArchiveProperties archiveProperties = archivePropertiesReader.readValue(parser);
+
+                        processor.processArchiveProperties(archiveProperties);
+                        readState.propertiesProcessed = true;
+
+                        if (readState.pendingTypeStore != null)
+                        {
+                            processor.processTypeStore(readState.pendingTypeStore);
+                            readState.pendingTypeStore = null;
+                        }
+                    }
+                    else if ((! instancesOnly) && (archiveTypeStoreProperty.equals(fieldName)))
+                    {
+                        OpenMetadataArchiveTypeStore archiveTypeStore = archiveTypeStoreReader.readValue(parser);
+
+                        readState.typeStoreFound = true;
+
+                        if (readState.propertiesProcessed)
+                        {
+                            processor.processTypeStore(archiveTypeStore);
+                        }
+                        else
+                        {
+                            readState.pendingTypeStore = archiveTypeStore;
+                        }
+                    }
+                    else if (archiveInstanceStoreProperty.equals(fieldName))
+                    {
+                        if (instancesOnly || (readState.propertiesProcessed && readState.typeStoreFound))
+                        {
+                            this.readInstanceStore(parser, processor, readState);
+                        }
+                        else
+                        {
+                            /*
+                             * The types that the instances depend on may be later in the file.
+                             */
+                            parser.skipChildren();
+                            readState.instanceStoreSkipped = true;
+                        }
+                    }
+                    else
+                    {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        if ((! instancesOnly) && (! readState.propertiesProcessed))
         {
             /*
-             * The config file is not found, create a new one ...
+             * The file has content but it is not a valid archive.  The processor is told so that it
+             * can report it.
              */
+            processor.processArchiveProperties(null);
+            readState.instanceStoreSkipped = false;
+        }
+    }
 
-            log.debug("New server config Store", ioException);
 
-            newOpenMetadataArchive = new OpenMetadataArchive();
+    /**
+     * Pass the instances from the instance store to the processor in batches.  The parser is positioned
+     * at the start of the instance store object.  A section is only read once the sections that come before
+     * it in the processing order have been processed, or are known not to be in the archive.  Otherwise it is
+     * skipped and read on a later pass.
+     *
+     * @param parser parser for the archive file
+     * @param processor receiver of the instances
+     * @param readState what has been passed to the processor so far
+     * @throws IOException the archive file is not readable or is not valid JSON
+     */
+    private void readInstanceStore(JsonParser                            parser,
+                                   OpenMetadataArchiveContentProcessor   processor,
+                                   ArchiveReadState                      readState) throws IOException
+    {
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String    fieldName  = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+
+            if ((valueToken == JsonToken.START_ARRAY) && (instanceSections.contains(fieldName)))
+            {
+                readState.instanceSectionsFound.add(fieldName);
+
+                if (readState.isNextInstanceSection(fieldName))
+                {
+                    if (entitiesProperty.equals(fieldName))
+                    {
+                        this.readInstanceArray(parser, entityReader, processor::processEntities);
+                    }
+                    else if (relationshipsProperty.equals(fieldName))
+                    {
+                        this.readInstanceArray(parser, relationshipReader, processor::processRelationships);
+                    }
+                    else
+                    {
+                        this.readInstanceArray(parser, classificationReader, processor::processClassifications);
+                    }
+
+                    readState.instanceSectionsProcessed.add(fieldName);
+                }
+                else
+                {
+                    parser.skipChildren();
+                }
+            }
+            else
+            {
+                parser.skipChildren();
+            }
         }
 
-        return newOpenMetadataArchive;
+        readState.instanceStoreScanned = true;
+    }
+
+
+    /**
+     * Bind each element of an array of instances and pass them to the processor in batches.  The parser is
+     * positioned at the start of the array.
+     *
+     * @param parser parser for the archive file
+     * @param reader reader for the type of instance in the array
+     * @param batchProcessor receiver of each batch of instances
+     * @param <T> type of instance
+     * @throws IOException the archive file is not readable or is not valid JSON
+     */
+    private <T> void readInstanceArray(JsonParser          parser,
+                                       ObjectReader        reader,
+                                       Consumer<List<T>>   batchProcessor) throws IOException
+    {
+        List<T> batch = new ArrayList<>();
+
+        while (parser.nextToken() != JsonToken.END_ARRAY)
+        {
+            if (parser.getCurrentToken() != JsonToken.VALUE_NULL)
+            {
+                T instance = reader.readValue(parser);
+
+                batch.add(instance);
+
+                if (batch.size() >= instanceBatchSize)
+                {
+                    batchProcessor.accept(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+
+        if (! batch.isEmpty())
+        {
+            batchProcessor.accept(batch);
+        }
     }
 
 
@@ -102,29 +500,229 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     public void setArchiveContents(OpenMetadataArchive   archiveContents)
     {
-        File    archiveStoreFile = new File(archiveStoreName);
+        if (archiveContents == null)
+        {
+            log.debug("Removing open metadata archive " + archiveStoreName);
+
+            new File(archiveStoreName).delete();
+        }
+        else
+        {
+            OpenMetadataArchiveInstanceStore instanceStore   = archiveContents.getArchiveInstanceStore();
+            Iterator<EntityDetail>                  entities        = null;
+            Iterator<Relationship>                  relationships   = null;
+            Iterator<ClassificationEntityExtension> classifications = null;
+
+            if (instanceStore != null)
+            {
+                entities        = this.getIterator(instanceStore.getEntities());
+                relationships   = this.getIterator(instanceStore.getRelationships());
+                classifications = this.getIterator(instanceStore.getClassifications());
+            }
+
+            this.setArchiveContents(archiveContents.getArchiveProperties(),
+                                    archiveContents.getArchiveTypeStore(),
+                                    entities,
+                                    relationships,
+                                    classifications);
+        }
+    }
+
+
+    /**
+     * Set new contents into the archive from its separate parts.  This overrides any content previously stored.
+     * The archive is written with a streaming generator so each instance is serialized straight to the file as
+     * it is taken from its iterator.  The new archive is written to a temporary file that replaces the old archive
+     * once it is complete.
+     *
+     * @param archiveProperties header of the archive
+     * @param archiveTypeStore types for the archive - may be null
+     * @param entities entities for the archive - may be null
+     * @param relationships relationships for the archive - may be null
+     * @param classifications classifications for the archive - may be null
+     */
+    @Override
+    public void setArchiveContents(OpenMetadataArchiveProperties           archiveProperties,
+                                   OpenMetadataArchiveTypeStore            archiveTypeStore,
+                                   Iterator<EntityDetail>                  entities,
+                                   Iterator<Relationship>                  relationships,
+                                   Iterator<ClassificationEntityExtension> classifications)
+    {
+        Path archiveStorePath = Paths.get(archiveStoreName).toAbsolutePath();
+        Path temporaryPath    = archiveStorePath.resolveSibling(archiveStorePath.getFileName() + ".tmp");
 
         try
         {
-            log.debug("Writing open metadata archive store properties: " + archiveContents);
+            log.debug("Writing open metadata archive " + archiveStoreName);
+
+            Files.createDirectories(archiveStorePath.getParent());
 
-            if (archiveContents == null)
+            try (OutputStream archiveStream = this.getOutputStream(temporaryPath);
+                 JsonGenerator generator = jsonFactory.createGenerator(archiveStream))
             {
-                archiveStoreFile.delete();
+                generator.writeStartObject();
+                generator.writeStringField(classProperty, OpenMetadataArchive.class.getSimpleName());
+
+                if (archiveProperties != null)
+                {
+                    generator.writeFieldName(archivePropertiesProperty);
+                    archivePropertiesWriter.writeValue(generator, archiveProperties);
+                }
+
+                if (archiveTypeStore != null)
+                {
+                    generator.writeFieldName(archiveTypeStoreProperty);
+                    archiveTypeStoreWriter.writeValue(generator, archiveTypeStore);
+                }
+
+                if (this.hasNext(entities) || this.hasNext(relationships) || this.hasNext(classifications))
+                {
+                    generator.writeFieldName(archiveInstanceStoreProperty);
+                    generator.writeStartObject();
+                    generator.writeStringField(classProperty, OpenMetadataArchiveInstanceStore.class.getSimpleName());
+
+                    this.writeInstanceArray(generator, entitiesProperty, entityWriter, entities);
+                    this.writeInstanceArray(generator, relationshipsProperty, relationshipWriter, relationships);
+                    this.writeInstanceArray(generator, classificationsProperty, classificationWriter, classifications);
+
+                    generator.writeEndObject();
+                }
+
+                generator.writeEndObject();
             }
-            else
+
+            Files.move(temporaryPath, archiveStorePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException   ioException)
+        {
+            log.debug("Unusable open metadata archive " + archiveStoreName, ioException);
+
+            try
+            {
+                Files.deleteIfExists(temporaryPath);
+            }
+            catch (IOException deleteException)
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                log.debug("Unable to remove " + temporaryPath, deleteException);
+            }
+        }
+    }
 
-                String archiveStoreFileContents = objectMapper.writeValueAsString(archiveContents);
 
-                FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
+    /**
+     * Write the instances from an iterator as an array in the archive.  Nothing is written if there are no instances.
+     *
+     * @param generator generator for the archive file
+     * @param fieldName name of the array
+     * @param writer writer for the type of instance
+     * @param instances instances to write - may be null
+     * @param <T> type of instance
+     * @throws IOException the archive file can not be written
+     */
+    private <T> void writeInstanceArray(JsonGenerator   generator,
+                                        String          fieldName,
+                                        ObjectWriter    writer,
+                                        Iterator<T>     instances) throws IOException
+    {
+        if (this.hasNext(instances))
+        {
+            generator.writeArrayFieldStart(fieldName);
+
+            while (instances.hasNext())
+            {
+                T instance = instances.next();
+
+                if (instance != null)
+                {
+                    writer.writeValue(generator, instance);
+                }
             }
+
+            generator.writeEndArray();
         }
-        catch (IOException   ioException)
+    }
+
+
+    /**
+     * Test whether an iterator has any more elements.
+     *
+     * @param iterator iterator - may be null
+     * @return boolean flag
+     */
+    private boolean hasNext(Iterator<?>   iterator)
+    {
+        return (iterator != null) && (iterator.hasNext());
+    }
+
+
+    /**
+     * Return an iterator for a list.
+     *
+     * @param list list - may be null
+     * @param <T> type of the list elements
+     * @return iterator or null if the list is null
+     */
+    private <T> Iterator<T> getIterator(List<T>   list)
+    {
+        if (list == null)
+        {
+            return null;
+        }
+
+        return list.iterator();
+    }
+
+
+    /**
+     * Open the archive file for reading.  A file compressed with gzip is recognized from its first bytes.
+     *
+     * @return buffered input stream or null if the archive file does not exist
+     * @throws IOException the file can not be read
+     */
+    private InputStream getInputStream() throws IOException
+    {
+        Path archiveStorePath = Paths.get(archiveStoreName);
+
+        if (! Files.isRegularFile(archiveStorePath))
+        {
+            return null;
+        }
+
+        InputStream archiveStream = new BufferedInputStream(Files.newInputStream(archiveStorePath), bufferSize);
+
+        archiveStream.mark(2);
+
+        int firstByte  = archiveStream.read();
+        int secondByte = archiveStream.read();
+
+        archiveStream.reset();
+
+        if ((firstByte == (GZIPInputStream.GZIP_MAGIC & 0xff)) && (secondByte == (GZIPInputStream.GZIP_MAGIC >> 8)))
+        {
+            return new GZIPInputStream(archiveStream, bufferSize);
+        }
+
+        return archiveStream;
+    }
+
+
+    /**
+     * Open a file for writing the archive.  The archive is compressed if the name of the archive ends in ".gz".
+     *
+     * @param path file to write
+     * @return buffered output stream
+     * @throws IOException the file can not be written
+     */
+    private OutputStream getOutputStream(Path   path) throws IOException
+    {
+        OutputStream archiveStream = new BufferedOutputStream(Files.newOutputStream(path), bufferSize);
+
+        if (archiveStoreName.endsWith(compressedFileSuffix))
         {
-            log.debug("Unusable Server config Store :(", ioException);
+            return new GZIPOutputStream(archiveStream, bufferSize);
         }
+
+        return archiveStream;
     }
 
 
@@ -148,6 +746,64 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     {
         super.disconnect();
 
-        log.debug("Closing Config Store.");
+        log.debug("Closing open metadata archive.");
+    }
+
+
+    /**
+     * ArchiveReadState records what has been passed to the processor while the archive file is read.
+     */
+    private static class ArchiveReadState
+    {
+        boolean                      propertiesProcessed       = false;
+        boolean                      typeStoreFound            = false;
+        boolean                      instanceStoreSkipped      = false;
+        boolean                      instanceStoreScanned      = false;
+        OpenMetadataArchiveTypeStore pendingTypeStore          = null;
+        Set<String>                  instanceSectionsFound     = new HashSet<>();
+        Set<String>                  instanceSectionsProcessed = new HashSet<>();
+
+
+        /**
+         * Test whether a section of the instance store can be processed now.  It can if it has not been
+         * processed already and each section before it has been processed, or is known not to be in the archive.
+         *
+         * @param sectionName name of the section
+         * @return boolean flag
+         */
+        boolean isNextInstanceSection(String   sectionName)
+        {
+            if (instanceSectionsProcessed.contains(sectionName))
+            {
+                return false;
+            }
+
+            for (String instanceSection : instanceSections)
+            {
+                if (instanceSection.equals(sectionName))
+                {
+                    return true;
+                }
+
+                if ((! instanceSectionsProcessed.contains(instanceSection)) &&
+                    ((! instanceStoreScanned) || (instanceSectionsFound.contains(instanceSection))))
+                {
+                    return false;
+                }
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Test whether there are sections of the instance store that have been found but not processed.
+         *
+         * @return boolean flag
+         */
+        boolean hasPendingInstanceSections()
+        {
+            return ! instanceSectionsProcessed.containsAll(instanceSectionsFound);
+        }
     }
 }
@@ -0,0 +1,573 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the archives streamed by FileBasedOpenMetadataArchiveStoreConnector match the whole-file format:
+ * a streamed write produces the same JSON as the whole archive written in one go, and an archive written in one go
+ * is passed to the processor complete and in order, whatever the order of its sections.  Also validate the parsing
+ * of the instanceBatchSize property.
+ */
+public class FileBasedOpenMetadataArchiveStoreConnectorTest
+{
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final int entityCount = 10;
+
+
+    /**
+     * OpenMetadataArchiveContentProcessor that saves what it is passed.
+     */
+    private static class TestContentProcessor implements OpenMetadataArchiveContentProcessor
+    {
+        OpenMetadataArchiveProperties       archiveProperties = null;
+        OpenMetadataArchiveTypeStore        archiveTypeStore  = null;
+        List<EntityDetail>                  entities          = new ArrayList<>();
+        List<Relationship>                  relationships     = new ArrayList<>();
+        List<ClassificationEntityExtension> classifications   = new ArrayList<>();
+        List<Integer>                       entityBatchSizes  = new ArrayList<>();
+        List<String>                        callOrder         = new ArrayList<>();
+
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            this.archiveProperties = archiveProperties;
+            callOrder.add("properties");
+        }
+
+
+        @Override
+        public void processTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore)
+        {
+            this.archiveTypeStore = archiveTypeStore;
+            callOrder.add("types");
+        }
+
+
+        @Override
+        public void processEntities(List<EntityDetail> entities)
+        {
+            this.entities.addAll(entities);
+            entityBatchSizes.add(entities.size());
+            callOrder.add("entities");
+        }
+
+
+        @Override
+        public void processRelationships(List<Relationship> relationships)
+        {
+            this.relationships.addAll(relationships);
+            callOrder.add("relationships");
+        }
+
+
+        @Override
+        public void processClassifications(List<ClassificationEntityExtension> classifications)
+        {
+            this.classifications.addAll(classifications);
+            callOrder.add("classifications");
+        }
+
+
+        /**
+         * Return the archive made from the parts passed to the processor.
+         *
+         * @return archive
+         */
+        OpenMetadataArchive getArchive()
+        {
+            OpenMetadataArchive              archive       = new OpenMetadataArchive();
+            OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+
+            instanceStore.setEntities(entities);
+            instanceStore.setRelationships(relationships);
+            instanceStore.setClassifications(classifications);
+
+            archive.setArchiveProperties(archiveProperties);
+            archive.setArchiveTypeStore(archiveTypeStore);
+            archive.setArchiveInstanceStore(instanceStore);
+
+            return archive;
+        }
+    }
+
+
+    /**
+     * Return a connector for an archive file.
+     *
+     * @param archiveFile archive file
+     * @param instanceBatchSize value for the instanceBatchSize property or null for none
+     * @return initialized connector
+     * @throws Exception problem in test
+     */
+    private FileBasedOpenMetadataArchiveStoreConnector getConnector(File    archiveFile,
+                                                                    Object  instanceBatchSize) throws Exception
+    {
+        Connection connection = new Connection();
+        Endpoint   endpoint   = new Endpoint();
+
+        endpoint.setAddress(archiveFile.getAbsolutePath());
+        connection.setEndpoint(endpoint);
+
+        if (instanceBatchSize != null)
+        {
+            Map<String, Object> configurationProperties = new HashMap<>();
+
+            configurationProperties.put(FileBasedOpenMetadataArchiveStoreConnector.INSTANCE_BATCH_SIZE_PROPERTY, instanceBatchSize);
+            connection.setConfigurationProperties(configurationProperties);
+        }
+
+        FileBasedOpenMetadataArchiveStoreConnector connector = new FileBasedOpenMetadataArchiveStoreConnector();
+
+        connector.initialize("test", new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    /**
+     * Return an archive with properties, a type and some of each kind of instance.
+     *
+     * @return archive
+     */
+    private OpenMetadataArchive getArchive()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID("archive-guid");
+        archiveProperties.setArchiveName("TestArchive");
+        archiveProperties.setArchiveDescription("Archive for testing the file connector");
+
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setGUID("type-guid");
+        typeDef.setName("TestType");
+
+        OpenMetadataArchiveTypeStore archiveTypeStore = new OpenMetadataArchiveTypeStore();
+
+        archiveTypeStore.setNewTypeDefs(Collections.singletonList((TypeDef) typeDef));
+
+        List<EntityDetail>                  entities        = new ArrayList<>();
+        List<Relationship>                  relationships   = new ArrayList<>();
+        List<ClassificationEntityExtension> classifications = new ArrayList<>();
+
+        for (int entityNumber = 0; entityNumber < entityCount; entityNumber++)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID("entity-" + entityNumber);
+            entity.setVersion(entityNumber);
+            entities.add(entity);
+
+            Relationship relationship = new Relationship();
+
+            relationship.setGUID("relationship-" + entityNumber);
+            relationship.setEntityOneProxy(new EntityProxy(entity));
+            relationships.add(relationship);
+
+            Classification classification = new Classification();
+
+            classification.setName("TestClassification");
+
+            ClassificationEntityExtension classificationExtension = new ClassificationEntityExtension();
+
+            classificationExtension.setEntityToClassify(new EntityProxy(entity));
+            classificationExtension.setClassification(classification);
+            classifications.add(classificationExtension);
+        }
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+
+        instanceStore.setEntities(entities);
+        instanceStore.setRelationships(relationships);
+        instanceStore.setClassifications(classifications);
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveTypeStore(archiveTypeStore);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        return archive;
+    }
+
+
+    /**
+     * Return the JSON written for an archive in one go, parsed back to a tree.
+     *
+     * @param archive archive
+     * @return JSON tree
+     * @throws Exception problem in test
+     */
+    private JsonNode getWholeFileTree(OpenMetadataArchive archive) throws Exception
+    {
+        return objectMapper.readTree(objectMapper.writeValueAsString(archive));
+    }
+
+
+    /**
+     * Read the JSON in a file, decompressing it if necessary.
+     *
+     * @param archiveFile archive file
+     * @param compressed the file is compressed with gzip
+     * @return JSON tree
+     * @throws Exception problem in test
+     */
+    private JsonNode readTree(File     archiveFile,
+                              boolean  compressed) throws Exception
+    {
+        try (InputStream inputStream = compressed ? new GZIPInputStream(Files.newInputStream(archiveFile.toPath()))
+                                                  : Files.newInputStream(archiveFile.toPath()))
+        {
+            return objectMapper.readTree(inputStream);
+        }
+    }
+
+
+    /**
+     * A streamed write produces the same JSON as the whole-file format, and the whole archive reads back
+     * unchanged.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testStreamedWrite() throws Exception
+    {
+        File directory = Files.createTempDirectory("archive-test").toFile();
+
+        try
+        {
+            File                archiveFile = new File(directory, "test.json");
+            OpenMetadataArchive archive     = getArchive();
+
+            FileBasedOpenMetadataArchiveStoreConnector connector = getConnector(archiveFile, null);
+
+            connector.setArchiveContents(archive);
+
+            assertEquals(readTree(archiveFile, false), getWholeFileTree(archive));
+            assertEquals(getWholeFileTree(connector.getArchiveContents()), getWholeFileTree(archive));
+        }
+        finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * A streamed write from separate iterators matches the whole-file format, and an archive with a name ending in
+     * ".gz" is compressed.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testStreamedWriteCompressed() throws Exception
+    {
+        File directory = Files.createTempDirectory("archive-test").toFile();
+
+        try
+        {
+            File                             archiveFile   = new File(directory, "test.json.gz");
+            OpenMetadataArchive              archive       = getArchive();
+            OpenMetadataArchiveInstanceStore instanceStore = archive.getArchiveInstanceStore();
+
+            FileBasedOpenMetadataArchiveStoreConnector connector = getConnector(archiveFile, null);
+
+            connector.setArchiveContents(archive.getArchiveProperties(),
+                                         archive.getArchiveTypeStore(),
+                                         instanceStore.getEntities().iterator(),
+                                         instanceStore.getRelationships().iterator(),
+                                         instanceStore.getClassifications().iterator());
+
+            assertEquals(readTree(archiveFile, true), getWholeFileTree(archive));
+
+            TestContentProcessor processor = new TestContentProcessor();
+
+            connector.processArchiveContents(processor);
+
+            assertEquals(getWholeFileTree(processor.getArchive()), getWholeFileTree(archive));
+        }
+        finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * An archive written in one go is passed to the processor complete, in order and in batches.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testStreamedRead() throws Exception
+    {
+        File directory = Files.createTempDirectory("archive-test").toFile();
+
+        try
+        {
+            File                archiveFile = new File(directory, "test.json");
+            OpenMetadataArchive archive     = getArchive();
+
+            objectMapper.writeValue(archiveFile, archive);
+
+            TestContentProcessor processor = new TestContentProcessor();
+
+            getConnector(archiveFile, 3).processArchiveContents(processor);
+
+            assertEquals(getWholeFileTree(processor.getArchive()), getWholeFileTree(archive));
+            assertEquals(processor.entityBatchSizes, Arrays.asList(3, 3, 3, 1));
+            assertEquals(processor.callOrder.get(0), "properties");
+            assertEquals(processor.callOrder.get(1), "types");
+        }
+        finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * An archive whose instances come before its types is still passed to the processor with the types first.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testStreamedReadInstancesFirst() throws Exception
+    {
+        File directory = Files.createTempDirectory("archive-test").toFile();
+
+        try
+        {
+            File                archiveFile = new File(directory, "test.json");
+            OpenMetadataArchive archive     = getArchive();
+            ObjectNode          wholeFile   = (ObjectNode) getWholeFileTree(archive);
+            ObjectNode          reordered   = objectMapper.createObjectNode();
+            Iterator<String>    fieldNames  = wholeFile.fieldNames();
+
+            reordered.set("archiveInstanceStore", wholeFile.get("archiveInstanceStore"));
+
+            while (fieldNames.hasNext())
+            {
+                String fieldName = fieldNames.next();
+
+                if (! "archiveInstanceStore".equals(fieldName))
+                {
+                    reordered.set(fieldName, wholeFile.get(fieldName));
+                }
+            }
+
+            objectMapper.writeValue(archiveFile, reordered);
+
+            TestContentProcessor processor = new TestContentProcessor();
+
+            getConnector(archiveFile, null).processArchiveContents(processor);
+
+            assertEquals(getWholeFileTree(processor.getArchive()), getWholeFileTree(archive));
+            assertEquals(processor.callOrder.get(0), "properties");
+            assertEquals(processor.callOrder.get(1), "types");
+            assertEquals(processor.entityBatchSizes, Collections.singletonList(entityCount));
+        }
+        finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * An archive whose instance sections are in reverse order, with the instance store before the types, is
+     * still passed to the processor in the fixed order: types, entities, relationships and then classifications.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testStreamedReadSectionsReversed() throws Exception
+    {
+        File directory = Files.createTempDirectory("archive-test").toFile();
+
+        try
+        {
+            File                archiveFile   = new File(directory, "test.json");
+            OpenMetadataArchive archive       = getArchive();
+            ObjectNode          wholeFile     = (ObjectNode) getWholeFileTree(archive);
+            JsonNode            instanceStore = wholeFile.get("archiveInstanceStore");
+            ObjectNode          reversedStore = objectMapper.createObjectNode();
+            ObjectNode          reordered     = objectMapper.createObjectNode();
+
+            reversedStore.set("classifications", instanceStore.get("classifications"));
+            reversedStore.set("relationships", instanceStore.get("relationships"));
+            reversedStore.set("entities", instanceStore.get("entities"));
+
+            reordered.set("archiveInstanceStore", reversedStore);
+            reordered.set("archiveTypeStore", wholeFile.get("archiveTypeStore"));
+            reordered.set("archiveProperties", wholeFile.get("archiveProperties"));
+
+            objectMapper.writeValue(archiveFile, reordered);
+
+            TestContentProcessor processor = new TestContentProcessor();
+
+            getConnector(archiveFile, 4).processArchiveContents(processor);
+
+            assertEquals(getWholeFileTree(processor.getArchive()), getWholeFileTree(archive));
+            assertEquals(processor.callOrder, Arrays.asList("properties",
+                                                            "types",
+                                                            "entities",
+                                                            "entities",
+                                                            "entities",
+                                                            "relationships",
+                                                            "relationships",
+                                                            "relationships",
+                                                            "classifications",
+                                                            "classifications",
+                                                            "classifications"));
+        }
+        finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * An archive with only relationships and classifications, in reverse order, passes the relationships first.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testStreamedReadMissingSection() throws Exception
+    {
+        File directory = Files.createTempDirectory("archive-test").toFile();
+
+        try
+        {
+            File                archiveFile   = new File(directory, "test.json");
+            ObjectNode          wholeFile     = (ObjectNode) getWholeFileTree(getArchive());
+            ObjectNode          instanceStore = (ObjectNode) wholeFile.get("archiveInstanceStore");
+            ObjectNode          reversedStore = objectMapper.createObjectNode();
+
+            reversedStore.set("classifications", instanceStore.get("classifications"));
+            reversedStore.set("relationships", instanceStore.get("relationships"));
+            wholeFile.set("archiveInstanceStore", reversedStore);
+
+            objectMapper.writeValue(archiveFile, wholeFile);
+
+            TestContentProcessor processor = new TestContentProcessor();
+
+            getConnector(archiveFile, null).processArchiveContents(processor);
+
+            assertEquals(processor.callOrder, Arrays.asList("properties", "types", "relationships", "classifications"));
+            assertEquals(processor.relationships.size(), entityCount);
+            assertEquals(processor.classifications.size(), entityCount);
+        }
+        finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * The instanceBatchSize property may be any number or a numeric string.  Other values are ignored.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testInstanceBatchSizeProperty() throws Exception
+    {
+        File directory = Files.createTempDirectory("archive-test").toFile();
+
+        try
+        {
+            File archiveFile = new File(directory, "test.json");
+
+            objectMapper.writeValue(archiveFile, getArchive());
+
+            Object[] validValues   = { 4, 4L, 4.0, "4", " 4 " };
+            Object[] invalidValues = { "many", "4.5", 0, -4, Long.MAX_VALUE, Boolean.TRUE };
+
+            for (Object value : validValues)
+            {
+                TestContentProcessor processor = new TestContentProcessor();
+
+                getConnector(archiveFile, value).processArchiveContents(processor);
+
+                assertEquals(processor.entityBatchSizes, Arrays.asList(4, 4, 2), "Value " + value);
+            }
+
+            assertTrue(OpenMetadataArchiveStoreConnector.DEFAULT_INSTANCE_BATCH_SIZE >= entityCount);
+
+            for (Object value : invalidValues)
+            {
+                TestContentProcessor processor = new TestContentProcessor();
+
+                getConnector(archiveFile, value).processArchiveContents(processor);
+
+                assertEquals(processor.entityBatchSizes.size(), 1, "Value " + value);
+            }
+        }
+        finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * Remove a test directory and its files.
+     *
+     * @param directory test directory
+     */
+    private void deleteDirectory(File directory)
+    {
+        File[] files = directory.listFiles();
+
+        assertNotNull(files);
+
+        for (File file : files)
+        {
+            file.delete();
+        }
+
+        directory.delete();
+    }
+}
@@ -23,6 +23,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceMatcher;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
@@ -1788,6 +1789,17 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
         ArrayList<EntityDetail> returnEntities = null;
 
+        /*
+         * If the results do not need to be sequenced or filtered by classification after they are retrieved, only
+         * the entities up to the end of the requested page are needed.  The limit is pushed into each traversal and
+         * no further types are searched once it is reached.
+         */
+        int resultLimit = GraphOMRSQueryPlanner.getResultLimit(fromEntityElement,
+                                                               pageSize,
+                                                               sequencingProperty,
+                                                               sequencingOrder,
+                                                               matchClassifications != null);
+
 
         String specifiedTypeName = null;
         if (entityTypeGUID != null)
@@ -1861,7 +1873,17 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 /*
                  * Invoke a type specific search. The search will expect the regexp to match fully to the value.
                  */
-                List<EntityDetail> entitiesForCurrentType = graphStore.findEntities(actualTypeName, matchProperties, true);
+                int typeResultLimit = 0;
+                if (resultLimit > 0)
+                {
+                    typeResultLimit = resultLimit - (returnEntities == null ? 0 : returnEntities.size());
+                    if (typeResultLimit <= 0)
+                    {
+                        break;
+                    }
+                }
+
+                List<EntityDetail> entitiesForCurrentType = graphStore.findEntities(actualTypeName, matchProperties, true, limitResultsByStatus, typeResultLimit);
 
                 if (entitiesForCurrentType != null && !entitiesForCurrentType.isEmpty())
                 {
@@ -1889,14 +1911,19 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
         else
         {
-            List<EntityDetail> retainedEntities = new ArrayList<>();
+            /*
+             * The property conditions have been applied by the graph query so only the classification
+             * conditions are tested here.  They are prepared once for all of the entities.
+             */
+            OMRSInstanceMatcher instanceMatcher  = repositoryValidator.getInstanceMatcher((SearchProperties) null, matchClassifications);
+            List<EntityDetail>  retainedEntities = new ArrayList<>();
             for (EntityDetail entity : returnEntities)
             {
                 if (entity != null)
                 {
                     if ((entity.getStatus() != InstanceStatus.DELETED)
                             && (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity))
-                            && (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)))
+                            && (instanceMatcher.matchesClassifications(entity)))
                     {
                         retainedEntities.add(entity);
                     }
@@ -2004,6 +2031,17 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
         ArrayList<Relationship> returnRelationships = null;
 
+        /*
+         * If the results do not need to be sequenced after they are retrieved, only the relationships up to the
+         * end of the requested page are needed.  The limit is pushed into each traversal and no further types are
+         * searched once it is reached.
+         */
+        int resultLimit = GraphOMRSQueryPlanner.getResultLimit(fromRelationshipElement,
+                                                               pageSize,
+                                                               sequencingProperty,
+                                                               sequencingOrder,
+                                                               false);
+
 
         String specifiedTypeName = null;
         if (relationshipTypeGUID != null)
@@ -2077,7 +2115,17 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 /*
                  * Invoke a type specific search. The search will expect the regexp to match fully to the value.
                  */
-                List<Relationship> relationshipsForCurrentType = graphStore.findRelationships(actualTypeName, matchProperties, true);
+                int typeResultLimit = 0;
+                if (resultLimit > 0)
+                {
+                    typeResultLimit = resultLimit - (returnRelationships == null ? 0 : returnRelationships.size());
+                    if (typeResultLimit <= 0)
+                    {
+                        break;
+                    }
+                }
+
+                List<Relationship> relationshipsForCurrentType = graphStore.findRelationships(actualTypeName, matchProperties, true, limitResultsByStatus, typeResultLimit);
 
                 if (relationshipsForCurrentType != null && !relationshipsForCurrentType.isEmpty())
                 {
@@ -4,6 +4,7 @@
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -116,6 +117,7 @@ class GraphOMRSMetadataStore {
     private GraphOMRSRelationshipMapper relationshipMapper;
     private GraphOMRSEntityMapper entityMapper;
     private GraphOMRSClassificationMapper classificationMapper;
+    private GraphOMRSQueryPlanner queryPlanner;
 
 
     /**
@@ -161,6 +163,7 @@ class GraphOMRSMetadataStore {
         this.relationshipMapper = new GraphOMRSRelationshipMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.entityMapper = new GraphOMRSEntityMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.classificationMapper = new GraphOMRSClassificationMapper(metadataCollectionId, repositoryName, repositoryHelper);
+        this.queryPlanner = new GraphOMRSQueryPlanner(repositoryHelper);
 
     }
 
@@ -1766,7 +1769,12 @@ class GraphOMRSMetadataStore {
                                 log.debug("{} primitive match property search string {}", methodName, searchString);
 
                                 // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
+                                P<String> indexPredicate = queryPlanner.getStringPredicate((String) primValue, mapping, fullMatch);
+                                if (indexPredicate != null)
+                                {
+                                    t = t.has(propNameToSearch, indexPredicate);    // a literal exact or prefix match can be answered directly from the index
+                                }
+                                else if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
                                 {
                                     t = t.has(propNameToSearch, Text.textContainsRegex(searchString));     // for a field indexed using Text mapping use textContains or textContainsRegex
                                 }
@@ -1836,7 +1844,9 @@ class GraphOMRSMetadataStore {
                     }
                     else
                     {
-                        gt = gt.and(propCriteria.toArray(new GraphTraversal[0]));
+                        GraphOMRSQueryPlanner.QueryPlan plan = new GraphOMRSQueryPlanner.QueryPlan(typeDefName);
+                        gt = queryPlanner.applyAllCriteria(gt, propCriteria, plan);
+                        log.debug("{} query plan {}", methodName, plan);
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                     }
                     break;
@@ -2388,7 +2398,12 @@ class GraphOMRSMetadataStore {
                                 log.debug("{} primitive match property search string {}", methodName, searchString);
 
                                 // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
+                                P<String> indexPredicate = queryPlanner.getStringPredicate((String) primValue, mapping, fullMatch);
+                                if (indexPredicate != null)
+                                {
+                                    t = t.has(propNameToSearch, indexPredicate);    // a literal exact or prefix match can be answered directly from the index
+                                }
+                                else if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
                                 {
                                     t = t.has(propNameToSearch, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
                                 }
@@ -2457,7 +2472,9 @@ class GraphOMRSMetadataStore {
                     }
                     else
                     {
-                        gt = gt.and(propCriteria.toArray(new GraphTraversal[0]));
+                        GraphOMRSQueryPlanner.QueryPlan plan = new GraphOMRSQueryPlanner.QueryPlan(typeDefName);
+                        gt = queryPlanner.applyAllCriteria(gt, propCriteria, plan);
+                        log.debug("{} query plan {}", methodName, plan);
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                     }
                     break;
@@ -3097,7 +3114,12 @@ class GraphOMRSMetadataStore {
                                     log.debug("{} primitive match property search string {}", methodName, searchString);
 
                                     // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                    if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
+                                    P<String> indexPredicate = queryPlanner.getStringPredicate((String) primValue, mapping, fullMatch);
+                                    if (indexPredicate != null)
+                                    {
+                                        t = t.has(propNameToSearch, indexPredicate);    // a literal exact or prefix match can be answered directly from the index
+                                    }
+                                    else if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
                                     {
                                         t = t.has(propNameToSearch, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
                                     }
@@ -3946,9 +3968,11 @@ class GraphOMRSMetadataStore {
 
 
     // findEntities
-    List<EntityDetail> findEntities(String              typeDefName,
-                                    SearchProperties    searchProperties,
-                                    boolean             fullMatch)
+    List<EntityDetail> findEntities(String                typeDefName,
+                                    SearchProperties      searchProperties,
+                                    boolean               fullMatch,
+                                    List<InstanceStatus>  limitResultsByStatus,
+                                    int                   resultLimit)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -4000,6 +4024,8 @@ class GraphOMRSMetadataStore {
          * Even if there are no search properties specified, the method performs a traversal.
          */
 
+        GraphOMRSQueryPlanner.QueryPlan plan = new GraphOMRSQueryPlanner.QueryPlan(typeDefName);
+
         GraphTraversalSource g = instanceGraph.traversal();
 
         GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
@@ -4032,6 +4058,16 @@ class GraphOMRSMetadataStore {
             {
                 List<GraphTraversal<Vertex, Vertex>> propCriteria = processEntitySearchProperties(typeDefName, searchProperties, fullMatch);
 
+                /*
+                 * If no entity of this type can match there is no need to traverse the graph.
+                 */
+                if (queryPlanner.isUnsatisfiable(propCriteria, searchProperties.getMatchCriteria(), plan))
+                {
+                    log.debug("{} query plan {}", methodName, plan);
+                    g.tx().rollback();
+                    return entities;
+                }
+
                 /*
                  * Use the MatchCriteria to combine the properCriteria into the overall graph traversal.
                  *
@@ -4049,7 +4085,7 @@ class GraphOMRSMetadataStore {
                     case ALL:
                         if (!propCriteria.isEmpty())
                         {
-                            gt = gt.and(propCriteria.toArray(new GraphTraversal[0]));
+                            gt = queryPlanner.applyAllCriteria(gt, propCriteria, plan);
                         }
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
@@ -4058,6 +4094,7 @@ class GraphOMRSMetadataStore {
                         if (!propCriteria.isEmpty())
                         {
                             gt = gt.or(propCriteria.toArray(new GraphTraversal[0]));
+                            queryPlanner.recordResidualCriteria(propCriteria, plan);
                         }
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
@@ -4068,6 +4105,7 @@ class GraphOMRSMetadataStore {
                             GraphTraversal<Vertex, Vertex> t = new DefaultGraphTraversal<>();
                             t = t.or(propCriteria.toArray(new GraphTraversal[0]));
                             gt = gt.not(t);
+                            queryPlanner.recordResidualCriteria(propCriteria, plan);
                         }
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
@@ -4098,6 +4136,18 @@ class GraphOMRSMetadataStore {
             }
         }
 
+        /*
+         * When the caller wants a limited number of results, filter on status in the traversal so that the
+         * limit applies to the entities that will be returned.
+         */
+        if (resultLimit > 0)
+        {
+            gt = queryPlanner.applyStatusFilter(gt, PROPERTY_KEY_ENTITY_CURRENT_STATUS, limitResultsByStatus, plan);
+            gt = queryPlanner.applyLimit(gt, resultLimit, plan);
+        }
+
+        log.debug("{} query plan {}", methodName, plan);
+
         while (gt.hasNext())
         {
             Vertex vertex = gt.next();
@@ -4138,9 +4188,11 @@ class GraphOMRSMetadataStore {
 
 
     // findRelationships
-    List<Relationship> findRelationships(String              typeDefName,
-                                         SearchProperties    searchProperties,
-                                         boolean             fullMatch)
+    List<Relationship> findRelationships(String                typeDefName,
+                                         SearchProperties      searchProperties,
+                                         boolean               fullMatch,
+                                         List<InstanceStatus>  limitResultsByStatus,
+                                         int                   resultLimit)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -4192,6 +4244,8 @@ class GraphOMRSMetadataStore {
          * Even if there are no search properties specified, the method performs a traversal.
          */
 
+        GraphOMRSQueryPlanner.QueryPlan plan = new GraphOMRSQueryPlanner.QueryPlan(typeDefName);
+
         GraphTraversalSource g = instanceGraph.traversal();
 
         GraphTraversal<Edge, Edge> gt = g.E().hasLabel("Relationship");
@@ -4222,6 +4276,16 @@ class GraphOMRSMetadataStore {
             {
                 List<GraphTraversal<Edge, Edge>> propCriteria = processRelationshipSearchProperties(typeDefName, searchProperties, fullMatch);
 
+                /*
+                 * If no relationship of this type can match there is no need to traverse the graph.
+                 */
+                if (queryPlanner.isUnsatisfiable(propCriteria, searchProperties.getMatchCriteria(), plan))
+                {
+                    log.debug("{} query plan {}", methodName, plan);
+                    g.tx().rollback();
+                    return relationships;
+                }
+
                 /*
                  * Use the MatchCriteria to combine the properCriteria into the overall graph traversal.
                  *
@@ -4239,7 +4303,7 @@ class GraphOMRSMetadataStore {
                     case ALL:
                         if (!propCriteria.isEmpty())
                         {
-                            gt = gt.and(propCriteria.toArray(new GraphTraversal[0]));
+                            gt = queryPlanner.applyAllCriteria(gt, propCriteria, plan);
                         }
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
@@ -4248,6 +4312,7 @@ class GraphOMRSMetadataStore {
                         if (!propCriteria.isEmpty())
                         {
                             gt = gt.or(propCriteria.toArray(new GraphTraversal[0]));
+                            queryPlanner.recordResidualCriteria(propCriteria, plan);
                         }
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
@@ -4258,6 +4323,7 @@ class GraphOMRSMetadataStore {
                             GraphTraversal<Edge, Edge> t = new DefaultGraphTraversal<>();
                             t = t.or(propCriteria.toArray(new GraphTraversal[0]));
                             gt = gt.not(t);
+                            queryPlanner.recordResidualCriteria(propCriteria, plan);
                         }
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
@@ -4289,6 +4355,18 @@ class GraphOMRSMetadataStore {
         }
 
 
+        /*
+         * When the caller wants a limited number of results, filter on status in the traversal so that the
+         * limit applies to the relationships that will be returned.
+         */
+        if (resultLimit > 0)
+        {
+            gt = queryPlanner.applyStatusFilter(gt, PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS, limitResultsByStatus, plan);
+            gt = queryPlanner.applyLimit(gt, resultLimit, plan);
+        }
+
+        log.debug("{} query plan {}", methodName, plan);
+
         while (gt.hasNext())
         {
             Edge edge = gt.next();
@@ -4864,10 +4942,7 @@ class GraphOMRSMetadataStore {
              * than just using the propName as supplied, or with the core prefix, to avoid the
              * possibility that it matches a property key prefixed name.
              */
-            String nonExistentProperty = "INVALID_PROPERTY_"+propName+"_FOR_TYPE_"+typeDefName;
-            GraphTraversal<Vertex, Vertex>  t = new DefaultGraphTraversal<>();
-            t = t.hasKey(nonExistentProperty);
-            propertyCriterion = t;
+            propertyCriterion = queryPlanner.getUnknownPropertyCriterion(propName, typeDefName);
 
         }
         return propertyCriterion;
@@ -5328,10 +5403,7 @@ class GraphOMRSMetadataStore {
              * than just using the propName as supplied, or with the core prefix, to avoid the
              * possibility that it matches a property key prefixed name.
              */
-            String nonExistentProperty = "INVALID_PROPERTY_"+propName+"_FOR_TYPE_"+typeDefName;
-            GraphTraversal<Vertex, Vertex>  t = new DefaultGraphTraversal<>();
-            t = t.hasKey(nonExistentProperty);
-            propertyCriterion = t;
+            propertyCriterion = queryPlanner.getUnknownPropertyCriterion(propName, typeDefName);
 
             return propertyCriterion;
 
@@ -5605,10 +5677,7 @@ class GraphOMRSMetadataStore {
              * than just using the propName as supplied, or with the core prefix, to avoid the
              * possibility that it matches a property key prefixed name.
              */
-            String nonExistentProperty = "INVALID_PROPERTY_"+propName+"_FOR_TYPE_"+typeDefName;
-            GraphTraversal<Edge, Edge>  t = new DefaultGraphTraversal<>();
-            t = t.hasKey(nonExistentProperty);
-            propertyCriterion = t;
+            propertyCriterion = queryPlanner.getUnknownPropertyCriterion(propName, typeDefName);
 
         }
         return propertyCriterion;
@@ -6064,10 +6133,7 @@ class GraphOMRSMetadataStore {
              * than just using the propName as supplied, or with the core prefix, to avoid the
              * possibility that it matches a property key prefixed name.
              */
-            String nonExistentProperty = "INVALID_PROPERTY_"+propName+"_FOR_TYPE_"+typeDefName;
-            GraphTraversal<Edge, Edge>  t = new DefaultGraphTraversal<>();
-            t = t.hasKey(nonExistentProperty);
-            propertyCriterion = t;
+            propertyCriterion = queryPlanner.getUnknownPropertyCriterion(propName, typeDefName);
 
         }
 
@@ -6097,7 +6163,12 @@ class GraphOMRSMetadataStore {
             log.debug("{} primitive match property search string {}", methodName, searchString);
 
             // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-            if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
+            P<String> indexPredicate = queryPlanner.getStringPredicate((String) primValue, mapping, fullMatch);
+            if (indexPredicate != null)
+            {
+                t = t.has(propNameInGraph, indexPredicate);    // a literal exact or prefix match can be answered directly from the index
+            }
+            else if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
             {
                 t = t.has(propNameInGraph, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
             }
@@ -6247,7 +6318,12 @@ class GraphOMRSMetadataStore {
             log.debug("{} primitive match property search string {}", methodName, searchString);
 
             // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-            if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
+            P<String> indexPredicate = queryPlanner.getStringPredicate((String) primValue, mapping, fullMatch);
+            if (indexPredicate != null)
+            {
+                t = t.has(propNameInGraph, indexPredicate);    // a literal exact or prefix match can be answered directly from the index
+            }
+            else if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
             {
                 t = t.has(propNameInGraph, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
             }
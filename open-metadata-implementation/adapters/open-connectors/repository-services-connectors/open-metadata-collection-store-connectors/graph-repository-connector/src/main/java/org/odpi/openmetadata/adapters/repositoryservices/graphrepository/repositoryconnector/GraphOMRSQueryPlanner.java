@@ -0,0 +1,556 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.janusgraph.core.attribute.Text;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.within;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.without;
+
+
+/**
+ * GraphOMRSQueryPlanner decides how the property conditions of a find request are applied to the graph traversal
+ * so that JanusGraph can satisfy as much of the request as possible from its indexes.
+ *
+ * JanusGraph can only use an index for conditions that are simple has() steps on the traversal that retrieves the
+ * vertices or edges.  Everything else is evaluated in the JVM against every element the index lookup returns - which,
+ * when the only indexed condition is the type name, is every instance of the type.  The planner therefore:
+ * <ul>
+ *     <li>turns literal exact-match and starts-with regular expressions into equality and prefix predicates that
+ *     the composite and mixed indexes answer directly, rather than a regular expression that has to be evaluated
+ *     against each indexed term;</li>
+ *     <li>lifts the simple conditions of an ALL match out of the and() step onto the traversal itself, most selective
+ *     first, leaving only the conditions that cannot use an index to be evaluated in the JVM;</li>
+ *     <li>recognises searches that cannot match any instance of a type (for example an ALL match on a property that
+ *     the type does not have) so that no traversal is issued for that type;</li>
+ *     <li>pushes status filtering and the result limit into the traversal when the caller has no further filtering
+ *     or ordering to do.</li>
+ * </ul>
+ * Classification conditions are not pushed into the traversal.  Classifications are held on their own vertices
+ * and are matched in the JVM after the entities are retrieved, so a search with classification conditions
+ * retrieves every entity that satisfies the property conditions and its result limit is not pushed down.
+ * The choices made for a traversal are recorded in a QueryPlan, which the metadata store logs.
+ */
+class GraphOMRSQueryPlanner
+{
+    /*
+     * Prefix of the property key used to represent a condition on a property that the type does not have.
+     */
+    private static final String UNKNOWN_PROPERTY_PREFIX = "INVALID_PROPERTY_";
+
+    /*
+     * Conditions are ranked by how selective they are expected to be - lowest rank first.
+     */
+    private static final int RANK_EQUALITY = 0;
+    private static final int RANK_WITHIN   = 1;
+    private static final int RANK_PREFIX   = 2;
+    private static final int RANK_RANGE    = 3;
+    private static final int RANK_REGEX    = 4;
+    private static final int RANK_OTHER    = 5;
+
+    private static final String[] rankNames = {"equality", "within", "prefix", "range", "regex", "other"};
+
+    private OMRSRepositoryHelper repositoryHelper;
+
+
+    /**
+     * Constructor
+     *
+     * @param repositoryHelper helper used to interpret the regular expressions in search strings
+     */
+    GraphOMRSQueryPlanner(OMRSRepositoryHelper repositoryHelper)
+    {
+        this.repositoryHelper = repositoryHelper;
+    }
+
+
+    /**
+     * Return the number of results each traversal needs to return to fill the requested page.  This is only
+     * known if the results are not sequenced or filtered (for example by classification) after they are retrieved.
+     *
+     * @param fromElement starting element of the page
+     * @param pageSize maximum number of results in the page - zero means no limit
+     * @param sequencingProperty property used to sequence the results - null for none
+     * @param sequencingOrder order of the results - null for any
+     * @param filteredAfterRetrieval whether the results are filtered after they are retrieved
+     * @return result limit or zero if every matching element is needed
+     */
+    static int getResultLimit(int              fromElement,
+                              int              pageSize,
+                              String           sequencingProperty,
+                              SequencingOrder  sequencingOrder,
+                              boolean          filteredAfterRetrieval)
+    {
+        if ((pageSize > 0) && (sequencingProperty == null) && (! filteredAfterRetrieval)
+                && ((sequencingOrder == null) || (sequencingOrder == SequencingOrder.ANY)))
+        {
+            return fromElement + pageSize;
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * QueryPlan records the choices the planner made for a single traversal.
+     */
+    static class QueryPlan
+    {
+        private String        typeName;
+        private List<String>  indexConditions  = new ArrayList<>();
+        private int           residualFilters  = 0;
+        private boolean       unsatisfiable    = false;
+        private boolean       statusPushedDown = false;
+        private long          resultLimit      = 0;
+
+
+        /**
+         * Constructor
+         *
+         * @param typeName name of the type being searched - null for all types
+         */
+        QueryPlan(String typeName)
+        {
+            this.typeName = typeName;
+        }
+
+
+        /**
+         * Return whether the search cannot match any instance, so no traversal is needed.
+         *
+         * @return boolean
+         */
+        boolean isUnsatisfiable()
+        {
+            return unsatisfiable;
+        }
+
+
+        /**
+         * Return the conditions applied directly to the traversal, in order, with their selectivity.
+         *
+         * @return list of descriptions
+         */
+        List<String> getIndexConditions()
+        {
+            return indexConditions;
+        }
+
+
+        /**
+         * Return the number of criteria left to be evaluated in the JVM.
+         *
+         * @return count
+         */
+        int getResidualFilters()
+        {
+            return residualFilters;
+        }
+
+
+        /**
+         * Return whether the status filter was applied in the traversal.
+         *
+         * @return boolean
+         */
+        boolean isStatusPushedDown()
+        {
+            return statusPushedDown;
+        }
+
+
+        /**
+         * Return the limit applied in the traversal.
+         *
+         * @return limit or zero for none
+         */
+        long getResultLimit()
+        {
+            return resultLimit;
+        }
+
+
+        /**
+         * Standard toString method.
+         *
+         * @return description of the plan
+         */
+        @Override
+        public String toString()
+        {
+            if (unsatisfiable)
+            {
+                return "QueryPlan{typeName=" + typeName + ", unsatisfiable}";
+            }
+
+            return "QueryPlan{" +
+                    "typeName=" + typeName +
+                    ", indexConditions=" + indexConditions +
+                    ", residualFilters=" + residualFilters +
+                    ", statusPushedDown=" + statusPushedDown +
+                    ", resultLimit=" + resultLimit +
+                    '}';
+        }
+    }
+
+
+    /**
+     * Return a criterion for a property condition that names a property that is not defined for the type being
+     * searched, or has the wrong type.  No instance can satisfy the criterion.
+     *
+     * @param propName name of the property in the search
+     * @param typeDefName name of the type being searched
+     * @param <E> vertex or edge
+     * @return criterion that never matches
+     */
+    <E extends Element> GraphTraversal<E, E> getUnknownPropertyCriterion(String propName,
+                                                                          String typeDefName)
+    {
+        String nonExistentProperty = UNKNOWN_PROPERTY_PREFIX + propName + "_FOR_TYPE_" + typeDefName;
+        GraphTraversal<E, E> t = new DefaultGraphTraversal<>();
+        return t.hasKey(nonExistentProperty);
+    }
+
+
+    /**
+     * Return an index friendly predicate for a string search, or null if the search string needs to be evaluated
+     * as a regular expression.  Literal exact-match searches become equality predicates and literal starts-with
+     * searches become prefix predicates.  This is only possible for properties using the String mapping in the mixed
+     * index and for case-sensitive searches.
+     *
+     * @param searchString search string in the Egeria regular expression convention
+     * @param mapping mixed index mapping of the property
+     * @param fullMatch whether the search string must match the whole value
+     * @return predicate or null
+     */
+    P<String> getStringPredicate(String                                   searchString,
+                                 GraphOMRSGraphFactory.MixedIndexMapping  mapping,
+                                 boolean                                  fullMatch)
+    {
+        if ((searchString == null) || (! fullMatch) || (mapping != GraphOMRSGraphFactory.MixedIndexMapping.String))
+        {
+            return null;
+        }
+
+        boolean exactMatch = repositoryHelper.isExactMatchRegex(searchString, false);
+        boolean startsWith = (! exactMatch) && repositoryHelper.isStartsWithRegex(searchString, false);
+
+        if (exactMatch || startsWith)
+        {
+            String literal = repositoryHelper.getUnqualifiedLiteralString(searchString);
+
+            /*
+             * A literal that itself contains the quoting characters was built from several quoted sections - leave
+             * it as a regular expression.  An empty literal is left alone to preserve the existing behaviour.
+             */
+            if ((literal == null) || literal.isEmpty() || literal.contains("\\Q") || literal.contains("\\E"))
+            {
+                return null;
+            }
+
+            if (exactMatch)
+            {
+                return eq(literal);
+            }
+
+            return Text.textPrefix(literal);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Determine whether the property criteria for a type can match any instance.  An ALL match cannot be satisfied
+     * if any of its criteria refers to a property the type does not have, and an ANY match cannot be satisfied if
+     * all of them do.  The result is recorded in the plan.
+     *
+     * @param propCriteria top-level property criteria
+     * @param matchCriteria how the criteria are combined
+     * @param plan plan for the traversal
+     * @param <E> vertex or edge
+     * @return true if no instance can match
+     */
+    <E extends Element> boolean isUnsatisfiable(List<GraphTraversal<E, E>> propCriteria,
+                                                MatchCriteria              matchCriteria,
+                                                QueryPlan                  plan)
+    {
+        if ((propCriteria == null) || (propCriteria.isEmpty()) || (matchCriteria == null))
+        {
+            return false;
+        }
+
+        int unknownCount = 0;
+
+        for (GraphTraversal<E, E> criterion : propCriteria)
+        {
+            if (this.isUnknownPropertyCriterion(criterion))
+            {
+                unknownCount++;
+            }
+        }
+
+        switch (matchCriteria)
+        {
+            case ALL:
+                plan.unsatisfiable = (unknownCount > 0);
+                break;
+
+            case ANY:
+                plan.unsatisfiable = (unknownCount == propCriteria.size());
+                break;
+
+            default:
+                plan.unsatisfiable = false;
+                break;
+        }
+
+        return plan.unsatisfiable;
+    }
+
+
+    /**
+     * Apply the criteria of an ALL match to the traversal.  Criteria that are simple has() conditions are added
+     * directly to the traversal, most selective first, so that JanusGraph can answer them from its indexes.  The
+     * remaining criteria are combined in a single and() step.
+     *
+     * @param gt traversal retrieving the vertices or edges
+     * @param propCriteria property criteria
+     * @param plan plan for the traversal
+     * @param <E> vertex or edge
+     * @return extended traversal
+     */
+    <E extends Element> GraphTraversal<E, E> applyAllCriteria(GraphTraversal<E, E>       gt,
+                                                              List<GraphTraversal<E, E>> propCriteria,
+                                                              QueryPlan                  plan)
+    {
+        List<HasContainer>         indexableConditions = new ArrayList<>();
+        List<GraphTraversal<E, E>> residualCriteria    = new ArrayList<>();
+
+        for (GraphTraversal<E, E> criterion : propCriteria)
+        {
+            List<HasContainer> conditions = this.getSimpleConditions(criterion);
+
+            if (conditions == null)
+            {
+                residualCriteria.add(criterion);
+            }
+            else
+            {
+                indexableConditions.addAll(conditions);
+            }
+        }
+
+        indexableConditions.sort(Comparator.comparingInt(this::getSelectivityRank));
+
+        GraphTraversal<E, E> traversal = gt;
+
+        for (HasContainer condition : indexableConditions)
+        {
+            traversal = traversal.has(condition.getKey(), condition.getPredicate());
+            plan.indexConditions.add(condition.getKey() + " " + rankNames[this.getSelectivityRank(condition)]);
+        }
+
+        if (! residualCriteria.isEmpty())
+        {
+            traversal = traversal.and(residualCriteria.toArray(new GraphTraversal[0]));
+            plan.residualFilters = residualCriteria.size();
+        }
+
+        return traversal;
+    }
+
+
+    /**
+     * Record criteria that are combined in a way that cannot use the indexes (ANY or NONE).
+     *
+     * @param propCriteria property criteria
+     * @param plan plan for the traversal
+     * @param <E> vertex or edge
+     */
+    <E extends Element> void recordResidualCriteria(List<GraphTraversal<E, E>> propCriteria,
+                                                    QueryPlan                  plan)
+    {
+        if (propCriteria != null)
+        {
+            plan.residualFilters = propCriteria.size();
+        }
+    }
+
+
+    /**
+     * Add the status filtering to the traversal.  Deleted instances are never returned by a find request.
+     *
+     * @param gt traversal retrieving the vertices or edges
+     * @param statusPropertyKey property key holding the status ordinal
+     * @param limitResultsByStatus requested statuses - null means any status
+     * @param plan plan for the traversal
+     * @param <E> vertex or edge
+     * @return extended traversal
+     */
+    <E extends Element> GraphTraversal<E, E> applyStatusFilter(GraphTraversal<E, E>  gt,
+                                                               String                statusPropertyKey,
+                                                               List<InstanceStatus>  limitResultsByStatus,
+                                                               QueryPlan             plan)
+    {
+        plan.statusPushedDown = true;
+
+        if ((limitResultsByStatus == null) || (limitResultsByStatus.isEmpty()))
+        {
+            return gt.has(statusPropertyKey, without(InstanceStatus.DELETED.getOrdinal()));
+        }
+
+        List<Integer> statusOrdinals = new ArrayList<>();
+
+        for (InstanceStatus status : limitResultsByStatus)
+        {
+            if ((status != null) && (status != InstanceStatus.DELETED))
+            {
+                statusOrdinals.add(status.getOrdinal());
+            }
+        }
+
+        return gt.has(statusPropertyKey, within(statusOrdinals));
+    }
+
+
+    /**
+     * Limit the number of elements the traversal returns.
+     *
+     * @param gt traversal retrieving the vertices or edges
+     * @param resultLimit maximum number of elements - zero or less means no limit
+     * @param plan plan for the traversal
+     * @param <E> vertex or edge
+     * @return extended traversal
+     */
+    <E extends Element> GraphTraversal<E, E> applyLimit(GraphTraversal<E, E>  gt,
+                                                        long                  resultLimit,
+                                                        QueryPlan             plan)
+    {
+        if (resultLimit <= 0)
+        {
+            return gt;
+        }
+
+        plan.resultLimit = resultLimit;
+        return gt.limit(resultLimit);
+    }
+
+
+    /**
+     * Return the has() conditions of a criterion that consists of a single has() step on element properties.
+     *
+     * @param criterion property criterion
+     * @return list of conditions or null if the criterion is not a simple has() step
+     */
+    private List<HasContainer> getSimpleConditions(GraphTraversal<?, ?> criterion)
+    {
+        List<Step> steps = criterion.asAdmin().getSteps();
+
+        if ((steps.size() == 1) && (steps.get(0) instanceof HasStep))
+        {
+            List<HasContainer> conditions = ((HasStep<?>) steps.get(0)).getHasContainers();
+
+            for (HasContainer condition : conditions)
+            {
+                /*
+                 * Conditions on the element's id, label or keys are not property conditions.
+                 */
+                if ((condition.getKey() == null) || (condition.getKey().startsWith("~")))
+                {
+                    return null;
+                }
+            }
+
+            return conditions;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Determine whether a criterion was created by getUnknownPropertyCriterion.
+     *
+     * @param criterion property criterion
+     * @return boolean
+     */
+    private boolean isUnknownPropertyCriterion(GraphTraversal<?, ?> criterion)
+    {
+        List<Step> steps = criterion.asAdmin().getSteps();
+
+        if ((steps.size() == 1) && (steps.get(0) instanceof HasStep))
+        {
+            List<HasContainer> conditions = ((HasStep<?>) steps.get(0)).getHasContainers();
+
+            if (conditions.size() == 1)
+            {
+                HasContainer condition = conditions.get(0);
+                Object       value     = condition.getValue();
+
+                return T.key.getAccessor().equals(condition.getKey())
+                        && (value instanceof String)
+                        && ((String) value).startsWith(UNKNOWN_PROPERTY_PREFIX);
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Return the expected selectivity rank of a condition.
+     *
+     * @param condition has() condition
+     * @return rank - lower is more selective
+     */
+    private int getSelectivityRank(HasContainer condition)
+    {
+        BiPredicate<?, ?> biPredicate = condition.getBiPredicate();
+
+        if (biPredicate == Compare.eq)
+        {
+            return RANK_EQUALITY;
+        }
+        else if (biPredicate == Contains.within)
+        {
+            return RANK_WITHIN;
+        }
+        else if (biPredicate == Text.PREFIX)
+        {
+            return RANK_PREFIX;
+        }
+        else if ((biPredicate == Compare.lt) || (biPredicate == Compare.lte) ||
+                 (biPredicate == Compare.gt) || (biPredicate == Compare.gte))
+        {
+            return RANK_RANGE;
+        }
+        else if ((biPredicate == Text.REGEX) || (biPredicate == Text.CONTAINS_REGEX))
+        {
+            return RANK_REGEX;
+        }
+
+        return RANK_OTHER;
+    }
+}
@@ -0,0 +1,283 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.attribute.Text;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.within;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate the choices made by GraphOMRSQueryPlanner: the index friendly predicates for string searches,
+ * the ordering of the conditions of an ALL match, the detection of searches that cannot match, the status
+ * filter, the result limit and the cases where the limit can not be pushed down, such as a search with
+ * classification conditions.
+ */
+public class GraphOMRSQueryPlannerTest
+{
+    private static final String statusPropertyKey = "veCurrentStatus";
+
+
+    /**
+     * Return a planner whose repository helper understands the exact match and starts with regular expressions
+     * built by the repository helper.
+     *
+     * @return query planner
+     */
+    private GraphOMRSQueryPlanner getPlanner()
+    {
+        OMRSRepositoryHelper repositoryHelper = (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                                                              new Class<?>[]{OMRSRepositoryHelper.class},
+                                                                                              (proxy, method, args) ->
+                                                                                              {
+                                                                                                  String searchString = (String) args[0];
+
+                                                                                                  switch (method.getName())
+                                                                                                  {
+                                                                                                      case "isExactMatchRegex":
+                                                                                                          return searchString.startsWith("\\Q") && searchString.endsWith("\\E");
+
+                                                                                                      case "isStartsWithRegex":
+                                                                                                          return searchString.startsWith("\\Q") && searchString.endsWith("\\E.*");
+
+                                                                                                      case "getUnqualifiedLiteralString":
+                                                                                                          return searchString.substring(2, searchString.lastIndexOf("\\E"));
+
+                                                                                                      default:
+                                                                                                          return null;
+                                                                                                  }
+                                                                                              });
+
+        return new GraphOMRSQueryPlanner(repositoryHelper);
+    }
+
+
+    /**
+     * Return a criterion with a single has() condition.
+     *
+     * @param propertyKey property key
+     * @param predicate predicate for the property
+     * @return criterion
+     */
+    private GraphTraversal<Vertex, Vertex> getCriterion(String    propertyKey,
+                                                        P<?>      predicate)
+    {
+        GraphTraversal<Vertex, Vertex> criterion = new DefaultGraphTraversal<>();
+
+        return criterion.has(propertyKey, predicate);
+    }
+
+
+    /**
+     * Return the has() conditions of the last step of a traversal.
+     *
+     * @param traversal traversal
+     * @return conditions
+     */
+    private List<HasContainer> getLastConditions(GraphTraversal<?, ?> traversal)
+    {
+        List<Step> steps = traversal.asAdmin().getSteps();
+        Step       step  = steps.get(steps.size() - 1);
+
+        assertTrue(step instanceof HasStep, "Unexpected step " + step);
+
+        return ((HasStep<?>) step).getHasContainers();
+    }
+
+
+    /**
+     * Literal exact match and starts with searches on String mapped properties become equality and prefix
+     * predicates.  Other searches are left as regular expressions.
+     */
+    @Test
+    public void testStringPredicates()
+    {
+        GraphOMRSQueryPlanner planner = getPlanner();
+
+        P<String> exactMatch = planner.getStringPredicate("\\QAsset Name\\E", GraphOMRSGraphFactory.MixedIndexMapping.String, true);
+
+        assertSame(exactMatch.getBiPredicate(), Compare.eq);
+        assertEquals(exactMatch.getValue(), "Asset Name");
+
+        P<String> startsWith = planner.getStringPredicate("\\QAsset\\E.*", GraphOMRSGraphFactory.MixedIndexMapping.String, true);
+
+        assertSame(startsWith.getBiPredicate(), Text.PREFIX);
+        assertEquals(startsWith.getValue(), "Asset");
+
+        assertNull(planner.getStringPredicate("Asset.*Name", GraphOMRSGraphFactory.MixedIndexMapping.String, true));
+        assertNull(planner.getStringPredicate("\\QAsset Name\\E", GraphOMRSGraphFactory.MixedIndexMapping.Text, true));
+        assertNull(planner.getStringPredicate("\\QAsset Name\\E", GraphOMRSGraphFactory.MixedIndexMapping.String, false));
+        assertNull(planner.getStringPredicate("\\Q\\E", GraphOMRSGraphFactory.MixedIndexMapping.String, true));
+        assertNull(planner.getStringPredicate(null, GraphOMRSGraphFactory.MixedIndexMapping.String, true));
+    }
+
+
+    /**
+     * The simple conditions of an ALL match are applied to the traversal most selective first and the other
+     * criteria are left in a single and() step.
+     */
+    @Test
+    public void testAllCriteriaOrdering()
+    {
+        GraphOMRSQueryPlanner           planner = getPlanner();
+        GraphOMRSQueryPlanner.QueryPlan plan    = new GraphOMRSQueryPlanner.QueryPlan("Asset");
+
+        GraphTraversal<Vertex, Vertex> residualCriterion = new DefaultGraphTraversal<>();
+        residualCriterion = residualCriterion.or(getCriterion("veAssetdescription", eq("a")),
+                                                 getCriterion("veAssetowner", eq("b")));
+
+        List<GraphTraversal<Vertex, Vertex>> propCriteria = Arrays.asList(getCriterion("veAssetname", Text.textRegex("Asset.*")),
+                                                                          getCriterion("veAssetqualifiedName", eq("Asset1")),
+                                                                          residualCriterion,
+                                                                          getCriterion("veAssetversion", gt(5)),
+                                                                          getCriterion("veAssetowner", within("x", "y")));
+
+        GraphTraversal<Vertex, Vertex> traversal = planner.applyAllCriteria(new DefaultGraphTraversal<>(), propCriteria, plan);
+
+        assertEquals(plan.getIndexConditions(), Arrays.asList("veAssetqualifiedName equality",
+                                                         "veAssetowner within",
+                                                         "veAssetversion range",
+                                                         "veAssetname regex"));
+        assertEquals(plan.getResidualFilters(), 1);
+        assertFalse(plan.isUnsatisfiable());
+
+        List<String> stepNames = new ArrayList<>();
+
+        for (Step step : traversal.asAdmin().getSteps())
+        {
+            stepNames.add(step.getClass().getSimpleName());
+        }
+
+        assertEquals(stepNames.get(stepNames.size() - 1), "AndStep");
+    }
+
+
+    /**
+     * An ALL match with a condition on a property the type does not have can not match, nor can an ANY match
+     * where every condition is on such a property.  NONE matches are always run.
+     */
+    @Test
+    public void testUnsatisfiable()
+    {
+        GraphOMRSQueryPlanner planner = getPlanner();
+
+        GraphTraversal<Vertex, Vertex> unknownCriterion = planner.getUnknownPropertyCriterion("notAProperty", "Asset");
+        GraphTraversal<Vertex, Vertex> knownCriterion   = getCriterion("veAssetname", eq("Asset1"));
+
+        List<GraphTraversal<Vertex, Vertex>> mixedCriteria   = Arrays.asList(knownCriterion, unknownCriterion);
+        List<GraphTraversal<Vertex, Vertex>> unknownCriteria = Collections.singletonList(unknownCriterion);
+
+        assertTrue(planner.isUnsatisfiable(mixedCriteria, MatchCriteria.ALL, new GraphOMRSQueryPlanner.QueryPlan("Asset")));
+        assertFalse(planner.isUnsatisfiable(mixedCriteria, MatchCriteria.ANY, new GraphOMRSQueryPlanner.QueryPlan("Asset")));
+        assertTrue(planner.isUnsatisfiable(unknownCriteria, MatchCriteria.ANY, new GraphOMRSQueryPlanner.QueryPlan("Asset")));
+        assertFalse(planner.isUnsatisfiable(unknownCriteria, MatchCriteria.NONE, new GraphOMRSQueryPlanner.QueryPlan("Asset")));
+        assertFalse(planner.isUnsatisfiable(Collections.singletonList(knownCriterion), MatchCriteria.ALL, new GraphOMRSQueryPlanner.QueryPlan("Asset")));
+        assertFalse(planner.isUnsatisfiable(null, MatchCriteria.ALL, new GraphOMRSQueryPlanner.QueryPlan("Asset")));
+        assertFalse(planner.isUnsatisfiable(mixedCriteria, null, new GraphOMRSQueryPlanner.QueryPlan("Asset")));
+
+        GraphOMRSQueryPlanner.QueryPlan plan = new GraphOMRSQueryPlanner.QueryPlan("Asset");
+
+        planner.isUnsatisfiable(mixedCriteria, MatchCriteria.ALL, plan);
+
+        assertTrue(plan.isUnsatisfiable());
+        assertTrue(plan.toString().contains("unsatisfiable"));
+    }
+
+
+    /**
+     * Without requested statuses, deleted instances are excluded.  Otherwise the requested statuses other than
+     * deleted are included.
+     */
+    @Test
+    public void testStatusFilter()
+    {
+        GraphOMRSQueryPlanner           planner = getPlanner();
+        GraphOMRSQueryPlanner.QueryPlan plan    = new GraphOMRSQueryPlanner.QueryPlan("Asset");
+
+        HasContainer anyStatus = getLastConditions(planner.applyStatusFilter(new DefaultGraphTraversal<Vertex, Vertex>(),
+                                                                             statusPropertyKey,
+                                                                             null,
+                                                                             plan)).get(0);
+
+        assertEquals(anyStatus.getKey(), statusPropertyKey);
+        assertSame(anyStatus.getBiPredicate(), Contains.without);
+        assertEquals(new ArrayList<>((Collection<?>) anyStatus.getValue()), Collections.singletonList(InstanceStatus.DELETED.getOrdinal()));
+        assertTrue(plan.isStatusPushedDown());
+
+        HasContainer requestedStatus = getLastConditions(planner.applyStatusFilter(new DefaultGraphTraversal<Vertex, Vertex>(),
+                                                                                   statusPropertyKey,
+                                                                                   Arrays.asList(InstanceStatus.ACTIVE, InstanceStatus.DELETED),
+                                                                                   plan)).get(0);
+
+        assertSame(requestedStatus.getBiPredicate(), Contains.within);
+        assertEquals(new ArrayList<>((Collection<?>) requestedStatus.getValue()), Collections.singletonList(InstanceStatus.ACTIVE.getOrdinal()));
+    }
+
+
+    /**
+     * A positive limit is added to the traversal; otherwise the traversal is unchanged.
+     */
+    @Test
+    public void testLimit()
+    {
+        GraphOMRSQueryPlanner           planner   = getPlanner();
+        GraphOMRSQueryPlanner.QueryPlan plan      = new GraphOMRSQueryPlanner.QueryPlan("Asset");
+        GraphTraversal<Vertex, Vertex>  traversal = new DefaultGraphTraversal<>();
+
+        assertSame(planner.applyLimit(traversal, 0, plan), traversal);
+        assertEquals(plan.getResultLimit(), 0L);
+
+        List<Step> steps = planner.applyLimit(traversal, 25, plan).asAdmin().getSteps();
+        Step       step  = steps.get(steps.size() - 1);
+
+        assertTrue(step instanceof RangeGlobalStep);
+        assertEquals(((RangeGlobalStep<?>) step).getHighRange(), 25L);
+        assertEquals(plan.getResultLimit(), 25L);
+    }
+
+
+    /**
+     * The result limit is the end of the requested page unless the results are sequenced or filtered after
+     * retrieval, for example because the search has classification conditions.
+     */
+    @Test
+    public void testResultLimit()
+    {
+        assertEquals(GraphOMRSQueryPlanner.getResultLimit(20, 10, null, null, false), 30);
+        assertEquals(GraphOMRSQueryPlanner.getResultLimit(20, 10, null, SequencingOrder.ANY, false), 30);
+
+        assertEquals(GraphOMRSQueryPlanner.getResultLimit(20, 10, null, null, true), 0);
+        assertEquals(GraphOMRSQueryPlanner.getResultLimit(20, 10, "name", SequencingOrder.PROPERTY_ASCENDING, false), 0);
+        assertEquals(GraphOMRSQueryPlanner.getResultLimit(20, 10, null, SequencingOrder.GUID, false), 0);
+        assertEquals(GraphOMRSQueryPlanner.getResultLimit(20, 0, null, null, false), 0);
+    }
+}
@@ -0,0 +1,170 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * InMemoryInstanceHistory holds the old versions of the instances stored in the in-memory repository.
+ * The versions of each instance are kept in their own chain, sorted by the time that each version became
+ * effective (its update time, or its create time if it has never been updated).  The history is append-only:
+ * versions are never removed.  This means the version of an instance that was active at a particular time
+ * is located with a binary search of its chain rather than a scan of the whole history.
+ *
+ * @param <T> type of instance - EntityDetail or Relationship
+ */
+class InMemoryInstanceHistory<T extends InstanceHeader>
+{
+    private ConcurrentMap<String, List<T>> versionsByGUID = new ConcurrentHashMap<>();
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryInstanceHistory()
+    {
+    }
+
+
+    /**
+     * Add an old version of an instance to the history.  Versions normally arrive in time order so the new
+     * version is added to the end of its chain.  A version that is older than the latest one is inserted in
+     * its time order position after any versions with the same effective time.
+     *
+     * @param instance old version of an instance
+     */
+    void addVersion(T   instance)
+    {
+        if ((instance != null) && (instance.getGUID() != null))
+        {
+            List<T> versions = versionsByGUID.computeIfAbsent(instance.getGUID(), guid -> new ArrayList<>());
+
+            synchronized (versions)
+            {
+                versions.add(this.getFirstVersionAfter(versions, this.getEffectiveTime(instance)), instance);
+            }
+        }
+    }
+
+
+    /**
+     * Return the most recent version of an instance in the history.
+     *
+     * @param guid unique identifier of the instance
+     * @return latest old version or null if the instance has no history
+     */
+    T getLatestVersion(String   guid)
+    {
+        List<T> versions = versionsByGUID.get(guid);
+
+        if (versions != null)
+        {
+            synchronized (versions)
+            {
+                if (! versions.isEmpty())
+                {
+                    return versions.get(versions.size() - 1);
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the version of an instance that was active at the requested time.
+     *
+     * @param guid unique identifier of the instance
+     * @param asOfTime time of interest
+     * @return version of the instance or null if no version in the history was active at that time
+     */
+    T getVersionAsOf(String   guid,
+                     Date     asOfTime)
+    {
+        List<T> versions = versionsByGUID.get(guid);
+
+        if ((versions != null) && (asOfTime != null))
+        {
+            synchronized (versions)
+            {
+                int index = this.getFirstVersionAfter(versions, asOfTime.getTime());
+
+                if (index > 0)
+                {
+                    return versions.get(index - 1);
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the unique identifiers of all of the instances that have a history.
+     *
+     * @return set of guids
+     */
+    Set<String> getGUIDs()
+    {
+        return versionsByGUID.keySet();
+    }
+
+
+    /**
+     * Return the time from which an instance version was active.
+     *
+     * @param instance version of an instance
+     * @return time in milliseconds - instances with no timestamps are treated as active from the beginning of time
+     */
+    long getEffectiveTime(T   instance)
+    {
+        if (instance.getUpdateTime() != null)
+        {
+            return instance.getUpdateTime().getTime();
+        }
+        else if (instance.getCreateTime() != null)
+        {
+            return instance.getCreateTime().getTime();
+        }
+
+        return Long.MIN_VALUE;
+    }
+
+
+    /**
+     * Binary search a version chain for the first version that became effective after the supplied time.
+     * The caller must hold the chain's monitor.
+     *
+     * @param versions version chain sorted by effective time
+     * @param time time in milliseconds
+     * @return index of the first later version - or the size of the chain if there are none
+     */
+    private int getFirstVersionAfter(List<T> versions,
+                                     long    time)
+    {
+        int low  = 0;
+        int high = versions.size();
+
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (this.getEffectiveTime(versions.get(middle)) <= time)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
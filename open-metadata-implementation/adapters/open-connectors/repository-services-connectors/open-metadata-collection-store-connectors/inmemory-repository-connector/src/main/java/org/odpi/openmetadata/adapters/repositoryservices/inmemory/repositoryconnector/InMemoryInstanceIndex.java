@@ -0,0 +1,181 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * InMemoryInstanceIndex maps index keys (such as a type name or classification name) to the unique identifiers
+ * of the instances that have that key.  It remembers the keys each instance was indexed under so that the
+ * instance can be re-indexed or removed even if the stored instance object has been changed in place.
+ * The keys are also held in sorted order to support prefix lookups.
+ *
+ * Lookups do not lock and may run concurrently with updates.  Updates for the same instance must be
+ * serialized by the caller.
+ */
+class InMemoryInstanceIndex
+{
+    private ConcurrentMap<String, Set<String>> guidsByKey = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, Set<String>> keysByGUID = new ConcurrentHashMap<>();
+    private NavigableSet<String>               sortedKeys = new ConcurrentSkipListSet<>();
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryInstanceIndex()
+    {
+    }
+
+
+    /**
+     * Index an instance under the supplied keys.  Any keys it was previously indexed under are removed.
+     *
+     * @param guid unique identifier of the instance
+     * @param keys keys for the instance - may be empty
+     */
+    void indexInstance(String      guid,
+                       Set<String> keys)
+    {
+        this.removeInstance(guid);
+
+        if ((guid != null) && (keys != null) && (! keys.isEmpty()))
+        {
+            for (String key : keys)
+            {
+                guidsByKey.compute(key, (indexKey, guids) ->
+                {
+                    if (guids == null)
+                    {
+                        guids = ConcurrentHashMap.newKeySet();
+                        sortedKeys.add(indexKey);
+                    }
+
+                    guids.add(guid);
+                    return guids;
+                });
+            }
+
+            keysByGUID.put(guid, keys);
+        }
+    }
+
+
+    /**
+     * Remove an instance from the index.
+     *
+     * @param guid unique identifier of the instance
+     */
+    void removeInstance(String  guid)
+    {
+        if (guid != null)
+        {
+            Set<String> oldKeys = keysByGUID.remove(guid);
+
+            if (oldKeys != null)
+            {
+                for (String key : oldKeys)
+                {
+                    guidsByKey.computeIfPresent(key, (indexKey, guids) ->
+                    {
+                        guids.remove(guid);
+
+                        if (guids.isEmpty())
+                        {
+                            sortedKeys.remove(indexKey);
+                            return null;
+                        }
+
+                        return guids;
+                    });
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances indexed under the key.
+     *
+     * @param key index key
+     * @return set of guids - empty if none
+     */
+    Set<String> getGUIDs(String  key)
+    {
+        Set<String> guids = guidsByKey.get(key);
+
+        if (guids == null)
+        {
+            return new HashSet<>();
+        }
+
+        return new HashSet<>(guids);
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances indexed under any of the keys.
+     *
+     * @param keys list of index keys
+     * @return set of guids - empty if none
+     */
+    Set<String> getGUIDs(Collection<String> keys)
+    {
+        Set<String> results = new HashSet<>();
+
+        for (String key : keys)
+        {
+            Set<String> guids = guidsByKey.get(key);
+
+            if (guids != null)
+            {
+                results.addAll(guids);
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances indexed under a key that starts with the supplied prefix.
+     *
+     * @param keyPrefix start of the index key
+     * @return set of guids - empty if none
+     */
+    Set<String> getGUIDsByPrefix(String  keyPrefix)
+    {
+        Set<String> results = new HashSet<>();
+
+        for (String key : sortedKeys.tailSet(keyPrefix, true))
+        {
+            if (! key.startsWith(keyPrefix))
+            {
+                break;
+            }
+
+            Set<String> guids = guidsByKey.get(key);
+
+            if (guids != null)
+            {
+                results.addAll(guids);
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Remove all entries from the index.
+     */
+    void clear()
+    {
+        guidsByKey.clear();
+        keysByGUID.clear();
+        sortedKeys.clear();
+    }
+}
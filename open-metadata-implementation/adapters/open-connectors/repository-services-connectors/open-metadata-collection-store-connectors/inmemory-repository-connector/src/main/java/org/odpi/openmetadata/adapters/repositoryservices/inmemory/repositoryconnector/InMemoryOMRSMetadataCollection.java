@@ -6,10 +6,14 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.ClassificationCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceMatcher;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
@@ -53,6 +57,18 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Set up the names of the string properties whose values are indexed in the repository store.  Searches
+     * for exact or prefix matches on these properties avoid examining every entity.
+     *
+     * @param indexedStringProperties list of property names
+     */
+    void setIndexedStringProperties(List<String>  indexedStringProperties)
+    {
+        this.repositoryStore.setIndexedStringProperties(indexedStringProperties);
+    }
+
+
     /* ===================================================
      * Group 3: Locating entity and relationship instances
      */
@@ -212,7 +228,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.timeWarpEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -300,9 +316,18 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        Collection<Relationship>   storedRelationships;
+
+        if (asOfTime == null)
+        {
+            storedRelationships = repositoryStore.getRelationshipsForEntity(entityGUID);
+        }
+        else
+        {
+            storedRelationships = repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
 
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : storedRelationships)
         {
             if (storedRelationship != null)
             {
@@ -410,13 +435,21 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The repository store's indexes narrow down the entities that need to be examined.  Each of the
+         * candidate entities is then tested against the full search criteria.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        final String methodName = "findEntitiesByProperty";
+
+        List<EntityDetail>        foundEntities = new ArrayList<>();
+        OMRSInstanceMatcher       instanceMatcher = repositoryValidator.getInstanceMatcher(matchProperties, matchCriteria);
+        Collection<EntityDetail>  entitiesToSearch = this.getEntitiesToSearch(entityTypeGUID,
+                                                                              null,
+                                                                              limitResultsByClassification,
+                                                                              this.getRequiredStringProperties(matchProperties, matchCriteria),
+                                                                              asOfTime,
+                                                                              methodName);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : entitiesToSearch)
         {
             if (entity != null)
             {
@@ -424,11 +457,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                     (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
                     (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              entity,
-                                                                              entity.getProperties(),
-                                                                              matchCriteria
-                                                                              )))
+                    (instanceMatcher.matchesProperties(entity, entity.getProperties())))
                 {
                     foundEntities.add(entity);
                 }
@@ -511,21 +540,26 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating in entity since it iterates through all of
          * the stored entities.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        final String methodName = "findEntities";
 
-        for (EntityDetail  entity : entityStore.values())
+        List<EntityDetail>        foundEntities = new ArrayList<>();
+        Collection<EntityDetail>  entitiesToSearch = this.getEntitiesToSearch(entityTypeGUID,
+                                                                              entitySubtypeGUIDs,
+                                                                              this.getRequiredClassifications(matchClassifications),
+                                                                              this.getRequiredStringProperties(matchProperties),
+                                                                              asOfTime,
+                                                                              methodName);
+        OMRSInstanceMatcher       instanceMatcher = repositoryValidator.getInstanceMatcher(matchProperties, matchClassifications);
+
+        for (EntityDetail  entity : entitiesToSearch)
         {
             if (entity != null)
             {
                 if ((entity.getStatus() != InstanceStatus.DELETED) &&
                         (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entitySubtypeGUIDs, entity)) &&
                         (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                        (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)) &&
-                        (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                entity,
-                                entity.getProperties()
-                        )))
+                        (instanceMatcher.matchesClassifications(entity)) &&
+                        (instanceMatcher.matchesProperties(entity, entity.getProperties())))
                 {
                     foundEntities.add(entity);
                 }
@@ -613,13 +647,22 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating in entity since it iterates through all of
          * the stored entities.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        final String methodName = "findEntitiesByClassification";
+
         List<EntityDetail>          foundEntities = new ArrayList<>();
+        OMRSInstanceMatcher         instanceMatcher = repositoryValidator.getInstanceMatcher(matchClassificationProperties, matchCriteria);
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        Collection<EntityDetail>    entitiesToSearch = this.getEntitiesToSearch(entityTypeGUID,
+                                                                                null,
+                                                                                classificationList,
+                                                                                null,
+                                                                                asOfTime,
+                                                                                methodName);
+
+        for (EntityDetail  entity : entitiesToSearch)
         {
             if (entity != null)
             {
@@ -641,13 +684,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                             {
                                 if (classificationName.equals(entityClassification.getName()))
                                 {
-                                    if (repositoryValidator.verifyMatchingInstancePropertyValues(
-                                            matchClassificationProperties,
-                                            entityClassification,
-                                            entityClassification.getProperties(),
-                                            matchCriteria
-                                            ))
-
+                                    if (instanceMatcher.matchesProperties(entityClassification, entityClassification.getProperties()))
                                     {
                                         foundEntities.add(entity);
                                     }
@@ -862,7 +899,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.timeWarpRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -948,6 +985,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
         Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        OMRSInstanceMatcher        instanceMatcher = repositoryValidator.getInstanceMatcher(matchProperties, null);
 
         for (Relationship  relationship : relationshipStore.values())
         {
@@ -956,10 +994,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                 if ((relationship.getStatus() != InstanceStatus.DELETED) &&
                         (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationshipSubtypeGUIDs, relationship)) &&
                         (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                        (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                relationship,
-                                relationship.getProperties()
-                        )))
+                        (instanceMatcher.matchesProperties(relationship, relationship.getProperties())))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1052,6 +1087,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * the stored entities.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
+        OMRSInstanceMatcher        instanceMatcher = repositoryValidator.getInstanceMatcher(matchProperties, matchCriteria);
         Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
 
         for (Relationship  relationship : relationshipStore.values())
@@ -1061,10 +1097,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                 if ((relationship.getStatus() != InstanceStatus.DELETED) &&
                     (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              relationship,
-                                                                              relationship.getProperties(),
-                                                                              matchCriteria)))
+                    (instanceMatcher.matchesProperties(relationship, relationship.getProperties())))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -3906,4 +3939,302 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
             super.reportRelationshipNotKnown(relationshipGUID, methodName);
         }
     }
+
+
+    /* ======================================================================
+     * Private methods for selecting the instances to examine during a search
+     */
+
+    /**
+     * Return the entities that need to be examined by a search.  For a historical query this is every entity
+     * as it was at the requested time.  Otherwise the indexes maintained by the repository store are used to
+     * select the smallest set of current entities that is guaranteed to include all of the matching entities.
+     * The caller must still test each returned entity against the full search criteria.  When no index applies,
+     * the result is a weakly consistent view of the current entities rather than a copy.
+     *
+     * @param entityTypeGUID unique identifier of the type that the entities must be (null means any type)
+     * @param entitySubtypeGUIDs optional list of subtypes that the entities must be one of
+     * @param requiredClassifications names of classifications that each matching entity must have
+     * @param requiredStringProperties map of property names to regular expressions that the string value of
+     *                                 the property must match in each matching entity
+     * @param asOfTime time of a historical query (null means now)
+     * @param methodName calling method
+     * @return collection of entities to examine
+     */
+    private Collection<EntityDetail> getEntitiesToSearch(String              entityTypeGUID,
+                                                         List<String>        entitySubtypeGUIDs,
+                                                         List<String>        requiredClassifications,
+                                                         Map<String, String> requiredStringProperties,
+                                                         Date                asOfTime,
+                                                         String              methodName)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
+
+        List<EntityDetail> candidateEntities = null;
+
+        List<String> typeNames = this.getTypeNamesToSearch(entityTypeGUID, entitySubtypeGUIDs, methodName);
+
+        if (typeNames != null)
+        {
+            candidateEntities = repositoryStore.getEntitiesByType(typeNames);
+        }
+
+        if (requiredClassifications != null)
+        {
+            for (String classificationName : requiredClassifications)
+            {
+                if (classificationName != null)
+                {
+                    candidateEntities = this.getSmallestCandidateList(candidateEntities,
+                                                                      repositoryStore.getEntitiesByClassification(classificationName));
+                }
+            }
+        }
+
+        if (requiredStringProperties != null)
+        {
+            for (String propertyName : requiredStringProperties.keySet())
+            {
+                String regex = requiredStringProperties.get(propertyName);
+
+                if ((regex != null) && (repositoryStore.isStringPropertyIndexed(propertyName)))
+                {
+                    if (repositoryHelper.isExactMatchRegex(regex, false))
+                    {
+                        candidateEntities = this.getSmallestCandidateList(candidateEntities,
+                                                                          repositoryStore.getEntitiesByStringProperty(propertyName,
+                                                                                                                      repositoryHelper.getUnqualifiedLiteralString(regex),
+                                                                                                                      false));
+                    }
+                    else if (repositoryHelper.isStartsWithRegex(regex, false))
+                    {
+                        candidateEntities = this.getSmallestCandidateList(candidateEntities,
+                                                                          repositoryStore.getEntitiesByStringProperty(propertyName,
+                                                                                                                      repositoryHelper.getUnqualifiedLiteralString(regex),
+                                                                                                                      true));
+                    }
+                }
+            }
+        }
+
+        if (candidateEntities == null)
+        {
+            return repositoryStore.getEntities();
+        }
+
+        return candidateEntities;
+    }
+
+
+    /**
+     * Return the shorter of two lists of candidate entities.  Since each list includes all of the matching
+     * entities, either can be used.
+     *
+     * @param currentCandidates current list (null means no list chosen so far)
+     * @param newCandidates new list
+     * @return shortest list
+     */
+    private List<EntityDetail> getSmallestCandidateList(List<EntityDetail> currentCandidates,
+                                                        List<EntityDetail> newCandidates)
+    {
+        if ((currentCandidates == null) || (newCandidates.size() < currentCandidates.size()))
+        {
+            return newCandidates;
+        }
+
+        return currentCandidates;
+    }
+
+
+    /**
+     * Return the names of the types (including their subtypes) that an entity must be to match a search.
+     *
+     * @param entityTypeGUID unique identifier of the type that the entities must be (null means any type)
+     * @param entitySubtypeGUIDs optional list of subtypes that the entities must be one of
+     * @param methodName calling method
+     * @return list of type names or null if the type does not restrict the search
+     */
+    private List<String> getTypeNamesToSearch(String       entityTypeGUID,
+                                              List<String> entitySubtypeGUIDs,
+                                              String       methodName)
+    {
+        final String typeGUIDParameterName = "entityTypeGUID";
+
+        List<String> typeGUIDs = entitySubtypeGUIDs;
+
+        if ((typeGUIDs == null) || (typeGUIDs.isEmpty()))
+        {
+            if (entityTypeGUID == null)
+            {
+                return null;
+            }
+
+            typeGUIDs = Collections.singletonList(entityTypeGUID);
+        }
+
+        List<String> typeNames = new ArrayList<>();
+
+        for (String typeGUID : typeGUIDs)
+        {
+            try
+            {
+                TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, typeGUIDParameterName, typeGUID, methodName);
+
+                typeNames.add(typeDef.getName());
+
+                List<String> subTypeNames = repositoryHelper.getSubTypesOf(repositoryName, typeDef.getName());
+
+                if (subTypeNames != null)
+                {
+                    typeNames.addAll(subTypeNames);
+                }
+            }
+            catch (TypeErrorException error)
+            {
+                /*
+                 * The type is not known so the type index can not be used.
+                 */
+                return null;
+            }
+        }
+
+        return typeNames;
+    }
+
+
+    /**
+     * Return the names of the classifications that every matching entity must have.
+     *
+     * @param matchClassifications classification search criteria
+     * @return list of classification names or null if none are required
+     */
+    private List<String> getRequiredClassifications(SearchClassifications matchClassifications)
+    {
+        if ((matchClassifications == null) ||
+            (matchClassifications.getConditions() == null) ||
+            (matchClassifications.getMatchCriteria() != MatchCriteria.ALL))
+        {
+            return null;
+        }
+
+        List<String> classificationNames = new ArrayList<>();
+
+        for (ClassificationCondition condition : matchClassifications.getConditions())
+        {
+            if ((condition != null) && (condition.getName() != null))
+            {
+                classificationNames.add(condition.getName());
+            }
+        }
+
+        return classificationNames;
+    }
+
+
+    /**
+     * Return the regular expressions that the string properties of every matching entity must match.
+     *
+     * @param matchProperties property search criteria
+     * @return map of property names to regular expressions or null if none are required
+     */
+    private Map<String, String> getRequiredStringProperties(SearchProperties  matchProperties)
+    {
+        if ((matchProperties == null) || (matchProperties.getConditions() == null))
+        {
+            return null;
+        }
+
+        if ((matchProperties.getMatchCriteria() != MatchCriteria.ALL) &&
+            ((matchProperties.getMatchCriteria() != MatchCriteria.ANY) || (matchProperties.getConditions().size() != 1)))
+        {
+            return null;
+        }
+
+        Map<String, String> requiredProperties = new HashMap<>();
+
+        for (PropertyCondition condition : matchProperties.getConditions())
+        {
+            if ((condition != null) && (condition.getProperty() != null) && (condition.getNestedConditions() == null))
+            {
+                String value = this.getStringValue(condition.getValue());
+
+                if (value != null)
+                {
+                    if (condition.getOperator() == PropertyComparisonOperator.LIKE)
+                    {
+                        requiredProperties.put(condition.getProperty(), value);
+                    }
+                    else if (condition.getOperator() == PropertyComparisonOperator.EQ)
+                    {
+                        requiredProperties.put(condition.getProperty(), repositoryHelper.getExactMatchRegex(value));
+                    }
+                }
+            }
+        }
+
+        return requiredProperties;
+    }
+
+
+    /**
+     * Return the regular expressions that the string properties of every matching entity must match.
+     *
+     * @param matchProperties property values to match
+     * @param matchCriteria how the property values are combined
+     * @return map of property names to regular expressions or null if none are required
+     */
+    private Map<String, String> getRequiredStringProperties(InstanceProperties matchProperties,
+                                                            MatchCriteria      matchCriteria)
+    {
+        if ((matchProperties == null) || (matchProperties.getInstanceProperties() == null))
+        {
+            return null;
+        }
+
+        if ((matchCriteria != MatchCriteria.ALL) &&
+            ((matchCriteria != MatchCriteria.ANY) || (matchProperties.getPropertyCount() != 1)))
+        {
+            return null;
+        }
+
+        Map<String, String> requiredProperties = new HashMap<>();
+
+        for (Map.Entry<String, InstancePropertyValue> property : matchProperties.getInstanceProperties().entrySet())
+        {
+            String value = this.getStringValue(property.getValue());
+
+            if (value != null)
+            {
+                requiredProperties.put(property.getKey(), value);
+            }
+        }
+
+        return requiredProperties;
+    }
+
+
+    /**
+     * Return the value of a string primitive property.
+     *
+     * @param propertyValue property value
+     * @return string value or null if the property is not a string
+     */
+    private String getStringValue(InstancePropertyValue propertyValue)
+    {
+        if (propertyValue instanceof PrimitivePropertyValue)
+        {
+            PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)propertyValue;
+
+            if ((primitivePropertyValue.getPrimitiveDefCategory() == PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING) &&
+                (primitivePropertyValue.getPrimitiveValue() != null))
+            {
+                return primitivePropertyValue.getPrimitiveValue().toString();
+            }
+        }
+
+        return null;
+    }
 }
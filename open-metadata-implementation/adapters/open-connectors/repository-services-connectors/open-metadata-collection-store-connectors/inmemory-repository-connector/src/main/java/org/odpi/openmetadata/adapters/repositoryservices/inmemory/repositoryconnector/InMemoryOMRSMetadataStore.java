@@ -3,25 +3,53 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ * The current versions of the entities are indexed by type name, by classification name and (optionally) by the values
+ * of selected string properties.  The current versions of the relationships are indexed by the guids of their
+ * end entities.  The indexes are used to narrow the instances that need to be examined by a search.
+ *
+ * The current versions of the instances are held in concurrent maps.  Readers do not lock: they see the latest
+ * committed version of each instance and iterate over the stores without copying them.  Each update replaces
+ * the stored version of a single instance, and the maintenance of its indexes and history, atomically with
+ * respect to other updates to the same instance.  Updates to different instances run in parallel.
+ *
+ * A search that is not narrowed by an index iterates over a read-only view of a store rather than a snapshot.
+ * The view is weakly consistent: each instance is returned at most once, at the version that was committed when
+ * the iteration reached it, and an instance added or removed while the search is running may or may not be
+ * returned.  A search therefore never fails because of concurrent updates, but it is not a point-in-time view of
+ * the repository.
  */
 class InMemoryOMRSMetadataStore
 {
-    private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    private String                                    repositoryName           = null;
+    private final ConcurrentMap<String, EntityDetail> entityStore              = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, EntityProxy>  entityProxyStore         = new ConcurrentHashMap<>();
+    private final InMemoryInstanceHistory<EntityDetail> entityHistoryStore     = new InMemoryInstanceHistory<>();
+    private final ConcurrentMap<String, Relationship> relationshipStore        = new ConcurrentHashMap<>();
+    private final InMemoryInstanceHistory<Relationship> relationshipHistoryStore = new InMemoryInstanceHistory<>();
+
+    private volatile Set<String>  indexedStringProperties = new HashSet<>();
+    private InMemoryInstanceIndex entityTypeIndex         = new InMemoryInstanceIndex();
+    private InMemoryInstanceIndex classificationIndex     = new InMemoryInstanceIndex();
+    private InMemoryInstanceIndex entityPropertyIndex     = new InMemoryInstanceIndex();
+    private InMemoryInstanceIndex relationshipEndIndex    = new InMemoryInstanceIndex();
+
+    private static final String   propertyKeySeparator    = "=";
 
 
     /**
@@ -44,118 +72,352 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Return a list of entities from the store that are at the latest level.
+     * Set up the names of the string properties whose values are indexed.  Any existing entities are
+     * re-indexed.
      *
-     * @return list of EntityDetail objects
+     * @param indexedStringProperties list of property names - null means no properties are indexed
      */
-    synchronized List<EntityDetail>   getEntities()
+    synchronized void setIndexedStringProperties(List<String>   indexedStringProperties)
     {
-        return new ArrayList<>(entityStore.values());
+        Set<String> propertyNames = new HashSet<>();
+
+        if (indexedStringProperties != null)
+        {
+            propertyNames.addAll(indexedStringProperties);
+        }
+
+        this.indexedStringProperties = propertyNames;
+
+        entityPropertyIndex.clear();
+
+        for (String entityGUID : entityStore.keySet())
+        {
+            entityStore.computeIfPresent(entityGUID, (guid, storedEntity) ->
+            {
+                this.indexEntityProperties(storedEntity);
+                return storedEntity;
+            });
+        }
     }
 
 
     /**
-     * Return the entity identified by the guid.
+     * Return a flag indicating whether the values of the named string property are indexed.
      *
-     * @param guid - unique identifier for the entity
-     * @return entity object
+     * @param propertyName name of property
+     * @return boolean
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    boolean isStringPropertyIndexed(String   propertyName)
     {
-        return entityStore.get(guid);
+        return indexedStringProperties.contains(propertyName);
     }
 
 
     /**
-     * Return the entity proxy identified by the guid.
+     * Return the current versions of the entities whose type is one of the supplied type names.
+     * Subtypes are only included if their names are in the list.
      *
-     * @param guid - unique identifier
-     * @return entity proxy object
+     * @param typeNames list of type names
+     * @return list of entities
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    List<EntityDetail>  getEntitiesByType(List<String>   typeNames)
     {
-        return entityProxyStore.get(guid);
+        return this.getEntities(entityTypeIndex.getGUIDs(typeNames));
     }
 
 
     /**
-     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the current versions of the entities that have the named classification.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return entity store for the requested time
+     * @param classificationName name of the classification
+     * @return list of entities
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    List<EntityDetail>  getEntitiesByClassification(String   classificationName)
     {
-        if (asOfTime == null)
+        return this.getEntities(classificationIndex.getGUIDs(classificationName));
+    }
+
+
+    /**
+     * Return the current versions of the entities where the value of the named string property either matches,
+     * or starts with, the supplied value.  Only valid for properties that are indexed.
+     *
+     * @param propertyName name of an indexed property
+     * @param propertyValue value to look for
+     * @param isPrefix true means the property values only need to start with the supplied value
+     * @return list of entities
+     */
+    List<EntityDetail>  getEntitiesByStringProperty(String   propertyName,
+                                                    String   propertyValue,
+                                                    boolean  isPrefix)
+    {
+        String key = propertyName + propertyKeySeparator + propertyValue;
+
+        if (isPrefix)
         {
-            return new HashMap<>(entityStore);
+            return this.getEntities(entityPropertyIndex.getGUIDsByPrefix(key));
         }
 
-        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
+        return this.getEntities(entityPropertyIndex.getGUIDs(key));
+    }
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (EntityDetail  entity : entityStore.values())
+
+    /**
+     * Return the current versions of the relationships that are connected to the identified entity.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @return list of relationships
+     */
+    List<Relationship>  getRelationshipsForEntity(String   entityGUID)
+    {
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (String relationshipGUID : relationshipEndIndex.getGUIDs(entityGUID))
+        {
+            Relationship relationship = relationshipStore.get(relationshipGUID);
+
+            if (relationship != null)
+            {
+                relationships.add(relationship);
+            }
+        }
+
+        return relationships;
+    }
+
+
+    /**
+     * Return the current versions of the identified entities.
+     *
+     * @param guids unique identifiers of entities
+     * @return list of entities
+     */
+    private List<EntityDetail>  getEntities(Set<String>  guids)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
         {
+            EntityDetail entity = entityStore.get(guid);
+
             if (entity != null)
             {
-                if (entity.getUpdateTime() != null)
-                {
-                    String entityGUID = entity.getGUID();
+                entities.add(entity);
+            }
+        }
 
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
+        return entities;
+    }
+
+
+    /**
+     * Add an entity to the indexes, replacing any previous entries for the entity.
+     *
+     * @param entity current version of the entity
+     */
+    private void indexEntity(EntityDetail   entity)
+    {
+        if (entity != null)
+        {
+            Set<String> typeNames = new HashSet<>();
+            Set<String> classificationNames = new HashSet<>();
+
+            if ((entity.getType() != null) && (entity.getType().getTypeDefName() != null))
+            {
+                typeNames.add(entity.getType().getTypeDefName());
+            }
+
+            if (entity.getClassifications() != null)
+            {
+                for (Classification classification : entity.getClassifications())
                 {
-                    if (! entity.getCreateTime().after(asOfTime))
+                    if ((classification != null) && (classification.getName() != null))
                     {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
+                        classificationNames.add(classification.getName());
                     }
                 }
             }
+
+            entityTypeIndex.indexInstance(entity.getGUID(), typeNames);
+            classificationIndex.indexInstance(entity.getGUID(), classificationNames);
+            this.indexEntityProperties(entity);
         }
+    }
 
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
+
+    /**
+     * Add the values of the indexed string properties of an entity to the property index.
+     *
+     * @param entity current version of the entity
+     */
+    private void indexEntityProperties(EntityDetail   entity)
+    {
+        if ((entity != null) && (! indexedStringProperties.isEmpty()))
         {
-            if (oldEntity != null)
-            {
-                String entityGUID = oldEntity.getGUID();
+            Set<String> propertyKeys = new HashSet<>();
 
-                if (oldEntity.getUpdateTime() != null)
+            if ((entity.getProperties() != null) && (entity.getProperties().getInstanceProperties() != null))
+            {
+                for (Map.Entry<String, InstancePropertyValue> property : entity.getProperties().getInstanceProperties().entrySet())
                 {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
+                    if ((indexedStringProperties.contains(property.getKey())) &&
+                        (property.getValue() instanceof PrimitivePropertyValue))
                     {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
+                        PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)property.getValue();
 
-                        if (newerEntity != null)
+                        if ((primitivePropertyValue.getPrimitiveDefCategory() == PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING) &&
+                            (primitivePropertyValue.getPrimitiveValue() != null))
                         {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
+                            propertyKeys.add(property.getKey() + propertyKeySeparator + primitivePropertyValue.getPrimitiveValue().toString());
                         }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
                     }
                 }
             }
+
+            entityPropertyIndex.indexInstance(entity.getGUID(), propertyKeys);
+        }
+    }
+
+
+    /**
+     * Remove an entity from the indexes.
+     *
+     * @param guid unique identifier of the entity
+     */
+    private void removeEntityFromIndexes(String   guid)
+    {
+        entityTypeIndex.removeInstance(guid);
+        classificationIndex.removeInstance(guid);
+        entityPropertyIndex.removeInstance(guid);
+    }
+
+
+    /**
+     * Add a relationship to the index of relationship ends, replacing any previous entries for the relationship.
+     *
+     * @param relationship current version of the relationship
+     */
+    private void indexRelationship(Relationship   relationship)
+    {
+        if (relationship != null)
+        {
+            Set<String> entityGUIDs = new HashSet<>();
+
+            if ((relationship.getEntityOneProxy() != null) && (relationship.getEntityOneProxy().getGUID() != null))
+            {
+                entityGUIDs.add(relationship.getEntityOneProxy().getGUID());
+            }
+
+            if ((relationship.getEntityTwoProxy() != null) && (relationship.getEntityTwoProxy().getGUID() != null))
+            {
+                entityGUIDs.add(relationship.getEntityTwoProxy().getGUID());
+            }
+
+            relationshipEndIndex.indexInstance(relationship.getGUID(), entityGUIDs);
+        }
+    }
+
+
+    /**
+     * Return a read-only view of the entities from the store that are at the latest level.  The view is not
+     * copied, so it is weakly consistent with updates made while it is being iterated.
+     *
+     * @return collection of EntityDetail objects
+     */
+    Collection<EntityDetail>   getEntities()
+    {
+        return Collections.unmodifiableCollection(entityStore.values());
+    }
+
+
+    /**
+     * Return the entity identified by the guid.
+     *
+     * @param guid - unique identifier for the entity
+     * @return entity object
+     */
+    EntityDetail  getEntity(String   guid)
+    {
+        return entityStore.get(guid);
+    }
+
+
+    /**
+     * Return the entity proxy identified by the guid.
+     *
+     * @param guid - unique identifier
+     * @return entity proxy object
+     */
+    EntityProxy  getEntityProxy(String   guid)
+    {
+        return entityProxyStore.get(guid);
+    }
+
+
+    /**
+     * Return the entity identified by the guid as it was at the time supplied in the asOfTime parameter.
+     * This is the current version if it was last updated before the asOfTime, otherwise the version
+     * located in the history.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the entity (or null means now)
+     * @return entity object or null if the entity did not exist at that time
+     */
+    EntityDetail  timeWarpEntity(String   guid,
+                                 Date     asOfTime)
+    {
+        if (guid == null)
+        {
+            return null;
+        }
+
+        EntityDetail currentEntity = entityStore.get(guid);
+
+        if (asOfTime == null)
+        {
+            return currentEntity;
+        }
+
+        if ((currentEntity != null) && (entityHistoryStore.getEffectiveTime(currentEntity) <= asOfTime.getTime()))
+        {
+            return currentEntity;
+        }
+
+        return entityHistoryStore.getVersionAsOf(guid, asOfTime);
+    }
+
+
+    /**
+     * Return an entity store that contains entitys as they were at the time supplied in the asOfTime
+     * parameter.  Only the entitys that existed at that time are included.
+     *
+     * @param asOfTime - time for the store (or null means now)
+     * @return entity store for the requested time
+     */
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return Collections.unmodifiableMap(entityStore);
+        }
+
+        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
+
+        /*
+         * Step through the instances that are either current or have a history, and locate the version
+         * of each that was active at the asOfTime.
+         */
+        Set<String>  guids = new HashSet<>(entityStore.keySet());
+        guids.addAll(entityHistoryStore.getGUIDs());
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = this.timeWarpEntity(guid, asOfTime);
+
+            if (entity != null)
+            {
+                timeWarpedEntityStore.put(guid, entity);
+            }
         }
 
         return timeWarpedEntityStore;
@@ -163,13 +425,14 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Return the list of relationships at their current level.
+     * Return a read-only view of the relationships at their current level.  The view is not copied, so it is
+     * weakly consistent with updates made while it is being iterated.
      *
-     * @return list of relationships
+     * @return collection of relationships
      */
-    synchronized List<Relationship>   getRelationships()
+    Collection<Relationship>   getRelationships()
     {
-        return new ArrayList<>(relationshipStore.values());
+        return Collections.unmodifiableCollection(relationshipStore.values());
     }
 
 
@@ -179,89 +442,74 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
         return relationshipStore.get(guid);
     }
 
+    /**
+     * Return the relationship identified by the guid as it was at the time supplied in the asOfTime parameter.
+     * This is the current version if it was last updated before the asOfTime, otherwise the version
+     * located in the history.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time for the relationship (or null means now)
+     * @return relationship object or null if the relationship did not exist at that time
+     */
+    Relationship  timeWarpRelationship(String   guid,
+                                       Date     asOfTime)
+    {
+        if (guid == null)
+        {
+            return null;
+        }
+
+        Relationship currentRelationship = relationshipStore.get(guid);
+
+        if (asOfTime == null)
+        {
+            return currentRelationship;
+        }
+
+        if ((currentRelationship != null) && (relationshipHistoryStore.getEffectiveTime(currentRelationship) <= asOfTime.getTime()))
+        {
+            return currentRelationship;
+        }
+
+        return relationshipHistoryStore.getVersionAsOf(guid, asOfTime);
+    }
+
+
     /**
      * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
-     * parameter
+     * parameter.  Only the relationships that existed at that time are included.
      *
      * @param asOfTime - time for the store (or null means now)
      * @return relationship store for the requested time
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(relationshipStore);
+            return Collections.unmodifiableMap(relationshipStore);
         }
 
         Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
 
-
         /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
+         * Step through the instances that are either current or have a history, and locate the version
+         * of each that was active at the asOfTime.
          */
-        for (Relationship  relationship : relationshipStore.values())
-        {
-            if (relationship != null)
-            {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
-
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
-                {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
-                }
-            }
-        }
+        Set<String>  guids = new HashSet<>(relationshipStore.keySet());
+        guids.addAll(relationshipHistoryStore.getGUIDs());
 
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
+        for (String guid : guids)
         {
-            if (oldRelationship != null)
-            {
-                String relationshipGUID = oldRelationship.getGUID();
-
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
+            Relationship relationship = this.timeWarpRelationship(guid, asOfTime);
 
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
-                {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
-                }
+            if (relationship != null)
+            {
+                timeWarpedRelationshipStore.put(guid, relationship);
             }
         }
 
@@ -274,20 +522,26 @@ class InMemoryOMRSMetadataStore
      * @param entity - new version of the entity
      * @return entity with potentially updated GUID
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail    entity)
+    EntityDetail createEntityInStore(EntityDetail    entity)
     {
         /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
+         * There is a small chance the randomly generated GUID will clash with an existing entity.
+         * If this happens a new GUID is generated for the entity and the process repeats.
          */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
+        EntityDetail existingEntity = entityStore.putIfAbsent(entity.getGUID(), entity);
 
         while (existingEntity != null)
         {
             entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
+            existingEntity = entityStore.putIfAbsent(entity.getGUID(), entity);
         }
 
+        entityStore.computeIfPresent(entity.getGUID(), (guid, storedEntity) ->
+        {
+            this.indexEntity(storedEntity);
+            return storedEntity;
+        });
+
         return entity;
     }
 
@@ -298,20 +552,26 @@ class InMemoryOMRSMetadataStore
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
      */
-    synchronized Relationship createRelationshipInStore(Relationship    relationship)
+    Relationship createRelationshipInStore(Relationship    relationship)
     {
         /*
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+        Relationship existingRelationship = relationshipStore.putIfAbsent(relationship.getGUID(), relationship);
 
         while (existingRelationship != null)
         {
             relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            existingRelationship = relationshipStore.putIfAbsent(relationship.getGUID(), relationship);
         }
 
+        relationshipStore.computeIfPresent(relationship.getGUID(), (guid, storedRelationship) ->
+        {
+            this.indexRelationship(storedRelationship);
+            return storedRelationship;
+        });
+
         return relationship;
     }
 
@@ -321,7 +581,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void addEntityProxyToStore(EntityProxy    entityProxy)
+    void addEntityProxyToStore(EntityProxy    entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -329,18 +589,23 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
-     * The history is maintained with the latest changes first in the list.
+     * The history is maintained as a chain of versions for each entity, sorted by update time.
      *
      * @param entity - new version of the entity
      */
-    synchronized void updateEntityInStore(EntityDetail    entity)
+    void updateEntityInStore(EntityDetail    entity)
     {
-        EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
-
-        if (oldEntity != null)
+        entityStore.compute(entity.getGUID(), (guid, oldEntity) ->
         {
-            entityHistoryStore.add(0, oldEntity);
-        }
+            this.indexEntity(entity);
+
+            if (oldEntity != null)
+            {
+                this.addToEntityHistory(oldEntity);
+            }
+
+            return entity;
+        });
     }
 
 
@@ -349,7 +614,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void updateEntityProxyInStore(EntityProxy    entityProxy)
+    void updateEntityProxyInStore(EntityProxy    entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -357,19 +622,23 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * can be restored.  The history is maintained as a chain of versions for each relationship, sorted by update time.
      *
      * @param relationship - new version of the relationship
      */
-    synchronized void updateRelationshipInStore(Relationship    relationship)
+    void updateRelationshipInStore(Relationship    relationship)
     {
+        relationshipStore.compute(relationship.getGUID(), (guid, oldRelationship) ->
+        {
+            this.indexRelationship(relationship);
 
-        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            if (oldRelationship != null)
+            {
+                this.addToRelationshipHistory(oldRelationship);
+            }
 
-        if (oldRelationship != null)
-        {
-            relationshipHistoryStore.add(0, oldRelationship);
-        }
+            return relationship;
+        });
     }
 
 
@@ -379,9 +648,13 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - object to save
      */
-    synchronized void saveReferenceEntityToStore(EntityDetail    entity)
+    void saveReferenceEntityToStore(EntityDetail    entity)
     {
-        entityStore.put(entity.getGUID(), entity);
+        entityStore.compute(entity.getGUID(), (guid, oldEntity) ->
+        {
+            this.indexEntity(entity);
+            return entity;
+        });
     }
 
 
@@ -391,61 +664,72 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - object to save
      */
-    synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
+    void saveReferenceRelationshipToStore(Relationship    relationship)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        relationshipStore.compute(relationship.getGUID(), (guid, oldRelationship) ->
+        {
+            this.indexRelationship(relationship);
+            return relationship;
+        });
     }
 
 
     /**
-     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
-     * appears in the history.
+     * Retrieve the previous version of a Relationship.  This is the most recent version of this element
+     * in the history.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    Relationship retrievePreviousVersionOfRelationship(String   guid)
     {
         if (guid != null)
         {
-            Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
-
-            long versionNumber = 0;
+            final Relationship[] restoredRelationship = new Relationship[1];
 
-            if (currentVersionOfRelationship != null)
+            relationshipStore.compute(guid, (relationshipGUID, currentVersionOfRelationship) ->
             {
-                versionNumber = currentVersionOfRelationship.getVersion() + 1;
-            }
+                long versionNumber = 0;
+
+                if (currentVersionOfRelationship != null)
+                {
+                    versionNumber = currentVersionOfRelationship.getVersion() + 1;
+                }
 
+                Relationship relationship = relationshipHistoryStore.getLatestVersion(guid);
 
-            for (Relationship relationship : relationshipHistoryStore)
-            {
                 if (relationship != null)
                 {
-                    if (guid.equals(relationship.getGUID()))
+                    if (versionNumber == 0)
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         */
-                        Relationship newRelationship = new Relationship(relationship);
-                        newRelationship.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newRelationship.setUpdateTime(restoreTime);
-                        relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
-
+                        versionNumber = relationship.getVersion() + 1;
+                    }
+                    /*
+                     * Clone the head (most recent) version in the history, set its version number to the next version
+                     * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                     * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                     * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                     * updated longer ago than was really the case.
+                     */
+                    Relationship newRelationship = new Relationship(relationship);
+                    newRelationship.setVersion(versionNumber);
+                    Date restoreTime = new Date();
+                    newRelationship.setUpdateTime(restoreTime);
+                    this.indexRelationship(newRelationship);
+
+                    if (currentVersionOfRelationship != null)
+                    {
+                        this.addToRelationshipHistory(currentVersionOfRelationship);
                     }
+
+                    restoredRelationship[0] = newRelationship;
+                    return newRelationship;
                 }
-            }
+
+                return currentVersionOfRelationship;
+            });
+
+            return restoredRelationship[0];
         }
 
         return null;
@@ -454,54 +738,62 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
-     * This is the first instance of this element that appears in the history.
+     * This is the most recent version of this element in the history.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    EntityDetail retrievePreviousVersionOfEntity(String   guid)
     {
         if (guid != null)
         {
-            EntityDetail  currentVersionOfEntity = entityStore.get(guid);
-
-            long versionNumber = 0;
+            final EntityDetail[] restoredEntity = new EntityDetail[1];
 
-            if (currentVersionOfEntity != null)
+            entityStore.compute(guid, (entityGUID, currentVersionOfEntity) ->
             {
-                versionNumber = currentVersionOfEntity.getVersion() + 1;
-            }
+                long versionNumber = 0;
+
+                if (currentVersionOfEntity != null)
+                {
+                    versionNumber = currentVersionOfEntity.getVersion() + 1;
+                }
+
+                EntityDetail entity = entityHistoryStore.getLatestVersion(guid);
 
-            for (EntityDetail entity : entityHistoryStore)
-            {
                 if (entity != null)
                 {
-                    if (guid.equals(entity.getGUID()))
+                    if (versionNumber == 0)
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = entity.getVersion() + 1;
-                        }
-
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         *
-                         */
-                        EntityDetail newEntity = new EntityDetail(entity);
-                        newEntity.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newEntity.setUpdateTime(restoreTime);
-                        entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
+                        versionNumber = entity.getVersion() + 1;
+                    }
 
+                    /*
+                     * Clone the head (most recent) version in the history, set its version number to the next version
+                     * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                     * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                     * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                     * updated longer ago than was really the case.
+                     *
+                     */
+                    EntityDetail newEntity = new EntityDetail(entity);
+                    newEntity.setVersion(versionNumber);
+                    Date restoreTime = new Date();
+                    newEntity.setUpdateTime(restoreTime);
+                    this.indexEntity(newEntity);
+
+                    if (currentVersionOfEntity != null)
+                    {
+                        this.addToEntityHistory(currentVersionOfEntity);
                     }
+
+                    restoredEntity[0] = newEntity;
+                    return newEntity;
                 }
-            }
+
+                return currentVersionOfEntity;
+            });
+
+            return restoredEntity[0];
         }
 
         return null;
@@ -513,10 +805,14 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - entity to remove
      */
-    synchronized void removeEntityFromStore(EntityDetail     entity)
+    void removeEntityFromStore(EntityDetail     entity)
     {
-        entityStore.remove(entity.getGUID());
-        entityHistoryStore.add(0, entity);
+        entityStore.compute(entity.getGUID(), (guid, storedEntity) ->
+        {
+            this.removeEntityFromIndexes(guid);
+            this.addToEntityHistory(entity);
+            return null;
+        });
     }
 
 
@@ -525,14 +821,14 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - entity to remove
      */
-    synchronized void removeReferenceEntityFromStore(String     guid)
+    void removeReferenceEntityFromStore(String     guid)
     {
-        EntityDetail entity = entityStore.remove(guid);
-
-        if (entity != null)
+        entityStore.computeIfPresent(guid, (entityGUID, storedEntity) ->
         {
-            entityHistoryStore.add(0, entity);
-        }
+            this.removeEntityFromIndexes(entityGUID);
+            this.addToEntityHistory(storedEntity);
+            return null;
+        });
     }
 
 
@@ -541,7 +837,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - entity proxy to remove
      */
-    synchronized void removeEntityProxyFromStore(String     guid)
+    void removeEntityProxyFromStore(String     guid)
     {
         entityProxyStore.remove(guid);
     }
@@ -552,10 +848,14 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - relationship to remove
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    void removeRelationshipFromStore(Relationship     relationship)
     {
-        relationshipStore.remove(relationship.getGUID());
-        relationshipHistoryStore.add(0, relationship);
+        relationshipStore.compute(relationship.getGUID(), (guid, storedRelationship) ->
+        {
+            relationshipEndIndex.removeInstance(guid);
+            this.addToRelationshipHistory(relationship);
+            return null;
+        });
     }
 
 
@@ -564,14 +864,35 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - relationship to remove
      */
-    synchronized void removeReferenceRelationshipFromStore(String     guid)
+    void removeReferenceRelationshipFromStore(String     guid)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
-
-        if (relationship != null)
+        relationshipStore.computeIfPresent(guid, (relationshipGUID, storedRelationship) ->
         {
-            relationshipHistoryStore.add(0, relationship);
-        }
+            relationshipEndIndex.removeInstance(relationshipGUID);
+            this.addToRelationshipHistory(storedRelationship);
+            return null;
+        });
     }
 
+
+    /**
+     * Add an old version of an entity to the history.
+     *
+     * @param entity old version
+     */
+    private void addToEntityHistory(EntityDetail   entity)
+    {
+        entityHistoryStore.addVersion(entity);
+    }
+
+
+    /**
+     * Add an old version of a relationship to the history.
+     *
+     * @param relationship old version
+     */
+    private void addToRelationshipHistory(Relationship   relationship)
+    {
+        relationshipHistoryStore.addVersion(relationship);
+    }
 }
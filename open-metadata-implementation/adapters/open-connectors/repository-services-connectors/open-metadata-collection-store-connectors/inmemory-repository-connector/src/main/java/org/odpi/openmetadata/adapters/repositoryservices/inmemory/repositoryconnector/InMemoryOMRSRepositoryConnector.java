@@ -5,6 +5,10 @@ package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositorycon
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 /**
  * The InMemoryOMRSRepositoryConnector is a connector to a local in memory repository.  It is used for test,
  * small scale fixed or temporary repositories where the initial content comes from open metadata archives and
@@ -12,6 +16,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
  */
 public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
 {
+    private static final String indexedStringPropertiesProperty = "indexedStringProperties";
+
     /**
      * Default constructor used by the OCF Connector Provider.
      */
@@ -37,11 +43,54 @@ public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
             /*
              * Initialize the metadata collection only once the connector is properly set up.
              */
-            super.metadataCollection = new InMemoryOMRSMetadataCollection(this,
-                                                                          super.serverName,
-                                                                          repositoryHelper,
-                                                                          repositoryValidator,
-                                                                          metadataCollectionId);
+            InMemoryOMRSMetadataCollection inMemoryMetadataCollection = new InMemoryOMRSMetadataCollection(this,
+                                                                                                           super.serverName,
+                                                                                                           repositoryHelper,
+                                                                                                           repositoryValidator,
+                                                                                                           metadataCollectionId);
+
+            inMemoryMetadataCollection.setIndexedStringProperties(this.getIndexedStringProperties());
+
+            super.metadataCollection = inMemoryMetadataCollection;
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Return the names of the string properties whose values should be indexed by the repository store.
+     * These are supplied in the indexedStringProperties configuration property.
+     *
+     * @return list of property names (may be empty)
+     */
+    private List<String> getIndexedStringProperties()
+    {
+        List<String> indexedStringProperties = new ArrayList<>();
+
+        if (super.connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = super.connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object propertyNames = configurationProperties.get(indexedStringPropertiesProperty);
+
+                if (propertyNames instanceof List)
+                {
+                    for (Object propertyName : (List<?>)propertyNames)
+                    {
+                        if (propertyName != null)
+                        {
+                            indexedStringProperties.add(propertyName.toString());
+                        }
+                    }
+                }
+                else if (propertyNames instanceof String)
+                {
+                    indexedStringProperties.add((String)propertyNames);
+                }
+            }
+        }
+
+        return indexedStringProperties;
+    }
+}
@@ -0,0 +1,64 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+public class TestInMemoryInstanceHistory
+{
+    private EntityDetail getEntity(String guid,
+                                   long   version,
+                                   long   updateTime)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        entity.setCreateTime(new Date(1000));
+        entity.setUpdateTime(new Date(updateTime));
+
+        return entity;
+    }
+
+
+    @Test
+    void testVersionAsOf()
+    {
+        InMemoryInstanceHistory<EntityDetail> history = new InMemoryInstanceHistory<>();
+
+        history.addVersion(this.getEntity("1111", 1, 1000));
+        history.addVersion(this.getEntity("1111", 2, 2000));
+        history.addVersion(this.getEntity("1111", 3, 3000));
+        history.addVersion(this.getEntity("2222", 1, 1500));
+
+        assertNull(history.getVersionAsOf("1111", new Date(999)));
+        assertEquals(history.getVersionAsOf("1111", new Date(1000)).getVersion(), 1);
+        assertEquals(history.getVersionAsOf("1111", new Date(2500)).getVersion(), 2);
+        assertEquals(history.getVersionAsOf("1111", new Date(9000)).getVersion(), 3);
+        assertEquals(history.getVersionAsOf("2222", new Date(9000)).getVersion(), 1);
+        assertNull(history.getVersionAsOf("3333", new Date(9000)));
+    }
+
+
+    @Test
+    void testOutOfOrderVersions()
+    {
+        InMemoryInstanceHistory<EntityDetail> history = new InMemoryInstanceHistory<>();
+
+        history.addVersion(this.getEntity("1111", 3, 3000));
+        history.addVersion(this.getEntity("1111", 1, 1000));
+        history.addVersion(this.getEntity("1111", 2, 2000));
+
+        assertEquals(history.getLatestVersion("1111").getVersion(), 3);
+        assertEquals(history.getVersionAsOf("1111", new Date(1500)).getVersion(), 1);
+        assertEquals(history.getVersionAsOf("1111", new Date(2000)).getVersion(), 2);
+        assertNull(history.getLatestVersion("2222"));
+    }
+}
@@ -0,0 +1,55 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class TestInMemoryInstanceIndex
+{
+    @Test
+    void testIndexAndReindex()
+    {
+        InMemoryInstanceIndex index = new InMemoryInstanceIndex();
+
+        index.indexInstance("1111", new HashSet<>(Arrays.asList("GlossaryTerm", "Confidentiality")));
+        index.indexInstance("2222", new HashSet<>(Collections.singletonList("GlossaryTerm")));
+
+        assertEquals(index.getGUIDs("GlossaryTerm"), new HashSet<>(Arrays.asList("1111", "2222")));
+        assertEquals(index.getGUIDs("Confidentiality"), new HashSet<>(Collections.singletonList("1111")));
+
+        /*
+         * Re-indexing replaces the old keys.
+         */
+        index.indexInstance("1111", new HashSet<>(Collections.singletonList("Asset")));
+
+        assertEquals(index.getGUIDs("GlossaryTerm"), new HashSet<>(Collections.singletonList("2222")));
+        assertTrue(index.getGUIDs("Confidentiality").isEmpty());
+        assertEquals(index.getGUIDs(Arrays.asList("Asset", "GlossaryTerm")), new HashSet<>(Arrays.asList("1111", "2222")));
+
+        index.removeInstance("2222");
+
+        assertTrue(index.getGUIDs("GlossaryTerm").isEmpty());
+    }
+
+
+    @Test
+    void testPrefixLookup()
+    {
+        InMemoryInstanceIndex index = new InMemoryInstanceIndex();
+
+        index.indexInstance("1111", new HashSet<>(Collections.singletonList("qualifiedName=Coco.Database")));
+        index.indexInstance("2222", new HashSet<>(Collections.singletonList("qualifiedName=Coco.Table")));
+        index.indexInstance("3333", new HashSet<>(Collections.singletonList("qualifiedName=Other")));
+        index.indexInstance("4444", new HashSet<>(Collections.singletonList("name=Coco.Column")));
+
+        assertEquals(index.getGUIDsByPrefix("qualifiedName=Coco."), new HashSet<>(Arrays.asList("1111", "2222")));
+        assertEquals(index.getGUIDsByPrefix("qualifiedName="), new HashSet<>(Arrays.asList("1111", "2222", "3333")));
+        assertTrue(index.getGUIDsByPrefix("qualifiedName=Zed").isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class TestInMemoryOMRSMetadataStore
+{
+    /**
+     * Return a new entity.
+     *
+     * @param guid unique identifier
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(1L);
+
+        return entity;
+    }
+
+
+    /**
+     * The entities are returned as a read-only view that is not copied, and that can be iterated while the
+     * store is updated.
+     */
+    @Test
+    void testEntityView()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity("1111"));
+        store.createEntityInStore(getEntity("2222"));
+
+        Collection<EntityDetail> entities = store.getEntities();
+
+        assertEquals(entities.size(), 2);
+
+        try
+        {
+            entities.clear();
+            fail("The view of the entities can be changed");
+        }
+        catch (UnsupportedOperationException error)
+        {
+            /*
+             * Expected.
+             */
+        }
+
+        /*
+         * Update the store while iterating over the view.  Each entity is returned at most once.
+         */
+        Set<String>            seenGUIDs = new HashSet<>();
+        Iterator<EntityDetail> iterator  = entities.iterator();
+
+        store.removeEntityFromStore(store.getEntity("1111"));
+
+        while (iterator.hasNext())
+        {
+            EntityDetail entity = iterator.next();
+
+            assertTrue(seenGUIDs.add(entity.getGUID()));
+            store.createEntityInStore(getEntity(entity.getGUID() + "-new"));
+        }
+
+        assertTrue(seenGUIDs.contains("2222"));
+        assertEquals(entities.size(), store.getEntities().size());
+        assertTrue(entities.size() >= 2);
+    }
+}
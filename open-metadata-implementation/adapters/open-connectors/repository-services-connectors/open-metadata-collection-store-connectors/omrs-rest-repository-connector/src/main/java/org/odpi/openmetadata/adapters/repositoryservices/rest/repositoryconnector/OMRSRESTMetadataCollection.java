@@ -894,6 +894,51 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  All of the entities are
+     * requested from the remote repository in a single call.  If the remote server does not support this
+     * call, the entities are retrieved one at a time.  Entities that are not known, are only stored as proxies,
+     * or can not be retrieved for this user are omitted from the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of the entities that were found, in the order of the supplied GUIDs - or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support retrieving many entities at once.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           FunctionNotSupportedException,
+                                                                           UserNotAuthorizedException
+    {
+        final String methodName  = "getEntityDetails";
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        validateClient(methodName);
+
+        try
+        {
+            return omrsClient.getEntityDetails(userId, guids);
+        }
+        catch (FunctionNotSupportedException | RepositoryErrorException error)
+        {
+            /*
+             * The remote server may be at a level that does not have the call.
+             */
+            return super.getEntityDetails(userId, guids);
+        }
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -3337,4 +3382,48 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         validateClient(methodName);
         omrsClient.saveInstanceReferenceCopies(userId, instances);
     }
+
+
+    /**
+     * Create the entities and relationships supplied in the instance graph as new instances homed in the
+     * remote metadata collection.  All of the instances are sent to the remote repository in a single request.
+     * Relationships whose entity proxies carry the GUID of an entity in the graph are connected to the entity
+     * created from it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param instances template instances to create.
+     * @return graph of the newly created entities and relationships.
+     * @throws InvalidParameterException one of the instances has no type.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException the requested type is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the instance's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for an entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       the requested status.
+     * @throws EntityNotKnownException one of the entities identified by a relationship is not found in the
+     *                                   metadata collection.
+     * @throws FunctionNotSupportedException the repository does not support maintaining instances.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public InstanceGraph addInstances(String          userId,
+                                      InstanceGraph   instances) throws InvalidParameterException,
+                                                                        RepositoryErrorException,
+                                                                        TypeErrorException,
+                                                                        PropertyErrorException,
+                                                                        ClassificationErrorException,
+                                                                        StatusNotSupportedException,
+                                                                        EntityNotKnownException,
+                                                                        FunctionNotSupportedException,
+                                                                        UserNotAuthorizedException
+    {
+        final String methodName  = "addInstances";
+
+        validateClient(methodName);
+        return omrsClient.addInstances(userId, instances);
+    }
 }
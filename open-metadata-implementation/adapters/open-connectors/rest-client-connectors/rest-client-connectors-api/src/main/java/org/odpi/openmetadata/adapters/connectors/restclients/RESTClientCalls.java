@@ -4,11 +4,38 @@ package org.odpi.openmetadata.adapters.connectors.restclients;
 
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * RESTClientCalls provides a generic interface for calling REST Clients.
+ *
+ * Each call is available in a blocking form and an asynchronous form.  The asynchronous form returns a
+ * CompletableFuture straight away so that the caller can issue several calls and then wait for their results.
+ * If the call fails, the future completes exceptionally with the RESTServerException as its cause.
  */
 public interface RESTClientCalls
 {
+    /**
+     * RESTCall is a single blocking REST call that can be run asynchronously.
+     *
+     * @param <T> type of the response object
+     */
+    @FunctionalInterface
+    interface RESTCall<T>
+    {
+        /**
+         * Issue the REST call.
+         *
+         * @return response object
+         * @throws RESTServerException something went wrong with the REST call stack.
+         */
+        T call() throws RESTServerException;
+    }
+
+
     /**
      * Issue a GET REST call that returns a response object.
      *
@@ -138,4 +165,186 @@ public interface RESTClientCalls
                              String    urlTemplate,
                              Object    requestBody,
                              Object... params) throws RESTServerException;
+
+
+    /**
+     * Return the threads that run the asynchronous REST calls.  By default this is the common fork-join pool.
+     * Implementations whose calls block waiting for the network should override this so that the calls
+     * do not hold up other work in the common pool.
+     *
+     * @return executor for the asynchronous calls
+     */
+    default Executor getAsyncCallExecutor()
+    {
+        return ForkJoinPool.commonPool();
+    }
+
+
+    /**
+     * Run any REST call asynchronously.  This is used for calls that do not have their own asynchronous form.
+     *
+     * @param <T> class name
+     * @param restCall blocking REST call
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callRESTCallAsync(RESTCall<T> restCall)
+    {
+        return CompletableFuture.supplyAsync(() ->
+                                             {
+                                                 try
+                                                 {
+                                                     return restCall.call();
+                                                 }
+                                                 catch (RESTServerException error)
+                                                 {
+                                                     throw new CompletionException(error);
+                                                 }
+                                             },
+                                             this.getAsyncCallExecutor());
+    }
+
+
+    /**
+     * Issue a GET REST call asynchronously.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callGetRESTCallNoParamsAsync(String    methodName,
+                                                                  Class<T>  returnClass,
+                                                                  String    urlTemplate)
+    {
+        return this.callRESTCallAsync(() -> this.callGetRESTCallNoParams(methodName, returnClass, urlTemplate));
+    }
+
+
+    /**
+     * Issue a GET REST call asynchronously.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object... params)
+    {
+        return this.callRESTCallAsync(() -> this.callGetRESTCall(methodName, returnClass, urlTemplate, params));
+    }
+
+
+    /**
+     * Issue a POST REST call asynchronously.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callPostRESTCallNoParamsAsync(String    methodName,
+                                                                   Class<T>  returnClass,
+                                                                   String    urlTemplate,
+                                                                   Object    requestBody)
+    {
+        return this.callRESTCallAsync(() -> this.callPostRESTCallNoParams(methodName, returnClass, urlTemplate, requestBody));
+    }
+
+
+    /**
+     * Issue a POST REST call asynchronously.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callPostRESTCallAsync(String    methodName,
+                                                           Class<T>  returnClass,
+                                                           String    urlTemplate,
+                                                           Object    requestBody,
+                                                           Object... params)
+    {
+        return this.callRESTCallAsync(() -> this.callPostRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Issue a PUT REST call asynchronously.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callPutRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object    requestBody,
+                                                          Object... params)
+    {
+        return this.callRESTCallAsync(() -> this.callPutRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Issue a DELETE REST call asynchronously.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callDeleteRESTCallNoParamsAsync(String    methodName,
+                                                                     Class<T>  returnClass,
+                                                                     String    urlTemplate,
+                                                                     Object    requestBody)
+    {
+        return this.callRESTCallAsync(() -> this.callDeleteRESTCallNoParams(methodName, returnClass, urlTemplate, requestBody));
+    }
+
+
+    /**
+     * Issue a DELETE REST call asynchronously.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callDeleteRESTCallAsync(String    methodName,
+                                                             Class<T>  returnClass,
+                                                             String    urlTemplate,
+                                                             Object    requestBody,
+                                                             Object... params)
+    {
+        return this.callRESTCallAsync(() -> this.callDeleteRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
 }
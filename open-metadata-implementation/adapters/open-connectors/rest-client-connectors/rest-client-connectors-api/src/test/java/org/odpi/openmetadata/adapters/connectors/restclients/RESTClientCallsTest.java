@@ -0,0 +1,214 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients;
+
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate the asynchronous calls of RESTClientCalls: the executor they run on, the result of a successful
+ * call and the exception from a failed call.
+ */
+public class RESTClientCallsTest
+{
+    private static final String failingURL = "https://localhost:9443/failing";
+
+
+    /**
+     * REST client that returns the URL template as the response, or fails for the failing URL.  Unless the
+     * default executor is requested, the asynchronous calls run on the calling thread and are counted.
+     */
+    private static class TestRESTClient implements RESTClientCalls
+    {
+        private final RESTServerException error      = new RESTServerException(500,
+                                                                               TestRESTClient.class.getName(),
+                                                                               "test",
+                                                                               "Test error",
+                                                                               "None",
+                                                                               "None");
+        private final AtomicInteger       asyncCalls = new AtomicInteger(0);
+        private final boolean             useDefaultExecutor;
+
+
+        /**
+         * Constructor
+         *
+         * @param useDefaultExecutor use the executor supplied by RESTClientCalls
+         */
+        TestRESTClient(boolean useDefaultExecutor)
+        {
+            this.useDefaultExecutor = useDefaultExecutor;
+        }
+
+
+        /**
+         * Return the URL template or throw the test exception.
+         *
+         * @param returnClass class of the response object
+         * @param urlTemplate URL template
+         * @param <T> type of the response object
+         * @return URL template
+         * @throws RESTServerException the URL is the failing URL
+         */
+        private <T> T call(Class<T> returnClass,
+                           String   urlTemplate) throws RESTServerException
+        {
+            if (failingURL.equals(urlTemplate))
+            {
+                throw error;
+            }
+
+            return returnClass.cast(urlTemplate);
+        }
+
+
+        @Override
+        public Executor getAsyncCallExecutor()
+        {
+            if (useDefaultExecutor)
+            {
+                return RESTClientCalls.super.getAsyncCallExecutor();
+            }
+
+            return (Runnable runnable) ->
+            {
+                asyncCalls.incrementAndGet();
+                runnable.run();
+            };
+        }
+
+
+        @Override
+        public <T> T callGetRESTCallNoParams(String methodName, Class<T> returnClass, String urlTemplate) throws RESTServerException
+        {
+            return call(returnClass, urlTemplate);
+        }
+
+
+        @Override
+        public <T> T callGetRESTCall(String methodName, Class<T> returnClass, String urlTemplate, Object... params) throws RESTServerException
+        {
+            return call(returnClass, urlTemplate);
+        }
+
+
+        @Override
+        public <T> T callPostRESTCallNoParams(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody) throws RESTServerException
+        {
+            return call(returnClass, urlTemplate);
+        }
+
+
+        @Override
+        public <T> T callPostRESTCall(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody, Object... params) throws RESTServerException
+        {
+            return call(returnClass, urlTemplate);
+        }
+
+
+        @Override
+        public <T> T callPutRESTCall(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody, Object... params) throws RESTServerException
+        {
+            return call(returnClass, urlTemplate);
+        }
+
+
+        @Override
+        public <T> T callDeleteRESTCallNoParams(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody) throws RESTServerException
+        {
+            return call(returnClass, urlTemplate);
+        }
+
+
+        @Override
+        public <T> T callDeleteRESTCall(String methodName, Class<T> returnClass, String urlTemplate, Object requestBody, Object... params) throws RESTServerException
+        {
+            return call(returnClass, urlTemplate);
+        }
+    }
+
+
+    /**
+     * Each asynchronous call runs the matching blocking call on the client's executor.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testAsyncCalls() throws Exception
+    {
+        TestRESTClient client = new TestRESTClient(false);
+
+        assertEquals(client.callGetRESTCallNoParamsAsync("test", String.class, "getNoParams").get(), "getNoParams");
+        assertEquals(client.callGetRESTCallAsync("test", String.class, "get", "p1").get(), "get");
+        assertEquals(client.callPostRESTCallNoParamsAsync("test", String.class, "postNoParams", null).get(), "postNoParams");
+        assertEquals(client.callPostRESTCallAsync("test", String.class, "post", null, "p1").get(), "post");
+        assertEquals(client.callPutRESTCallAsync("test", String.class, "put", null, "p1").get(), "put");
+        assertEquals(client.callDeleteRESTCallNoParamsAsync("test", String.class, "deleteNoParams", null).get(), "deleteNoParams");
+        assertEquals(client.callDeleteRESTCallAsync("test", String.class, "delete", null, "p1").get(), "delete");
+
+        assertEquals(client.asyncCalls.get(), 7);
+    }
+
+
+    /**
+     * A failed call completes the future exceptionally with the RESTServerException as the cause.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testAsyncCallFailure() throws Exception
+    {
+        TestRESTClient            client = new TestRESTClient(false);
+        CompletableFuture<String> future = client.callGetRESTCallAsync("test", String.class, failingURL);
+
+        assertTrue(future.isCompletedExceptionally());
+
+        try
+        {
+            future.get();
+            fail("ExecutionException expected");
+        }
+        catch (ExecutionException error)
+        {
+            assertSame(error.getCause(), client.error);
+        }
+
+        try
+        {
+            future.join();
+            fail("CompletionException expected");
+        }
+        catch (CompletionException error)
+        {
+            assertSame(error.getCause(), client.error);
+        }
+    }
+
+
+    /**
+     * The default executor runs the calls on another thread.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testDefaultExecutor() throws Exception
+    {
+        TestRESTClient client = new TestRESTClient(true);
+
+        Thread callingThread = Thread.currentThread();
+        Thread callThread    = client.callRESTCallAsync(Thread::currentThread).get();
+
+        assertTrue(callThread != callingThread);
+    }
+}
@@ -0,0 +1,340 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.ProxySelector;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTPConnectionPool holds a pool of keep-alive HTTP connections that are reused across REST calls.  This avoids
+ * setting up a new TCP connection (and TLS session) for each call to a remote server.
+ *
+ * The pool uses the JVM's default SSL socket factory and host name verifier so it honours the same trust store
+ * and strict.ssl settings as the rest of the platform.  It also uses the JVM's default proxy settings.
+ *
+ * Most connectors share a single pool.  They look up the shared pool for each call, so when the pool is
+ * replaced because the JVM's SSL settings have changed, the old pool is closed and later calls use the new
+ * settings.  A call that is in progress on the old pool at that moment fails.  A connector whose connection
+ * sets its own pool configuration properties has a pool of its own that is closed when the connector
+ * disconnects.
+ *
+ * A call waits for a free connection when all of the connections to its route are in use.  If none is free within
+ * the connection request timeout, the call fails.
+ */
+class HTTPConnectionPool
+{
+    /*
+     * A client usually calls a single platform, so all of the connections may be used for one route (host and port).
+     */
+    static final int  defaultMaxConnections            = 500;
+    static final int  defaultMaxConnectionsPerRoute    = defaultMaxConnections;
+    static final int  defaultConnectTimeout            = 30000;
+    static final int  defaultSocketTimeout             = 0;
+
+    /*
+     * A call that cannot get a connection from the pool in this time fails rather than waiting forever.  The
+     * connector reports the failure as a RESTServerException.
+     */
+    static final int  defaultConnectionRequestTimeout  = 30000;
+    static final int  defaultKeepAliveTime             = 60000;
+
+    /*
+     * Connections that have been idle for longer than this are checked before they are reused.
+     */
+    private static final int  validateAfterInactivity = 2000;
+
+    private static final Logger log = LoggerFactory.getLogger(HTTPConnectionPool.class);
+
+    private static HTTPConnectionPool sharedPool = null;
+
+    private final CloseableHttpClient httpClient;
+    private final SSLSocketFactory    sslSocketFactory;
+    private final HostnameVerifier    hostnameVerifier;
+    private volatile boolean          closed = false;
+
+
+    /**
+     * Return the pool shared by all connectors that use the default configuration.  The pool is replaced, and
+     * the old pool closed, if the JVM's default SSL settings have changed since it was created (for example
+     * when the platform turns off strict SSL checking during start up).
+     *
+     * @return connection pool
+     */
+    static synchronized HTTPConnectionPool getSharedPool()
+    {
+        if ((sharedPool == null) ||
+            (sharedPool.isClosed()) ||
+            (sharedPool.sslSocketFactory != HttpsURLConnection.getDefaultSSLSocketFactory()) ||
+            (sharedPool.hostnameVerifier != HttpsURLConnection.getDefaultHostnameVerifier()))
+        {
+            if (sharedPool != null)
+            {
+                log.debug("Replacing the shared HTTP connection pool because the default SSL settings have changed.");
+
+                sharedPool.close();
+            }
+
+            sharedPool = new HTTPConnectionPool(defaultMaxConnections,
+                                                defaultMaxConnectionsPerRoute,
+                                                defaultConnectTimeout,
+                                                defaultSocketTimeout,
+                                                defaultConnectionRequestTimeout,
+                                                defaultKeepAliveTime,
+                                                true);
+        }
+
+        return sharedPool;
+    }
+
+
+    /**
+     * Return a connection pool for a connector whose connection sets any of the pool configuration properties
+     * listed in SpringRESTClientConnectorProvider.  The properties that are not set take their default values.
+     * Numeric properties may be numbers or strings holding a whole number and contentCompression may be a
+     * boolean or the string true or false.  Other values are logged and ignored.
+     *
+     * @param configurationProperties configuration properties from the connection - may be null
+     * @return new connection pool or null if the connector should use the shared pool
+     */
+    static HTTPConnectionPool getPrivatePool(Map<String, Object> configurationProperties)
+    {
+        if (configurationProperties == null)
+        {
+            return null;
+        }
+
+        boolean hasPoolProperties = false;
+
+        for (String propertyName : SpringRESTClientConnectorProvider.connectionPoolProperties)
+        {
+            if (configurationProperties.get(propertyName) != null)
+            {
+                hasPoolProperties = true;
+                break;
+            }
+        }
+
+        if (! hasPoolProperties)
+        {
+            return null;
+        }
+
+        return new HTTPConnectionPool(getIntegerProperty(configurationProperties,
+                                                         SpringRESTClientConnectorProvider.maxConnectionsProperty,
+                                                         defaultMaxConnections),
+                                      getIntegerProperty(configurationProperties,
+                                                         SpringRESTClientConnectorProvider.maxConnectionsPerRouteProperty,
+                                                         defaultMaxConnectionsPerRoute),
+                                      getIntegerProperty(configurationProperties,
+                                                         SpringRESTClientConnectorProvider.connectTimeoutProperty,
+                                                         defaultConnectTimeout),
+                                      getIntegerProperty(configurationProperties,
+                                                         SpringRESTClientConnectorProvider.socketTimeoutProperty,
+                                                         defaultSocketTimeout),
+                                      getIntegerProperty(configurationProperties,
+                                                         SpringRESTClientConnectorProvider.connectionRequestTimeoutProperty,
+                                                         defaultConnectionRequestTimeout),
+                                      getIntegerProperty(configurationProperties,
+                                                         SpringRESTClientConnectorProvider.keepAliveTimeProperty,
+                                                         defaultKeepAliveTime),
+                                      getBooleanProperty(configurationProperties,
+                                                         SpringRESTClientConnectorProvider.contentCompressionProperty,
+                                                         true));
+    }
+
+
+    /**
+     * Return the value of an integer configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a whole number
+     * @return property value
+     */
+    static int getIntegerProperty(Map<String, Object> configurationProperties,
+                                  String              propertyName,
+                                  int                 defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).intValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Integer.parseInt(propertyValue.toString().trim());
+            }
+            catch (NumberFormatException error)
+            {
+                log.warn("Ignoring configuration property " + propertyName + " with non-numeric value " + propertyValue + ".");
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return the value of a boolean configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a boolean
+     * @return property value
+     */
+    static boolean getBooleanProperty(Map<String, Object> configurationProperties,
+                                      String              propertyName,
+                                      boolean             defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Boolean)
+        {
+            return (Boolean)propertyValue;
+        }
+        else if (propertyValue != null)
+        {
+            String stringValue = propertyValue.toString().trim();
+
+            if ("true".equalsIgnoreCase(stringValue))
+            {
+                return true;
+            }
+            else if ("false".equalsIgnoreCase(stringValue))
+            {
+                return false;
+            }
+
+            log.warn("Ignoring configuration property " + propertyName + " with non-boolean value " + propertyValue + ".");
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Create a new connection pool.
+     *
+     * @param maxConnections maximum number of open connections to all servers
+     * @param maxConnectionsPerRoute maximum number of open connections to a single host and port
+     * @param connectTimeout milliseconds to wait for a new connection to be established (0 means no limit)
+     * @param socketTimeout milliseconds to wait for data from the server (0 means no limit)
+     * @param connectionRequestTimeout milliseconds to wait for a free connection from the pool (0 means no limit)
+     * @param keepAliveTime milliseconds to keep an idle connection open if the server does not say how long to keep it
+     * @param contentCompression request compressed (gzip or deflate) responses from the server
+     */
+    HTTPConnectionPool(int     maxConnections,
+                       int     maxConnectionsPerRoute,
+                       int     connectTimeout,
+                       int     socketTimeout,
+                       int     connectionRequestTimeout,
+                       int     keepAliveTime,
+                       boolean contentCompression)
+    {
+        this.sslSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+        this.hostnameVerifier = HttpsURLConnection.getDefaultHostnameVerifier();
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslSocketFactory, hostnameVerifier))
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+
+        connectionManager.setMaxTotal(Math.max(1, maxConnections));
+        connectionManager.setDefaultMaxPerRoute(Math.max(1, maxConnectionsPerRoute));
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                                                   .setConnectTimeout(connectTimeout)
+                                                   .setSocketTimeout(socketTimeout)
+                                                   .setConnectionRequestTimeout(connectionRequestTimeout)
+                                                   .build();
+
+        HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                                                         .setConnectionManager(connectionManager)
+                                                         .setDefaultRequestConfig(requestConfig)
+                                                         .setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
+                                                         .setKeepAliveStrategy((response, context) ->
+                                                         {
+                                                             long serverKeepAliveTime = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+                                                             return (serverKeepAliveTime > 0) ? serverKeepAliveTime : keepAliveTime;
+                                                         })
+                                                         .evictExpiredConnections()
+                                                         .evictIdleConnections(keepAliveTime, TimeUnit.MILLISECONDS);
+
+        if (! contentCompression)
+        {
+            httpClientBuilder.disableContentCompression();
+        }
+
+        this.httpClient = httpClientBuilder.build();
+
+        log.debug("Created HTTP connection pool with " + maxConnections + " connections (" + maxConnectionsPerRoute + " per route).");
+    }
+
+
+    /**
+     * Return the HTTP client that uses this pool.
+     *
+     * @return HTTP client
+     */
+    CloseableHttpClient getHttpClient()
+    {
+        return httpClient;
+    }
+
+
+    /**
+     * Return whether the pool has been closed.
+     *
+     * @return boolean flag
+     */
+    boolean isClosed()
+    {
+        return closed;
+    }
+
+
+    /**
+     * Close the connections in the pool.  This is called for a connector's own pool when the connector
+     * disconnects, and for the shared pool when it is replaced.
+     */
+    void close()
+    {
+        closed = true;
+
+        try
+        {
+            httpClient.close();
+        }
+        catch (IOException error)
+        {
+            log.debug("Ignored exception closing HTTP connection pool", error);
+        }
+    }
+}
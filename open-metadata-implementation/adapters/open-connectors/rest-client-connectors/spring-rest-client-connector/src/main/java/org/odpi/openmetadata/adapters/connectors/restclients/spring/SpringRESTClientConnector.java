@@ -2,10 +2,12 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.restclients.spring;
 
+import org.apache.http.client.HttpClient;
 import org.codehaus.plexus.util.Base64;
 import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.RESTClientConnectorErrorCode;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.slf4j.Logger;
@@ -15,6 +17,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
@@ -27,22 +30,44 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * RESTClient is responsible for issuing calls to the server's REST APIs.
  * It is supported through a connector because there are often changes in this integration and it saves
  * maintenance work if all Egeria clients use this connector.
+ *
+ * The calls are made over a pool of keep-alive HTTP connections so that repeated calls to the same platform
+ * do not each set up a new TCP connection and TLS session.  By default, all connectors share one pool, which is
+ * looked up for each call so that a replacement pool is picked up.  If the
+ * connection's configuration properties include any of the pool settings listed in
+ * SpringRESTClientConnectorProvider, the connector has its own pool that is closed when it disconnects.
+ * The asynchronous calls run on a shared pool of daemon threads.
  */
 public class SpringRESTClientConnector extends RESTClientConnector
 {
-    private RestTemplate restTemplate;
-    private String       serverName               = null;
-    private String       serverPlatformURLRoot    = null;
-    private HttpHeaders  basicAuthorizationHeader = null;
+    private RestTemplate       restTemplate;
+    private HTTPConnectionPool connectionPool           = null;
+    private String             serverName               = null;
+    private String             serverPlatformURLRoot    = null;
+    private HttpHeaders        basicAuthorizationHeader = null;
 
     private static final Logger log = LoggerFactory.getLogger(SpringRESTClientConnector.class);
 
+    /*
+     * The threads for asynchronous calls use at most this many of the connections to a server so that the
+     * rest are left for synchronous calls.
+     */
+    private static final int  asyncCallThreads          = 100;
+    private static final long asyncCallThreadIdleTime   = 60;
+
+    private static ThreadPoolExecutor asyncCallExecutor = null;
+
 
     /**
      * This constructor is work in progress as part of the upgrade of Egeria to use security.
@@ -66,7 +91,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
         DefaultUriBuilderFactory builderFactory = new DefaultUriBuilderFactory();
         builderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.VALUES_ONLY);
 
-        restTemplate = new RestTemplate();
+        restTemplate = new RestTemplate(new SharedPoolRequestFactory());
 
         restTemplate.setUriTemplateHandler(builderFactory);
 
@@ -76,6 +101,45 @@ public class SpringRESTClientConnector extends RESTClientConnector
         converters.add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
     }
 
+    /**
+     * SharedPoolRequestFactory sends each request through the shared connection pool that is current at the time
+     * of the request, so a connector created before the JVM's SSL settings changed uses the new settings.
+     */
+    private static class SharedPoolRequestFactory extends HttpComponentsClientHttpRequestFactory
+    {
+        /**
+         * Constructor starts with the current shared pool.
+         */
+        SharedPoolRequestFactory()
+        {
+            super(HTTPConnectionPool.getSharedPool().getHttpClient());
+        }
+
+
+        /**
+         * Return the HTTP client of the current shared pool.
+         *
+         * @return HTTP client
+         */
+        @Override
+        public HttpClient getHttpClient()
+        {
+            return HTTPConnectionPool.getSharedPool().getHttpClient();
+        }
+    }
+
+
+    /**
+     * Return the connector's own connection pool.
+     *
+     * @return connection pool or null if the connector uses the shared pool
+     */
+    HTTPConnectionPool getConnectionPool()
+    {
+        return connectionPool;
+    }
+
+
     /**
      * Initialize the connector.
      *
@@ -116,6 +180,79 @@ public class SpringRESTClientConnector extends RESTClientConnector
             log.debug("Using no authentication to call server " + this.serverName + " on platform " + this.serverPlatformURLRoot + ".");
 
         }
+
+        connectionPool = HTTPConnectionPool.getPrivatePool(connectionProperties.getConfigurationProperties());
+
+        if (connectionPool != null)
+        {
+            log.debug("Using a private connection pool to call server " + this.serverName + " on platform " + this.serverPlatformURLRoot + ".");
+
+            restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory(connectionPool.getHttpClient()));
+        }
+    }
+
+
+    /**
+     * Close the connector's own connection pool (if it has one).
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        if (connectionPool != null)
+        {
+            connectionPool.close();
+            connectionPool = null;
+        }
+
+        super.disconnect();
+    }
+
+
+    /**
+     * Return the threads that run the asynchronous REST calls.  The calls block while they wait for the
+     * server so they use their own pool of daemon threads rather than the common fork-join pool.
+     *
+     * @return executor for the asynchronous calls
+     */
+    @Override
+    public Executor getAsyncCallExecutor()
+    {
+        return getSharedAsyncCallExecutor();
+    }
+
+
+    /**
+     * Return the pool of threads for asynchronous calls, creating it on first use.  It is shared by all
+     * connectors.  The threads end when they have been idle for a minute.
+     *
+     * @return executor for the asynchronous calls
+     */
+    private static synchronized Executor getSharedAsyncCallExecutor()
+    {
+        if (asyncCallExecutor == null)
+        {
+            final String threadName = "SpringRESTClientConnector-AsyncCall-";
+
+            AtomicInteger threadNumber = new AtomicInteger(0);
+
+            asyncCallExecutor = new ThreadPoolExecutor(asyncCallThreads,
+                                                       asyncCallThreads,
+                                                       asyncCallThreadIdleTime,
+                                                       TimeUnit.SECONDS,
+                                                       new LinkedBlockingQueue<>(),
+                                                       (Runnable runnable) ->
+                                                       {
+                                                           Thread thread = new Thread(runnable, threadName + threadNumber.incrementAndGet());
+
+                                                           thread.setDaemon(true);
+                                                           return thread;
+                                                       });
+            asyncCallExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return asyncCallExecutor;
     }
 
 
@@ -6,6 +6,9 @@ import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector
 import org.odpi.openmetadata.frameworks.connectors.ConnectorProviderBase;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * SpringRESTClientConnectorProvider provides the connector provider for the SpringRESTClientConnector.
@@ -16,6 +19,27 @@ public class SpringRESTClientConnectorProvider extends RESTClientConnectorProvid
     static final String  connectorTypeName = "Spring REST Client Connector";
     static final String  connectorTypeDescription = "Connector that calls the REST API of a remote server using Spring.";
 
+    /*
+     * Configuration properties for the connector's HTTP connection pool.  Times are in milliseconds
+     * and a timeout of 0 means no limit.  By default, a call waits up to 30 seconds for a free connection
+     * and all of the 500 connections may be used for the same host and port.
+     */
+    public static final String  maxConnectionsProperty           = "maxConnections";
+    public static final String  maxConnectionsPerRouteProperty   = "maxConnectionsPerRoute";
+    public static final String  connectTimeoutProperty           = "connectTimeout";
+    public static final String  socketTimeoutProperty            = "socketTimeout";
+    public static final String  connectionRequestTimeoutProperty = "connectionRequestTimeout";
+    public static final String  keepAliveTimeProperty            = "keepAliveTime";
+    public static final String  contentCompressionProperty       = "contentCompression";
+
+    static final List<String> connectionPoolProperties = Arrays.asList(maxConnectionsProperty,
+                                                                       maxConnectionsPerRouteProperty,
+                                                                       connectTimeoutProperty,
+                                                                       socketTimeoutProperty,
+                                                                       connectionRequestTimeoutProperty,
+                                                                       keepAliveTimeProperty,
+                                                                       contentCompressionProperty);
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * REST Client Connector implementation.
@@ -33,6 +57,7 @@ public class SpringRESTClientConnectorProvider extends RESTClientConnectorProvid
         connectorType.setDisplayName(connectorTypeName);
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
+        connectorType.setRecognizedConfigurationProperties(new ArrayList<>(connectionPoolProperties));
 
         super.connectorTypeBean = connectorType;
     }
@@ -0,0 +1,196 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.testng.annotations.Test;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate HTTPConnectionPool: the reuse of connections, the replacement of the shared pool when the SSL
+ * settings change and the parsing of the configuration properties for a private pool.
+ */
+public class HTTPConnectionPoolTest
+{
+    /**
+     * Calls through the pool to the same server reuse one connection.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testConnectionReuse() throws Exception
+    {
+        Set<Integer> clientPorts = new HashSet<>();
+        HttpServer   server      = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        server.createContext("/", exchange ->
+        {
+            byte[] response = "ok".getBytes(StandardCharsets.UTF_8);
+
+            synchronized (clientPorts)
+            {
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+            }
+
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+
+        HTTPConnectionPool pool = new HTTPConnectionPool(10, 10, 5000, 5000, 5000, 60000, true);
+
+        try
+        {
+            String url = "http://localhost:" + server.getAddress().getPort() + "/test";
+
+            for (int i = 0; i < 10; i++)
+            {
+                try (CloseableHttpResponse response = pool.getHttpClient().execute(new HttpGet(url)))
+                {
+                    assertEquals(response.getStatusLine().getStatusCode(), 200);
+                    assertEquals(EntityUtils.toString(response.getEntity()), "ok");
+                }
+            }
+
+            assertEquals(clientPorts.size(), 1);
+        }
+        finally
+        {
+            pool.close();
+            server.stop(0);
+        }
+
+        assertTrue(pool.isClosed());
+    }
+
+
+    /**
+     * The shared pool is reused until the SSL settings change, then it is replaced and the old pool closed.
+     */
+    @Test
+    public void testSharedPoolReplacement()
+    {
+        HostnameVerifier originalVerifier = HttpsURLConnection.getDefaultHostnameVerifier();
+
+        try
+        {
+            HTTPConnectionPool firstPool = HTTPConnectionPool.getSharedPool();
+
+            assertSame(HTTPConnectionPool.getSharedPool(), firstPool);
+
+            HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> true);
+
+            HTTPConnectionPool secondPool = HTTPConnectionPool.getSharedPool();
+
+            assertTrue(secondPool != firstPool);
+            assertTrue(firstPool.isClosed());
+            assertFalse(secondPool.isClosed());
+            assertSame(HTTPConnectionPool.getSharedPool(), secondPool);
+        }
+        finally
+        {
+            HttpsURLConnection.setDefaultHostnameVerifier(originalVerifier);
+        }
+
+        assertFalse(HTTPConnectionPool.getSharedPool().isClosed());
+    }
+
+
+    /**
+     * A connection without pool properties uses the shared pool.
+     */
+    @Test
+    public void testNoPrivatePool()
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        assertNull(HTTPConnectionPool.getPrivatePool(null));
+        assertNull(HTTPConnectionPool.getPrivatePool(configurationProperties));
+
+        configurationProperties.put("someOtherProperty", 10);
+
+        assertNull(HTTPConnectionPool.getPrivatePool(configurationProperties));
+    }
+
+
+    /**
+     * A connection with any pool property has its own pool.
+     */
+    @Test
+    public void testPrivatePool()
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(SpringRESTClientConnectorProvider.maxConnectionsProperty, "20");
+
+        HTTPConnectionPool pool = HTTPConnectionPool.getPrivatePool(configurationProperties);
+
+        assertNotNull(pool);
+        assertTrue(pool != HTTPConnectionPool.getSharedPool());
+
+        pool.close();
+
+        assertTrue(pool.isClosed());
+    }
+
+
+    /**
+     * Numeric properties may be any number or a string holding a whole number.  Other values take the default.
+     */
+    @Test
+    public void testIntegerProperties()
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("integer", 10);
+        configurationProperties.put("long", 20L);
+        configurationProperties.put("string", " 30 ");
+        configurationProperties.put("decimalString", "1.5");
+        configurationProperties.put("text", "many");
+
+        assertEquals(HTTPConnectionPool.getIntegerProperty(configurationProperties, "integer", 1), 10);
+        assertEquals(HTTPConnectionPool.getIntegerProperty(configurationProperties, "long", 1), 20);
+        assertEquals(HTTPConnectionPool.getIntegerProperty(configurationProperties, "string", 1), 30);
+        assertEquals(HTTPConnectionPool.getIntegerProperty(configurationProperties, "decimalString", 1), 1);
+        assertEquals(HTTPConnectionPool.getIntegerProperty(configurationProperties, "text", 1), 1);
+        assertEquals(HTTPConnectionPool.getIntegerProperty(configurationProperties, "missing", 1), 1);
+    }
+
+
+    /**
+     * Boolean properties may be a boolean or the string true or false.  Other values take the default.
+     */
+    @Test
+    public void testBooleanProperties()
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("boolean", Boolean.FALSE);
+        configurationProperties.put("string", "False");
+        configurationProperties.put("text", "sometimes");
+
+        assertFalse(HTTPConnectionPool.getBooleanProperty(configurationProperties, "boolean", true));
+        assertFalse(HTTPConnectionPool.getBooleanProperty(configurationProperties, "string", true));
+        assertTrue(HTTPConnectionPool.getBooleanProperty(configurationProperties, "text", true));
+        assertTrue(HTTPConnectionPool.getBooleanProperty(configurationProperties, "missing", true));
+    }
+}
@@ -0,0 +1,197 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import com.sun.net.httpserver.HttpServer;
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate the choice of connection pool by SpringRESTClientConnector, the closing of its own pool
+ * on disconnect and the failure of a call that cannot get a connection from the pool.
+ */
+public class SpringRESTClientConnectorTest
+{
+    /**
+     * Return the connection properties for a connector.
+     *
+     * @param configurationProperties configuration properties - may be null
+     * @return connection properties
+     */
+    private ConnectionProperties getConnectionProperties(Map<String, Object> configurationProperties)
+    {
+        return getConnectionProperties("https://localhost:9443", configurationProperties);
+    }
+
+
+    /**
+     * Return the connection properties for a connector.
+     *
+     * @param address platform URL root
+     * @param configurationProperties configuration properties - may be null
+     * @return connection properties
+     */
+    private ConnectionProperties getConnectionProperties(String              address,
+                                                         Map<String, Object> configurationProperties)
+    {
+        Connection connection = new Connection();
+        Endpoint   endpoint   = new Endpoint();
+
+        endpoint.setAddress(address);
+        endpoint.setDisplayName("TestServer");
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        return new ConnectionProperties(connection);
+    }
+
+
+    /**
+     * A connector without pool properties uses the shared pool, which stays open when it disconnects.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testSharedPool() throws Exception
+    {
+        SpringRESTClientConnector connector = new SpringRESTClientConnector();
+
+        connector.initialize("test", getConnectionProperties(null));
+
+        assertNull(connector.getConnectionPool());
+
+        connector.disconnect();
+
+        assertFalse(HTTPConnectionPool.getSharedPool().isClosed());
+    }
+
+
+    /**
+     * A connector with pool properties has its own pool, which is closed when it disconnects.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testPrivatePoolClosedOnDisconnect() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(SpringRESTClientConnectorProvider.keepAliveTimeProperty, 1000);
+
+        SpringRESTClientConnector connector = new SpringRESTClientConnector();
+
+        connector.initialize("test", getConnectionProperties(configurationProperties));
+
+        HTTPConnectionPool connectionPool = connector.getConnectionPool();
+
+        assertNotNull(connectionPool);
+        assertFalse(connectionPool.isClosed());
+
+        connector.disconnect();
+
+        assertTrue(connectionPool.isClosed());
+        assertNull(connector.getConnectionPool());
+        assertFalse(HTTPConnectionPool.getSharedPool().isClosed());
+    }
+
+
+    /**
+     * A call that cannot get a connection from the pool within the connection request timeout fails with a
+     * RESTServerException.  The pool has one connection, which is held by a call that the server is not
+     * answering.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testConnectionRequestTimeout() throws Exception
+    {
+        CountDownLatch releaseGate = new CountDownLatch(1);
+        HttpServer     server      = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        server.createContext("/", exchange ->
+        {
+            byte[] response = "ok".getBytes(StandardCharsets.UTF_8);
+
+            try
+            {
+                releaseGate.await(1, TimeUnit.MINUTES);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(SpringRESTClientConnectorProvider.maxConnectionsPerRouteProperty, 1);
+        configurationProperties.put(SpringRESTClientConnectorProvider.connectionRequestTimeoutProperty, 500);
+
+        String                    url       = "http://localhost:" + server.getAddress().getPort() + "/test";
+        SpringRESTClientConnector connector = new SpringRESTClientConnector();
+        ExecutorService           threads   = Executors.newSingleThreadExecutor();
+
+        connector.initialize("test", getConnectionProperties(url, configurationProperties));
+
+        try
+        {
+            Future<String> heldCall = threads.submit(() -> connector.callGetRESTCallNoParams("heldCall", String.class, url));
+
+            /*
+             * Give the held call time to take the only connection.
+             */
+            Thread.sleep(500);
+
+            long startTime = System.currentTimeMillis();
+
+            try
+            {
+                connector.callGetRESTCallNoParams("waitingCall", String.class, url);
+                fail("Call did not time out waiting for a connection");
+            }
+            catch (RESTServerException error)
+            {
+                long waitTime = System.currentTimeMillis() - startTime;
+
+                assertTrue(waitTime >= 400, "Call failed early: " + waitTime);
+                assertTrue(waitTime < 10000, "Call failed late: " + waitTime);
+            }
+
+            releaseGate.countDown();
+
+            assertEquals(heldCall.get(1, TimeUnit.MINUTES), "ok");
+        }
+        finally
+        {
+            releaseGate.countDown();
+            threads.shutdown();
+            connector.disconnect();
+            server.stop(0);
+        }
+    }
+}
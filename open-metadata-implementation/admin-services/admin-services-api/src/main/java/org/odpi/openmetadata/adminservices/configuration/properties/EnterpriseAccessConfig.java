@@ -30,6 +30,15 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *         enterpriseOMRSTopicProtocolVersion - the protocol version for the events passed on the
  *                                            enterprise OMRS topic.
  *     </li>
+ *     <li>
+ *         enterpriseInstanceCacheMaxEntries - maximum number of entities, and separately TypeDefs, kept in the
+ *                                           cache of recently retrieved elements.  Zero turns the cache off.
+ *                                           Null means use the default.
+ *     </li>
+ *     <li>
+ *         enterpriseInstanceCacheTimeToLive - time in milliseconds that a retrieved element remains in the cache.
+ *                                           Null means use the default.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -43,6 +52,8 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     private String                           enterpriseMetadataCollectionId     = null;
     private Connection                       enterpriseOMRSTopicConnection      = null;
     private OpenMetadataEventProtocolVersion enterpriseOMRSTopicProtocolVersion = null;
+    private Integer                          enterpriseInstanceCacheMaxEntries  = null;
+    private Long                             enterpriseInstanceCacheTimeToLive  = null;
 
 
     /**
@@ -62,6 +73,16 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     public EnterpriseAccessConfig(EnterpriseAccessConfig  template)
     {
         super(template);
+
+        if (template != null)
+        {
+            enterpriseMetadataCollectionName = template.getEnterpriseMetadataCollectionName();
+            enterpriseMetadataCollectionId = template.getEnterpriseMetadataCollectionId();
+            enterpriseOMRSTopicConnection = template.getEnterpriseOMRSTopicConnection();
+            enterpriseOMRSTopicProtocolVersion = template.getEnterpriseOMRSTopicProtocolVersion();
+            enterpriseInstanceCacheMaxEntries = template.getEnterpriseInstanceCacheMaxEntries();
+            enterpriseInstanceCacheTimeToLive = template.getEnterpriseInstanceCacheTimeToLive();
+        }
     }
 
 
@@ -179,6 +200,52 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of entities, and separately TypeDefs, kept in the cache of recently
+     * retrieved elements.  Zero turns the cache off.
+     *
+     * @return maximum number of entries or null for the default
+     */
+    public Integer getEnterpriseInstanceCacheMaxEntries()
+    {
+        return enterpriseInstanceCacheMaxEntries;
+    }
+
+
+    /**
+     * Set up the maximum number of entities, and separately TypeDefs, kept in the cache of recently
+     * retrieved elements.  Zero turns the cache off.
+     *
+     * @param enterpriseInstanceCacheMaxEntries maximum number of entries or null for the default
+     */
+    public void setEnterpriseInstanceCacheMaxEntries(Integer enterpriseInstanceCacheMaxEntries)
+    {
+        this.enterpriseInstanceCacheMaxEntries = enterpriseInstanceCacheMaxEntries;
+    }
+
+
+    /**
+     * Return the time in milliseconds that a retrieved element remains in the cache.
+     *
+     * @return time to live or null for the default
+     */
+    public Long getEnterpriseInstanceCacheTimeToLive()
+    {
+        return enterpriseInstanceCacheTimeToLive;
+    }
+
+
+    /**
+     * Set up the time in milliseconds that a retrieved element remains in the cache.
+     *
+     * @param enterpriseInstanceCacheTimeToLive time to live or null for the default
+     */
+    public void setEnterpriseInstanceCacheTimeToLive(Long enterpriseInstanceCacheTimeToLive)
+    {
+        this.enterpriseInstanceCacheTimeToLive = enterpriseInstanceCacheTimeToLive;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -2278,6 +2278,49 @@ public class OpenMetadataAPIGenericHandler<B>
                                              String        methodName) throws InvalidParameterException,
                                                                               PropertyServerException,
                                                                               UserNotAuthorizedException
+    {
+        return this.validateAnchorEntity(userId,
+                                         connectToGUID,
+                                         connectToType,
+                                         connectToEntity,
+                                         connectToGUIDParameterName,
+                                         isUpdate,
+                                         suppliedSupportedZones,
+                                         null,
+                                         methodName);
+    }
+
+
+    /**
+     * Validates whether an operation is valid based on the type of entity it is connecting to, who the user is and whether it is a read or an
+     * update.  This version is used when many entities are validated for the same request.  The anchor entities that are retrieved
+     * are saved in the supplied map so that anchors shared by many of the entities are only retrieved once.
+     *
+     * @param userId           userId of user making request.
+     * @param connectToGUID    unique id for the object to connect the attachment to
+     * @param connectToType    name of type of connectToEntity
+     * @param connectToEntity  entity retrieved from the repository
+     * @param connectToGUIDParameterName  name of the parameter that passed the connect to guid
+     * @param isUpdate         is this an update request?
+     * @param suppliedSupportedZones list of supported zones from the caller.
+     * @param retrievedAnchors map of anchor guids to the anchor entities already retrieved for this request (or null)
+     * @param methodName       calling method
+     * @return anchor entity or null.  The anchor entity is used by the caller to set the LatestChange classification
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem accessing the properties in the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private EntityDetail validateAnchorEntity(String                    userId,
+                                              String                    connectToGUID,
+                                              String                    connectToType,
+                                              EntityDetail              connectToEntity,
+                                              String                    connectToGUIDParameterName,
+                                              boolean                   isUpdate,
+                                              List<String>              suppliedSupportedZones,
+                                              Map<String, EntityDetail> retrievedAnchors,
+                                              String                    methodName) throws InvalidParameterException,
+                                                                                           PropertyServerException,
+                                                                                           UserNotAuthorizedException
     {
         invalidParameterHandler.validateObject(connectToEntity, connectToGUIDParameterName, methodName);
 
@@ -2369,11 +2412,26 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             final String anchorGUIDParameterName = "anchorGUID";
 
-            anchorEntity = repositoryHandler.getEntityByGUID(userId,
-                                                             anchorGUID,
-                                                             anchorGUIDParameterName,
-                                                             OpenMetadataAPIMapper.REFERENCEABLE_TYPE_NAME,
-                                                             methodName);
+            anchorEntity = null;
+
+            if (retrievedAnchors != null)
+            {
+                anchorEntity = retrievedAnchors.get(anchorGUID);
+            }
+
+            if (anchorEntity == null)
+            {
+                anchorEntity = repositoryHandler.getEntityByGUID(userId,
+                                                                 anchorGUID,
+                                                                 anchorGUIDParameterName,
+                                                                 OpenMetadataAPIMapper.REFERENCEABLE_TYPE_NAME,
+                                                                 methodName);
+
+                if ((retrievedAnchors != null) && (anchorEntity != null))
+                {
+                    retrievedAnchors.put(anchorGUID, anchorEntity);
+                }
+            }
         }
 
         /*
@@ -5732,6 +5790,19 @@ public class OpenMetadataAPIGenericHandler<B>
             return null;
         }
 
+        /*
+         * The attached entities are retrieved together rather than one at a time.  Many of them are likely to share the same anchor
+         * so the anchors are only retrieved once for this request.
+         */
+        Map<String, EntityDetail> attachedEntities = this.getAttachedEntities(userId,
+                                                                              startingGUID,
+                                                                              startingTypeName,
+                                                                              relationships,
+                                                                              attachmentEntityTypeName,
+                                                                              selectionEnd,
+                                                                              methodName);
+        Map<String, EntityDetail> retrievedAnchors = new HashMap<>();
+
         List<B>  results = new ArrayList<>();
 
         for (Relationship  relationship : relationships)
@@ -5750,6 +5821,8 @@ public class OpenMetadataAPIGenericHandler<B>
                                                      omittedClassificationName,
                                                      selectionEnd,
                                                      serviceSupportedZones,
+                                                     attachedEntities,
+                                                     retrievedAnchors,
                                                      methodName);
                     if (bean != null)
                     {
@@ -5847,6 +5920,19 @@ public class OpenMetadataAPIGenericHandler<B>
             return null;
         }
 
+        /*
+         * The attached entities are retrieved together rather than one at a time.  Many of them are likely to share the same anchor
+         * so the anchors are only retrieved once for this request.
+         */
+        Map<String, EntityDetail> attachedEntities = this.getAttachedEntities(userId,
+                                                                              startingGUID,
+                                                                              startingTypeName,
+                                                                              relationships,
+                                                                              attachmentEntityTypeName,
+                                                                              selectionEnd,
+                                                                              methodName);
+        Map<String, EntityDetail> retrievedAnchors = new HashMap<>();
+
         List<B>  results = new ArrayList<>();
 
         for (Relationship  relationship : relationships)
@@ -5865,6 +5951,8 @@ public class OpenMetadataAPIGenericHandler<B>
                                                      omittedClassificationName,
                                                      selectionEnd,
                                                      serviceSupportedZones,
+                                                     attachedEntities,
+                                                     retrievedAnchors,
                                                      methodName);
                     if (bean != null)
                     {
@@ -5903,25 +5991,29 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param omittedClassificationName   String the name of a classification that must not be on the attached entity.
      * @param selectionEnd 0 means either end, 1 means only take from end 1, 2 means only take from end 2
      * @param serviceSupportedZones supported zones for calling service
+     * @param attachedEntities map of entity guids to the attached entities already retrieved for this request
+     * @param retrievedAnchors map of anchor guids to the anchor entities already retrieved for this request
      * @param methodName   calling method
      * @return new bean
      * @throws InvalidParameterException  the parameters are invalid
      * @throws UserNotAuthorizedException user not authorized to issue this request
      * @throws PropertyServerException    problem accessing the repositories
      */
-    private B getAttachedElement(String        userId,
-                                 String        startingGUID,
-                                 String        startingGUIDParameterName,
-                                 String        startingTypeName,
-                                 Relationship  relationship,
-                                 String        attachmentEntityTypeName,
-                                 String        requiredClassificationName,
-                                 String        omittedClassificationName,
-                                 int           selectionEnd,
-                                 List<String>  serviceSupportedZones,
-                                 String        methodName) throws InvalidParameterException,
-                                                                  PropertyServerException,
-                                                                  UserNotAuthorizedException
+    private B getAttachedElement(String                    userId,
+                                 String                    startingGUID,
+                                 String                    startingGUIDParameterName,
+                                 String                    startingTypeName,
+                                 Relationship              relationship,
+                                 String                    attachmentEntityTypeName,
+                                 String                    requiredClassificationName,
+                                 String                    omittedClassificationName,
+                                 int                       selectionEnd,
+                                 List<String>              serviceSupportedZones,
+                                 Map<String, EntityDetail> attachedEntities,
+                                 Map<String, EntityDetail> retrievedAnchors,
+                                 String                    methodName) throws InvalidParameterException,
+                                                                              PropertyServerException,
+                                                                              UserNotAuthorizedException
     {
         final String guidParameterName = "relationship.end.guid";
 
@@ -5930,31 +6022,23 @@ public class OpenMetadataAPIGenericHandler<B>
 
         if (relationship != null)
         {
-            EntityProxy entityProxy = null;
-
-            if (selectionEnd == 0)
-            {
-                entityProxy = repositoryHandler.getOtherEnd(startingGUID,
-                                                            startingTypeName,
-                                                            relationship,
-                                                            methodName);
-            }
-            else if (selectionEnd == 1)
-            {
-                entityProxy = relationship.getEntityOneProxy();
-            }
-            else if (selectionEnd == 2)
-            {
-                entityProxy = relationship.getEntityTwoProxy();
-            }
+            EntityProxy entityProxy = this.getAttachmentEnd(startingGUID, startingTypeName, relationship, selectionEnd, methodName);
 
             if (entityProxy != null)
             { 
-                EntityDetail entity = repositoryHandler.getEntityByGUID(userId,
-                                                                        entityProxy.getGUID(),
-                                                                        guidParameterName,
-                                                                        attachmentEntityTypeName,
-                                                                        methodName);
+                EntityDetail entity = attachedEntities.get(entityProxy.getGUID());
+
+                if (entity == null)
+                {
+                    /*
+                     * Retrieving the entity on its own produces the right exception for the caller.
+                     */
+                    entity = repositoryHandler.getEntityByGUID(userId,
+                                                               entityProxy.getGUID(),
+                                                               guidParameterName,
+                                                               attachmentEntityTypeName,
+                                                               methodName);
+                }
 
                 this.validateAnchorEntity(userId,
                                           entityProxy.getGUID(),
@@ -5963,6 +6047,7 @@ public class OpenMetadataAPIGenericHandler<B>
                                           guidParameterName,
                                           false,
                                           serviceSupportedZones,
+                                          retrievedAnchors,
                                           methodName);
 
                 boolean beanValid = true;
@@ -6017,6 +6102,105 @@ public class OpenMetadataAPIGenericHandler<B>
     }
 
 
+    /**
+     * Return the proxy for the attached entity from a relationship returned by getAttachmentLinks.
+     *
+     * @param startingGUID identifier for the entity that the identifier is attached to
+     * @param startingTypeName name of the type of object being attached to
+     * @param relationship relationship between the starting element and the attached element
+     * @param selectionEnd 0 means either end, 1 means only take from end 1, 2 means only take from end 2
+     * @param methodName   calling method
+     * @return entity proxy or null
+     * @throws InvalidParameterException  the type of the starting entity is incorrect
+     */
+    private EntityProxy getAttachmentEnd(String        startingGUID,
+                                         String        startingTypeName,
+                                         Relationship  relationship,
+                                         int           selectionEnd,
+                                         String        methodName) throws InvalidParameterException
+    {
+        if (selectionEnd == 0)
+        {
+            return repositoryHandler.getOtherEnd(startingGUID,
+                                                 startingTypeName,
+                                                 relationship,
+                                                 methodName);
+        }
+        else if (selectionEnd == 1)
+        {
+            return relationship.getEntityOneProxy();
+        }
+        else if (selectionEnd == 2)
+        {
+            return relationship.getEntityTwoProxy();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Retrieve the attached entities for a list of relationships returned by getAttachmentLinks in a single request to the repositories.
+     * Entities that can not be retrieved are left out of the map.  They are retrieved individually when the beans are created
+     * and skipped if they still can not be retrieved.  A failure of the whole request is handled in the same way so that
+     * one inaccessible entity never prevents the rest of the attachments from being returned.
+     *
+     * @param userId       calling user
+     * @param startingGUID identifier for the entity that the identifier is attached to
+     * @param startingTypeName name of the type of object being attached to
+     * @param relationships relationships between the starting element and the attached elements
+     * @param attachmentEntityTypeName unique name of the attached entity's type
+     * @param selectionEnd 0 means either end, 1 means only take from end 1, 2 means only take from end 2
+     * @param methodName   calling method
+     * @return map of entity guids to entities
+     */
+    private Map<String, EntityDetail> getAttachedEntities(String              userId,
+                                                          String              startingGUID,
+                                                          String              startingTypeName,
+                                                          List<Relationship>  relationships,
+                                                          String              attachmentEntityTypeName,
+                                                          int                 selectionEnd,
+                                                          String              methodName)
+    {
+        Set<String> entityGUIDs = new LinkedHashSet<>();
+
+        for (Relationship relationship : relationships)
+        {
+            if (relationship != null)
+            {
+                try
+                {
+                    EntityProxy entityProxy = this.getAttachmentEnd(startingGUID, startingTypeName, relationship, selectionEnd, methodName);
+
+                    if ((entityProxy != null) && (entityProxy.getGUID() != null))
+                    {
+                        entityGUIDs.add(entityProxy.getGUID());
+                    }
+                }
+                catch (InvalidParameterException error)
+                {
+                    /*
+                     * Reported when the bean is created.
+                     */
+                }
+            }
+        }
+
+        try
+        {
+            return repositoryHandler.getEntitiesByGUID(userId, new ArrayList<>(entityGUIDs), attachmentEntityTypeName, methodName);
+        }
+        catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException error)
+        {
+            /*
+             * Each entity is retrieved individually when its bean is created.
+             */
+            log.debug("Unable to retrieve attached entities together", error);
+            return new HashMap<>();
+        }
+    }
+
+
     /**
      * Return the keyword for the supplied unique identifier (guid).  The keyword is only returned if
      *
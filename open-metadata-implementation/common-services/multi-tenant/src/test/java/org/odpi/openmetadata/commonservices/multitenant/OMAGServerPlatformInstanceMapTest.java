@@ -0,0 +1,295 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that OMAGServerPlatformInstanceMap returns the right service instances while many threads are
+ * looking them up at once, and that servers move correctly between the active and inactive maps.
+ *
+ * The main method is an opt-in benchmark that is not run by the build.  It compares the throughput of
+ * the lookup of a service instance under contention with the lookup made while holding the class lock,
+ * as every lookup did before the maps were made concurrent.  Run it with the test classpath, optionally
+ * passing the number of threads and the number of seconds to measure each lookup for.
+ */
+public class OMAGServerPlatformInstanceMapTest
+{
+    private static final String userId            = "testUser";
+    private static final String serviceName       = "Test Service";
+    private static final String operationName     = "testOperation";
+    private static final int    threadCount       = 4;
+    private static final int    lookupsPerThread  = 1000;
+
+
+    /**
+     * Simple service instance for the tests.  Creating it registers it with the platform.
+     */
+    private static class TestServiceInstance extends OMAGServerServiceInstance
+    {
+        /**
+         * Constructor
+         *
+         * @param serverName name of the server
+         * @param serviceName name of the service
+         */
+        TestServiceInstance(String serverName,
+                            String serviceName)
+        {
+            super(serverName, serviceName, 100);
+        }
+    }
+
+
+    /**
+     * Look up the same service instance from many threads at once.  Every lookup must return the
+     * registered instance.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testLookupUnderContention() throws Exception
+    {
+        final String serverName = "contentionTestServer";
+
+        OMAGServerPlatformInstanceMap platformInstanceMap = new OMAGServerPlatformInstanceMap();
+
+        platformInstanceMap.startUpServerInstance(userId, serverName, null, null);
+
+        TestServiceInstance serviceInstance = new TestServiceInstance(serverName, serviceName);
+
+        ExecutorService        threads   = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch         startGate = new CountDownLatch(1);
+        List<Future<Integer>>  results   = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++)
+        {
+            Callable<Integer> lookups = () ->
+            {
+                int matches = 0;
+
+                startGate.await();
+
+                for (int j = 0; j < lookupsPerThread; j++)
+                {
+                    if (platformInstanceMap.getServiceInstance(userId, serverName, serviceName, operationName) == serviceInstance)
+                    {
+                        matches++;
+                    }
+                }
+
+                return matches;
+            };
+
+            results.add(threads.submit(lookups));
+        }
+
+        startGate.countDown();
+
+        int matches = 0;
+        for (Future<Integer> result : results)
+        {
+            matches = matches + result.get(1, TimeUnit.MINUTES);
+        }
+
+        threads.shutdown();
+
+        assertEquals(matches, threadCount * lookupsPerThread);
+
+        serviceInstance.shutdown();
+        platformInstanceMap.shutdownServerInstance(userId, serverName, operationName);
+    }
+
+
+    /**
+     * Start, stop and restart a server, checking that it is reported as active or known as appropriate.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testServerLifecycle() throws Exception
+    {
+        final String serverName = "lifecycleTestServer";
+
+        OMAGServerPlatformInstanceMap platformInstanceMap = new OMAGServerPlatformInstanceMap();
+
+        assertFalse(platformInstanceMap.isServerKnown(userId, serverName));
+
+        platformInstanceMap.startUpServerInstance(userId, serverName, null, null);
+
+        TestServiceInstance serviceInstance = new TestServiceInstance(serverName, serviceName);
+
+        assertTrue(platformInstanceMap.isServerActive(userId, serverName));
+        assertTrue(platformInstanceMap.getActiveServiceListForServer(userId, serverName).contains(serviceName));
+        assertNull(platformInstanceMap.getServerEndTime(userId, serverName));
+
+        serviceInstance.shutdown();
+        platformInstanceMap.shutdownServerInstance(userId, serverName, operationName);
+
+        assertFalse(platformInstanceMap.isServerActive(userId, serverName));
+        assertTrue(platformInstanceMap.isServerKnown(userId, serverName));
+        assertFalse(platformInstanceMap.getActiveServerList(userId) != null &&
+                    platformInstanceMap.getActiveServerList(userId).contains(serverName));
+        assertTrue(platformInstanceMap.getServerEndTime(userId, serverName) != null);
+
+        platformInstanceMap.startUpServerInstance(userId, serverName, null, null);
+
+        TestServiceInstance restartedServiceInstance = new TestServiceInstance(serverName, serviceName);
+
+        assertTrue(platformInstanceMap.isServerActive(userId, serverName));
+        assertSame(platformInstanceMap.getServiceInstance(userId, serverName, serviceName, operationName), restartedServiceInstance);
+        assertEquals(platformInstanceMap.getServerHistory(userId, serverName).size(), 1);
+
+        int occurrences = 0;
+        for (String knownServerName : platformInstanceMap.getKnownServerList(userId))
+        {
+            if (serverName.equals(knownServerName))
+            {
+                occurrences++;
+            }
+        }
+        assertEquals(occurrences, 1);
+
+        restartedServiceInstance.shutdown();
+        platformInstanceMap.shutdownServerInstance(userId, serverName, operationName);
+    }
+
+
+    /**
+     * Look up the same service instance from many threads for a fixed time and return the number of lookups.
+     *
+     * @param platformInstanceMap instance map to use
+     * @param serverName name of the server
+     * @param benchmarkThreadCount number of threads looking up the service instance
+     * @param durationMillis how long to run the lookups for (in milliseconds)
+     * @param classLocked hold the class lock for each lookup, as the lookup did before the maps were concurrent
+     * @return number of lookups made by all of the threads
+     * @throws Exception problem in benchmark
+     */
+    private static long countLookups(OMAGServerPlatformInstanceMap platformInstanceMap,
+                                     String                        serverName,
+                                     int                           benchmarkThreadCount,
+                                     long                          durationMillis,
+                                     boolean                       classLocked) throws Exception
+    {
+        ExecutorService     threads   = Executors.newFixedThreadPool(benchmarkThreadCount);
+        CountDownLatch      startGate = new CountDownLatch(1);
+        AtomicBoolean       stopped   = new AtomicBoolean(false);
+        List<Future<Long>>  results   = new ArrayList<>();
+
+        for (int i = 0; i < benchmarkThreadCount; i++)
+        {
+            Callable<Long> lookups = () ->
+            {
+                long count = 0;
+
+                startGate.await();
+
+                while (!stopped.get())
+                {
+                    OMAGServerServiceInstance serviceInstance;
+
+                    if (classLocked)
+                    {
+                        synchronized (OMAGServerPlatformInstanceMap.class)
+                        {
+                            serviceInstance = platformInstanceMap.getServiceInstance(userId, serverName, serviceName, operationName);
+                        }
+                    }
+                    else
+                    {
+                        serviceInstance = platformInstanceMap.getServiceInstance(userId, serverName, serviceName, operationName);
+                    }
+
+                    /*
+                     * Using the result stops the lookup being optimized away.
+                     */
+                    if (serviceInstance != null)
+                    {
+                        count++;
+                    }
+                }
+
+                return count;
+            };
+
+            results.add(threads.submit(lookups));
+        }
+
+        startGate.countDown();
+        Thread.sleep(durationMillis);
+        stopped.set(true);
+
+        long count = 0;
+        for (Future<Long> result : results)
+        {
+            count = count + result.get(1, TimeUnit.MINUTES);
+        }
+
+        threads.shutdown();
+
+        return count;
+    }
+
+
+    /**
+     * Benchmark the lookup of a service instance under contention.  Each lookup is measured without a lock
+     * and while holding the class lock, after a warm-up of each, and the rates are printed in operations
+     * per second.  The lookup used to take the server instance's lock as well, but only while already
+     * holding the class lock, so the class lock alone serializes the lookups in the same way.
+     *
+     * @param args optional number of threads (default 8) and number of seconds to measure each lookup for (default 5)
+     * @throws Exception problem in benchmark
+     */
+    public static void main(String[] args) throws Exception
+    {
+        final String serverName = "benchmarkServer";
+
+        int  benchmarkThreadCount = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        long durationMillis       = ((args.length > 1) ? Long.parseLong(args[1]) : 5) * 1000;
+
+        OMAGServerPlatformInstanceMap platformInstanceMap = new OMAGServerPlatformInstanceMap();
+
+        platformInstanceMap.startUpServerInstance(userId, serverName, null, null);
+
+        TestServiceInstance serviceInstance = new TestServiceInstance(serverName, serviceName);
+
+        try
+        {
+            countLookups(platformInstanceMap, serverName, benchmarkThreadCount, durationMillis, false);
+            countLookups(platformInstanceMap, serverName, benchmarkThreadCount, durationMillis, true);
+
+            long lockFreeLookups  = countLookups(platformInstanceMap, serverName, benchmarkThreadCount, durationMillis, false);
+            long classLockLookups = countLookups(platformInstanceMap, serverName, benchmarkThreadCount, durationMillis, true);
+
+            double lockFreeRate  = lockFreeLookups * 1000.0 / durationMillis;
+            double classLockRate = classLockLookups * 1000.0 / durationMillis;
+
+            System.out.printf("Service instance lookups with %d threads:%n", benchmarkThreadCount);
+            System.out.printf("  without a lock:       %,15.0f ops/s%n", lockFreeRate);
+            System.out.printf("  holding class lock:   %,15.0f ops/s%n", classLockRate);
+            System.out.printf("  speed up:             %15.2fx%n", lockFreeRate / classLockRate);
+        }
+        finally
+        {
+            serviceInstance.shutdown();
+            platformInstanceMap.shutdownServerInstance(userId, serverName, operationName);
+        }
+    }
+}
@@ -10,6 +10,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -3196,6 +3200,103 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Return the requested entities, converting any errors from the repository services into the local
+     * OMAS exceptions.  The entities are retrieved with a single request to the metadata collection
+     * where it is supported.  Entities that are not known, are only proxies, are not of the expected type,
+     * are not visible to the user or fail with a repository error are left out of the results so that a problem
+     * with one entity does not prevent the others from being returned.
+     *
+     * @param userId calling user
+     * @param guids unique identifiers for the entities
+     * @param entityTypeName expected type of the entities
+     * @param methodName calling method name
+     *
+     * @return map of entity guids to entity detail objects
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws PropertyServerException problem retrieving the entities.
+     */
+    public Map<String, EntityDetail> getEntitiesByGUID(String                 userId,
+                                                       List<String>           guids,
+                                                       String                 entityTypeName,
+                                                       String                 methodName) throws InvalidParameterException,
+                                                                                                 UserNotAuthorizedException,
+                                                                                                 PropertyServerException
+    {
+        final String localMethodName = "getEntitiesByGUID";
+
+        Map<String, EntityDetail> results = new HashMap<>();
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return results;
+        }
+
+        try
+        {
+            List<EntityDetail> entities;
+
+            try
+            {
+                entities = metadataCollection.getEntityDetails(userId, guids);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                /*
+                 * Fall back to retrieving the entities one at a time.
+                 */
+                entities = new ArrayList<>();
+
+                for (String guid : guids)
+                {
+                    try
+                    {
+                        entities.add(metadataCollection.getEntityDetail(userId, guid));
+                    }
+                    catch (EntityNotKnownException | EntityProxyOnlyException notFound)
+                    {
+                        /*
+                         * Entities that are not stored in full are left out of the results.
+                         */
+                    }
+                    catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException |
+                           RepositoryErrorException inaccessibleEntity)
+                    {
+                        log.debug("Skipping inaccessible entity " + guid, inaccessibleEntity);
+                    }
+                }
+            }
+
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    if ((entity != null) && (errorHandler.isInstanceATypeOf(entity, entityTypeName, methodName)))
+                    {
+                        results.put(entity.getGUID(), entity);
+                    }
+                }
+            }
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException error)
+        {
+            throw error;
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName, localMethodName);
+        }
+
+        return results;
+    }
+
+
     /**
      * Test whether an entity is of a particular type or not.
      *
@@ -0,0 +1,162 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that RepositoryHandler.getEntitiesByGUID returns the entities that can be retrieved even when some
+ * of the entities in the request fail.
+ */
+public class RepositoryHandlerGetEntitiesTest
+{
+    private static final String userId         = "testUser";
+    private static final String entityTypeName = "Referenceable";
+    private static final String methodName     = "testGetEntitiesByGUID";
+
+    private static final String visibleGUID1      = "visible-1";
+    private static final String visibleGUID2      = "visible-2";
+    private static final String unauthorizedGUID  = "unauthorized";
+    private static final String brokenGUID        = "broken";
+    private static final String unknownGUID       = "unknown";
+
+
+    /**
+     * Metadata collection that fails the retrieval of some of the entities.  It does not override getEntityDetails
+     * so the default implementation that retrieves each entity in turn is tested.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        /**
+         * Constructor
+         */
+        TestMetadataCollection()
+        {
+            super(null, "TestRepository", null, null, "TestMetadataCollectionId");
+        }
+
+
+        /**
+         * Return the requested entity or fail in the way set up for the guid.
+         *
+         * @param userId calling user
+         * @param guid unique identifier of the entity
+         * @return entity
+         * @throws EntityNotKnownException the entity is not known
+         * @throws RepositoryErrorException the repository failed
+         * @throws UserNotAuthorizedException the user may not see the entity
+         */
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid) throws EntityNotKnownException,
+                                                                RepositoryErrorException,
+                                                                UserNotAuthorizedException
+        {
+            final String methodName = "getEntityDetail";
+
+            switch (guid)
+            {
+                case unauthorizedGUID:
+                    throw new UserNotAuthorizedException(OMRSErrorCode.UNEXPECTED_EXCEPTION.getMessageDefinition(),
+                                                         this.getClass().getName(),
+                                                         methodName,
+                                                         userId);
+
+                case brokenGUID:
+                    throw new RepositoryErrorException(OMRSErrorCode.UNEXPECTED_EXCEPTION.getMessageDefinition(),
+                                                       this.getClass().getName(),
+                                                       methodName);
+
+                case unknownGUID:
+                    throw new EntityNotKnownException(OMRSErrorCode.UNEXPECTED_EXCEPTION.getMessageDefinition(),
+                                                      this.getClass().getName(),
+                                                      methodName);
+
+                default:
+                    EntityDetail entity = new EntityDetail();
+                    InstanceType type   = new InstanceType();
+
+                    type.setTypeDefName(entityTypeName);
+                    entity.setType(type);
+                    entity.setGUID(guid);
+
+                    return entity;
+            }
+        }
+    }
+
+
+    /**
+     * Create a repository handler over the test metadata collection.  The repository helper treats every type as
+     * matching.
+     *
+     * @return repository handler
+     */
+    private RepositoryHandler getRepositoryHandler()
+    {
+        OMRSRepositoryHelper repositoryHelper = (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                                                              new Class<?>[]{OMRSRepositoryHelper.class},
+                                                                                              (proxy, method, args) -> "isTypeOf".equals(method.getName()) ? Boolean.TRUE : null);
+
+        return new RepositoryHandler(null,
+                                     new RepositoryErrorHandler(repositoryHelper, "TestService", "TestServer"),
+                                     new TestMetadataCollection(),
+                                     100);
+    }
+
+
+    /**
+     * One entity in the batch is not visible to the user and another fails in the repository.  The other
+     * entities are still returned.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testBatchWithUnauthorizedEntity() throws Exception
+    {
+        Map<String, EntityDetail> results = getRepositoryHandler().getEntitiesByGUID(userId,
+                                                                                     Arrays.asList(visibleGUID1,
+                                                                                                   unauthorizedGUID,
+                                                                                                   brokenGUID,
+                                                                                                   unknownGUID,
+                                                                                                   visibleGUID2),
+                                                                                     entityTypeName,
+                                                                                     methodName);
+
+        assertEquals(results.size(), 2);
+        assertTrue(results.containsKey(visibleGUID1));
+        assertTrue(results.containsKey(visibleGUID2));
+    }
+
+
+    /**
+     * When every entity in the batch is unauthorized, the result is empty rather than an exception.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testBatchWithOnlyUnauthorizedEntities() throws Exception
+    {
+        Map<String, EntityDetail> results = getRepositoryHandler().getEntitiesByGUID(userId,
+                                                                                     Arrays.asList(unauthorizedGUID, brokenGUID),
+                                                                                     entityTypeName,
+                                                                                     methodName);
+
+        assertTrue(results.isEmpty());
+    }
+}
@@ -226,6 +226,13 @@ public enum AssetAnalysisAuditCode implements AuditLogMessageSet
                                         "call to request that the discovery engine calls the Discovery Engine OMAS to refresh the configuration for" +
                                         " the discovery service."),
 
+    SCAN_FAILED("OMES-ASSET-ANALYSIS-0029",
+                OMRSAuditLogRecordSeverity.ERROR,
+                "The scan of all assets for discovery request type {0} by discovery engine {1} stopped after {2} assets.  " +
+                        "The exception was {3} with error message {4}",
+                "No more discovery requests are queued for this scan.  The discovery requests already queued continue to run.",
+                "Review the error messages and resolve the cause of the problem.  Then request a new scan of all assets."),
+
 
 
     ;
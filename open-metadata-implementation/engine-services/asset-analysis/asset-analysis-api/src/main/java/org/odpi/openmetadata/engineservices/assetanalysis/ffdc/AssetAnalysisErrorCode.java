@@ -18,6 +18,7 @@ import org.odpi.openmetadata.frameworks.auditlog.messagesets.ExceptionMessageSet
  *         <li>400 - invalid parameters</li>
  *         <li>404 - not found</li>
  *         <li>409 - data conflict errors - eg item already defined</li>
+ *         <li>503 - service not available - eg the discovery engine is too busy</li>
  *     </ul></li>
  *     <li>Error Message Id - to uniquely identify the message</li>
  *     <li>Error Message Text - includes placeholder to allow additional values to be captured</li>
@@ -94,6 +95,11 @@ public enum AssetAnalysisErrorCode implements ExceptionMessageSet
              "This may be a configuration error or the metadata server may be down.  Look for other error messages and review the " +
                                     "configuration of the Asset Analysis OMES.  Once the cause is resolved, restart the server."),
 
+    BAD_ENGINE_SERVICE_OPTION(400, "OMES-ASSET-ANALYSIS-400-015 ",
+             "The value {0} of engine service option {1} for Asset Analysis OMES in server {2} is not a positive whole number",
+             "The server is not able to start the discovery engines.  It fails to start.",
+             "Correct the engine service options for the Asset Analysis OMES in the server's configuration document and restart the server."),
+
     /*
      * Errors when running requests
      */
@@ -150,6 +156,21 @@ public enum AssetAnalysisErrorCode implements ExceptionMessageSet
                                      "The discovery engine is not able to run any discovery requests until it is able to retrieve its configuration.",
                                      "Use the configuration interface of the Discovery Engine OMAS to create a definition of at least one discovery" +
                                              " engine."),
+
+    DISCOVERY_REQUEST_QUEUE_FULL(503, "OMES-ASSET-ANALYSIS-503-001 ",
+             "Discovery engine {0} hosted by Asset Analysis OMES in server {1} is unable to accept a discovery request for asset {2} " +
+                                         "because its queue of waiting discovery requests is full",
+                                 "The discovery request is not run and an error is returned to the caller.",
+                                 "Wait for the discovery engine to work through the discovery requests that are already queued and then " +
+                                         "retry the request.  If this error occurs regularly, increase the discoveryWorkerCount or " +
+                                         "discoveryQueueSize engine service options for the Asset Analysis OMES."),
+
+    DISCOVERY_ENGINE_SHUTTING_DOWN(503, "OMES-ASSET-ANALYSIS-503-002 ",
+             "Discovery engine {0} hosted by Asset Analysis OMES in server {1} is unable to accept a discovery request for {2} " +
+                                         "because it is shutting down",
+                                 "The discovery request is not run and an error is returned to the caller.  The discovery requests " +
+                                         "that were already queued are allowed to complete.",
+                                 "Retry the request once the discovery engine has been restarted."),
     ;
 
 
@@ -24,11 +24,17 @@ public class DiscoveryEngineSummary implements Serializable
 {
     private static final long    serialVersionUID = 1L;
 
-    private String                discoveryEngineName        = null;
-    private String                discoveryEngineGUID        = null;
-    private String                discoveryEngineDescription = null;
-    private DiscoveryEngineStatus discoveryEngineStatus      = null;
-    private List<String>          discoveryRequestTypes      = null;
+    private String                discoveryEngineName            = null;
+    private String                discoveryEngineGUID            = null;
+    private String                discoveryEngineDescription     = null;
+    private DiscoveryEngineStatus discoveryEngineStatus          = null;
+    private List<String>          discoveryRequestTypes          = null;
+    private int                   waitingDiscoveryRequests       = 0;
+    private int                   activeDiscoveryRequests        = 0;
+    private long                  completedDiscoveryRequests     = 0L;
+    private long                  rejectedDiscoveryRequests      = 0L;
+    private long                  lastDiscoveryRequestRunTime    = 0L;
+    private long                  averageDiscoveryRequestRunTime = 0L;
 
 
     /**
@@ -53,6 +59,12 @@ public class DiscoveryEngineSummary implements Serializable
             discoveryEngineDescription = template.getDiscoveryEngineDescription();
             discoveryEngineStatus = template.getDiscoveryEngineStatus();
             discoveryRequestTypes = template.getDiscoveryRequestTypes();
+            waitingDiscoveryRequests = template.getWaitingDiscoveryRequests();
+            activeDiscoveryRequests = template.getActiveDiscoveryRequests();
+            completedDiscoveryRequests = template.getCompletedDiscoveryRequests();
+            rejectedDiscoveryRequests = template.getRejectedDiscoveryRequests();
+            lastDiscoveryRequestRunTime = template.getLastDiscoveryRequestRunTime();
+            averageDiscoveryRequestRunTime = template.getAverageDiscoveryRequestRunTime();
         }
     }
 
@@ -176,6 +188,138 @@ public class DiscoveryEngineSummary implements Serializable
     }
 
 
+    /**
+     * Return the number of discovery requests waiting for a worker thread in the discovery engine.
+     *
+     * @return count
+     */
+    public int getWaitingDiscoveryRequests()
+    {
+        return waitingDiscoveryRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests waiting for a worker thread in the discovery engine.
+     *
+     * @param waitingDiscoveryRequests count
+     */
+    public void setWaitingDiscoveryRequests(int waitingDiscoveryRequests)
+    {
+        this.waitingDiscoveryRequests = waitingDiscoveryRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests currently running in the discovery engine.
+     *
+     * @return count
+     */
+    public int getActiveDiscoveryRequests()
+    {
+        return activeDiscoveryRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests currently running in the discovery engine.
+     *
+     * @param activeDiscoveryRequests count
+     */
+    public void setActiveDiscoveryRequests(int activeDiscoveryRequests)
+    {
+        this.activeDiscoveryRequests = activeDiscoveryRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that the discovery engine has run since it started.
+     *
+     * @return count
+     */
+    public long getCompletedDiscoveryRequests()
+    {
+        return completedDiscoveryRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that the discovery engine has run since it started.
+     *
+     * @param completedDiscoveryRequests count
+     */
+    public void setCompletedDiscoveryRequests(long completedDiscoveryRequests)
+    {
+        this.completedDiscoveryRequests = completedDiscoveryRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that the discovery engine has rejected because its queue was full.
+     *
+     * @return count
+     */
+    public long getRejectedDiscoveryRequests()
+    {
+        return rejectedDiscoveryRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that the discovery engine has rejected because its queue was full.
+     *
+     * @param rejectedDiscoveryRequests count
+     */
+    public void setRejectedDiscoveryRequests(long rejectedDiscoveryRequests)
+    {
+        this.rejectedDiscoveryRequests = rejectedDiscoveryRequests;
+    }
+
+
+    /**
+     * Return the run time (in milliseconds) of the last discovery request to complete.
+     *
+     * @return run time
+     */
+    public long getLastDiscoveryRequestRunTime()
+    {
+        return lastDiscoveryRequestRunTime;
+    }
+
+
+    /**
+     * Set up the run time (in milliseconds) of the last discovery request to complete.
+     *
+     * @param lastDiscoveryRequestRunTime run time
+     */
+    public void setLastDiscoveryRequestRunTime(long lastDiscoveryRequestRunTime)
+    {
+        this.lastDiscoveryRequestRunTime = lastDiscoveryRequestRunTime;
+    }
+
+
+    /**
+     * Return the average run time (in milliseconds) of the discovery requests that have completed.
+     *
+     * @return run time
+     */
+    public long getAverageDiscoveryRequestRunTime()
+    {
+        return averageDiscoveryRequestRunTime;
+    }
+
+
+    /**
+     * Set up the average run time (in milliseconds) of the discovery requests that have completed.
+     *
+     * @param averageDiscoveryRequestRunTime run time
+     */
+    public void setAverageDiscoveryRequestRunTime(long averageDiscoveryRequestRunTime)
+    {
+        this.averageDiscoveryRequestRunTime = averageDiscoveryRequestRunTime;
+    }
+
+
     /**
      * JSON-style toString
      *
@@ -190,6 +334,12 @@ public class DiscoveryEngineSummary implements Serializable
                 ", discoveryEngineDescription='" + discoveryEngineDescription + '\'' +
                 ", discoveryEngineStatus=" + discoveryEngineStatus +
                 ", discoveryRequestTypes=" + discoveryRequestTypes +
+                ", waitingDiscoveryRequests=" + waitingDiscoveryRequests +
+                ", activeDiscoveryRequests=" + activeDiscoveryRequests +
+                ", completedDiscoveryRequests=" + completedDiscoveryRequests +
+                ", rejectedDiscoveryRequests=" + rejectedDiscoveryRequests +
+                ", lastDiscoveryRequestRunTime=" + lastDiscoveryRequestRunTime +
+                ", averageDiscoveryRequestRunTime=" + averageDiscoveryRequestRunTime +
                 '}';
     }
 
@@ -212,7 +362,13 @@ public class DiscoveryEngineSummary implements Serializable
             return false;
         }
         DiscoveryEngineSummary that = (DiscoveryEngineSummary) objectToCompare;
-        return Objects.equals(discoveryEngineName, that.discoveryEngineName) &&
+        return waitingDiscoveryRequests == that.waitingDiscoveryRequests &&
+                activeDiscoveryRequests == that.activeDiscoveryRequests &&
+                completedDiscoveryRequests == that.completedDiscoveryRequests &&
+                rejectedDiscoveryRequests == that.rejectedDiscoveryRequests &&
+                lastDiscoveryRequestRunTime == that.lastDiscoveryRequestRunTime &&
+                averageDiscoveryRequestRunTime == that.averageDiscoveryRequestRunTime &&
+                Objects.equals(discoveryEngineName, that.discoveryEngineName) &&
                 Objects.equals(discoveryEngineGUID, that.discoveryEngineGUID) &&
                 Objects.equals(discoveryEngineDescription, that.discoveryEngineDescription) &&
                 discoveryEngineStatus == that.discoveryEngineStatus &&
@@ -228,6 +384,8 @@ public class DiscoveryEngineSummary implements Serializable
    @Override
    public int hashCode()
    {
-       return Objects.hash(discoveryEngineName, discoveryEngineGUID, discoveryEngineDescription, discoveryEngineStatus, discoveryRequestTypes);
+       return Objects.hash(discoveryEngineName, discoveryEngineGUID, discoveryEngineDescription, discoveryEngineStatus, discoveryRequestTypes,
+                           waitingDiscoveryRequests, activeDiscoveryRequests, completedDiscoveryRequests, rejectedDiscoveryRequests,
+                           lastDiscoveryRequestRunTime, averageDiscoveryRequestRunTime);
    }
 }
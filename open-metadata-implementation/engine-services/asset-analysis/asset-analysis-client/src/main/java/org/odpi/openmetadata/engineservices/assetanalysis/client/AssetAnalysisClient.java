@@ -173,7 +173,8 @@ public class AssetAnalysisClient extends DiscoveryEngine
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
-     * @throws DiscoveryEngineException there was a problem detected by the discovery engine.
+     * @throws DiscoveryEngineException there was a problem detected by the discovery engine, or its queue of
+     *                                  discovery requests is full (reported HTTP code 503) and the request should be retried later.
      */
     public  String discoverAsset(String   userId,
                                  String   assetGUID,
@@ -197,7 +198,8 @@ public class AssetAnalysisClient extends DiscoveryEngine
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
-     * @throws DiscoveryEngineException there was a problem detected by the discovery engine.
+     * @throws DiscoveryEngineException there was a problem detected by the discovery engine, or its queue of
+     *                                  discovery requests is full (reported HTTP code 503) and the request should be retried later.
      */
     public  String discoverAsset(String              userId,
                                  String              assetGUID,
@@ -223,7 +225,8 @@ public class AssetAnalysisClient extends DiscoveryEngine
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
-     * @throws DiscoveryEngineException there was a problem detected by the discovery engine.
+     * @throws DiscoveryEngineException there was a problem detected by the discovery engine, or its queue of
+     *                                  discovery requests is full (reported HTTP code 503) and the request should be retried later.
      */
     public  String discoverAsset(String              userId,
                                  String              assetGUID,
@@ -273,8 +276,10 @@ public class AssetAnalysisClient extends DiscoveryEngine
 
 
     /**
-     * Explore each of the assets in the asset store.  A new instance of the discovery service is started for
-     * each retrieved asset.
+     * Explore each of the assets in the asset store.  The scan runs on the discovery engine's scan thread so
+     * this call returns once the scan is queued.  The scan queues a new instance of the discovery service for
+     * each retrieved asset, waiting while the discovery engine's queue of discovery requests is full.  These
+     * requests run after any requests for single assets.
      *
      * @param userId identifier of calling user
      * @param discoveryRequestType identifier of the type of analysis - this determines which discovery service to run.
@@ -24,6 +24,16 @@ import java.util.Map;
 
 public class AssetAnalysisAdmin extends EngineServiceAdmin
 {
+    /*
+     * Engine service options that control how many discovery requests each discovery engine runs at once and
+     * how many can wait for a worker thread.
+     */
+    public static final String discoveryWorkerCountOption = "discoveryWorkerCount";
+    public static final String discoveryQueueSizeOption   = "discoveryQueueSize";
+
+    private static final int   defaultDiscoveryWorkerCount = 10;
+    private static final int   defaultDiscoveryQueueSize   = 1000;
+
     private AssetAnalysisInstance assetAnalysisInstance = null;
 
     /**
@@ -69,6 +79,14 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
             String             accessServiceRootURL    = this.getAccessServiceRootURL(engineServiceConfig);
             String             accessServiceServerName = this.getAccessServiceServerName(engineServiceConfig);
             List<EngineConfig> discoveryEngines        = this.getEngines(engineServiceConfig);
+            int                discoveryWorkerCount    = this.extractIntegerOption(engineServiceConfig.getEngineServiceOptions(),
+                                                                               discoveryWorkerCountOption,
+                                                                               defaultDiscoveryWorkerCount,
+                                                                               methodName);
+            int                discoveryQueueSize      = this.extractIntegerOption(engineServiceConfig.getEngineServiceOptions(),
+                                                                               discoveryQueueSizeOption,
+                                                                               defaultDiscoveryQueueSize,
+                                                                               methodName);
 
             /*
              * Create the client for accessing the configuration.  The Discovery Engine OMAS has a specific client for retrieving
@@ -110,7 +128,9 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
                                                                                                           localServerUserId,
                                                                                                           configurationClient,
                                                                                                           restClient,
-                                                                                                          maxPageSize);
+                                                                                                          maxPageSize,
+                                                                                                          discoveryWorkerCount,
+                                                                                                          discoveryQueueSize);
 
             if (discoveryEngineHandlers == null)
             {
@@ -164,6 +184,55 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
     }
 
 
+    /**
+     * Extract an engine service option that is a positive whole number.
+     *
+     * @param engineServiceOptions options from the engine service configuration
+     * @param optionName name of the option
+     * @param defaultValue value to use if the option is not set
+     * @param methodName calling method
+     * @return option value
+     * @throws OMAGConfigurationErrorException the option is not a positive whole number
+     */
+    private int extractIntegerOption(Map<String, Object> engineServiceOptions,
+                                     String              optionName,
+                                     int                 defaultValue,
+                                     String              methodName) throws OMAGConfigurationErrorException
+    {
+        if (engineServiceOptions == null)
+        {
+            return defaultValue;
+        }
+
+        Object optionValue = engineServiceOptions.get(optionName);
+
+        if (optionValue == null)
+        {
+            return defaultValue;
+        }
+
+        try
+        {
+            int value = Integer.parseInt(optionValue.toString());
+
+            if (value > 0)
+            {
+                return value;
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            /* reported below */
+        }
+
+        throw new OMAGConfigurationErrorException(AssetAnalysisErrorCode.BAD_ENGINE_SERVICE_OPTION.getMessageDefinition(optionValue.toString(),
+                                                                                                                         optionName,
+                                                                                                                         localServerName),
+                                                  this.getClass().getName(),
+                                                  methodName);
+    }
+
+
     /**
      * Create the list of discovery engine handlers.
      *
@@ -174,6 +243,8 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
      * @param configurationClient client to retrieve configuration from
      * @param odfRESTClient client for calling REST APIs
      * @param maxPageSize maximum number of records that can be requested on the pageSize parameter
+     * @param discoveryWorkerCount number of discovery requests each discovery engine can run at once
+     * @param discoveryQueueSize number of discovery requests that can wait for a worker thread in each discovery engine
      * @return map of discovery engine GUIDs to handlers
      * @throws OMAGConfigurationErrorException problem with config
      */
@@ -183,7 +254,9 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
                                                                             String                       localServerUserId,
                                                                             DiscoveryConfigurationClient configurationClient,
                                                                             ODFRESTClient                odfRESTClient,
-                                                                            int                          maxPageSize) throws OMAGConfigurationErrorException
+                                                                            int                          maxPageSize,
+                                                                            int                          discoveryWorkerCount,
+                                                                            int                          discoveryQueueSize) throws OMAGConfigurationErrorException
     {
         final String methodName        = "getDiscoveryEngineHandlers";
 
@@ -225,7 +298,9 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
                                                                              configurationClient,
                                                                              discoveryEngineClient,
                                                                              auditLog,
-                                                                             maxPageSize);
+                                                                             maxPageSize,
+                                                                             discoveryWorkerCount,
+                                                                             discoveryQueueSize);
 
                 discoveryEngineHandlers.put(discoveryEngine.getEngineQualifiedName(), handler);
             }
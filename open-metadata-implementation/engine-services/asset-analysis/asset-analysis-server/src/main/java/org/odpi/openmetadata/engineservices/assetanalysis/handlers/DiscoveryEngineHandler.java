@@ -34,6 +34,7 @@ public class DiscoveryEngineHandler
     private DiscoveryEngineClient        discoveryEngineClient;    /* Initialized in constructor */
     private DiscoveryConfigurationClient configurationClient;      /* Initialized in constructor */
     private int                          maxPageSize;              /* Initialized in constructor */
+    private DiscoveryRequestQueue        discoveryRequestQueue;    /* Initialized in constructor */
 
     private String                    discoveryEngineName;         /* Initialized in constructor */
     private String                    discoveryEngineGUID         = null;
@@ -58,6 +59,8 @@ public class DiscoveryEngineHandler
      * @param discoveryEngineClient REST client for direct REST Calls
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
+     * @param discoveryWorkerCount number of discovery requests that can run at the same time
+     * @param discoveryQueueSize number of discovery requests that can wait for a worker thread
      */
     public DiscoveryEngineHandler(EngineConfig                 engineConfig,
                                   String                       serverName,
@@ -65,7 +68,9 @@ public class DiscoveryEngineHandler
                                   DiscoveryConfigurationClient configurationClient,
                                   DiscoveryEngineClient        discoveryEngineClient,
                                   AuditLog                     auditLog,
-                                  int                          maxPageSize)
+                                  int                          maxPageSize,
+                                  int                          discoveryWorkerCount,
+                                  int                          discoveryQueueSize)
     {
         this.discoveryEngineName = engineConfig.getEngineQualifiedName();
         this.serverName = serverName;
@@ -79,6 +84,7 @@ public class DiscoveryEngineHandler
         this.discoveryEngineClient = discoveryEngineClient;
         this.auditLog = auditLog;
         this.maxPageSize = maxPageSize;
+        this.discoveryRequestQueue = new DiscoveryRequestQueue(discoveryEngineName, discoveryWorkerCount, discoveryQueueSize);
     }
 
 
@@ -122,6 +128,13 @@ public class DiscoveryEngineHandler
             mySummary.setDiscoveryEngineStatus(DiscoveryEngineStatus.RUNNING);
         }
 
+        mySummary.setWaitingDiscoveryRequests(discoveryRequestQueue.getWaitingRequestCount());
+        mySummary.setActiveDiscoveryRequests(discoveryRequestQueue.getActiveRequestCount());
+        mySummary.setCompletedDiscoveryRequests(discoveryRequestQueue.getCompletedRequestCount());
+        mySummary.setRejectedDiscoveryRequests(discoveryRequestQueue.getRejectedRequestCount());
+        mySummary.setLastDiscoveryRequestRunTime(discoveryRequestQueue.getLastRequestRunTime());
+        mySummary.setAverageDiscoveryRequestRunTime(discoveryRequestQueue.getAverageRequestRunTime());
+
         return mySummary;
     }
 
@@ -261,7 +274,8 @@ public class DiscoveryEngineHandler
 
 
     /**
-     * Request the execution of a discovery service to explore a specific asset.
+     * Request the execution of a discovery service to explore a specific asset.  The request is queued until
+     * one of the discovery engine's worker threads is free.
      *
      * @param assetGUID identifier of the asset to analyze.
      * @param discoveryRequestType identifier of the type of discovery request to run - this determines which discovery service to run.
@@ -273,7 +287,8 @@ public class DiscoveryEngineHandler
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
      * @throws PropertyServerException there was a problem detected by the discovery engine.
-     * @throws DiscoveryEngineException there is a problem with the set up of the discovery engine.
+     * @throws DiscoveryEngineException there is a problem with the set up of the discovery engine, its queue of
+     *                                  discovery requests is full or it is shutting down.
      */
     public  String discoverAsset(String              assetGUID,
                                  String              discoveryRequestType,
@@ -291,7 +306,7 @@ public class DiscoveryEngineHandler
 
         if (discoveryServiceCache != null)
         {
-            return runDiscoveryService(assetGUID, discoveryRequestType, analysisParameters, annotationTypes, discoveryServiceCache);
+            return runDiscoveryService(assetGUID, discoveryRequestType, analysisParameters, annotationTypes, discoveryServiceCache, false);
         }
 
         return null;
@@ -300,7 +315,9 @@ public class DiscoveryEngineHandler
 
     /**
      * Request the execution of a discovery service for each asset that is found (limited by the supported zones of the
-     * Discovery Engine OMAS).
+     * Discovery Engine OMAS).  The scan runs on the discovery engine's scan thread so this call returns once the scan is
+     * queued.  The scan waits for space in the discovery engine's queue of discovery requests, and its requests run after
+     * any requests for single assets.  If the scan fails, the error is logged in the audit log.
      *
      * @param discoveryRequestType identifier of the type of discovery to run - this determines which discovery service to run.
      * @param analysisParameters name value properties to control the analysis
@@ -309,7 +326,7 @@ public class DiscoveryEngineHandler
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
      * @throws PropertyServerException there was a problem with connecting to the metadata server
-     * @throws DiscoveryEngineException there is a problem with the set up of the discovery engine.
+     * @throws DiscoveryEngineException there is a problem with the set up of the discovery engine or it is shutting down.
      */
     public  void scanAllAssets(String              discoveryRequestType,
                                Map<String, String> analysisParameters,
@@ -319,6 +336,7 @@ public class DiscoveryEngineHandler
                                                                            DiscoveryEngineException
     {
         final String methodName = "scanAllAssets";
+        final String scanTarget = "all assets";
 
         validateDiscoveryEngineInitialized(methodName);
 
@@ -326,9 +344,43 @@ public class DiscoveryEngineHandler
 
         if (discoveryServiceCache != null)
         {
-            int      startingFrom = 0;
-            boolean  moreToReceive = true;
+            if (! discoveryRequestQueue.submitScan(() -> this.runScan(discoveryRequestType,
+                                                                      analysisParameters,
+                                                                      annotationTypes,
+                                                                      discoveryServiceCache)))
+            {
+                throw new DiscoveryEngineException(AssetAnalysisErrorCode.DISCOVERY_ENGINE_SHUTTING_DOWN.getMessageDefinition(discoveryEngineName,
+                                                                                                                              serverName,
+                                                                                                                              scanTarget),
+                                                   this.getClass().getName(),
+                                                   methodName);
+            }
+        }
+    }
 
+
+    /**
+     * Queue a discovery request for each asset that is found.  This runs on the discovery engine's scan thread.
+     * The scan stops at the first error, which is logged in the audit log.
+     *
+     * @param discoveryRequestType identifier of the type of discovery to run - this determines which discovery service to run.
+     * @param analysisParameters name value properties to control the analysis
+     * @param annotationTypes list of the types of annotations to produce (and no others)
+     * @param discoveryServiceCache factory for discovery services.
+     */
+    private void runScan(String                discoveryRequestType,
+                         Map<String, String>   analysisParameters,
+                         List<String>          annotationTypes,
+                         DiscoveryServiceCache discoveryServiceCache)
+    {
+        final String actionDescription = "Scan all assets";
+
+        int      startingFrom  = 0;
+        int      assetCount    = 0;
+        boolean  moreToReceive = true;
+
+        try
+        {
             while (moreToReceive)
             {
                 List<String> assets = discoveryEngineClient.getAssets(serverUserId, startingFrom, maxPageSize);
@@ -343,7 +395,9 @@ public class DiscoveryEngineHandler
                                                 discoveryRequestType,
                                                 analysisParameters,
                                                 annotationTypes,
-                                                discoveryServiceCache);
+                                                discoveryServiceCache,
+                                                true);
+                            assetCount++;
                         }
                     }
 
@@ -362,40 +416,131 @@ public class DiscoveryEngineHandler
                 }
             }
         }
+        catch (Exception error)
+        {
+            auditLog.logMessage(actionDescription,
+                                AssetAnalysisAuditCode.SCAN_FAILED.getMessageDefinition(discoveryRequestType,
+                                                                                        discoveryEngineName,
+                                                                                        Integer.toString(assetCount),
+                                                                                        error.getClass().getName(),
+                                                                                        error.getMessage()));
+        }
     }
 
 
     /**
-     * Run an instance of a discovery service in its own thread.
+     * Queue an instance of a discovery service to run on one of the discovery engine's worker threads.
      *
      * @param assetGUID unique identifier of the asset to analyse
      * @param discoveryRequestType type of discovery
      * @param suppliedAnalysisParameters parameters for the discovery
      * @param annotationTypes types of annotations that can be returned
      * @param discoveryServiceCache factory for discovery services.
+     * @param scanRequest is this request part of a scan of all assets
      *
      * @return unique identifier for this request.
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
      * @throws PropertyServerException there was a problem detected by the discovery engine.
+     * @throws DiscoveryEngineException the queue of discovery requests is full or the discovery engine is shutting down.
      */
     private String runDiscoveryService(String                assetGUID,
                                        String                discoveryRequestType,
                                        Map<String, String>   suppliedAnalysisParameters,
                                        List<String>          annotationTypes,
-                                       DiscoveryServiceCache discoveryServiceCache) throws InvalidParameterException,
-                                                                                           UserNotAuthorizedException,
-                                                                                           PropertyServerException
+                                       DiscoveryServiceCache discoveryServiceCache,
+                                       boolean               scanRequest) throws InvalidParameterException,
+                                                                                 UserNotAuthorizedException,
+                                                                                 PropertyServerException,
+                                                                                 DiscoveryEngineException
     {
-        Date                creationTime = new Date();
-        Map<String, String> analysisParameters = suppliedAnalysisParameters;
+        final String methodName = "runDiscoveryService";
+
+        if (! discoveryRequestQueue.reserveSpace(scanRequest))
+        {
+            if (discoveryRequestQueue.isShutdown())
+            {
+                throw new DiscoveryEngineException(AssetAnalysisErrorCode.DISCOVERY_ENGINE_SHUTTING_DOWN.getMessageDefinition(discoveryEngineName,
+                                                                                                                              serverName,
+                                                                                                                              assetGUID),
+                                                   this.getClass().getName(),
+                                                   methodName);
+            }
+
+            throw new DiscoveryEngineException(AssetAnalysisErrorCode.DISCOVERY_REQUEST_QUEUE_FULL.getMessageDefinition(discoveryEngineName,
+                                                                                                                        serverName,
+                                                                                                                        assetGUID),
+                                               this.getClass().getName(),
+                                               methodName);
+        }
+
+        Map<String, String>           analysisParameters = suppliedAnalysisParameters;
+        DiscoveryServiceHandler       discoveryServiceHandler;
+        DiscoveryAnalysisReportClient discoveryAnalysisReportClient;
 
         if (analysisParameters == null)
         {
             analysisParameters = discoveryServiceCache.getDefaultAnalysisParameters();
         }
 
+        try
+        {
+            discoveryAnalysisReportClient = this.getDiscoveryAnalysisReportClient(assetGUID,
+                                                                                  discoveryRequestType,
+                                                                                  analysisParameters,
+                                                                                  discoveryServiceCache);
+            discoveryServiceHandler = this.getDiscoveryServiceHandler(assetGUID,
+                                                                      discoveryRequestType,
+                                                                      analysisParameters,
+                                                                      annotationTypes,
+                                                                      discoveryAnalysisReportClient,
+                                                                      discoveryServiceCache);
+        }
+        catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException | RuntimeException error)
+        {
+            discoveryRequestQueue.releaseSpace();
+            throw error;
+        }
+
+        if (! discoveryRequestQueue.submit(discoveryServiceHandler, scanRequest))
+        {
+            discoveryAnalysisReportClient.setDiscoveryRequestStatus(DiscoveryRequestStatus.FAILED);
+
+            throw new DiscoveryEngineException(AssetAnalysisErrorCode.DISCOVERY_ENGINE_SHUTTING_DOWN.getMessageDefinition(discoveryEngineName,
+                                                                                                                          serverName,
+                                                                                                                          assetGUID),
+                                               this.getClass().getName(),
+                                               methodName);
+        }
+
+        return discoveryAnalysisReportClient.getDiscoveryReportGUID();
+    }
+
+
+    /**
+     * Create the discovery analysis report for a new discovery request.
+     *
+     * @param assetGUID unique identifier of the asset to analyse
+     * @param discoveryRequestType type of discovery
+     * @param analysisParameters parameters for the discovery
+     * @param discoveryServiceCache factory for discovery services.
+     *
+     * @return client for the new discovery analysis report
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws PropertyServerException there was a problem detected by the discovery engine.
+     */
+    private DiscoveryAnalysisReportClient getDiscoveryAnalysisReportClient(String                assetGUID,
+                                                                           String                discoveryRequestType,
+                                                                           Map<String, String>   analysisParameters,
+                                                                           DiscoveryServiceCache discoveryServiceCache) throws InvalidParameterException,
+                                                                                                                               UserNotAuthorizedException,
+                                                                                                                               PropertyServerException
+    {
+        Date creationTime = new Date();
+
         String reportQualifiedName = "DiscoveryAnalysisReport:" + discoveryRequestType + ":" + assetGUID + ":" + creationTime.toString();
         String reportDisplayName   = "Discovery Analysis Report for " + assetGUID;
         String reportDescription   = "This is the " + discoveryRequestType + " discovery analysis report for asset " + assetGUID + " generated at " +
@@ -416,6 +561,33 @@ public class DiscoveryEngineHandler
 
         discoveryAnalysisReportClient.setDiscoveryRequestStatus(DiscoveryRequestStatus.ACTIVATING);
 
+        return discoveryAnalysisReportClient;
+    }
+
+
+    /**
+     * Create the handler that runs an instance of the discovery service for a new discovery request.
+     *
+     * @param assetGUID unique identifier of the asset to analyse
+     * @param discoveryRequestType type of discovery
+     * @param analysisParameters parameters for the discovery
+     * @param annotationTypes types of annotations that can be returned
+     * @param discoveryAnalysisReportClient client for the discovery analysis report of this request
+     * @param discoveryServiceCache factory for discovery services.
+     *
+     * @return discovery service handler
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there was a problem detected by the discovery engine.
+     */
+    private DiscoveryServiceHandler getDiscoveryServiceHandler(String                        assetGUID,
+                                                               String                        discoveryRequestType,
+                                                               Map<String, String>           analysisParameters,
+                                                               List<String>                  annotationTypes,
+                                                               DiscoveryAnalysisReportClient discoveryAnalysisReportClient,
+                                                               DiscoveryServiceCache         discoveryServiceCache) throws InvalidParameterException,
+                                                                                                                           PropertyServerException
+    {
         DiscoveryAnnotationStore annotationStore = new DiscoveryAnnotationStoreClient(engineUserId,
                                                                                       assetGUID,
                                                                                       discoveryAnalysisReportClient,
@@ -435,16 +607,12 @@ public class DiscoveryEngineHandler
                                                                  annotationStore,
                                                                  assetCatalogStore);
 
-        DiscoveryServiceHandler discoveryServiceHandler = new DiscoveryServiceHandler(discoveryEngineProperties,
-                                                                                      discoveryRequestType,
-                                                                                      discoveryServiceCache.getDiscoveryServiceName(),
-                                                                                      discoveryServiceCache.getNextDiscoveryService(),
-                                                                                      discoveryContext,
-                                                                                      auditLog);
-        Thread thread = new Thread(discoveryServiceHandler, discoveryServiceCache.getDiscoveryServiceName() + assetGUID + new Date().toString());
-        thread.start();
-
-        return discoveryAnalysisReportClient.getDiscoveryReportGUID();
+        return new DiscoveryServiceHandler(discoveryEngineProperties,
+                                           discoveryRequestType,
+                                           discoveryServiceCache.getDiscoveryServiceName(),
+                                           discoveryServiceCache.getNextDiscoveryService(),
+                                           discoveryContext,
+                                           auditLog);
     }
 
 
@@ -556,6 +724,7 @@ public class DiscoveryEngineHandler
 
         discoveryEngineProperties = null;
         discoveryServiceLookupTable.clear();
+        discoveryRequestQueue.shutdown();
     }
 
 
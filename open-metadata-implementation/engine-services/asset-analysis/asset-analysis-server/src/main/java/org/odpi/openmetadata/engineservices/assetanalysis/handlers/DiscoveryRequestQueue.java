@@ -0,0 +1,372 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.engineservices.assetanalysis.handlers;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DiscoveryRequestQueue runs the discovery requests for a discovery engine on a fixed number of worker threads.
+ * Requests wait in a bounded queue until a worker is free.  Requests for a single asset are run ahead of the
+ * requests from a scan of all assets.  A request for a single asset is rejected when the queue is full, whereas
+ * a scan waits for space - and it leaves some space in the queue free for requests for single assets.  Each scan
+ * runs on the queue's scan thread so the caller that requests it does not wait.
+ *
+ * Space in the queue is reserved before the request is built so that a request that can not be queued does not
+ * create a discovery analysis report.
+ */
+class DiscoveryRequestQueue
+{
+    private static final int  singleAssetPriority = 0;
+    private static final int  scanPriority        = 1;
+    private static final long idleThreadTimeout   = 60;
+
+    private final ThreadPoolExecutor requestExecutor;
+    private final ThreadPoolExecutor scanExecutor;
+    private final int                maxWaitingRequests;
+    private final int                maxWaitingScanRequests;
+    private final AtomicLong         requestSequence = new AtomicLong(0);
+
+    /*
+     * These values are protected by the queue's lock.
+     */
+    private int  waitingRequests     = 0;
+    private int  activeRequests      = 0;
+    private long completedRequests   = 0;
+    private long rejectedRequests    = 0;
+    private long lastRequestRunTime  = 0;
+    private long totalRequestRunTime = 0;
+
+
+    /**
+     * Create the queue, its pool of worker threads and its scan thread.  The threads are started as requests
+     * arrive and end when they have been idle for a minute.
+     *
+     * @param discoveryEngineName name of the discovery engine - used to name the worker threads
+     * @param workerCount number of discovery requests that can run at the same time
+     * @param maxWaitingRequests number of discovery requests that can wait for a worker thread
+     */
+    DiscoveryRequestQueue(String discoveryEngineName,
+                          int    workerCount,
+                          int    maxWaitingRequests)
+    {
+        final String threadName     = "::DiscoveryRequest-";
+        final String scanThreadName = "::DiscoveryScan-";
+
+        AtomicInteger threadNumber     = new AtomicInteger(0);
+        AtomicInteger scanThreadNumber = new AtomicInteger(0);
+
+        this.maxWaitingRequests     = Math.max(1, maxWaitingRequests);
+        this.maxWaitingScanRequests = Math.max(1, this.maxWaitingRequests - Math.max(1, this.maxWaitingRequests / 10));
+
+        this.requestExecutor = new ThreadPoolExecutor(Math.max(1, workerCount),
+                                                      Math.max(1, workerCount),
+                                                      idleThreadTimeout,
+                                                      TimeUnit.SECONDS,
+                                                      new PriorityBlockingQueue<>(),
+                                                      (Runnable runnable) -> new Thread(runnable,
+                                                                                        discoveryEngineName + threadName + threadNumber.incrementAndGet()));
+        this.requestExecutor.allowCoreThreadTimeOut(true);
+
+        this.scanExecutor = new ThreadPoolExecutor(1,
+                                                   1,
+                                                   idleThreadTimeout,
+                                                   TimeUnit.SECONDS,
+                                                   new LinkedBlockingQueue<>(),
+                                                   (Runnable runnable) -> new Thread(runnable,
+                                                                                     discoveryEngineName + scanThreadName + scanThreadNumber.incrementAndGet()));
+        this.scanExecutor.allowCoreThreadTimeOut(true);
+    }
+
+
+    /**
+     * Reserve space in the queue for a new discovery request.  A request for a single asset is rejected if the
+     * queue is full.  A request from a scan waits until there is space.  All requests are rejected once the
+     * queue is shut down - use isShutdown() to tell the two cases apart.
+     *
+     * @param scanRequest is this request part of a scan of all assets
+     * @return boolean flag - false means the request is rejected
+     */
+    synchronized boolean reserveSpace(boolean scanRequest)
+    {
+        if (scanRequest)
+        {
+            try
+            {
+                while ((waitingRequests >= maxWaitingScanRequests) && (! requestExecutor.isShutdown()))
+                {
+                    this.wait();
+                }
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if ((requestExecutor.isShutdown()) || (Thread.currentThread().isInterrupted()))
+        {
+            return false;
+        }
+
+        if (waitingRequests >= maxWaitingRequests)
+        {
+            rejectedRequests++;
+            return false;
+        }
+
+        waitingRequests++;
+        return true;
+    }
+
+
+    /**
+     * Release space reserved for a request that is not going to be submitted.
+     */
+    synchronized void releaseSpace()
+    {
+        waitingRequests--;
+        this.notifyAll();
+    }
+
+
+    /**
+     * Queue a discovery request.  Space must have been reserved for it.
+     *
+     * @param discoveryRequest request to run
+     * @param scanRequest is this request part of a scan of all assets
+     * @return boolean flag - false means the request is rejected because the discovery engine is shutting down
+     */
+    boolean submit(Runnable discoveryRequest,
+                   boolean  scanRequest)
+    {
+        try
+        {
+            requestExecutor.execute(new QueuedRequest(discoveryRequest,
+                                                      scanRequest ? scanPriority : singleAssetPriority,
+                                                      requestSequence.getAndIncrement()));
+            return true;
+        }
+        catch (RejectedExecutionException error)
+        {
+            this.releaseSpace();
+            return false;
+        }
+    }
+
+
+    /**
+     * Queue a scan of all assets to run on the scan thread.  Scans run one at a time in the order they arrive.
+     * The scan queues a discovery request for each asset it finds, waiting for space in the queue as needed.
+     *
+     * @param scan scan to run
+     * @return boolean flag - false means the scan is rejected because the discovery engine is shutting down
+     */
+    boolean submitScan(Runnable scan)
+    {
+        try
+        {
+            scanExecutor.execute(scan);
+            return true;
+        }
+        catch (RejectedExecutionException error)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * Return whether the queue has been shut down.
+     *
+     * @return boolean flag
+     */
+    boolean isShutdown()
+    {
+        return requestExecutor.isShutdown();
+    }
+
+
+    /**
+     * Run a discovery request on a worker thread, recording its run time.
+     *
+     * @param discoveryRequest request to run
+     */
+    private void runRequest(Runnable discoveryRequest)
+    {
+        synchronized (this)
+        {
+            waitingRequests--;
+            activeRequests++;
+            this.notifyAll();
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        try
+        {
+            discoveryRequest.run();
+        }
+        finally
+        {
+            long runTime = System.currentTimeMillis() - startTime;
+
+            synchronized (this)
+            {
+                activeRequests--;
+                completedRequests++;
+                lastRequestRunTime = runTime;
+                totalRequestRunTime = totalRequestRunTime + runTime;
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of discovery requests waiting for a worker thread.
+     *
+     * @return count
+     */
+    synchronized int getWaitingRequestCount()
+    {
+        return waitingRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that are running.
+     *
+     * @return count
+     */
+    synchronized int getActiveRequestCount()
+    {
+        return activeRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that have run.
+     *
+     * @return count
+     */
+    synchronized long getCompletedRequestCount()
+    {
+        return completedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that were rejected because the queue was full.  Requests rejected
+     * because the queue is shut down are not counted.
+     *
+     * @return count
+     */
+    synchronized long getRejectedRequestCount()
+    {
+        return rejectedRequests;
+    }
+
+
+    /**
+     * Return how long the last discovery request to complete ran for (in milliseconds).
+     *
+     * @return run time
+     */
+    synchronized long getLastRequestRunTime()
+    {
+        return lastRequestRunTime;
+    }
+
+
+    /**
+     * Return the average run time of the discovery requests that have completed (in milliseconds).
+     *
+     * @return run time
+     */
+    synchronized long getAverageRequestRunTime()
+    {
+        if (completedRequests == 0)
+        {
+            return 0;
+        }
+
+        return totalRequestRunTime / completedRequests;
+    }
+
+
+    /**
+     * Stop accepting new discovery requests.  The requests that are already queued are allowed to run.  Scans
+     * that are waiting are not started and a running scan stops queuing requests.
+     */
+    void shutdown()
+    {
+        requestExecutor.shutdown();
+        scanExecutor.shutdownNow();
+
+        synchronized (this)
+        {
+            this.notifyAll();
+        }
+    }
+
+
+    /**
+     * QueuedRequest is an entry in the queue.  Requests are ordered by priority and then by the order they arrived.
+     */
+    private class QueuedRequest implements Runnable, Comparable<QueuedRequest>
+    {
+        private final Runnable discoveryRequest;
+        private final int      priority;
+        private final long     sequenceNumber;
+
+
+        /**
+         * Constructor
+         *
+         * @param discoveryRequest request to run
+         * @param priority priority of the request - lower values run first
+         * @param sequenceNumber order that the request arrived
+         */
+        QueuedRequest(Runnable discoveryRequest,
+                      int      priority,
+                      long     sequenceNumber)
+        {
+            this.discoveryRequest = discoveryRequest;
+            this.priority         = priority;
+            this.sequenceNumber   = sequenceNumber;
+        }
+
+
+        /**
+         * Run the request on the worker thread.
+         */
+        @Override
+        public void run()
+        {
+            runRequest(discoveryRequest);
+        }
+
+
+        /**
+         * Order the requests by priority and then by arrival.
+         *
+         * @param other request to compare with
+         * @return comparison result
+         */
+        @Override
+        public int compareTo(QueuedRequest other)
+        {
+            if (priority != other.priority)
+            {
+                return Integer.compare(priority, other.priority);
+            }
+
+            return Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+}
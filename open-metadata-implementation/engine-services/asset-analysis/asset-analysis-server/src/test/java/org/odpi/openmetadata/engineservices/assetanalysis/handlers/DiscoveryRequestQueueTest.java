@@ -0,0 +1,237 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.engineservices.assetanalysis.handlers;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate DiscoveryRequestQueue: requests for single assets run ahead of scan requests, scans leave space in the
+ * queue for requests for single assets, full queues reject requests and a shut down queue rejects everything.
+ */
+public class DiscoveryRequestQueueTest
+{
+    private static final long timeout = 10;
+
+
+    /**
+     * Reserve space for a request and queue it.
+     *
+     * @param queue queue
+     * @param request request to run
+     * @param scanRequest is this request part of a scan
+     */
+    private void queueRequest(DiscoveryRequestQueue queue,
+                              Runnable              request,
+                              boolean               scanRequest)
+    {
+        assertTrue(queue.reserveSpace(scanRequest));
+        assertTrue(queue.submit(request, scanRequest));
+    }
+
+
+    /**
+     * Occupy the only worker thread of a queue until the returned latch is released.
+     *
+     * @param queue queue with one worker thread
+     * @return latch that releases the worker thread
+     * @throws Exception problem in test
+     */
+    private CountDownLatch blockWorker(DiscoveryRequestQueue queue) throws Exception
+    {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        queueRequest(queue, () ->
+        {
+            started.countDown();
+
+            try
+            {
+                release.await(timeout, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }, false);
+
+        assertTrue(started.await(timeout, TimeUnit.SECONDS));
+
+        return release;
+    }
+
+
+    /**
+     * Requests for single assets run before the scan requests that were queued ahead of them, and requests
+     * of the same kind run in the order they arrived.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testPriorityOrder() throws Exception
+    {
+        DiscoveryRequestQueue queue    = new DiscoveryRequestQueue("TestEngine", 1, 10);
+        List<String>          runOrder = new ArrayList<>();
+        CountDownLatch        finished = new CountDownLatch(5);
+        CountDownLatch        release  = blockWorker(queue);
+
+        for (String requestName : Arrays.asList("scan-1", "scan-2", "asset-1", "scan-3", "asset-2"))
+        {
+            queueRequest(queue, () ->
+            {
+                synchronized (runOrder)
+                {
+                    runOrder.add(requestName);
+                }
+
+                finished.countDown();
+            }, requestName.startsWith("scan"));
+        }
+
+        assertEquals(queue.getWaitingRequestCount(), 5);
+        assertEquals(queue.getActiveRequestCount(), 1);
+
+        release.countDown();
+
+        assertTrue(finished.await(timeout, TimeUnit.SECONDS));
+        assertEquals(runOrder, Arrays.asList("asset-1", "asset-2", "scan-1", "scan-2", "scan-3"));
+
+        queue.shutdown();
+    }
+
+
+    /**
+     * A scan waits for space when the queue has only the space kept for single assets, while a request for a
+     * single asset may use that space.  Once the queue is full, a request for a single asset is rejected.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testSpaceReservedForScans() throws Exception
+    {
+        DiscoveryRequestQueue queue   = new DiscoveryRequestQueue("TestEngine", 1, 10);
+        CountDownLatch        release = blockWorker(queue);
+
+        for (int requestNumber = 0; requestNumber < 9; requestNumber++)
+        {
+            queueRequest(queue, () -> { }, true);
+        }
+
+        CountDownLatch scanReserved = new CountDownLatch(1);
+        AtomicBoolean  scanResult   = new AtomicBoolean(false);
+        Thread         scanThread   = new Thread(() ->
+        {
+            scanResult.set(queue.reserveSpace(true));
+            scanReserved.countDown();
+        });
+
+        scanThread.start();
+
+        assertFalse(scanReserved.await(200, TimeUnit.MILLISECONDS));
+
+        queueRequest(queue, () -> { }, false);
+
+        assertEquals(queue.getWaitingRequestCount(), 10);
+        assertFalse(queue.reserveSpace(false));
+        assertEquals(queue.getRejectedRequestCount(), 1L);
+
+        release.countDown();
+
+        assertTrue(scanReserved.await(timeout, TimeUnit.SECONDS));
+        assertTrue(scanResult.get());
+
+        queue.releaseSpace();
+        queue.shutdown();
+    }
+
+
+    /**
+     * After shutdown, new requests and scans are rejected without being counted as rejected for a full queue,
+     * and a scan waiting for space is released.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testShutdownRejections() throws Exception
+    {
+        DiscoveryRequestQueue queue   = new DiscoveryRequestQueue("TestEngine", 1, 1);
+        CountDownLatch        release = blockWorker(queue);
+
+        queueRequest(queue, () -> { }, true);
+
+        CountDownLatch scanReserved = new CountDownLatch(1);
+        AtomicBoolean  scanResult   = new AtomicBoolean(true);
+        Thread         scanThread   = new Thread(() ->
+        {
+            scanResult.set(queue.reserveSpace(true));
+            scanReserved.countDown();
+        });
+
+        scanThread.start();
+
+        assertFalse(scanReserved.await(200, TimeUnit.MILLISECONDS));
+        assertFalse(queue.isShutdown());
+
+        queue.shutdown();
+
+        assertTrue(queue.isShutdown());
+        assertTrue(scanReserved.await(timeout, TimeUnit.SECONDS));
+        assertFalse(scanResult.get());
+        assertFalse(queue.reserveSpace(false));
+        assertFalse(queue.reserveSpace(true));
+        assertFalse(queue.submitScan(() -> { }));
+        assertEquals(queue.getRejectedRequestCount(), 0L);
+
+        release.countDown();
+    }
+
+
+    /**
+     * A scan runs on the scan thread, and a scan waiting for space is stopped by shutdown.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testScanThread() throws Exception
+    {
+        DiscoveryRequestQueue   queue          = new DiscoveryRequestQueue("TestEngine", 1, 1);
+        CountDownLatch          scanWaiting    = new CountDownLatch(1);
+        CountDownLatch          scanEnded      = new CountDownLatch(1);
+        AtomicBoolean           scanResult     = new AtomicBoolean(true);
+        AtomicReference<String> scanThreadName = new AtomicReference<>();
+        CountDownLatch          release        = blockWorker(queue);
+
+        queueRequest(queue, () -> { }, true);
+
+        assertTrue(queue.submitScan(() ->
+        {
+            scanThreadName.set(Thread.currentThread().getName());
+            scanWaiting.countDown();
+            scanResult.set(queue.reserveSpace(true));
+            scanEnded.countDown();
+        }));
+
+        assertTrue(scanWaiting.await(timeout, TimeUnit.SECONDS));
+        assertTrue(scanThreadName.get().startsWith("TestEngine::DiscoveryScan-"));
+        assertFalse(scanEnded.await(200, TimeUnit.MILLISECONDS));
+
+        queue.shutdown();
+
+        assertTrue(scanEnded.await(timeout, TimeUnit.SECONDS));
+        assertFalse(scanResult.get());
+
+        release.countDown();
+    }
+}
@@ -266,6 +266,16 @@ public enum IntegrationDaemonServicesAuditCode implements AuditLogMessageSet
                            "The thread will stop calling refresh() on the integration connectors hosted in this daemon and stop running.",
                            "Ensure that the thread terminates without errors."),
 
+    DAEMON_CONNECTOR_REFRESH_OVERRUN("INTEGRATION-DAEMON-SERVICES-0044",
+                             OMRSAuditLogRecordSeverity.ACTION,
+                             "The refresh of integration connector {0} in integration daemon {1} took {2} milliseconds " +
+                                             "which is longer than its refresh time interval of {3} seconds",
+                             "The next refresh of the integration connector is scheduled as soon as this refresh completes " +
+                                             "rather than at the end of its refresh time interval.",
+                             "Either increase the refresh time interval for the integration connector in the integration " +
+                                             "daemon's configuration document, or investigate why the connector's refresh " +
+                                             "processing is taking so long."),
+
     SERVER_NOT_AUTHORIZED("INTEGRATION-DAEMON-SERVICES-0050",
                           OMRSAuditLogRecordSeverity.SECURITY,
                           "Integration service {0} is not authorized to call its partner " +
@@ -32,6 +32,9 @@ public class IntegrationConnectorReport implements Serializable
     private Date                       lastStatusChange         = null;
     private Date                       lastRefreshTime          = null;
     private long                       minSecondsBetweenRefresh = 0L;
+    private long                       lastRefreshDuration      = 0L;
+    private long                       lastRefreshLag           = 0L;
+    private long                       refreshOverrunCount      = 0L;
     private String                     failingExceptionMessage  = null;
     private Map<String, Object>        statistics               = null;
 
@@ -53,10 +56,16 @@ public class IntegrationConnectorReport implements Serializable
     {
         if (template != null)
         {
-            connectorName           = template.getConnectorName();
-            connectorStatus         = template.getConnectorStatus();
-            failingExceptionMessage = template.getFailingExceptionMessage();
-            statistics              = template.getStatistics();
+            connectorName            = template.getConnectorName();
+            connectorStatus          = template.getConnectorStatus();
+            lastStatusChange         = template.getLastStatusChange();
+            lastRefreshTime          = template.getLastRefreshTime();
+            minSecondsBetweenRefresh = template.getMinSecondsBetweenRefresh();
+            lastRefreshDuration      = template.getLastRefreshDuration();
+            lastRefreshLag           = template.getLastRefreshLag();
+            refreshOverrunCount      = template.getRefreshOverrunCount();
+            failingExceptionMessage  = template.getFailingExceptionMessage();
+            statistics               = template.getStatistics();
         }
     }
 
@@ -175,6 +184,74 @@ public class IntegrationConnectorReport implements Serializable
     }
 
 
+    /**
+     * Return how long the last call to refresh took (in milliseconds).
+     *
+     * @return duration
+     */
+    public long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Set up how long the last call to refresh took (in milliseconds).
+     *
+     * @param lastRefreshDuration duration
+     */
+    public void setLastRefreshDuration(long lastRefreshDuration)
+    {
+        this.lastRefreshDuration = lastRefreshDuration;
+    }
+
+
+    /**
+     * Return how long after its scheduled time the last periodic refresh started (in milliseconds).
+     * A growing lag means the integration daemon does not have enough threads for the refresh work of its connectors.
+     *
+     * @return lag
+     */
+    public long getLastRefreshLag()
+    {
+        return lastRefreshLag;
+    }
+
+
+    /**
+     * Set up how long after its scheduled time the last periodic refresh started (in milliseconds).
+     * A growing lag means the integration daemon does not have enough threads for the refresh work of its connectors.
+     *
+     * @param lastRefreshLag lag
+     */
+    public void setLastRefreshLag(long lastRefreshLag)
+    {
+        this.lastRefreshLag = lastRefreshLag;
+    }
+
+
+    /**
+     * Return the number of calls to refresh that took longer than the minimum time between refreshes.
+     *
+     * @return count
+     */
+    public long getRefreshOverrunCount()
+    {
+        return refreshOverrunCount;
+    }
+
+
+    /**
+     * Set up the number of calls to refresh that took longer than the minimum time between refreshes.
+     *
+     * @param refreshOverrunCount count
+     */
+    public void setRefreshOverrunCount(long refreshOverrunCount)
+    {
+        this.refreshOverrunCount = refreshOverrunCount;
+    }
+
+
     /**
      * Return the message extracted from an exception returned by the connector.  This is only set if the connectorStatus
      * is FAILED.  The full exception is logged in the server's audit log.
@@ -235,6 +312,9 @@ public class IntegrationConnectorReport implements Serializable
                 ", lastStatusChange=" + lastStatusChange +
                 ", lastRefreshTime=" + lastRefreshTime +
                 ", minSecondsBetweenRefresh=" + minSecondsBetweenRefresh +
+                ", lastRefreshDuration=" + lastRefreshDuration +
+                ", lastRefreshLag=" + lastRefreshLag +
+                ", refreshOverrunCount=" + refreshOverrunCount +
                 ", failingExceptionMessage='" + failingExceptionMessage + '\'' +
                 ", statistics=" + statistics +
                 '}';
@@ -260,6 +340,9 @@ public class IntegrationConnectorReport implements Serializable
         }
         IntegrationConnectorReport that = (IntegrationConnectorReport) objectToCompare;
         return minSecondsBetweenRefresh == that.minSecondsBetweenRefresh &&
+                lastRefreshDuration == that.lastRefreshDuration &&
+                lastRefreshLag == that.lastRefreshLag &&
+                refreshOverrunCount == that.refreshOverrunCount &&
                 Objects.equals(connectorName, that.connectorName) &&
                 connectorStatus == that.connectorStatus &&
                 Objects.equals(lastStatusChange, that.lastStatusChange) &&
@@ -277,6 +360,7 @@ public class IntegrationConnectorReport implements Serializable
     @Override
     public int hashCode()
     {
-        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minSecondsBetweenRefresh, failingExceptionMessage, statistics);
+        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minSecondsBetweenRefresh, lastRefreshDuration,
+                            lastRefreshLag, refreshOverrunCount, failingExceptionMessage, statistics);
     }
 }
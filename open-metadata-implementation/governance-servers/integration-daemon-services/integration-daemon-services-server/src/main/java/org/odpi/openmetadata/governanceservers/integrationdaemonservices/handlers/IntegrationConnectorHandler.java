@@ -58,6 +58,9 @@ public class IntegrationConnectorHandler implements Serializable
     private String                              failingExceptionMessage             = null;
     private Map<String, Object>                 statistics                          = null;
     private Date                                lastRefreshTime                     = null;
+    private long                                lastRefreshDuration                 = 0L;
+    private long                                lastRefreshLag                      = 0L;
+    private long                                refreshOverrunCount                 = 0L;
 
 
     /**
@@ -164,6 +167,40 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Return how long the last call to refresh took (in milliseconds).
+     *
+     * @return duration
+     */
+    long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Return how long after its scheduled time the last periodic refresh started (in milliseconds).
+     * This grows when the integration daemon has too few threads for the refresh work of its connectors.
+     *
+     * @return lag
+     */
+    long getLastRefreshLag()
+    {
+        return lastRefreshLag;
+    }
+
+
+    /**
+     * Return the number of calls to refresh that took longer than the minimum time between refreshes.
+     *
+     * @return count
+     */
+    long getRefreshOverrunCount()
+    {
+        return refreshOverrunCount;
+    }
+
+
     /**
      * Return the configured minimum time between calls to refresh.  This gives an indication of when the
      * next refresh is due.  Null means refresh is only called in response to an API request.
@@ -310,6 +347,10 @@ public class IntegrationConnectorHandler implements Serializable
     {
         final String operationName = "refresh";
 
+        long refreshStartTime = System.currentTimeMillis();
+
+        lastRefreshTime = new Date(refreshStartTime);
+
         try
         {
             if (integrationConnectorStatus == IntegrationConnectorStatus.INITIALIZED)
@@ -325,6 +366,46 @@ public class IntegrationConnectorHandler implements Serializable
         {
             processConnectorException(actionDescription, operationName, error);
         }
+
+        this.recordRefreshDuration(actionDescription, System.currentTimeMillis() - refreshStartTime);
+    }
+
+
+    /**
+     * Call refresh on the connector as part of the periodic refresh driven by the integration daemon thread.
+     *
+     * @param actionDescription external caller's activity
+     * @param refreshLag how long after its scheduled time the refresh started (in milliseconds)
+     */
+    public synchronized void refreshConnector(String   actionDescription,
+                                              long     refreshLag)
+    {
+        this.lastRefreshLag = refreshLag;
+        this.refreshConnector(actionDescription);
+    }
+
+
+    /**
+     * Save the duration of the last refresh and log when it is longer than the minimum time between refreshes.
+     *
+     * @param actionDescription external caller's activity
+     * @param refreshDuration how long refresh took (in milliseconds)
+     */
+    private void recordRefreshDuration(String   actionDescription,
+                                       long     refreshDuration)
+    {
+        this.lastRefreshDuration = refreshDuration;
+
+        if ((minSecondsBetweenRefresh > 0) && (refreshDuration > minSecondsBetweenRefresh * 1000))
+        {
+            refreshOverrunCount++;
+
+            auditLog.logMessage(actionDescription,
+                                IntegrationDaemonServicesAuditCode.DAEMON_CONNECTOR_REFRESH_OVERRUN.getMessageDefinition(integrationConnectorName,
+                                                                                                                         integrationDaemonName,
+                                                                                                                         Long.toString(refreshDuration),
+                                                                                                                         Long.toString(minSecondsBetweenRefresh)));
+        }
     }
 
 
@@ -405,6 +486,9 @@ public class IntegrationConnectorHandler implements Serializable
         this.failingExceptionMessage             = null;
         this.statistics                          = null;
         this.lastRefreshTime                     = null;
+        this.lastRefreshDuration                 = 0L;
+        this.lastRefreshLag                      = 0L;
+        this.refreshOverrunCount                 = 0L;
     }
 
 
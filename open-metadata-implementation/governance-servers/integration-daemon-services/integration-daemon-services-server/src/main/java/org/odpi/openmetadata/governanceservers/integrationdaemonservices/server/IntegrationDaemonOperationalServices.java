@@ -13,6 +13,8 @@ import org.odpi.openmetadata.governanceservers.integrationdaemonservices.ffdc.In
 import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorHandler;
 import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationServiceHandler;
 import org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads.IntegrationDaemonThread;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -26,6 +28,10 @@ import java.util.Map;
  */
 public class IntegrationDaemonOperationalServices
 {
+    private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonOperationalServices.class);
+
+    private static final String maxRefreshThreadsOption = "maxRefreshThreads";
+
     private String                         localServerName;               /* Initialized in constructor */
     private String                         localServerUserId;             /* Initialized in constructor */
     private String                         localServerPassword;           /* Initialized in constructor */
@@ -146,6 +152,7 @@ public class IntegrationDaemonOperationalServices
              */
             IntegrationDaemonThread integrationDaemonThread = new IntegrationDaemonThread(localServerName,
                                                                                           daemonConnectorHandlers,
+                                                                                          this.getMaxRefreshThreads(configuration),
                                                                                           auditLog);
             /*
              * Create the integration daemon instance.
@@ -184,6 +191,67 @@ public class IntegrationDaemonOperationalServices
     }
 
 
+    /**
+     * Return the maximum number of connectors that the integration daemon refreshes at the same time.  This is set
+     * in the maxRefreshThreads option of the integration services.  The value may be any number or a string holding
+     * a whole number.  If more than one integration service sets it, the largest value is used.  A value that is not
+     * a positive whole number is ignored.
+     *
+     * @param configuration config properties
+     * @return number of threads
+     */
+    private int getMaxRefreshThreads(List<IntegrationServiceConfig> configuration)
+    {
+        int maxRefreshThreads = 0;
+
+        for (IntegrationServiceConfig integrationServiceConfig : configuration)
+        {
+            if ((integrationServiceConfig != null) && (integrationServiceConfig.getIntegrationServiceOptions() != null))
+            {
+                Object maxRefreshThreadsProperty = integrationServiceConfig.getIntegrationServiceOptions().get(maxRefreshThreadsOption);
+
+                if (maxRefreshThreadsProperty != null)
+                {
+                    long refreshThreads = 0;
+
+                    try
+                    {
+                        if (maxRefreshThreadsProperty instanceof Number)
+                        {
+                            refreshThreads = ((Number) maxRefreshThreadsProperty).longValue();
+                        }
+                        else if (maxRefreshThreadsProperty instanceof String)
+                        {
+                            refreshThreads = Long.parseLong(((String) maxRefreshThreadsProperty).trim());
+                        }
+                    }
+                    catch (NumberFormatException error)
+                    {
+                        refreshThreads = 0;
+                    }
+
+                    if ((refreshThreads > 0) && (refreshThreads <= Integer.MAX_VALUE))
+                    {
+                        maxRefreshThreads = Math.max(maxRefreshThreads, (int) refreshThreads);
+                    }
+                    else
+                    {
+                        log.warn("Ignoring " + maxRefreshThreadsOption + " value " + maxRefreshThreadsProperty + " of integration service " +
+                                         integrationServiceConfig.getIntegrationServiceFullName());
+                    }
+                }
+            }
+        }
+
+        if (maxRefreshThreads == 0)
+        {
+            return IntegrationDaemonThread.defaultMaxRefreshThreads;
+        }
+
+        return maxRefreshThreads;
+    }
+
+
     /**
      * Return the open metadata server's root URL from the configuration.
      *
@@ -9,23 +9,51 @@ import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handler
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Date;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * IntegrationDaemonThread is the class responsible for managing executing integration connectors
  * within an integration daemon.  It manages the automated refresh of the connectors.
  * The connectors are also being refreshed through the REST API.
+ *
+ * Each connector has its own next refresh time.  These are held in a queue ordered by time.  When a connector's
+ * refresh is due, it is passed to a pool of worker threads so that a slow connector does not delay the refresh
+ * of the other connectors.  A connector is not scheduled again until its current refresh completes, so it is
+ * never refreshed by two threads at once.
  */
 public class IntegrationDaemonThread implements Runnable
 {
     private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonThread.class);
 
+    /*
+     * Default for the maximum number of connectors that are refreshed at the same time.
+     */
+    public static final int   defaultMaxRefreshThreads = 10;
+
+    /*
+     * A random delay of up to a tenth of the refresh interval (but no more than maxRefreshJitter milliseconds) is
+     * added to each scheduled refresh so that connectors with the same interval spread out over time
+     * rather than all refreshing together.
+     */
+    private static final long maxRefreshJitter  = 5000;
+
+    /*
+     * Longest time the scheduler waits before checking the queue again.
+     */
+    private static final long maxWaitTime       = 1000;
+
     private String                            integrationDaemonName;
     private List<IntegrationConnectorHandler> connectorHandlers;
+    private int                               maxRefreshThreads;
     private AuditLog                          auditLog;
 
+    private final PriorityQueue<ScheduledRefresh> refreshQueue = new PriorityQueue<>();
 
     private final AtomicBoolean running = new AtomicBoolean(false);
 
@@ -40,9 +68,27 @@ public class IntegrationDaemonThread implements Runnable
     public IntegrationDaemonThread(String                            integrationDaemonName,
                                    List<IntegrationConnectorHandler> connectorHandlers,
                                    AuditLog                          auditLog)
+    {
+        this(integrationDaemonName, connectorHandlers, defaultMaxRefreshThreads, auditLog);
+    }
+
+
+    /**
+     * Constructor provides access to the variables needed to run the connector.
+     *
+     * @param integrationDaemonName name of this integration daemon server
+     * @param connectorHandlers wrapper for the connector.
+     * @param maxRefreshThreads maximum number of connectors that are refreshed at the same time
+     * @param auditLog logging destination
+     */
+    public IntegrationDaemonThread(String                            integrationDaemonName,
+                                   List<IntegrationConnectorHandler> connectorHandlers,
+                                   int                               maxRefreshThreads,
+                                   AuditLog                          auditLog)
     {
         this.integrationDaemonName = integrationDaemonName;
         this.connectorHandlers     = connectorHandlers;
+        this.maxRefreshThreads     = maxRefreshThreads;
         this.auditLog              = auditLog;
     }
 
@@ -65,11 +111,17 @@ public class IntegrationDaemonThread implements Runnable
     public void stop()
     {
         running.set(false);
+
+        synchronized (refreshQueue)
+        {
+            refreshQueue.notifyAll();
+        }
     }
 
 
     /**
-     * This is the method that runs in the new thread when it is started.
+     * This is the method that runs in the new thread when it is started.  It waits for the next connector
+     * to be due for refresh and passes it to the refresh threads.
      */
     @Override
     public void run()
@@ -81,45 +133,33 @@ public class IntegrationDaemonThread implements Runnable
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_STARTING.getMessageDefinition(integrationDaemonName));
 
-        while (running.get())
-        {
-            Date now = new Date();
+        long now = System.currentTimeMillis();
 
+        synchronized (refreshQueue)
+        {
             for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
             {
                 if (connectorHandler != null)
                 {
-                    if (connectorHandler.getLastRefreshTime() == null)
-                    {
-                        auditLog.logMessage(actionDescription,
-                                            IntegrationDaemonServicesAuditCode.DAEMON_CONNECTOR_FIRST_REFRESH.
-                                                    getMessageDefinition(connectorHandler.getIntegrationConnectorName(),
-                                                                         integrationDaemonName));
-
-                        connectorHandler.refreshConnector(actionDescription);
-                    }
-                    else if (connectorHandler.getMinSecondsBetweenRefresh() > 0)
-                    {
-                        long nextRefreshTime =
-                                connectorHandler.getLastRefreshTime().getTime() +
-                                        (connectorHandler.getMinSecondsBetweenRefresh() * 1000);
-
-                        if (nextRefreshTime < now.getTime())
-                        {
-                            auditLog.logMessage(actionDescription,
-                                                IntegrationDaemonServicesAuditCode.DAEMON_CONNECTOR_REFRESH.
-                                                        getMessageDefinition(connectorHandler.getIntegrationConnectorName(),
-                                                                             integrationDaemonName));
-
-                            connectorHandler.refreshConnector(actionDescription);
-                        }
-                    }
+                    refreshQueue.add(new ScheduledRefresh(connectorHandler, now));
                 }
             }
+        }
+
+        ExecutorService refreshThreads = this.getRefreshThreads();
 
-            waitToRetry();
+        while (running.get())
+        {
+            ScheduledRefresh dueRefresh = this.waitForNextRefresh();
+
+            if (dueRefresh != null)
+            {
+                refreshThreads.execute(() -> this.refreshConnector(actionDescription, dueRefresh));
+            }
         }
 
+        refreshThreads.shutdown();
+
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_TERMINATING.getMessageDefinition(integrationDaemonName));
 
@@ -127,19 +167,189 @@ public class IntegrationDaemonThread implements Runnable
 
 
     /**
-     * Wait before retrying ...
+     * Create the pool of threads that call refresh on the connectors.  There is no point having more threads than
+     * connectors.
+     *
+     * @return executor service
      */
-    private void waitToRetry()
+    private ExecutorService getRefreshThreads()
     {
-        final int  sleepTime = 1000;
+        final String threadName = "::IntegrationDaemonRefreshThread-";
+
+        int           threadCount  = Math.max(1, Math.min(maxRefreshThreads, connectorHandlers.size()));
+        AtomicInteger threadNumber = new AtomicInteger(0);
+
+        return Executors.newFixedThreadPool(threadCount, (Runnable runnable) ->
+        {
+            Thread thread = new Thread(runnable, integrationDaemonName + threadName + threadNumber.incrementAndGet());
+
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Wait until the refresh at the head of the queue is due.  The wait is interrupted when a new refresh is
+     * scheduled or the thread is stopped.
+     *
+     * @return the refresh that is due or null if nothing is due yet
+     */
+    private ScheduledRefresh waitForNextRefresh()
+    {
+        synchronized (refreshQueue)
+        {
+            ScheduledRefresh nextRefresh = refreshQueue.peek();
+            long             waitTime    = maxWaitTime;
+
+            if (nextRefresh != null)
+            {
+                waitTime = Math.min(waitTime, nextRefresh.getDueTime() - System.currentTimeMillis());
+
+                if (waitTime <= 0)
+                {
+                    return refreshQueue.poll();
+                }
+            }
+
+            try
+            {
+                refreshQueue.wait(waitTime);
+            }
+            catch (InterruptedException error)
+            {
+                log.error("Ignored exception from wait - probably ok", error);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Refresh a connector and then schedule its next refresh.  This runs on one of the refresh threads.
+     *
+     * @param actionDescription caller's activity
+     * @param dueRefresh the refresh that is due
+     */
+    private void refreshConnector(String           actionDescription,
+                                  ScheduledRefresh dueRefresh)
+    {
+        IntegrationConnectorHandler connectorHandler = dueRefresh.getConnectorHandler();
+
+        long refreshStartTime = System.currentTimeMillis();
 
         try
         {
-            Thread.sleep(sleepTime);
+            if (connectorHandler.getLastRefreshTime() == null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    IntegrationDaemonServicesAuditCode.DAEMON_CONNECTOR_FIRST_REFRESH.
+                                            getMessageDefinition(connectorHandler.getIntegrationConnectorName(),
+                                                                 integrationDaemonName));
+            }
+            else
+            {
+                auditLog.logMessage(actionDescription,
+                                    IntegrationDaemonServicesAuditCode.DAEMON_CONNECTOR_REFRESH.
+                                            getMessageDefinition(connectorHandler.getIntegrationConnectorName(),
+                                                                 integrationDaemonName));
+            }
+
+            connectorHandler.refreshConnector(actionDescription, refreshStartTime - dueRefresh.getDueTime());
+        }
+        catch (Throwable error)
+        {
+            log.error("Unexpected exception from refresh of connector " + connectorHandler.getIntegrationConnectorName(), error);
+        }
+
+        this.scheduleNextRefresh(connectorHandler, refreshStartTime);
+    }
+
+
+    /**
+     * Add the next refresh of the connector to the queue.  It is due once the connector's refresh interval has
+     * passed since the start of its last refresh, plus some jitter.  If the last refresh overran the interval,
+     * the next refresh is due straight away.  Connectors without a refresh interval are only refreshed once
+     * by this thread - after that, refresh is driven through the REST API.
+     *
+     * @param connectorHandler connector to schedule
+     * @param lastRefreshStartTime time that the last refresh started
+     */
+    private void scheduleNextRefresh(IntegrationConnectorHandler connectorHandler,
+                                     long                        lastRefreshStartTime)
+    {
+        long refreshInterval = connectorHandler.getMinSecondsBetweenRefresh() * 1000;
+
+        if ((refreshInterval > 0) && (running.get()))
+        {
+            long jitter  = ThreadLocalRandom.current().nextLong(Math.min(refreshInterval / 10, maxRefreshJitter) + 1);
+            long dueTime = Math.max(lastRefreshStartTime + refreshInterval + jitter, System.currentTimeMillis());
+
+            synchronized (refreshQueue)
+            {
+                refreshQueue.add(new ScheduledRefresh(connectorHandler, dueTime));
+                refreshQueue.notifyAll();
+            }
         }
-        catch (Exception error)
+    }
+
+
+    /**
+     * ScheduledRefresh is an entry in the refresh queue.  It records when the connector is next due to be refreshed.
+     */
+    private static class ScheduledRefresh implements Comparable<ScheduledRefresh>
+    {
+        private final IntegrationConnectorHandler connectorHandler;
+        private final long                        dueTime;
+
+
+        /**
+         * Constructor
+         *
+         * @param connectorHandler connector to refresh
+         * @param dueTime time that the refresh is due
+         */
+        ScheduledRefresh(IntegrationConnectorHandler connectorHandler,
+                         long                        dueTime)
+        {
+            this.connectorHandler = connectorHandler;
+            this.dueTime          = dueTime;
+        }
+
+
+        /**
+         * Return the connector to refresh.
+         *
+         * @return connector handler
+         */
+        IntegrationConnectorHandler getConnectorHandler()
+        {
+            return connectorHandler;
+        }
+
+
+        /**
+         * Return the time that the refresh is due.
+         *
+         * @return milliseconds since the epoch
+         */
+        long getDueTime()
+        {
+            return dueTime;
+        }
+
+
+        /**
+         * Order the refreshes by the time they are due.
+         *
+         * @param other refresh to compare with
+         * @return comparison result
+         */
+        @Override
+        public int compareTo(ScheduledRefresh other)
         {
-            log.error("Ignored exception from sleep - probably ok", error);
+            return Long.compare(dueTime, other.dueTime);
         }
     }
 }
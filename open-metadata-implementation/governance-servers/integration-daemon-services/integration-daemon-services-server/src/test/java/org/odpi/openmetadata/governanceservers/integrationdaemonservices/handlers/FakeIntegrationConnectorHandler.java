@@ -0,0 +1,161 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers;
+
+import org.odpi.openmetadata.adminservices.configuration.properties.IntegrationConnectorConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.PermittedSynchronization;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FakeIntegrationConnectorHandler stands in for an integration connector when testing the integration daemon
+ * thread.  Each refresh takes a fixed time.  It records when each refresh started and ended and whether refresh
+ * was ever called while an earlier call was still running.  It has no connection, so the real connector is
+ * never created.
+ */
+public class FakeIntegrationConnectorHandler extends IntegrationConnectorHandler
+{
+    private static final long serialVersionUID = 1L;
+
+    private final long          refreshDuration;
+    private final AtomicInteger daemonActiveRefreshes;
+    private final AtomicInteger daemonMaxActiveRefreshes;
+    private final AtomicInteger activeRefreshes = new AtomicInteger(0);
+    private final List<Long>    refreshStartTimes = new ArrayList<>();
+    private final List<Long>    refreshEndTimes = new ArrayList<>();
+
+    private volatile boolean    refreshedConcurrently = false;
+
+
+    /**
+     * Constructor sets up the timings of the connector.
+     *
+     * @param connectorName name of the connector
+     * @param minSecondsBetweenRefresh configured refresh interval
+     * @param refreshDuration how long each refresh takes (in milliseconds)
+     * @param daemonActiveRefreshes count of the refreshes running in the daemon - shared by its connectors
+     * @param daemonMaxActiveRefreshes highest count of the refreshes running in the daemon at the same time
+     * @param auditLog logging destination
+     */
+    public FakeIntegrationConnectorHandler(String        connectorName,
+                                           long          minSecondsBetweenRefresh,
+                                           long          refreshDuration,
+                                           AtomicInteger daemonActiveRefreshes,
+                                           AtomicInteger daemonMaxActiveRefreshes,
+                                           AuditLog      auditLog)
+    {
+        super(getConnectorConfig(connectorName, minSecondsBetweenRefresh),
+              "Fake Integration Service",
+              null,
+              "FakeIntegrationDaemon",
+              null,
+              auditLog);
+
+        this.refreshDuration          = refreshDuration;
+        this.daemonActiveRefreshes    = daemonActiveRefreshes;
+        this.daemonMaxActiveRefreshes = daemonMaxActiveRefreshes;
+    }
+
+
+    /**
+     * Return the configuration for the connector.
+     *
+     * @param connectorName name of the connector
+     * @param minSecondsBetweenRefresh configured refresh interval
+     * @return configuration
+     */
+    private static IntegrationConnectorConfig getConnectorConfig(String connectorName,
+                                                                 long   minSecondsBetweenRefresh)
+    {
+        IntegrationConnectorConfig connectorConfig = new IntegrationConnectorConfig();
+
+        connectorConfig.setConnectorName(connectorName);
+        connectorConfig.setRefreshTimeInterval(minSecondsBetweenRefresh);
+        connectorConfig.setPermittedSynchronization(PermittedSynchronization.BOTH_DIRECTIONS);
+
+        return connectorConfig;
+    }
+
+
+    /**
+     * Record the refresh and wait for the refresh duration.  This is deliberately not synchronized so that
+     * overlapping calls are detected.
+     *
+     * @param actionDescription external caller's activity
+     * @param refreshLag how long after its scheduled time the refresh started (in milliseconds)
+     */
+    @Override
+    public void refreshConnector(String   actionDescription,
+                                 long     refreshLag)
+    {
+        long refreshStartTime = System.currentTimeMillis();
+
+        if (activeRefreshes.incrementAndGet() > 1)
+        {
+            refreshedConcurrently = true;
+        }
+
+        daemonMaxActiveRefreshes.accumulateAndGet(daemonActiveRefreshes.incrementAndGet(), Math::max);
+
+        try
+        {
+            Thread.sleep(refreshDuration);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        daemonActiveRefreshes.decrementAndGet();
+        activeRefreshes.decrementAndGet();
+
+        synchronized (refreshStartTimes)
+        {
+            refreshStartTimes.add(refreshStartTime);
+            refreshEndTimes.add(System.currentTimeMillis());
+        }
+    }
+
+
+    /**
+     * Return the times that the completed refreshes started.
+     *
+     * @return list of milliseconds since the epoch
+     */
+    public List<Long> getRefreshStartTimes()
+    {
+        synchronized (refreshStartTimes)
+        {
+            return new ArrayList<>(refreshStartTimes);
+        }
+    }
+
+
+    /**
+     * Return the times that the completed refreshes ended.
+     *
+     * @return list of milliseconds since the epoch
+     */
+    public List<Long> getRefreshEndTimes()
+    {
+        synchronized (refreshStartTimes)
+        {
+            return new ArrayList<>(refreshEndTimes);
+        }
+    }
+
+
+    /**
+     * Return whether refresh was ever called while an earlier call was still running.
+     *
+     * @return boolean flag
+     */
+    public boolean isRefreshedConcurrently()
+    {
+        return refreshedConcurrently;
+    }
+}
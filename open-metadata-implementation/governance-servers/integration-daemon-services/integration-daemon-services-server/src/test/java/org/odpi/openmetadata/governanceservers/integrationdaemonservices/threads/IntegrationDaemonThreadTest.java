@@ -0,0 +1,205 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.FakeIntegrationConnectorHandler;
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorHandler;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate the scheduling of the refresh of integration connectors by the IntegrationDaemonThread using connectors
+ * that take different amounts of time to refresh.  The refresh interval of a connector is configured in seconds so
+ * each test runs for a few seconds.
+ */
+public class IntegrationDaemonThreadTest
+{
+    /*
+     * Allowance for the time taken to pass a refresh to a refresh thread and for the granularity of the clock.
+     */
+    private static final long schedulingTolerance = 250;
+
+    /*
+     * Largest jitter that is added to a refresh with an interval of one second.
+     */
+    private static final long maxJitter = 100;
+
+
+    /**
+     * Audit log destination that discards the log records.
+     */
+    private static class DiscardingAuditLogDestination extends AuditLogDestination
+    {
+        /**
+         * Discard the log record.
+         *
+         * @param logRecord log record
+         */
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+        }
+    }
+
+
+    private final AuditLog      auditLog                 = new AuditLog(new DiscardingAuditLogDestination(),
+                                                                        0,
+                                                                        "IntegrationDaemonThreadTest",
+                                                                        "Test of the integration daemon thread",
+                                                                        null);
+    private final AtomicInteger daemonActiveRefreshes    = new AtomicInteger(0);
+    private final AtomicInteger daemonMaxActiveRefreshes = new AtomicInteger(0);
+
+
+    /**
+     * Return a fake connector handler.
+     *
+     * @param connectorName name of the connector
+     * @param minSecondsBetweenRefresh configured refresh interval
+     * @param refreshDuration how long each refresh takes (in milliseconds)
+     * @return connector handler
+     */
+    private FakeIntegrationConnectorHandler getConnectorHandler(String connectorName,
+                                                                long   minSecondsBetweenRefresh,
+                                                                long   refreshDuration)
+    {
+        return new FakeIntegrationConnectorHandler(connectorName,
+                                                   minSecondsBetweenRefresh,
+                                                   refreshDuration,
+                                                   daemonActiveRefreshes,
+                                                   daemonMaxActiveRefreshes,
+                                                   auditLog);
+    }
+
+
+    /**
+     * Run the integration daemon thread for a time and then stop it.
+     *
+     * @param daemonThread thread to run
+     * @param runTime how long to run it for (in milliseconds)
+     * @return the time that the thread was stopped
+     * @throws InterruptedException interrupted while waiting
+     */
+    private long runDaemonThread(IntegrationDaemonThread daemonThread,
+                                 long                    runTime) throws InterruptedException
+    {
+        daemonThread.start();
+        Thread.sleep(runTime);
+
+        long stopTime = System.currentTimeMillis();
+
+        daemonThread.stop();
+
+        return stopTime;
+    }
+
+
+    /**
+     * A fast connector keeps to its refresh interval while a slow connector is refreshing.  Each connector's
+     * refreshes start in the order they are due, and a connector that overruns its interval is refreshed again
+     * straight away.  No connector is refreshed by two threads at once.  A connector without an interval is
+     * refreshed once, and no refresh starts once the thread is stopped.
+     *
+     * @throws InterruptedException interrupted while waiting
+     */
+    @Test
+    public void testSlowConnectorDoesNotDelayFastConnector() throws InterruptedException
+    {
+        FakeIntegrationConnectorHandler fastConnector = getConnectorHandler("fast", 1, 0);
+        FakeIntegrationConnectorHandler slowConnector = getConnectorHandler("slow", 1, 2500);
+        FakeIntegrationConnectorHandler onceConnector = getConnectorHandler("once", 0, 0);
+
+        List<IntegrationConnectorHandler> connectorHandlers = Arrays.asList(slowConnector, fastConnector, onceConnector);
+        IntegrationDaemonThread           daemonThread      = new IntegrationDaemonThread("TestDaemon", connectorHandlers, auditLog);
+
+        long stopTime = this.runDaemonThread(daemonThread, 4500);
+
+        /*
+         * Wait for the refresh of the slow connector that is running to complete.
+         */
+        Thread.sleep(2500 + schedulingTolerance);
+
+        List<Long> fastStartTimes = fastConnector.getRefreshStartTimes();
+
+        assertTrue(fastStartTimes.size() >= 4, "Fast connector refreshed " + fastStartTimes.size() + " times");
+
+        for (int refresh = 1; refresh < fastStartTimes.size(); refresh++)
+        {
+            long gap = fastStartTimes.get(refresh) - fastStartTimes.get(refresh - 1);
+
+            assertTrue(gap >= 1000 - schedulingTolerance, "Fast connector refreshed early: " + gap);
+            assertTrue(gap <= 1000 + maxJitter + schedulingTolerance, "Fast connector refreshed late: " + gap);
+        }
+
+        List<Long> slowStartTimes = slowConnector.getRefreshStartTimes();
+        List<Long> slowEndTimes   = slowConnector.getRefreshEndTimes();
+
+        assertEquals(slowStartTimes.size(), 2);
+        assertTrue(slowStartTimes.get(1) - slowEndTimes.get(0) <= schedulingTolerance,
+                   "Overrunning connector was not refreshed straight away: " + (slowStartTimes.get(1) - slowEndTimes.get(0)));
+
+        assertEquals(onceConnector.getRefreshStartTimes().size(), 1);
+
+        for (FakeIntegrationConnectorHandler connectorHandler : Arrays.asList(fastConnector, slowConnector, onceConnector))
+        {
+            assertFalse(connectorHandler.isRefreshedConcurrently());
+
+            for (long startTime : connectorHandler.getRefreshStartTimes())
+            {
+                assertTrue(startTime <= stopTime + schedulingTolerance, "Refresh started after stop");
+            }
+        }
+
+        /*
+         * Nothing more is refreshed once the thread has stopped.
+         */
+        List<Integer> refreshCounts = new ArrayList<>();
+
+        for (FakeIntegrationConnectorHandler connectorHandler : Arrays.asList(fastConnector, slowConnector, onceConnector))
+        {
+            refreshCounts.add(connectorHandler.getRefreshStartTimes().size());
+        }
+
+        Thread.sleep(1000 + maxJitter + schedulingTolerance);
+
+        assertEquals(fastConnector.getRefreshStartTimes().size(), (int)refreshCounts.get(0));
+        assertEquals(slowConnector.getRefreshStartTimes().size(), (int)refreshCounts.get(1));
+        assertEquals(onceConnector.getRefreshStartTimes().size(), (int)refreshCounts.get(2));
+    }
+
+
+    /**
+     * With a single refresh thread, the connectors are refreshed one at a time but each is still refreshed.
+     *
+     * @throws InterruptedException interrupted while waiting
+     */
+    @Test
+    public void testMaxRefreshThreads() throws InterruptedException
+    {
+        FakeIntegrationConnectorHandler fastConnector = getConnectorHandler("fast", 1, 0);
+        FakeIntegrationConnectorHandler slowConnector = getConnectorHandler("slow", 1, 1500);
+
+        List<IntegrationConnectorHandler> connectorHandlers = Arrays.asList(slowConnector, fastConnector);
+        IntegrationDaemonThread           daemonThread      = new IntegrationDaemonThread("TestDaemon", connectorHandlers, 1, auditLog);
+
+        this.runDaemonThread(daemonThread, 3000);
+
+        Thread.sleep(1500 + schedulingTolerance);
+
+        assertEquals(daemonMaxActiveRefreshes.get(), 1);
+        assertTrue(fastConnector.getRefreshStartTimes().size() >= 1);
+        assertTrue(slowConnector.getRefreshStartTimes().size() >= 1);
+    }
+}
@@ -6,6 +6,7 @@ import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
 import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
 import org.odpi.openmetadata.accessservices.assetlineage.model.LineageRelationship;
 import org.odpi.openmetadata.governanceservers.openlineage.OpenLineageGraphConnector;
+import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 
 import java.util.Map;
 import java.util.Set;
@@ -75,4 +76,11 @@ public interface LineageGraph extends OpenLineageGraphConnector {
      */
     void schedulerTask();
 
+    /**
+     * Marks the lineage of the whole graph for recalculation by the next run of the scheduler task
+     *
+     * @throws OpenLineageException if the graph could not be marked
+     */
+    void rebuildProcessLineage() throws OpenLineageException;
+
 }
@@ -41,4 +41,7 @@ public abstract class LineageGraphConnectorBase extends ConnectorBase implements
     @Override
     public abstract void deleteEntity(String guid,Object version);
 
+    @Override
+    public abstract void rebuildProcessLineage() throws OpenLineageException;
+
 }
@@ -28,4 +28,13 @@ public class OpenLineageHandler {
         return lineageGraph.lineage(scope, guid, displayNameMustContain, includeProcesses);
     }
 
+    /**
+     * Marks the lineage of all of the processes for recalculation by the next run of the scheduler.
+     *
+     * @throws OpenLineageException if the processes could not be marked
+     */
+    public void rebuildProcessLineage() throws OpenLineageException {
+        lineageGraph.rebuildProcessLineage();
+    }
+
 }
@@ -2,7 +2,9 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.governanceservers.openlineage.server;
 
+import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 import org.odpi.openmetadata.governanceservers.openlineage.handlers.OpenLineageHandler;
@@ -33,7 +35,7 @@ public class OpenLineageRestServices {
         } catch (InvalidParameterException e) {
             openLineageExceptionHandler.captureInvalidParameterException(response, e);
             log.debug(debugMessage, e);
-        } catch (org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException e) {
+        } catch (PropertyServerException e) {
             openLineageExceptionHandler.capturePropertyServerException(response, e);
             log.debug(debugMessage, e);
         } catch (UserNotAuthorizedException e) {
@@ -49,4 +51,32 @@ public class OpenLineageRestServices {
         return response;
     }
 
+    public VoidResponse rebuildProcessLineage(String serverName, String userId) {
+        VoidResponse response = new VoidResponse();
+        final String methodName = "OpenLineageRestServices.rebuildProcessLineage";
+        final String debugMessage = "An exception occurred during a rebuild process lineage HTTP request";
+        try {
+            OpenLineageHandler openLineageHandler = instanceHandler.getOpenLineageHandler(userId,
+                    serverName,
+                    methodName);
+            openLineageHandler.rebuildProcessLineage();
+        } catch (InvalidParameterException e) {
+            openLineageExceptionHandler.captureInvalidParameterException(response, e);
+            log.debug(debugMessage, e);
+        } catch (PropertyServerException e) {
+            openLineageExceptionHandler.capturePropertyServerException(response, e);
+            log.debug(debugMessage, e);
+        } catch (UserNotAuthorizedException e) {
+            openLineageExceptionHandler.captureUserNotAuthorizedException(response, e);
+            log.debug(debugMessage, e);
+        } catch (OpenLineageException e) {
+            openLineageExceptionHandler.captureOpenLineageException(response, e);
+            log.debug(debugMessage, e);
+        } catch (Exception e) {
+            openLineageExceptionHandler.captureThrowable(response, e, methodName);
+            log.debug(debugMessage, e);
+        }
+        return response;
+    }
+
 }
\ No newline at end of file
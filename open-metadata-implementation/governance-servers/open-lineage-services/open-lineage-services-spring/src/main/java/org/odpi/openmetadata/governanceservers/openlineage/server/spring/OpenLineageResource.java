@@ -5,6 +5,7 @@ package org.odpi.openmetadata.governanceservers.openlineage.server.spring;
 
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryParameters;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResponse;
 import org.odpi.openmetadata.governanceservers.openlineage.server.OpenLineageRestServices;
@@ -46,4 +47,19 @@ public class OpenLineageResource {
         return restAPI.lineage(serverName, userId, params.getScope(), guid, params.getDisplayNameMustContain(), params.isIncludeProcesses());
     }
 
+    /**
+     * Marks the lineage of all of the processes in the lineage graph for recalculation. The column and table lineage
+     * is derived again by the next run of the lineage scheduler rather than only for the processes that have changed.
+     *
+     * @param userId     calling user.
+     * @param serverName name of the server instance to connect to.
+     * @return void or an exception response.
+     */
+    @PostMapping(path = "/lineage/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+    public VoidResponse rebuildProcessLineage(
+            @PathVariable("serverName") String serverName,
+            @PathVariable("userId") String userId) {
+        return restAPI.rebuildProcessLineage(serverName, userId);
+    }
+
 }
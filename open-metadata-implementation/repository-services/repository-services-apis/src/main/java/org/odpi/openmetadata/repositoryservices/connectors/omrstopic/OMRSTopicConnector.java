@@ -2,7 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
@@ -12,7 +12,9 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicEventMapper;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
@@ -24,6 +26,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorExc
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -358,13 +361,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                String eventString = OpenMetadataTopicEventMapper.writeEvent(event);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(eventString);
                     }
                 }
             }
@@ -404,6 +407,20 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
      * @param event inbound event
      */
     public void processEvent(String event)
+    {
+        this.processEvent(event, null);
+    }
+
+
+    /**
+     * Receives events from the real topic that the topic connector has already parsed into a JSON tree.
+     * The tree is bound to the event objects rather than parsing the event again.
+     *
+     * @param event inbound event
+     * @param eventTree inbound event parsed into a JSON tree - null if it has not been parsed
+     */
+    public void processEvent(String   event,
+                             JsonNode eventTree)
     {
         final String actionDescription = "Process an OMRS Event";
         final String methodName = "processEvent";
@@ -413,13 +430,22 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             OMRSEventBean   eventBean = null;
 
             /*
-             * Parse the string (JSON) event into a bean.
+             * Parse the string (JSON) event into a bean.  The event category is checked first so that events
+             * that no listener is able to process are not bound to a bean.
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                if (this.isProcessableEvent(event, eventTree))
+                {
+                    if (eventTree == null)
+                    {
+                        eventBean = OpenMetadataTopicEventMapper.readEvent(event, OMRSEventBean.class);
+                    }
+                    else
+                    {
+                        eventBean = OpenMetadataTopicEventMapper.readEvent(eventTree, OMRSEventBean.class);
+                    }
+                }
             }
             catch (Throwable   exception)
             {
@@ -473,6 +499,63 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Determine whether the event needs to be parsed into a bean.  There is no point if there are no listeners
+     * or the event is of a category that this server does not understand.  The event category is read from the
+     * tree of the event if it has been parsed, otherwise with a streaming parser that stops as soon as it has found it.
+     *
+     * @param event inbound event
+     * @param eventTree inbound event parsed into a JSON tree - null if it has not been parsed
+     * @return boolean flag
+     * @throws IOException the event is not valid JSON
+     */
+    private boolean isProcessableEvent(String   event,
+                                       JsonNode eventTree) throws IOException
+    {
+        final String actionDescription = "Process Incoming Event";
+        final String eventCategoryPropertyName = "eventCategory";
+
+        if (internalTopicListeners.isEmpty())
+        {
+            log.debug("No listeners for event");
+            return false;
+        }
+
+        String eventCategory;
+
+        if (eventTree == null)
+        {
+            eventCategory = OpenMetadataTopicEventMapper.peekProperty(event, eventCategoryPropertyName);
+        }
+        else
+        {
+            eventCategory = OpenMetadataTopicEventMapper.getProperty(eventTree, eventCategoryPropertyName);
+        }
+
+        if ((eventCategory == null) ||
+            (OMRSEventCategory.REGISTRY.name().equals(eventCategory)) ||
+            (OMRSEventCategory.TYPEDEF.name().equals(eventCategory)) ||
+            (OMRSEventCategory.INSTANCE.name().equals(eventCategory)))
+        {
+            return true;
+        }
+
+        /*
+         * This situation will occur if the local server is back level from another server in the cohort
+         * and the more advanced server supports new types of messages.
+         */
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.PROCESS_UNKNOWN_EVENT.getMessageDefinition(),
+                                "event {" + event + "}");
+        }
+
+        log.debug("Unknown event received :|");
+        return false;
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
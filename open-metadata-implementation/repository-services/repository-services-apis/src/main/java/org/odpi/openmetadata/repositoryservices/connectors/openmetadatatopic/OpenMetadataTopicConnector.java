@@ -6,7 +6,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
@@ -25,7 +32,9 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should return them from the protected checkForIncomingEvents() method,
+ *         and call the protected incomingEventsAvailable() method when new events arrive so that the
+ *         listener thread collects them straight away.
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -34,6 +43,13 @@ import org.slf4j.LoggerFactory;
  *         When the server no longer needs the topic, it will call disconnect().
  *     </li>
  * </ul>
+ * By default, the events are passed to the listeners one at a time on the listener thread.  If the dispatchThreads
+ * configuration property is greater than one, the events are passed to the listeners by a pool of dispatch threads.
+ * Each event is parsed once into a JSON tree.  The tree supplies the unique identifier of the metadata instance the
+ * event is about, and is passed on to the listeners so they do not need to parse the event again.  Events about
+ * the same metadata instance are always dispatched by the same thread so they are processed in the order they
+ * were received.  Events that are not about a single instance wait for all earlier events to be processed, and
+ * are then dispatched on their own.  The dispatch threads are daemon threads so they do not keep the JVM running.
  */
 public abstract class OpenMetadataTopicConnector extends ConnectorBase implements OpenMetadataTopic,
                                                                                   Runnable,
@@ -44,12 +60,21 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private static final String       defaultThreadName = "OpenMetadataTopicListener";
     private static final String       defaultTopicName  = "OpenMetadataTopic";
 
+    private static final int          maxQueuedEventsPerDispatchThread = 1000;
+
     private volatile boolean keepRunning = false;
 
     private List<OpenMetadataTopicListener> topicListeners     = new ArrayList<>();
     private String                          listenerThreadName = defaultThreadName;
     private String                          topicName          = defaultTopicName;
     private int                             sleepTime          = 100;
+    private int                             dispatchThreads    = 1;
+
+    private final Object                    incomingEventSignal   = new Object();
+    private boolean                         incomingEventsPending = false;
+
+    private ThreadPoolExecutor[]            dispatchLanes      = null;
+    private Future<?>[]                     lastDispatches     = null;
 
     protected AuditLog auditLog = null;
 
@@ -96,17 +121,26 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                         {
                             if (event != null)
                             {
-                                this.distributeEvent(event);
+                                this.dispatchEvent(event);
                             }
                         }
+
+                        /*
+                         * There may be more events waiting so look again straight away.
+                         */
+                        continue;
                     }
                 }
+                catch (InterruptedException   wakeUp)
+                {
+                    throw wakeUp;
+                }
                 catch (Throwable   error)
                 {
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                this.waitForIncomingEvents();
             }
             catch (InterruptedException   wakeUp)
             {
@@ -120,12 +154,181 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Called by the subclass when new events have arrived.  It wakes up the listener thread if it is waiting.
+     * Subclasses that do not call this method have their events collected every sleepTime milliseconds.
+     */
+    protected void incomingEventsAvailable()
+    {
+        synchronized (incomingEventSignal)
+        {
+            incomingEventsPending = true;
+            incomingEventSignal.notifyAll();
+        }
+    }
+
+
+    /**
+     * Wait until the subclass signals that new events have arrived, or the sleep time has passed.
+     *
+     * @throws InterruptedException the listener thread has been interrupted
+     */
+    private void waitForIncomingEvents() throws InterruptedException
+    {
+        synchronized (incomingEventSignal)
+        {
+            if ((! incomingEventsPending) && (keepRunning))
+            {
+                incomingEventSignal.wait(sleepTime);
+            }
+
+            incomingEventsPending = false;
+        }
+    }
+
+
+    /**
+     * Pass an event to the listeners.  If there are dispatch threads, the event is parsed and queued, along with its
+     * tree, for the dispatch thread that handles its ordering key.  Events without an ordering key are distributed on
+     * this thread once all of the events queued for the dispatch threads have been processed.
+     *
+     * @param event event to distribute
+     * @throws InterruptedException the listener thread has been interrupted
+     */
+    private void dispatchEvent(IncomingEvent event) throws InterruptedException
+    {
+        if (dispatchLanes == null)
+        {
+            this.distributeEvent(event, null);
+            return;
+        }
+
+        JsonNode eventTree = null;
+
+        if (event.getJson() != null)
+        {
+            try
+            {
+                eventTree = OpenMetadataTopicEventMapper.readTree(event.getJson());
+            }
+            catch (Throwable error)
+            {
+                log.debug("Unable to parse an event", error);
+            }
+        }
+
+        String orderingKey = null;
+
+        if (eventTree != null)
+        {
+            orderingKey = this.getEventOrderingKey(eventTree);
+        }
+
+        if (orderingKey == null)
+        {
+            for (Future<?> lastDispatch : lastDispatches)
+            {
+                this.waitForDispatch(lastDispatch);
+            }
+
+            this.distributeEvent(event, eventTree);
+            return;
+        }
+
+        int lane = (orderingKey.hashCode() & Integer.MAX_VALUE) % dispatchLanes.length;
+
+        /*
+         * Hold back the listener thread if the dispatch thread is falling behind.
+         */
+        if (dispatchLanes[lane].getQueue().size() >= maxQueuedEventsPerDispatchThread)
+        {
+            this.waitForDispatch(lastDispatches[lane]);
+        }
+
+        final JsonNode parsedEvent = eventTree;
+
+        try
+        {
+            lastDispatches[lane] = dispatchLanes[lane].submit(() -> this.distributeEvent(event, parsedEvent));
+        }
+        catch (RejectedExecutionException error)
+        {
+            /*
+             * The connector is shutting down.
+             */
+            this.waitForDispatch(lastDispatches[lane]);
+            this.distributeEvent(event, parsedEvent);
+        }
+    }
+
+
+    /**
+     * Wait for an event that has been passed to a dispatch thread to be distributed.
+     *
+     * @param dispatch result of the dispatch - may be null
+     * @throws InterruptedException the listener thread has been interrupted
+     */
+    private void waitForDispatch(Future<?> dispatch) throws InterruptedException
+    {
+        if (dispatch != null)
+        {
+            try
+            {
+                dispatch.get();
+            }
+            catch (ExecutionException error)
+            {
+                log.error("Bad exception from distributeEvent", error.getCause());
+            }
+        }
+    }
+
+
+    /**
+     * Return the key used to keep related events in order when there are multiple dispatch threads.  Events with the
+     * same key are processed in the order they are received.  This implementation uses the unique identifier of the
+     * metadata instance in an OMRS instance event.  The instanceGUID property is used first since it is set for every
+     * type of instance event, and for a re-identify event it holds the original identifier of the instance.
+     * The identifiers of the entity and relationship in the event are used if it is missing.  Subclasses may override
+     * this method to support other types of event.
+     *
+     * @param eventTree incoming event parsed into a JSON tree
+     * @return ordering key or null if the event must be processed on its own
+     */
+    protected String getEventOrderingKey(JsonNode eventTree)
+    {
+        final String instanceEventSectionPropertyName = "instanceEventSection";
+        final String guidPropertyName                 = "guid";
+        final String[][] instanceGUIDPaths = {
+                { instanceEventSectionPropertyName, "instanceGUID" },
+                { instanceEventSectionPropertyName, "originalEntity", guidPropertyName },
+                { instanceEventSectionPropertyName, "entity", guidPropertyName },
+                { instanceEventSectionPropertyName, "originalRelationship", guidPropertyName },
+                { instanceEventSectionPropertyName, "relationship", guidPropertyName }
+        };
+
+        for (String[] instanceGUIDPath : instanceGUIDPaths)
+        {
+            String instanceGUID = OpenMetadataTopicEventMapper.getProperty(eventTree, instanceGUIDPath);
+
+            if (instanceGUID != null)
+            {
+                return instanceGUID;
+            }
+        }
+
+        return null;
+    }
+
+
     /**
      * Pass an event that has been received on the topic to each of the registered listeners.
      *
      * @param event OMRSEvent to distribute
+     * @param eventTree event parsed into a JSON tree - null if it has not been parsed
      */
-    private void distributeEvent(IncomingEvent event)
+    private void distributeEvent(IncomingEvent event,
+                                 JsonNode      eventTree)
     {
         //Initially clear the async event processing context to ensure that it will only
         //have results from processing this event
@@ -135,7 +338,14 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         {
             try
             {
-                topicListener.processEvent(event.getJson());
+                if (eventTree == null)
+                {
+                    topicListener.processEvent(event.getJson());
+                }
+                else
+                {
+                    topicListener.processEvent(event.getJson(), eventTree);
+                }
             }
             catch (Throwable  error)
             {
@@ -247,12 +457,33 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
             if (configurationProperties != null)
             {
-                Object   sleepTime = configurationProperties.get("sleepTime");
+                this.sleepTime = this.getIntegerProperty(configurationProperties, "sleepTime", sleepTime);
+                this.dispatchThreads = this.getIntegerProperty(configurationProperties, "dispatchThreads", dispatchThreads);
+            }
+        }
 
-                if (sleepTime instanceof Integer)
-                {
-                    this.sleepTime = (Integer)sleepTime;
-                }
+        if (dispatchThreads > 1)
+        {
+            dispatchLanes = new ThreadPoolExecutor[dispatchThreads];
+            lastDispatches = new Future<?>[dispatchThreads];
+
+            for (int lane = 0; lane < dispatchThreads; lane++)
+            {
+                final String dispatchThreadName = listenerThreadName + ": dispatcher " + lane;
+
+                dispatchLanes[lane] = new ThreadPoolExecutor(1,
+                                                             1,
+                                                             0L,
+                                                             TimeUnit.MILLISECONDS,
+                                                             new LinkedBlockingQueue<>(),
+                                                             (runnable) ->
+                                                             {
+                                                                 Thread dispatchThread = new Thread(runnable, dispatchThreadName);
+
+                                                                 dispatchThread.setDaemon(true);
+
+                                                                 return dispatchThread;
+                                                             });
             }
         }
 
@@ -261,6 +492,56 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Return the value of a whole number configuration property.  The value may be any number or a string holding
+     * a whole number.  A value that is not a positive whole number that fits in an int is ignored.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not valid
+     * @return property value
+     */
+    int getIntegerProperty(Map<String, Object> configurationProperties,
+                           String              propertyName,
+                           int                 defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue == null)
+        {
+            return defaultValue;
+        }
+
+        long value = 0;
+
+        try
+        {
+            if (propertyValue instanceof Number)
+            {
+                value = ((Number) propertyValue).longValue();
+            }
+            else
+            {
+                value = Long.parseLong(propertyValue.toString().trim());
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            value = 0;
+        }
+
+        if ((value > 0) && (value <= Integer.MAX_VALUE))
+        {
+            return (int) value;
+        }
+
+        log.warn("Ignoring configuration property " + propertyName + " with value " + propertyValue + " for topic " +
+                         topicName + "; using " + defaultValue);
+
+        return defaultValue;
+    }
+
+
     /**
      * Free up any resources held since the connector is no longer needed.
      *
@@ -271,5 +552,18 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         super.disconnect();
 
         keepRunning = false;
+
+        /*
+         * Wake up the listener thread so it sees that it needs to stop.
+         */
+        this.incomingEventsAvailable();
+
+        if (dispatchLanes != null)
+        {
+            for (ThreadPoolExecutor dispatchLane : dispatchLanes)
+            {
+                dispatchLane.shutdown();
+            }
+        }
     }
 }
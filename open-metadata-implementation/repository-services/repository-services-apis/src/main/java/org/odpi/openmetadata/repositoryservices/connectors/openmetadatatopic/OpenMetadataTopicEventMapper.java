@@ -0,0 +1,220 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OpenMetadataTopicEventMapper converts event beans to and from the JSON strings that flow over the
+ * open metadata topics.  Creating an ObjectMapper, and the introspection of the bean classes it performs
+ * on first use, is expensive compared with the conversion of a single event.  This class holds a single
+ * configured ObjectMapper for the server and caches an ObjectReader and ObjectWriter for each event bean
+ * class.  ObjectReaders and ObjectWriters are immutable and may be used by multiple threads at once.
+ *
+ * It also provides a streaming look-up of a single top-level property of an event so that a consumer can
+ * decide whether an event is of interest before binding the whole event to a bean, and the parsing of an event
+ * into a tree so that it can be examined and then bound to a bean without parsing the JSON string again.
+ */
+public class OpenMetadataTopicEventMapper
+{
+    private static final ObjectMapper                   objectMapper = new ObjectMapper();
+    private static final JsonFactory                    jsonFactory  = objectMapper.getFactory();
+    private static final Map<Class<?>, ObjectReader>    readers      = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter>    writers      = new ConcurrentHashMap<>();
+
+
+    /**
+     * Private constructor since only static methods are used.
+     */
+    private OpenMetadataTopicEventMapper()
+    {
+    }
+
+
+    /**
+     * Return the reader for the requested event bean class.
+     *
+     * @param eventClass class of the Java bean
+     * @return cached object reader
+     */
+    public static ObjectReader getReader(Class<?>  eventClass)
+    {
+        return readers.computeIfAbsent(eventClass, objectMapper::readerFor);
+    }
+
+
+    /**
+     * Return the writer for the requested event bean class.
+     *
+     * @param eventClass class of the Java bean
+     * @return cached object writer
+     */
+    public static ObjectWriter getWriter(Class<?>  eventClass)
+    {
+        return writers.computeIfAbsent(eventClass, objectMapper::writerFor);
+    }
+
+
+    /**
+     * Parse the event and return it as a Java bean.
+     *
+     * @param event event as a String
+     * @param eventClass class of the Java bean.
+     * @param <T> the name of the class
+     * @return Java bean
+     * @throws IOException something went wrong in the parsing process.
+     */
+    public static <T> T readEvent(String    event,
+                                  Class<T>  eventClass) throws IOException
+    {
+        return getReader(eventClass).readValue(event);
+    }
+
+
+    /**
+     * Bind an event that has already been parsed into a tree to a Java bean.
+     *
+     * @param eventTree event as a JSON tree
+     * @param eventClass class of the Java bean.
+     * @param <T> the name of the class
+     * @return Java bean
+     * @throws IOException the tree does not match the bean
+     */
+    public static <T> T readEvent(JsonNode  eventTree,
+                                  Class<T>  eventClass) throws IOException
+    {
+        return getReader(eventClass).readValue(eventTree);
+    }
+
+
+    /**
+     * Parse the event into a JSON tree.
+     *
+     * @param event event as a String
+     * @return tree of the event
+     * @throws IOException the event is not valid JSON
+     */
+    public static JsonNode readTree(String   event) throws IOException
+    {
+        return objectMapper.readTree(event);
+    }
+
+
+    /**
+     * Return the value of a property of an event that has already been parsed into a tree.
+     *
+     * @param eventTree event as a JSON tree
+     * @param propertyPath names of the properties leading to the required property - starting at the top level
+     * @return value of the property as text, or null if it is not present or is not a scalar value
+     */
+    public static String getProperty(JsonNode   eventTree,
+                                     String...  propertyPath)
+    {
+        JsonNode propertyNode = eventTree;
+
+        for (String propertyName : propertyPath)
+        {
+            if ((propertyNode == null) || (! propertyNode.isObject()))
+            {
+                return null;
+            }
+
+            propertyNode = propertyNode.get(propertyName);
+        }
+
+        if ((propertyNode == null) || (! propertyNode.isValueNode()) || (propertyNode.isNull()))
+        {
+            return null;
+        }
+
+        return propertyNode.asText();
+    }
+
+
+    /**
+     * Convert an event bean into a JSON string.
+     *
+     * @param event Java bean
+     * @return event as a string - or null if the event is null
+     * @throws JsonProcessingException the bean could not be serialized
+     */
+    public static String writeEvent(Object   event) throws JsonProcessingException
+    {
+        if (event == null)
+        {
+            return null;
+        }
+
+        return getWriter(event.getClass()).writeValueAsString(event);
+    }
+
+
+    /**
+     * Return the value of a property of the event without parsing the rest of the event into a bean.
+     * The property is located by following the supplied property names through the nested objects of the event.
+     * Any objects and arrays that are not on the path are skipped over.
+     *
+     * @param event event as a String
+     * @param propertyPath names of the properties leading to the required property - starting at the top level
+     * @return value of the property as text, or null if it is not present or is not a scalar value
+     * @throws IOException the event is not valid JSON
+     */
+    public static String peekProperty(String     event,
+                                      String...  propertyPath) throws IOException
+    {
+        try (JsonParser parser = jsonFactory.createParser(event))
+        {
+            int pathIndex = 0;
+
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+            {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String     fieldName = parser.getCurrentName();
+                JsonToken  valueToken = parser.nextToken();
+
+                if (propertyPath[pathIndex].equals(fieldName))
+                {
+                    if (pathIndex == propertyPath.length - 1)
+                    {
+                        if (valueToken.isScalarValue() && (valueToken != JsonToken.VALUE_NULL))
+                        {
+                            return parser.getText();
+                        }
+
+                        return null;
+                    }
+                    else if (valueToken == JsonToken.START_OBJECT)
+                    {
+                        /*
+                         * Step into the nested object.
+                         */
+                        pathIndex++;
+                        continue;
+                    }
+
+                    return null;
+                }
+
+                parser.skipChildren();
+            }
+        }
+
+        return null;
+    }
+}
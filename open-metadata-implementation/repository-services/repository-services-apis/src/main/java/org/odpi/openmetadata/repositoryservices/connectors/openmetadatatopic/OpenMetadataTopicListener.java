@@ -3,6 +3,8 @@
 package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 /**
  * OpenMetadataTopicListener defines the interface that a listener must implement in order to receive events
  * from the open metadata topic.
@@ -15,4 +17,19 @@ public interface OpenMetadataTopicListener
      * @param event inbound event
      */
     void processEvent(String event);
+
+
+    /**
+     * Method to pass an event received on topic when the topic connector has already parsed it into a JSON tree.
+     * Listeners that bind the event to a bean may override this method to use the tree rather than parsing the
+     * event again.  By default the tree is ignored.
+     *
+     * @param event inbound event
+     * @param eventTree inbound event parsed into a JSON tree
+     */
+    default void processEvent(String   event,
+                              JsonNode eventTree)
+    {
+        processEvent(event);
+    }
 }
@@ -0,0 +1,62 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.List;
+
+/**
+ * OpenMetadataArchiveContentProcessor receives the contents of an open metadata archive as it is read from
+ * an archive store.  The archive store calls the methods in the order that the contents need to be loaded:
+ * first the archive properties, then the type store and finally the instances.  The instances are passed in
+ * batches so that the whole archive does not need to be held in memory at once.  All of the entities are passed
+ * before any relationships, and all of the relationships before any classifications, whatever their order in
+ * the archive.
+ */
+public interface OpenMetadataArchiveContentProcessor
+{
+    /**
+     * Receive the properties that describe the archive.  This is called once, before any other content.
+     *
+     * @param archiveProperties header of the archive
+     */
+    void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties);
+
+
+    /**
+     * Receive the type definitions from the archive.  This is called at most once, after the archive properties
+     * and before any instances.
+     *
+     * @param archiveTypeStore types from the archive
+     */
+    void processTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore);
+
+
+    /**
+     * Receive the next batch of entities from the archive.
+     *
+     * @param entities list of entities
+     */
+    void processEntities(List<EntityDetail> entities);
+
+
+    /**
+     * Receive the next batch of relationships from the archive.
+     *
+     * @param relationships list of relationships
+     */
+    void processRelationships(List<Relationship> relationships);
+
+
+    /**
+     * Receive the next batch of classifications from the archive.
+     *
+     * @param classifications list of classifications and the entities they are attached to
+     */
+    void processClassifications(List<ClassificationEntityExtension> classifications);
+}
@@ -5,14 +5,35 @@ package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 
 /**
- * OpenMetadataArchiveStoreConnector is the base class for connectors that support the OpenMetadataArchiveStore
+ * OpenMetadataArchiveStoreConnector is the base class for connectors that support the OpenMetadataArchiveStore.
+ *
+ * As well as the methods that pass the whole archive as a single object, it offers methods to read and write the
+ * archive piece by piece.  The implementations in this class are built on getArchiveContents and setArchiveContents.
+ * Connectors that can stream the archive from their store override them so that large archives do not need to
+ * be held in memory.
  */
 public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase implements OpenMetadataArchiveStore,
                                                                                          AuditLoggingComponent
 {
+    /**
+     * Number of instances passed to an OpenMetadataArchiveContentProcessor in each call.
+     */
+    public static final int DEFAULT_INSTANCE_BATCH_SIZE = 1000;
+
     protected AuditLog auditLog = null;
 
 
@@ -26,4 +47,125 @@ public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase im
     {
         this.auditLog = auditLog;
     }
+
+
+    /**
+     * Pass the contents of the archive to the processor: the archive properties, then the type store and then
+     * the instances in batches.  Nothing is passed to the processor if the archive is empty.
+     *
+     * @param processor receiver of the archive contents
+     */
+    public void processArchiveContents(OpenMetadataArchiveContentProcessor   processor)
+    {
+        OpenMetadataArchive archiveContents = this.getArchiveContents();
+
+        if (archiveContents != null)
+        {
+            processor.processArchiveProperties(archiveContents.getArchiveProperties());
+
+            if (archiveContents.getArchiveTypeStore() != null)
+            {
+                processor.processTypeStore(archiveContents.getArchiveTypeStore());
+            }
+
+            OpenMetadataArchiveInstanceStore instanceStore = archiveContents.getArchiveInstanceStore();
+
+            if (instanceStore != null)
+            {
+                List<EntityDetail>                  entities        = instanceStore.getEntities();
+                List<Relationship>                  relationships   = instanceStore.getRelationships();
+                List<ClassificationEntityExtension> classifications = instanceStore.getClassifications();
+
+                if (entities != null)
+                {
+                    for (int start = 0; start < entities.size(); start = start + DEFAULT_INSTANCE_BATCH_SIZE)
+                    {
+                        processor.processEntities(entities.subList(start, Math.min(entities.size(), start + DEFAULT_INSTANCE_BATCH_SIZE)));
+                    }
+                }
+
+                if (relationships != null)
+                {
+                    for (int start = 0; start < relationships.size(); start = start + DEFAULT_INSTANCE_BATCH_SIZE)
+                    {
+                        processor.processRelationships(relationships.subList(start, Math.min(relationships.size(), start + DEFAULT_INSTANCE_BATCH_SIZE)));
+                    }
+                }
+
+                if (classifications != null)
+                {
+                    for (int start = 0; start < classifications.size(); start = start + DEFAULT_INSTANCE_BATCH_SIZE)
+                    {
+                        processor.processClassifications(classifications.subList(start, Math.min(classifications.size(), start + DEFAULT_INSTANCE_BATCH_SIZE)));
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Set new contents into the archive from its separate parts.  This overrides any content previously stored.
+     * The instances are supplied through iterators so that the caller can produce them as they are written.
+     *
+     * @param archiveProperties header of the archive
+     * @param archiveTypeStore types for the archive - may be null
+     * @param entities entities for the archive - may be null
+     * @param relationships relationships for the archive - may be null
+     * @param classifications classifications for the archive - may be null
+     */
+    public void setArchiveContents(OpenMetadataArchiveProperties           archiveProperties,
+                                   OpenMetadataArchiveTypeStore            archiveTypeStore,
+                                   Iterator<EntityDetail>                  entities,
+                                   Iterator<Relationship>                  relationships,
+                                   Iterator<ClassificationEntityExtension> classifications)
+    {
+        OpenMetadataArchive archiveContents = new OpenMetadataArchive();
+
+        archiveContents.setArchiveProperties(archiveProperties);
+        archiveContents.setArchiveTypeStore(archiveTypeStore);
+
+        if ((entities != null) || (relationships != null) || (classifications != null))
+        {
+            OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+
+            instanceStore.setEntities(this.getList(entities));
+            instanceStore.setRelationships(this.getList(relationships));
+            instanceStore.setClassifications(this.getList(classifications));
+
+            archiveContents.setArchiveInstanceStore(instanceStore);
+        }
+
+        this.setArchiveContents(archiveContents);
+    }
+
+
+    /**
+     * Collect the elements of an iterator into a list.
+     *
+     * @param iterator source of the elements - may be null
+     * @param <T> type of the elements
+     * @return list of elements or null if there are no elements
+     */
+    private <T> List<T> getList(Iterator<T>   iterator)
+    {
+        if (iterator == null)
+        {
+            return null;
+        }
+
+        List<T> results = new ArrayList<>();
+
+        while (iterator.hasNext())
+        {
+            results.add(iterator.next());
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
 }
@@ -2,8 +2,11 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
@@ -814,6 +817,72 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                          UserNotAuthorizedException;
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  This allows a caller that needs
+     * many entities to retrieve them in a single request.  Entities that are not known, are only stored as
+     * proxies, are not visible to the user or can not be retrieved because of a repository error are omitted
+     * from the results rather than causing an exception.  This means a problem with one entity does not
+     * prevent the others from being returned.
+     *
+     * The default implementation calls getEntityDetail for each GUID.  Metadata collections that can retrieve
+     * many entities more efficiently than this should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of the entities that were found, in the order of the supplied GUIDs - or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support retrieving many entities at once.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           FunctionNotSupportedException,
+                                                                           UserNotAuthorizedException
+    {
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            try
+            {
+                EntityDetail entity = this.getEntityDetail(userId, guid);
+
+                if (entity != null)
+                {
+                    results.add(entity);
+                }
+            }
+            catch (EntityNotKnownException | EntityProxyOnlyException notFound)
+            {
+                /*
+                 * Entities that are not stored in full are left out of the results.
+                 */
+            }
+            catch (UserNotAuthorizedException | RepositoryErrorException inaccessibleEntity)
+            {
+                /*
+                 * Entities that can not be retrieved are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of an entity.  Thi includes the header, classifications and properties of the entity.
      *
@@ -3108,4 +3177,301 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
             }
         }
     }
+
+
+    /**
+     * Create the entities and relationships supplied in the instance graph as new instances homed in this
+     * metadata collection.  This allows a caller to create a set of related instances in a single request.
+     * The entities are created first.  Each is assigned a new GUID, and any relationship in the graph whose
+     * entity proxies carry the GUID of an entity in the graph is connected to the newly created entity.
+     * Relationship ends that do not match an entity in the graph are treated as existing entities.
+     * Only the type, properties, classifications and status of each supplied instance are used.
+     *
+     * The default implementation calls addEntity and addRelationship for each instance, so validation and
+     * events are the same as for single instance requests.  If one instance fails, the instances created
+     * before it are removed again (deleted and then purged) in reverse order and the exception is returned.
+     * If some of them can not be removed, a RepositoryErrorException is returned instead, listing the GUIDs
+     * of the instances left in the repository in its related property "createdGUIDs".
+     *
+     * @param userId unique identifier for requesting user.
+     * @param instances template instances to create.
+     * @return graph of the newly created entities and relationships - or null if no instances are supplied.
+     * @throws InvalidParameterException one of the instances has no type.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored, or some of the instances created
+     *                                    before a failure could not be removed.
+     * @throws TypeErrorException the requested type is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the instance's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for an entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       the requested status.
+     * @throws EntityNotKnownException one of the entities identified by a relationship is not found in the
+     *                                   metadata collection.
+     * @throws FunctionNotSupportedException the repository does not support maintaining instances.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceGraph addInstances(String          userId,
+                                      InstanceGraph   instances) throws InvalidParameterException,
+                                                                        RepositoryErrorException,
+                                                                        TypeErrorException,
+                                                                        PropertyErrorException,
+                                                                        ClassificationErrorException,
+                                                                        StatusNotSupportedException,
+                                                                        EntityNotKnownException,
+                                                                        FunctionNotSupportedException,
+                                                                        UserNotAuthorizedException
+    {
+        final String methodName = "addInstances";
+        final String instancesParameterName = "instances";
+
+        if (instances == null)
+        {
+            return null;
+        }
+
+        Map<String, String>  newGUIDs             = new HashMap<>();
+        List<EntityDetail>   createdEntities      = new ArrayList<>();
+        List<Relationship>   createdRelationships = new ArrayList<>();
+
+        try
+        {
+            if (instances.getEntities() != null)
+            {
+                for (EntityDetail entity : instances.getEntities())
+                {
+                    if (entity != null)
+                    {
+                        EntityDetail newEntity = addEntity(userId,
+                                                           this.getTypeGUID(entity, instancesParameterName, methodName),
+                                                           entity.getProperties(),
+                                                           entity.getClassifications(),
+                                                           entity.getStatus());
+
+                        if ((newEntity != null) && (entity.getGUID() != null))
+                        {
+                            newGUIDs.put(entity.getGUID(), newEntity.getGUID());
+                        }
+
+                        createdEntities.add(newEntity);
+                    }
+                }
+            }
+
+            if (instances.getRelationships() != null)
+            {
+                for (Relationship relationship : instances.getRelationships())
+                {
+                    if (relationship != null)
+                    {
+                        Relationship newRelationship = addRelationship(userId,
+                                                                       this.getTypeGUID(relationship, instancesParameterName, methodName),
+                                                                       relationship.getProperties(),
+                                                                       this.getEndGUID(relationship.getEntityOneProxy(), newGUIDs),
+                                                                       this.getEndGUID(relationship.getEntityTwoProxy(), newGUIDs),
+                                                                       relationship.getStatus());
+
+                        createdRelationships.add(newRelationship);
+                    }
+                }
+            }
+        }
+        catch (Exception error)
+        {
+            List<String> remainingGUIDs = this.removeInstances(userId, createdEntities, createdRelationships);
+
+            if (! remainingGUIDs.isEmpty())
+            {
+                log.error("Default addInstances left instances " + remainingGUIDs + " after failure", error);
+
+                Map<String, Object> relatedProperties = new HashMap<>();
+
+                relatedProperties.put("createdGUIDs", remainingGUIDs);
+
+                throw new RepositoryErrorException(OMRSErrorCode.INSTANCES_NOT_REMOVED.getMessageDefinition(methodName,
+                                                                                                           repositoryName,
+                                                                                                           remainingGUIDs.toString(),
+                                                                                                           error.getClass().getName(),
+                                                                                                           error.getMessage()),
+                                                   this.getClass().getName(),
+                                                   methodName,
+                                                   error,
+                                                   relatedProperties);
+            }
+
+            throw error;
+        }
+
+        return new InstanceGraph(createdEntities, createdRelationships);
+    }
+
+
+    /**
+     * Remove the instances created by addInstances before one of the instances failed.  The relationships are
+     * removed first, and the instances are removed in the reverse order to the order they were created.
+     * Each instance is deleted and then purged.  If the repository does not support soft-delete, the instance
+     * is purged straight away.
+     *
+     * @param userId calling user
+     * @param createdEntities entities created by addInstances
+     * @param createdRelationships relationships created by addInstances
+     * @return GUIDs of the instances that could not be removed - empty if all were removed
+     */
+    private List<String> removeInstances(String               userId,
+                                         List<EntityDetail>   createdEntities,
+                                         List<Relationship>   createdRelationships)
+    {
+        List<String> remainingGUIDs = new ArrayList<>();
+
+        for (int i = createdRelationships.size() - 1; i >= 0; i--)
+        {
+            Relationship relationship = createdRelationships.get(i);
+
+            if ((relationship != null) && (relationship.getGUID() != null))
+            {
+                String typeGUID = this.getCreatedTypeGUID(relationship);
+                String typeName = this.getCreatedTypeName(relationship);
+
+                try
+                {
+                    try
+                    {
+                        deleteRelationship(userId, typeGUID, typeName, relationship.getGUID());
+                    }
+                    catch (FunctionNotSupportedException noSoftDelete)
+                    {
+                        log.debug("Purging relationship " + relationship.getGUID() + " without deleting it first");
+                    }
+
+                    purgeRelationship(userId, typeGUID, typeName, relationship.getGUID());
+                }
+                catch (Exception error)
+                {
+                    log.error("Default addInstances unable to remove relationship " + relationship.getGUID(), error);
+                    remainingGUIDs.add(relationship.getGUID());
+                }
+            }
+        }
+
+        for (int i = createdEntities.size() - 1; i >= 0; i--)
+        {
+            EntityDetail entity = createdEntities.get(i);
+
+            if ((entity != null) && (entity.getGUID() != null))
+            {
+                String typeGUID = this.getCreatedTypeGUID(entity);
+                String typeName = this.getCreatedTypeName(entity);
+
+                try
+                {
+                    try
+                    {
+                        deleteEntity(userId, typeGUID, typeName, entity.getGUID());
+                    }
+                    catch (FunctionNotSupportedException noSoftDelete)
+                    {
+                        log.debug("Purging entity " + entity.getGUID() + " without deleting it first");
+                    }
+
+                    purgeEntity(userId, typeGUID, typeName, entity.getGUID());
+                }
+                catch (Exception error)
+                {
+                    log.error("Default addInstances unable to remove entity " + entity.getGUID(), error);
+                    remainingGUIDs.add(entity.getGUID());
+                }
+            }
+        }
+
+        return remainingGUIDs;
+    }
+
+
+    /**
+     * Return the type GUID of an instance created by addInstances.
+     *
+     * @param instance created instance
+     * @return type GUID or null
+     */
+    private String getCreatedTypeGUID(InstanceHeader instance)
+    {
+        if (instance.getType() == null)
+        {
+            return null;
+        }
+
+        return instance.getType().getTypeDefGUID();
+    }
+
+
+    /**
+     * Return the type name of an instance created by addInstances.
+     *
+     * @param instance created instance
+     * @return type name or null
+     */
+    private String getCreatedTypeName(InstanceHeader instance)
+    {
+        if (instance.getType() == null)
+        {
+            return null;
+        }
+
+        return instance.getType().getTypeDefName();
+    }
+
+
+    /**
+     * Return the type GUID of a template instance passed to addInstances.
+     *
+     * @param instance template instance
+     * @param parameterName name of the parameter that supplied the instance
+     * @param methodName calling method
+     * @return type GUID
+     * @throws InvalidParameterException the instance has no type
+     */
+    private String getTypeGUID(InstanceHeader   instance,
+                               String           parameterName,
+                               String           methodName) throws InvalidParameterException
+    {
+        if ((instance.getType() == null) || (instance.getType().getTypeDefGUID() == null))
+        {
+            throw new InvalidParameterException(OMRSErrorCode.NULL_TYPEDEF_IDENTIFIER.getMessageDefinition(parameterName,
+                                                                                                          methodName,
+                                                                                                          repositoryName),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+
+        return instance.getType().getTypeDefGUID();
+    }
+
+
+    /**
+     * Return the GUID to use for one end of a template relationship passed to addInstances.
+     *
+     * @param entityProxy end of the template relationship
+     * @param newGUIDs map of template entity GUIDs to the GUIDs of the entities created from them
+     * @return GUID of the entity to connect to (null if the proxy is missing)
+     */
+    private String getEndGUID(EntityProxy          entityProxy,
+                              Map<String, String>  newGUIDs)
+    {
+        if (entityProxy == null)
+        {
+            return null;
+        }
+
+        String newGUID = newGUIDs.get(entityProxy.getGUID());
+
+        if (newGUID != null)
+        {
+            return newGUID;
+        }
+
+        return entityProxy.getGUID();
+    }
 }
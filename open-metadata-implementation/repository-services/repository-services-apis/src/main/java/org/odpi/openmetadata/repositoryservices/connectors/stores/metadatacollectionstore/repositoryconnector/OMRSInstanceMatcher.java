@@ -0,0 +1,38 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+
+/**
+ * OMRSInstanceMatcher tests instances against the property and classification conditions of a search.
+ * It is returned by the OMRSRepositoryValidator once the search conditions have been prepared.  This means
+ * that the work of interpreting the search conditions (such as compiling regular expressions) is done once
+ * for a search rather than for each instance that is tested.  An instance matcher can be used by many threads.
+ */
+public interface OMRSInstanceMatcher
+{
+    /**
+     * Determine if the instance properties match the property conditions of the search.
+     *
+     * @param instanceHeader the header of the instance.
+     * @param instanceProperties the properties from the instance.
+     * @return boolean flag indicating whether the properties match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                              InstanceProperties  instanceProperties) throws InvalidParameterException;
+
+
+    /**
+     * Determine if the classifications of an entity match the classification conditions of the search.
+     *
+     * @param entity the entity instance.
+     * @return boolean flag indicating whether the classifications match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    boolean matchesClassifications(EntitySummary entity) throws InvalidParameterException;
+}
@@ -1396,6 +1396,69 @@ public interface OMRSRepositoryValidator
                                           EntitySummary         entity) throws InvalidParameterException;
 
 
+    /**
+     * Prepare the property-based match criteria of a search so that they can be tested against many instances.
+     * The default implementation calls verifyMatchingInstancePropertyValues for each instance.
+     *
+     * @param matchProperties  the properties to match.
+     * @param matchCriteria  rule on how the match should occur.
+     * @return instance matcher
+     */
+    default OMRSInstanceMatcher getInstanceMatcher(InstanceProperties  matchProperties,
+                                                   MatchCriteria       matchCriteria)
+    {
+        OMRSRepositoryValidator validator = this;
+
+        return new OMRSInstanceMatcher()
+        {
+            @Override
+            public boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                                             InstanceProperties  instanceProperties) throws InvalidParameterException
+            {
+                return validator.verifyMatchingInstancePropertyValues(matchProperties, instanceHeader, instanceProperties, matchCriteria);
+            }
+
+            @Override
+            public boolean matchesClassifications(EntitySummary entity)
+            {
+                return true;
+            }
+        };
+    }
+
+
+    /**
+     * Prepare the property and classification conditions of a search so that they can be tested against many
+     * instances.  The default implementation calls verifyMatchingInstancePropertyValues and
+     * verifyMatchingClassifications for each instance.
+     *
+     * @param matchProperties  the property-based conditions to match (may be null).
+     * @param matchClassifications  the classification-based conditions to match (may be null).
+     * @return instance matcher
+     */
+    default OMRSInstanceMatcher getInstanceMatcher(SearchProperties       matchProperties,
+                                                   SearchClassifications  matchClassifications)
+    {
+        OMRSRepositoryValidator validator = this;
+
+        return new OMRSInstanceMatcher()
+        {
+            @Override
+            public boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                                             InstanceProperties  instanceProperties) throws InvalidParameterException
+            {
+                return validator.verifyMatchingInstancePropertyValues(matchProperties, instanceHeader, instanceProperties);
+            }
+
+            @Override
+            public boolean matchesClassifications(EntitySummary entity) throws InvalidParameterException
+            {
+                return validator.verifyMatchingClassifications(matchClassifications, entity);
+            }
+        };
+    }
+
+
     /**
      * Validates that an instance has the correct header for it to be a reference copy.
      *
@@ -0,0 +1,266 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * OMRSSearchPattern is a regular expression used to match property values in searches.  It is used in place of
+ * String.matches(), which compiles the regular expression every time it is called.  The search patterns are cached
+ * so that the same regular expression used to test many instances is only compiled once.
+ *
+ * The regular expressions built by the exact match, starts with, contains and ends with helper methods of the
+ * OMRSRepositoryHelper are recognized and matched using simple string comparisons rather than the regular
+ * expression engine.
+ */
+public final class OMRSSearchPattern
+{
+    private static final int                             maxCachedPatterns = 1000;
+    private static final Map<String, OMRSSearchPattern>  cachedPatterns    = new ConcurrentHashMap<>();
+
+    private static final String quoteStart = "\\Q";
+    private static final String quoteEnd   = "\\E";
+    private static final String wildcard   = ".*";
+
+    /**
+     * The different ways a search pattern can be evaluated.
+     */
+    private enum MatchStyle
+    {
+        EXACT_MATCH,
+        STARTS_WITH,
+        CONTAINS,
+        ENDS_WITH,
+        REGEX
+    }
+
+    private final String      regex;
+    private final MatchStyle  matchStyle;
+    private final String      literal;
+    private volatile Pattern  pattern = null;
+
+
+    /**
+     * Return the search pattern for a regular expression.
+     *
+     * @param regex regular expression
+     * @return search pattern
+     * @throws NullPointerException the regular expression is null
+     */
+    public static OMRSSearchPattern getSearchPattern(String   regex)
+    {
+        OMRSSearchPattern searchPattern = cachedPatterns.get(regex);
+
+        if (searchPattern == null)
+        {
+            searchPattern = new OMRSSearchPattern(regex);
+
+            if (cachedPatterns.size() >= maxCachedPatterns)
+            {
+                /*
+                 * Searches tend to reuse a small number of regular expressions so it is simplest to start again
+                 * when the cache is full.
+                 */
+                cachedPatterns.clear();
+            }
+
+            cachedPatterns.put(regex, searchPattern);
+        }
+
+        return searchPattern;
+    }
+
+
+    /**
+     * Test whether a value matches a regular expression.  This gives the same result as value.matches(regex).
+     *
+     * @param value value to test
+     * @param regex regular expression
+     * @return boolean flag
+     * @throws java.util.regex.PatternSyntaxException the regular expression is invalid
+     */
+    public static boolean matches(String   value,
+                                  String   regex)
+    {
+        return getSearchPattern(regex).matches(value);
+    }
+
+
+    /**
+     * Constructor works out how the regular expression can be evaluated.  Only regular expressions that
+     * are a single quoted literal, optionally preceded and/or followed by ".*", are matched without the
+     * regular expression engine.
+     *
+     * @param regex regular expression
+     */
+    private OMRSSearchPattern(String   regex)
+    {
+        if (regex == null)
+        {
+            throw new NullPointerException();
+        }
+
+        this.regex = regex;
+
+        boolean leadingWildcard  = regex.startsWith(wildcard + quoteStart);
+        boolean trailingWildcard = regex.endsWith(quoteEnd + wildcard);
+        int     literalStart     = leadingWildcard ? wildcard.length() : 0;
+        int     literalEnd       = trailingWildcard ? regex.length() - wildcard.length() : regex.length();
+
+        String quotedLiteral = literalStart <= literalEnd ? regex.substring(literalStart, literalEnd) : "";
+
+        if ((quotedLiteral.length() >= quoteStart.length() + quoteEnd.length()) &&
+            (quotedLiteral.startsWith(quoteStart)) &&
+            (quotedLiteral.endsWith(quoteEnd)) &&
+            (quotedLiteral.indexOf(quoteEnd) == quotedLiteral.length() - quoteEnd.length()))
+        {
+            this.literal = quotedLiteral.substring(quoteStart.length(), quotedLiteral.length() - quoteEnd.length());
+
+            if (leadingWildcard && trailingWildcard)
+            {
+                this.matchStyle = MatchStyle.CONTAINS;
+            }
+            else if (leadingWildcard)
+            {
+                this.matchStyle = MatchStyle.ENDS_WITH;
+            }
+            else if (trailingWildcard)
+            {
+                this.matchStyle = MatchStyle.STARTS_WITH;
+            }
+            else
+            {
+                this.matchStyle = MatchStyle.EXACT_MATCH;
+            }
+        }
+        else
+        {
+            this.literal = null;
+            this.matchStyle = MatchStyle.REGEX;
+        }
+    }
+
+
+    /**
+     * Return the regular expression.
+     *
+     * @return regex string
+     */
+    public String getRegex()
+    {
+        return regex;
+    }
+
+
+    /**
+     * Test whether the whole of the value matches the regular expression.
+     *
+     * @param value value to test
+     * @return boolean flag
+     * @throws java.util.regex.PatternSyntaxException the regular expression is invalid
+     * @throws NullPointerException the value is null
+     */
+    public boolean matches(String   value)
+    {
+        if (value == null)
+        {
+            throw new NullPointerException();
+        }
+
+        switch (matchStyle)
+        {
+            case EXACT_MATCH:
+                return value.equals(literal);
+
+            case STARTS_WITH:
+                if (value.startsWith(literal))
+                {
+                    return this.hasNoLineTerminators(value, literal.length(), value.length());
+                }
+                return false;
+
+            case ENDS_WITH:
+                if (value.endsWith(literal))
+                {
+                    return this.hasNoLineTerminators(value, 0, value.length() - literal.length());
+                }
+                return false;
+
+            case CONTAINS:
+                /*
+                 * The wildcards do not match line terminators so values that contain them are left to
+                 * the regular expression engine.
+                 */
+                if (this.hasNoLineTerminators(value, 0, value.length()))
+                {
+                    return value.contains(literal);
+                }
+                break;
+        }
+
+        return this.getPattern().matcher(value).matches();
+    }
+
+
+    /**
+     * Return the compiled regular expression - it is compiled the first time it is needed.
+     *
+     * @return pattern
+     */
+    private Pattern getPattern()
+    {
+        Pattern compiledPattern = pattern;
+
+        if (compiledPattern == null)
+        {
+            compiledPattern = Pattern.compile(regex);
+            pattern = compiledPattern;
+        }
+
+        return compiledPattern;
+    }
+
+
+    /**
+     * Check whether part of a value could be matched by ".*".  The "." does not match line terminators.
+     *
+     * @param value value to test
+     * @param start start of the part to test
+     * @param end end of the part to test
+     * @return false if there is a line terminator in the part of the value
+     */
+    private boolean hasNoLineTerminators(String   value,
+                                         int      start,
+                                         int      end)
+    {
+        for (int index = start; index < end; index++)
+        {
+            char character = value.charAt(index);
+
+            if ((character == '\n') || (character == '\r') || (character == '\u0085') ||
+                (character == '\u2028') || (character == '\u2029'))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSSearchPattern{" +
+                       "regex='" + regex + '\'' +
+                       ", matchStyle=" + matchStyle +
+                       '}';
+    }
+}
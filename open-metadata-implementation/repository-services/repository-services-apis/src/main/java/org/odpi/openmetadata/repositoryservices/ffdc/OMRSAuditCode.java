@@ -370,6 +370,12 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                        "The local server has completed the processing of the open metadata archive.",
                        "Verify that the expected content has loaded into the local repository."),
 
+    ARCHIVE_LOAD_PHASE_COMPLETE("OMRS-AUDIT-0054",
+                       OMRSAuditLogRecordSeverity.INFO,
+                       "The Open Metadata Repository Services (OMRS) has loaded {0} {1} from open metadata archive {2} in {3} milliseconds ({4} per second) using {5} thread(s)",
+                       "The local server has completed one phase of the processing of the open metadata archive.",
+                       "Use the load times to tune the number of threads used to load large archives."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.COHORT,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
@@ -726,6 +726,10 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The home metadata collection identifier {0} found by method {1} for instance with GUID {2} is not the metadata collection identifier {3} for the local metadata repository {4}",
             "A request to update a metadata instance (entity or relationship) has been encountered on a reference copy metadata instance.",
             "Locate the open metadata repository that has the home instance and perform the update at that repository."),
+    INSTANCES_NOT_REMOVED(500, "OMRS-METADATA-COLLECTION-500-017",
+            "The {0} method of repository {1} was unable to remove instances {2} after the request to create a batch of instances failed with exception {3} and message {4}",
+            "The server created some of the instances in the batch before one of them failed.  It has tried to remove the instances it created, but these ones could not be removed and are still in the repository.",
+            "Use the original exception to correct the batch.  Then delete the listed instances, or leave them out of the batch, before retrying the request."),
     NULL_COHORT_NAME(500, "OMRS-COHORT-MANAGER-500-001",
             "OMRSCohortManager has been initialized with a null cohort name",
             "There is an internal error within the OMRS initialization.",
@@ -0,0 +1,206 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate the ordering key that OpenMetadataTopicConnector uses to choose the dispatch thread for an event,
+ * the parsing of an event into the tree that is passed to the listeners and the reading of the numeric
+ * configuration properties.
+ */
+public class OpenMetadataTopicConnectorTest
+{
+    /**
+     * Topic connector that does not connect to a real topic.
+     */
+    private static class TestTopicConnector extends OpenMetadataTopicConnector
+    {
+        /**
+         * Events are not sent anywhere.
+         *
+         * @param event event to send
+         */
+        @Override
+        public void sendEvent(String event)
+        {
+        }
+    }
+
+
+    private final TestTopicConnector connector = new TestTopicConnector();
+
+
+    /**
+     * Return an entity with the requested unique identifier.
+     *
+     * @param guid unique identifier
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+
+        return entity;
+    }
+
+
+    /**
+     * Return a relationship with the requested unique identifier.
+     *
+     * @param guid unique identifier
+     * @return relationship
+     */
+    private Relationship getRelationship(String guid)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+
+        return relationship;
+    }
+
+
+    /**
+     * Convert an instance event into the tree that the topic connector parses from the topic.
+     *
+     * @param event instance event
+     * @return event tree
+     * @throws Exception problem in test
+     */
+    private JsonNode getEventTree(OMRSInstanceEvent event) throws Exception
+    {
+        return OpenMetadataTopicEventMapper.readTree(OpenMetadataTopicEventMapper.writeEvent(event.getOMRSEventV1()));
+    }
+
+
+    /**
+     * Entity and relationship events, including classification events, are keyed by the instance they are about.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testInstanceOrderingKey() throws Exception
+    {
+        JsonNode newEntityEvent = getEventTree(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT,
+                                                                     getEntity("entity-1")));
+        JsonNode classifiedEvent = getEventTree(new OMRSInstanceEvent(OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT,
+                                                                      getEntity("entity-1"),
+                                                                      null,
+                                                                      new Classification()));
+        JsonNode newRelationshipEvent = getEventTree(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT,
+                                                                           getRelationship("relationship-1")));
+        JsonNode purgedEvent = getEventTree(new OMRSInstanceEvent(OMRSInstanceEventType.PURGED_ENTITY_EVENT,
+                                                                  "type-guid",
+                                                                  "type-name",
+                                                                  "entity-1"));
+
+        assertEquals(connector.getEventOrderingKey(newEntityEvent), "entity-1");
+        assertEquals(connector.getEventOrderingKey(classifiedEvent), "entity-1");
+        assertEquals(connector.getEventOrderingKey(newRelationshipEvent), "relationship-1");
+        assertEquals(connector.getEventOrderingKey(purgedEvent), "entity-1");
+    }
+
+
+    /**
+     * A re-identify event is keyed by the original identifier of the instance so it is processed after the
+     * earlier events about the instance.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testReIdentifyOrderingKey() throws Exception
+    {
+        JsonNode entityEvent = getEventTree(new OMRSInstanceEvent(OMRSInstanceEventType.RE_IDENTIFIED_ENTITY_EVENT,
+                                                                  getEntity("old-entity"),
+                                                                  getEntity("new-entity")));
+        JsonNode relationshipEvent = getEventTree(new OMRSInstanceEvent(OMRSInstanceEventType.RE_IDENTIFIED_RELATIONSHIP_EVENT,
+                                                                        getRelationship("old-relationship"),
+                                                                        getRelationship("new-relationship")));
+
+        assertEquals(connector.getEventOrderingKey(entityEvent), "old-entity");
+        assertEquals(connector.getEventOrderingKey(relationshipEvent), "old-relationship");
+    }
+
+
+    /**
+     * Events that are not about a single instance have no key.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testNoOrderingKey() throws Exception
+    {
+        assertNull(connector.getEventOrderingKey(OpenMetadataTopicEventMapper.readTree("{\"eventCategory\":\"REGISTRY\"}")));
+        assertNull(connector.getEventOrderingKey(OpenMetadataTopicEventMapper.readTree("{\"instanceEventSection\":\"text\"}")));
+        assertNull(connector.getEventOrderingKey(OpenMetadataTopicEventMapper.readTree("[]")));
+    }
+
+
+    /**
+     * The tree of an event returns the same properties as the streaming parser and binds to the event bean.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testEventTree() throws Exception
+    {
+        OMRSInstanceEvent event = new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, getEntity("entity-1"));
+        String            json  = OpenMetadataTopicEventMapper.writeEvent(event.getOMRSEventV1());
+        JsonNode          tree  = OpenMetadataTopicEventMapper.readTree(json);
+
+        assertEquals(OpenMetadataTopicEventMapper.getProperty(tree, "eventCategory"),
+                     OpenMetadataTopicEventMapper.peekProperty(json, "eventCategory"));
+        assertEquals(OpenMetadataTopicEventMapper.getProperty(tree, "instanceEventSection", "entity", "guid"), "entity-1");
+        assertNull(OpenMetadataTopicEventMapper.getProperty(tree, "instanceEventSection", "entity"));
+        assertNull(OpenMetadataTopicEventMapper.getProperty(tree, "instanceEventSection", "relationship", "guid"));
+
+        OMRSEventBean eventBean = OpenMetadataTopicEventMapper.readEvent(tree, OMRSEventBean.class);
+
+        assertTrue(eventBean instanceof OMRSEventV1);
+        assertEquals(((OMRSEventV1)eventBean).getInstanceEventSection().getEntity().getGUID(), "entity-1");
+    }
+
+
+    /**
+     * Numeric configuration properties may be any number or a string holding a whole number.  Other values
+     * are ignored.
+     */
+    @Test
+    public void testIntegerProperty()
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("intValue", 4);
+        configurationProperties.put("longValue", 8L);
+        configurationProperties.put("stringValue", " 16 ");
+        configurationProperties.put("zeroValue", 0);
+        configurationProperties.put("tooLargeValue", 5000000000L);
+        configurationProperties.put("textValue", "many");
+
+        assertEquals(connector.getIntegerProperty(configurationProperties, "intValue", 1), 4);
+        assertEquals(connector.getIntegerProperty(configurationProperties, "longValue", 1), 8);
+        assertEquals(connector.getIntegerProperty(configurationProperties, "stringValue", 1), 16);
+        assertEquals(connector.getIntegerProperty(configurationProperties, "zeroValue", 1), 1);
+        assertEquals(connector.getIntegerProperty(configurationProperties, "tooLargeValue", 1), 1);
+        assertEquals(connector.getIntegerProperty(configurationProperties, "textValue", 1), 1);
+        assertEquals(connector.getIntegerProperty(configurationProperties, "missingValue", 1), 1);
+    }
+}
@@ -0,0 +1,566 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate the default implementation of OMRSMetadataCollection.addInstances: the order in which the instances
+ * are created, the linking of relationships to the new entities and the removal of the new instances when one
+ * instance fails.
+ */
+public class OMRSMetadataCollectionAddInstancesTest
+{
+    private static final String userId               = "testUser";
+    private static final String entityTypeGUID       = "entity-type";
+    private static final String relationshipTypeGUID = "relationship-type";
+    private static final String failingTypeGUID      = "failing-type";
+    private static final String existingEntityGUID   = "existing-entity";
+
+
+    /**
+     * Metadata collection that records the instances it is asked to create and remove.  Instances with the
+     * failing type are rejected.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private final List<String> requests            = new ArrayList<>();
+        private final Set<String>  unremovableGUIDs    = new HashSet<>();
+        private boolean            softDeleteSupported = true;
+        private int                nextGUID            = 1;
+
+
+        /**
+         * Constructor
+         */
+        TestMetadataCollection()
+        {
+            super(null, "TestRepository", null, null, "TestMetadataCollectionId");
+        }
+
+
+        /**
+         * Record the request and return a new entity.
+         *
+         * @param userId calling user
+         * @param entityTypeGUID type of entity
+         * @param initialProperties properties
+         * @param initialClassifications classifications
+         * @param initialStatus status
+         * @return new entity
+         * @throws TypeErrorException the type is the failing type
+         */
+        @Override
+        public EntityDetail addEntity(String                     userId,
+                                      String                     entityTypeGUID,
+                                      InstanceProperties         initialProperties,
+                                      List<Classification>       initialClassifications,
+                                      InstanceStatus             initialStatus) throws TypeErrorException
+        {
+            final String methodName = "addEntity";
+
+            if (failingTypeGUID.equals(entityTypeGUID))
+            {
+                requests.add("failed entity");
+
+                throw new TypeErrorException(OMRSErrorCode.UNEXPECTED_EXCEPTION.getMessageDefinition(),
+                                             this.getClass().getName(),
+                                             methodName);
+            }
+
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID("new-" + nextGUID++);
+            entity.setType(getType(entityTypeGUID));
+            entity.setProperties(initialProperties);
+            requests.add("entity " + entity.getGUID());
+
+            return entity;
+        }
+
+
+        /**
+         * Record the request and return a new relationship.
+         *
+         * @param userId calling user
+         * @param relationshipTypeGUID type of relationship
+         * @param initialProperties properties
+         * @param entityOneGUID first end
+         * @param entityTwoGUID second end
+         * @param initialStatus status
+         * @return new relationship
+         * @throws TypeErrorException the type is the failing type
+         */
+        @Override
+        public Relationship addRelationship(String               userId,
+                                            String               relationshipTypeGUID,
+                                            InstanceProperties   initialProperties,
+                                            String               entityOneGUID,
+                                            String               entityTwoGUID,
+                                            InstanceStatus       initialStatus) throws TypeErrorException
+        {
+            final String methodName = "addRelationship";
+
+            if (failingTypeGUID.equals(relationshipTypeGUID))
+            {
+                requests.add("failed relationship");
+
+                throw new TypeErrorException(OMRSErrorCode.UNEXPECTED_EXCEPTION.getMessageDefinition(),
+                                             this.getClass().getName(),
+                                             methodName);
+            }
+
+            Relationship relationship = new Relationship();
+
+            relationship.setGUID("new-" + nextGUID++);
+            relationship.setType(getType(relationshipTypeGUID));
+            relationship.setEntityOneProxy(getProxy(entityOneGUID));
+            relationship.setEntityTwoProxy(getProxy(entityTwoGUID));
+            requests.add("relationship " + entityOneGUID + "->" + entityTwoGUID);
+
+            return relationship;
+        }
+
+
+        /**
+         * Record the request to delete an entity.
+         *
+         * @param userId calling user
+         * @param typeDefGUID type of entity
+         * @param typeDefName name of the type
+         * @param obsoleteEntityGUID entity to delete
+         * @return null
+         * @throws FunctionNotSupportedException soft-delete is not supported
+         */
+        @Override
+        public EntityDetail deleteEntity(String userId,
+                                         String typeDefGUID,
+                                         String typeDefName,
+                                         String obsoleteEntityGUID) throws FunctionNotSupportedException
+        {
+            checkSoftDelete(typeDefGUID, "deleteEntity");
+            requests.add("delete " + obsoleteEntityGUID);
+
+            return null;
+        }
+
+
+        /**
+         * Record the request to purge an entity.
+         *
+         * @param userId calling user
+         * @param typeDefGUID type of entity
+         * @param typeDefName name of the type
+         * @param deletedEntityGUID entity to purge
+         * @throws RepositoryErrorException the entity can not be removed
+         */
+        @Override
+        public void purgeEntity(String userId,
+                                String typeDefGUID,
+                                String typeDefName,
+                                String deletedEntityGUID) throws RepositoryErrorException
+        {
+            checkRemovable(typeDefGUID, deletedEntityGUID, "purgeEntity");
+            requests.add("purge " + deletedEntityGUID);
+        }
+
+
+        /**
+         * Record the request to delete a relationship.
+         *
+         * @param userId calling user
+         * @param typeDefGUID type of relationship
+         * @param typeDefName name of the type
+         * @param obsoleteRelationshipGUID relationship to delete
+         * @return null
+         * @throws FunctionNotSupportedException soft-delete is not supported
+         */
+        @Override
+        public Relationship deleteRelationship(String userId,
+                                               String typeDefGUID,
+                                               String typeDefName,
+                                               String obsoleteRelationshipGUID) throws FunctionNotSupportedException
+        {
+            checkSoftDelete(typeDefGUID, "deleteRelationship");
+            requests.add("delete " + obsoleteRelationshipGUID);
+
+            return null;
+        }
+
+
+        /**
+         * Record the request to purge a relationship.
+         *
+         * @param userId calling user
+         * @param typeDefGUID type of relationship
+         * @param typeDefName name of the type
+         * @param deletedRelationshipGUID relationship to purge
+         * @throws RepositoryErrorException the relationship can not be removed
+         */
+        @Override
+        public void purgeRelationship(String userId,
+                                      String typeDefGUID,
+                                      String typeDefName,
+                                      String deletedRelationshipGUID) throws RepositoryErrorException
+        {
+            checkRemovable(typeDefGUID, deletedRelationshipGUID, "purgeRelationship");
+            requests.add("purge " + deletedRelationshipGUID);
+        }
+
+
+        /**
+         * Reject a soft-delete request if soft-delete is not supported.
+         *
+         * @param typeDefGUID type of the instance
+         * @param methodName calling method
+         * @throws FunctionNotSupportedException soft-delete is not supported
+         */
+        private void checkSoftDelete(String typeDefGUID,
+                                     String methodName) throws FunctionNotSupportedException
+        {
+            assertTrue(typeDefGUID != null);
+
+            if (! softDeleteSupported)
+            {
+                throw new FunctionNotSupportedException(OMRSErrorCode.UNEXPECTED_EXCEPTION.getMessageDefinition(),
+                                                        this.getClass().getName(),
+                                                        methodName);
+            }
+        }
+
+
+        /**
+         * Reject a purge request for an instance that can not be removed.
+         *
+         * @param typeDefGUID type of the instance
+         * @param guid instance to purge
+         * @param methodName calling method
+         * @throws RepositoryErrorException the instance can not be removed
+         */
+        private void checkRemovable(String typeDefGUID,
+                                    String guid,
+                                    String methodName) throws RepositoryErrorException
+        {
+            assertTrue(typeDefGUID != null);
+
+            if (unremovableGUIDs.contains(guid))
+            {
+                requests.add("failed purge " + guid);
+
+                throw new RepositoryErrorException(OMRSErrorCode.UNEXPECTED_EXCEPTION.getMessageDefinition(),
+                                                   this.getClass().getName(),
+                                                   methodName);
+            }
+        }
+    }
+
+
+    /**
+     * Return an instance type.
+     *
+     * @param typeGUID type of the instance
+     * @return type
+     */
+    private static InstanceType getType(String typeGUID)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeGUID);
+
+        return type;
+    }
+
+
+    /**
+     * Return a template entity.
+     *
+     * @param guid template GUID
+     * @param typeGUID type of the entity
+     * @return entity
+     */
+    private static EntityDetail getEntity(String guid,
+                                          String typeGUID)
+    {
+        EntityDetail entity = new EntityDetail();
+        InstanceType type   = new InstanceType();
+
+        type.setTypeDefGUID(typeGUID);
+        entity.setType(type);
+        entity.setGUID(guid);
+
+        return entity;
+    }
+
+
+    /**
+     * Return a template relationship.
+     *
+     * @param typeGUID type of the relationship
+     * @param entityOneGUID first end
+     * @param entityTwoGUID second end
+     * @return relationship
+     */
+    private static Relationship getRelationship(String typeGUID,
+                                                String entityOneGUID,
+                                                String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        InstanceType type         = new InstanceType();
+
+        type.setTypeDefGUID(typeGUID);
+        relationship.setType(type);
+        relationship.setEntityOneProxy(getProxy(entityOneGUID));
+        relationship.setEntityTwoProxy(getProxy(entityTwoGUID));
+
+        return relationship;
+    }
+
+
+    /**
+     * Return an entity proxy.
+     *
+     * @param guid GUID of the entity
+     * @return proxy
+     */
+    private static EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        proxy.setGUID(guid);
+
+        return proxy;
+    }
+
+
+    /**
+     * Entities are created in the order supplied, before any relationship, and relationships are connected to
+     * the entities created from the template entities they name.  Other ends are left unchanged.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testOrdering() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        InstanceGraph instances = new InstanceGraph(Arrays.asList(getEntity("template-1", entityTypeGUID),
+                                                                  getEntity("template-2", entityTypeGUID),
+                                                                  getEntity("template-3", entityTypeGUID)),
+                                                    Arrays.asList(getRelationship(relationshipTypeGUID, "template-3", "template-1"),
+                                                                  getRelationship(relationshipTypeGUID, "template-2", existingEntityGUID)));
+
+        InstanceGraph results = metadataCollection.addInstances(userId, instances);
+
+        assertEquals(metadataCollection.requests, Arrays.asList("entity new-1",
+                                                                "entity new-2",
+                                                                "entity new-3",
+                                                                "relationship new-3->new-1",
+                                                                "relationship new-2->" + existingEntityGUID));
+
+        assertEquals(results.getEntities().size(), 3);
+        assertEquals(results.getEntities().get(0).getGUID(), "new-1");
+        assertEquals(results.getEntities().get(1).getGUID(), "new-2");
+        assertEquals(results.getEntities().get(2).getGUID(), "new-3");
+
+        assertEquals(results.getRelationships().size(), 2);
+        assertEquals(results.getRelationships().get(0).getEntityOneProxy().getGUID(), "new-3");
+        assertEquals(results.getRelationships().get(0).getEntityTwoProxy().getGUID(), "new-1");
+        assertEquals(results.getRelationships().get(1).getEntityTwoProxy().getGUID(), existingEntityGUID);
+    }
+
+
+    /**
+     * When an entity fails, nothing after it is attempted, the entities before it are removed and the
+     * exception is returned to the caller.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testPartialFailureOnEntity() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        InstanceGraph instances = new InstanceGraph(Arrays.asList(getEntity("template-1", entityTypeGUID),
+                                                                  getEntity("template-2", failingTypeGUID),
+                                                                  getEntity("template-3", entityTypeGUID)),
+                                                    Collections.singletonList(getRelationship(relationshipTypeGUID, "template-1", "template-3")));
+
+        try
+        {
+            metadataCollection.addInstances(userId, instances);
+            fail("TypeErrorException expected");
+        }
+        catch (TypeErrorException error)
+        {
+            assertEquals(metadataCollection.requests, Arrays.asList("entity new-1",
+                                                                    "failed entity",
+                                                                    "delete new-1",
+                                                                    "purge new-1"));
+        }
+    }
+
+
+    /**
+     * When a relationship fails, the relationships before it and then all of the entities are removed in
+     * reverse order and the exception is returned to the caller.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testPartialFailureOnRelationship() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        InstanceGraph instances = new InstanceGraph(Arrays.asList(getEntity("template-1", entityTypeGUID),
+                                                                  getEntity("template-2", entityTypeGUID)),
+                                                    Arrays.asList(getRelationship(relationshipTypeGUID, "template-1", "template-2"),
+                                                                  getRelationship(failingTypeGUID, "template-2", "template-1"),
+                                                                  getRelationship(relationshipTypeGUID, "template-2", "template-1")));
+
+        try
+        {
+            metadataCollection.addInstances(userId, instances);
+            fail("TypeErrorException expected");
+        }
+        catch (TypeErrorException error)
+        {
+            assertEquals(metadataCollection.requests, Arrays.asList("entity new-1",
+                                                                    "entity new-2",
+                                                                    "relationship new-1->new-2",
+                                                                    "failed relationship",
+                                                                    "delete new-3",
+                                                                    "purge new-3",
+                                                                    "delete new-2",
+                                                                    "purge new-2",
+                                                                    "delete new-1",
+                                                                    "purge new-1"));
+        }
+    }
+
+
+    /**
+     * A repository that does not support soft-delete has the new instances purged straight away.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testRemovalWithoutSoftDelete() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        metadataCollection.softDeleteSupported = false;
+
+        InstanceGraph instances = new InstanceGraph(Arrays.asList(getEntity("template-1", entityTypeGUID),
+                                                                  getEntity("template-2", failingTypeGUID)),
+                                                    null);
+
+        try
+        {
+            metadataCollection.addInstances(userId, instances);
+            fail("TypeErrorException expected");
+        }
+        catch (TypeErrorException error)
+        {
+            assertEquals(metadataCollection.requests, Arrays.asList("entity new-1", "failed entity", "purge new-1"));
+        }
+    }
+
+
+    /**
+     * When some of the new instances can not be removed, the caller is told which instances are still in the
+     * repository.  The other instances are still removed.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testIncompleteRemoval() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        metadataCollection.unremovableGUIDs.add("new-2");
+
+        InstanceGraph instances = new InstanceGraph(Arrays.asList(getEntity("template-1", entityTypeGUID),
+                                                                  getEntity("template-2", entityTypeGUID),
+                                                                  getEntity("template-3", failingTypeGUID)),
+                                                    null);
+
+        try
+        {
+            metadataCollection.addInstances(userId, instances);
+            fail("RepositoryErrorException expected");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getRelatedProperties().get("createdGUIDs"), Collections.singletonList("new-2"));
+            assertTrue(error.getCause() instanceof TypeErrorException);
+            assertEquals(metadataCollection.requests, Arrays.asList("entity new-1",
+                                                                    "entity new-2",
+                                                                    "failed entity",
+                                                                    "delete new-2",
+                                                                    "failed purge new-2",
+                                                                    "delete new-1",
+                                                                    "purge new-1"));
+        }
+    }
+
+
+    /**
+     * An instance without a type is rejected as an invalid parameter.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testMissingType() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        EntityDetail untypedEntity = new EntityDetail();
+
+        try
+        {
+            metadataCollection.addInstances(userId, new InstanceGraph(Collections.singletonList(untypedEntity), null));
+            fail("InvalidParameterException expected");
+        }
+        catch (InvalidParameterException error)
+        {
+            assertTrue(metadataCollection.requests.isEmpty());
+        }
+    }
+
+
+    /**
+     * No instances means no result.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testNullInstances() throws Exception
+    {
+        assertNull(new TestMetadataCollection().addInstances(userId, null));
+    }
+}
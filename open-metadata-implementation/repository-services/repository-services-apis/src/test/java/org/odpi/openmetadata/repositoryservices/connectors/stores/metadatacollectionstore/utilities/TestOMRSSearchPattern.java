@@ -0,0 +1,52 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities;
+
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Verify that OMRSSearchPattern gives the same results as String.matches().
+ */
+public class TestOMRSSearchPattern
+{
+    private final String[] literals = { "abc", "a.c", "", "x\\Ey", "Q" };
+    private final String[] values   = { "abc", "xabc", "abcx", "xabcx", "a.c", "ab", "", "a\nabc", "abc\n", "x\\Ey", "zzx\\Eyzz" };
+
+
+    @Test
+    void testMatchesLikeString()
+    {
+        for (String literal : literals)
+        {
+            String quotedLiteral = Pattern.quote(literal);
+            String[] regexes = { quotedLiteral,
+                                 ".*" + quotedLiteral,
+                                 quotedLiteral + ".*",
+                                 ".*" + quotedLiteral + ".*",
+                                 "(?i)" + quotedLiteral,
+                                 "a.*" };
+
+            for (String regex : regexes)
+            {
+                for (String value : values)
+                {
+                    assertEquals(OMRSSearchPattern.matches(value, regex), value.matches(regex), regex + " / " + value);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    void testPatternsAreCached()
+    {
+        String regex = ".*\\Qcached\\E.*";
+
+        assertSame(OMRSSearchPattern.getSearchPattern(regex), OMRSSearchPattern.getSearchPattern(regex));
+    }
+}
@@ -1180,6 +1180,46 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  All of the entities are
+     * requested in a single call.  Entities that are not known, are only stored as proxies, or can not be
+     * retrieved for this user are omitted from the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of the entities that were found, in the order of the supplied GUIDs - or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support retrieving many entities at once.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           FunctionNotSupportedException,
+                                                                           UserNotAuthorizedException
+    {
+        final String methodName  = "getEntityDetails";
+        final String operationSpecificURL = "instances/entities/by-guids";
+
+        GUIDListRequest requestBody = new GUIDListRequest();
+        requestBody.setGUIDs(guids);
+
+        EntityListResponse restResult = this.callEntityListPostRESTCall(methodName,
+                                                                        restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                        requestBody,
+                                                                        userId);
+
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getEntities();
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -4750,6 +4790,70 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Create the entities and relationships supplied in the instance graph as new instances homed in the
+     * remote metadata collection.  Relationships whose entity proxies carry the GUID of an entity in the graph
+     * are connected to the entity created from it.  All of the instances are sent in a single request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param instances template instances to create.
+     * @return graph of the newly created entities and relationships.
+     * @throws InvalidParameterException one of the instances has no type.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException the requested type is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the instance's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for an entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       the requested status.
+     * @throws EntityNotKnownException one of the entities identified by a relationship is not found in the
+     *                                   metadata collection.
+     * @throws FunctionNotSupportedException the repository does not support maintaining instances.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceGraph addInstances(String        userId,
+                                      InstanceGraph instances) throws InvalidParameterException,
+                                                                      RepositoryErrorException,
+                                                                      TypeErrorException,
+                                                                      PropertyErrorException,
+                                                                      ClassificationErrorException,
+                                                                      StatusNotSupportedException,
+                                                                      EntityNotKnownException,
+                                                                      FunctionNotSupportedException,
+                                                                      UserNotAuthorizedException
+    {
+        final String methodName  = "addInstances";
+        final String operationSpecificURL = "instances/new";
+
+        InstanceGraphRequest requestBody = new InstanceGraphRequest();
+        if (instances != null)
+        {
+            requestBody.setEntityElementList(instances.getEntities());
+            requestBody.setRelationshipElementList(instances.getRelationships());
+        }
+
+        InstanceGraphResponse restResult = this.callInstanceGraphPostRESTCall(methodName,
+                                                                              restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                              requestBody,
+                                                                              userId);
+
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowTypeErrorException(methodName, restResult);
+        this.detectAndThrowPropertyErrorException(methodName, restResult);
+        this.detectAndThrowClassificationErrorException(methodName, restResult);
+        this.detectAndThrowStatusNotSupportedException(methodName, restResult);
+        this.detectAndThrowEntityNotKnownException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return this.getInstanceGraphFromRESTResult(restResult);
+    }
+
+
     /*
      * ===============================
      * REST Client
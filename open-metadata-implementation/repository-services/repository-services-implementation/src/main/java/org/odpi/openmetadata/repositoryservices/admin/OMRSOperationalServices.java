@@ -33,6 +33,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConfigErrorEx
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSConnectorProvider;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSInstanceCache;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSConnectorProvider;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
@@ -87,6 +88,7 @@ public class OMRSOperationalServices
     private String                         enterpriseMetadataCollectionId   = null;
     private String                         enterpriseMetadataCollectionName = null;
     private OMRSTopicConnector             enterpriseOMRSTopicConnector     = null;
+    private EnterpriseOMRSInstanceCache    enterpriseInstanceCache          = null;
     private LocalOMRSRepositoryConnector   localRepositoryConnector         = null;
     private OMRSArchiveManager             archiveManager                   = null;
     private OMRSAuditLogDestination        auditLogDestination              = null;
@@ -169,6 +171,7 @@ public class OMRSOperationalServices
 
                 omrsRepositoryConnector.setCallingServiceName(callingServiceName);
                 omrsRepositoryConnector.setMaxPageSize(maxPageSize);
+                omrsRepositoryConnector.setInstanceCache(enterpriseInstanceCache);
 
                 auditLog.logMessage(actionDescription, OMRSAuditCode.NEW_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
 
@@ -349,6 +352,34 @@ public class OMRSOperationalServices
                                                                           localRepositoryContentManager);
         enterpriseOMRSTopicConnector = initializeEnterpriseOMRSTopicConnector(enterpriseAccessConfig);
 
+        /*
+         * The enterprise repository connectors share a cache of recently retrieved entities and TypeDefs.
+         * The cache relies on the events from the enterprise OMRS topic to remove changed elements, so it is
+         * only used if the topic is active.  Its limits may be set in the enterprise access configuration and
+         * a maximum size of zero turns it off.
+         */
+        if (enterpriseOMRSTopicConnector != null)
+        {
+            int  cacheMaxEntries = EnterpriseOMRSInstanceCache.DEFAULT_MAX_ENTRIES;
+            long cacheTimeToLive = EnterpriseOMRSInstanceCache.DEFAULT_TIME_TO_LIVE;
+
+            if (enterpriseAccessConfig.getEnterpriseInstanceCacheMaxEntries() != null)
+            {
+                cacheMaxEntries = enterpriseAccessConfig.getEnterpriseInstanceCacheMaxEntries();
+            }
+
+            if (enterpriseAccessConfig.getEnterpriseInstanceCacheTimeToLive() != null)
+            {
+                cacheTimeToLive = enterpriseAccessConfig.getEnterpriseInstanceCacheTimeToLive();
+            }
+
+            if ((cacheMaxEntries > 0) && (cacheTimeToLive > 0))
+            {
+                enterpriseInstanceCache = new EnterpriseOMRSInstanceCache(cacheMaxEntries, cacheTimeToLive);
+                enterpriseOMRSTopicConnector.registerListener(enterpriseInstanceCache);
+            }
+        }
+
         /*
          * The archive manager loads pre-defined types and instances that are stored in open metadata archives.
          */
@@ -877,6 +908,12 @@ public class OMRSOperationalServices
             metadataHighwayManager.disconnect(permanent);
         }
 
+        if (enterpriseInstanceCache != null)
+        {
+            log.debug("Enterprise instance cache activity: " + enterpriseInstanceCache);
+            enterpriseInstanceCache.clear();
+        }
+
         if (enterpriseOMRSTopicConnector != null)
         {
             try
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.repositoryservices.archivemanager;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
 
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
@@ -11,16 +12,30 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessorInterface;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * OMRSArchiveManager manages the loading and unloading of open metadata archives from the local OMRS repository.
@@ -28,6 +43,10 @@ import java.util.List;
  */
 public class OMRSArchiveManager
 {
+    private static final String archiveLoadThreadsProperty = "archiveLoadThreads";
+
+    private static final Logger log = LoggerFactory.getLogger(OMRSArchiveManager.class);
+
     private List<OpenMetadataArchiveStoreConnector> openMetadataArchiveStores   = new ArrayList<>();
     private OMRSRepositoryContentManager            repositoryContentManager    = null;
     private OMRSInstanceEventProcessorInterface     localInstanceEventProcessor = null;
@@ -158,24 +177,82 @@ public class OMRSArchiveManager
         {
             /*
              * Each archive store has a header, a section of new type definitions (TypeDefs) and a section of
-             * metadata instances.
+             * metadata instances.  The archive store passes them to the loader in that order, with the instances
+             * in batches, so the archive does not need to be held in memory while it is loaded.
              */
-            OpenMetadataArchive archiveContent = archiveStore.getArchiveContents();
+            ArchiveContentLoader loader = new ArchiveContentLoader(archiveSource,
+                                                                   typeDefProcessor,
+                                                                   instanceProcessor,
+                                                                   this.getArchiveLoadThreads(archiveStore));
 
-            if (archiveContent == null)
+            try
             {
-                final String     actionDescription = "Process Open Metadata Archive";
-
-                auditLog.logMessage(actionDescription, OMRSAuditCode.EMPTY_ARCHIVE.getMessageDefinition(archiveSource));
+                archiveStore.processArchiveContents(loader);
+                loader.completeArchive();
             }
-            else
+            finally
             {
-                processOpenMetadataArchive(archiveContent, archiveSource, typeDefProcessor, instanceProcessor);
+                loader.shutdown();
             }
         }
     }
 
 
+    /**
+     * Return the number of threads to use to load the instances from an archive.  This is set in the
+     * archiveLoadThreads configuration property of the archive's connection.  The value may be any number or
+     * a string holding a whole number.  The default is to load the instances one at a time on the calling thread.
+     * A value that is not a positive whole number is ignored.
+     *
+     * @param archiveStore connector to the archive
+     * @return number of threads
+     */
+    private int getArchiveLoadThreads(OpenMetadataArchiveStoreConnector    archiveStore)
+    {
+        ConnectionProperties connectionProperties = archiveStore.getConnection();
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object loadThreadsProperty = configurationProperties.get(archiveLoadThreadsProperty);
+
+                if (loadThreadsProperty != null)
+                {
+                    long loadThreads = 0;
+
+                    try
+                    {
+                        if (loadThreadsProperty instanceof Number)
+                        {
+                            loadThreads = ((Number) loadThreadsProperty).longValue();
+                        }
+                        else if (loadThreadsProperty instanceof String)
+                        {
+                            loadThreads = Long.parseLong(((String) loadThreadsProperty).trim());
+                        }
+                    }
+                    catch (NumberFormatException error)
+                    {
+                        loadThreads = 0;
+                    }
+
+                    if ((loadThreads > 0) && (loadThreads <= Integer.MAX_VALUE))
+                    {
+                        return (int) loadThreads;
+                    }
+
+                    log.warn("Ignoring " + archiveLoadThreadsProperty + " value " + loadThreadsProperty + "; using 1");
+                }
+            }
+        }
+
+        return 1;
+    }
+
+
     /**
      * Step through the content of an open metadata archive, passing its contents to the local repository (if it
      * exists).
@@ -348,9 +425,32 @@ public class OMRSArchiveManager
                                       OpenMetadataArchiveInstanceStore          archiveInstanceStore,
                                       OMRSInstanceEventProcessorInterface       instanceProcessor)
     {
-        List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
-        List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
-        List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
+        return this.processInstances(archiveProperties,
+                                     archiveInstanceStore.getEntities(),
+                                     archiveInstanceStore.getRelationships(),
+                                     archiveInstanceStore.getClassifications(),
+                                     instanceProcessor);
+    }
+
+
+    /**
+     * Pass lists of instances from an archive to the local repository.  This is used for a whole instance store
+     * or for a batch of instances read from an archive store.
+     *
+     * @param archiveProperties properties describing the archive used in logging
+     * @param entities entities to process - may be null
+     * @param relationships relationships to process - may be null
+     * @param classifications classifications to process - may be null
+     * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
+     *                          if there is no local repository configured for this server.
+     * @return instance count
+     */
+    private int  processInstances(OpenMetadataArchiveProperties             archiveProperties,
+                                  List<EntityDetail>                        entities,
+                                  List<Relationship>                        relationships,
+                                  List<ClassificationEntityExtension>       classifications,
+                                  OMRSInstanceEventProcessorInterface       instanceProcessor)
+    {
         int                                 instanceCount   = 0;
 
         if (instanceProcessor != null)
@@ -528,4 +628,460 @@ public class OMRSArchiveManager
             instance.setInstanceLicense(originatorLicense);
         }
     }
+
+
+    /**
+     * Split a batch of instances into parts that can be loaded at the same time.  Without a partition key, the
+     * batch is split into consecutive parts of the same size.  With a partition key, the instances with the
+     * same key are always placed in the same part and keep their order within the batch.  This means that,
+     * for example, the classifications for one entity are not applied to the entity by two threads at once.
+     *
+     * @param instances batch of instances
+     * @param partCount maximum number of parts
+     * @param partitionKey function that returns the key of an instance - or null
+     * @param <T> type of instance
+     * @return list of non-empty parts
+     */
+    static <T> List<List<T>> partitionInstances(List<T>              instances,
+                                                int                  partCount,
+                                                Function<T, String>  partitionKey)
+    {
+        List<List<T>> parts = new ArrayList<>();
+
+        if ((instances == null) || (instances.isEmpty()))
+        {
+            return parts;
+        }
+
+        partCount = Math.max(1, partCount);
+
+        if (partitionKey == null)
+        {
+            int partSize = (instances.size() + partCount - 1) / partCount;
+
+            for (int start = 0; start < instances.size(); start = start + partSize)
+            {
+                parts.add(instances.subList(start, Math.min(instances.size(), start + partSize)));
+            }
+        }
+        else
+        {
+            Map<Integer, List<T>> keyedParts = new LinkedHashMap<>();
+
+            for (T instance : instances)
+            {
+                String key       = partitionKey.apply(instance);
+                int    partIndex = (key == null) ? 0 : Math.floorMod(key.hashCode(), partCount);
+
+                keyedParts.computeIfAbsent(partIndex, index -> new ArrayList<>()).add(instance);
+            }
+
+            parts.addAll(keyedParts.values());
+        }
+
+        return parts;
+    }
+
+
+    /**
+     * Return the GUID of the entity that a classification from an archive is attached to.
+     *
+     * @param classificationEntityExtension classification and its entity
+     * @return entity GUID or null
+     */
+    private static String getClassifiedEntityGUID(ClassificationEntityExtension classificationEntityExtension)
+    {
+        if ((classificationEntityExtension == null) || (classificationEntityExtension.getEntityToClassify() == null))
+        {
+            return null;
+        }
+
+        return classificationEntityExtension.getEntityToClassify().getGUID();
+    }
+
+
+    /**
+     * ArchiveContentLoader receives the contents of an archive from its archive store and passes them to the
+     * local repository as they arrive.  The archive is loaded in phases: types, then entities, then relationships
+     * and then classifications.  Types are always loaded in order on the calling thread.  If the archive is
+     * configured with more than one load thread, the instances in each batch are split between the threads, with
+     * the classifications for each entity kept together.
+     * Each phase completes before the next begins so that relationships and classifications are only loaded
+     * once all of the entities they refer to are in place.  This relies on the archive store passing all of
+     * the entities, then all of the relationships and then all of the classifications, whatever their order in
+     * the archive.  A batch that arrives after a later phase has started is still loaded, but a warning is logged
+     * since the instances it refers to may not have been loaded.  The time taken by each phase is recorded in
+     * the audit log.
+     */
+    private class ArchiveContentLoader implements OpenMetadataArchiveContentProcessor
+    {
+        private static final String actionDescription = "Process Open Metadata Archive";
+
+        private static final String typesPhase           = "types";
+        private static final String entitiesPhase        = "entities";
+        private static final String relationshipsPhase   = "relationships";
+        private static final String classificationsPhase = "classifications";
+
+        private final List<String> phaseOrder = Arrays.asList(typesPhase, entitiesPhase, relationshipsPhase, classificationsPhase);
+
+        private String                              archiveSource;
+        private OMRSTypeDefEventProcessorInterface  typeDefProcessor;
+        private OMRSInstanceEventProcessorInterface instanceProcessor;
+        private int                                 loadThreads;
+
+        private boolean                             propertiesReceived = false;
+        private OpenMetadataArchiveProperties       archiveProperties  = null;
+        private int                                 typeCount          = 0;
+        private int                                 instanceCount      = 0;
+
+        /*
+         * Details of the phase of loading that is in progress.
+         */
+        private String                              currentPhase       = null;
+        private int                                 latestPhaseIndex   = -1;
+        private long                                phaseStartTime     = 0;
+        private AtomicInteger                       phaseCount         = new AtomicInteger(0);
+
+        /*
+         * The executor is only created if the archive uses more than one load thread and has instances to load.
+         * The semaphore limits the number of batches waiting for a thread so that the archive store does not
+         * read ahead of the repository.
+         */
+        private ExecutorService                     loadExecutor       = null;
+        private Semaphore                           loadSlots          = null;
+        private List<Future<?>>                     loadTasks          = new ArrayList<>();
+        private AtomicReference<Throwable>          loadFailure        = new AtomicReference<>();
+
+
+        /**
+         * Constructor supplies the destinations for the archive contents.
+         *
+         * @param archiveSource source of the archive - such as file name
+         * @param typeDefProcessor processor of type definitions found in the archive
+         * @param instanceProcessor processor of instances found in the archive
+         * @param loadThreads number of threads to use to load instances
+         */
+        ArchiveContentLoader(String                               archiveSource,
+                             OMRSTypeDefEventProcessorInterface   typeDefProcessor,
+                             OMRSInstanceEventProcessorInterface  instanceProcessor,
+                             int                                  loadThreads)
+        {
+            this.archiveSource = archiveSource;
+            this.typeDefProcessor = typeDefProcessor;
+            this.instanceProcessor = instanceProcessor;
+            this.loadThreads = Math.max(1, loadThreads);
+        }
+
+
+        /**
+         * Receive the properties that describe the archive.  The rest of the archive is skipped if
+         * they are missing.
+         *
+         * @param archiveProperties header of the archive
+         */
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            this.propertiesReceived = true;
+            this.archiveProperties = archiveProperties;
+
+            if (archiveProperties != null)
+            {
+                auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
+            }
+            else
+            {
+                auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+            }
+        }
+
+
+        /**
+         * Receive the type definitions from the archive.
+         *
+         * @param archiveTypeStore types from the archive
+         */
+        @Override
+        public void processTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore)
+        {
+            if ((archiveProperties != null) && (archiveTypeStore != null))
+            {
+                this.startPhase(typesPhase);
+                phaseCount.addAndGet(processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor));
+            }
+        }
+
+
+        /**
+         * Receive the next batch of entities from the archive.
+         *
+         * @param entities list of entities
+         */
+        @Override
+        public void processEntities(List<EntityDetail> entities)
+        {
+            if (archiveProperties != null)
+            {
+                this.startPhase(entitiesPhase);
+                this.loadInstances(entities, null, batch -> processInstances(archiveProperties, batch, null, null, instanceProcessor));
+            }
+        }
+
+
+        /**
+         * Receive the next batch of relationships from the archive.
+         *
+         * @param relationships list of relationships
+         */
+        @Override
+        public void processRelationships(List<Relationship> relationships)
+        {
+            if (archiveProperties != null)
+            {
+                this.startPhase(relationshipsPhase);
+                this.loadInstances(relationships, null, batch -> processInstances(archiveProperties, null, batch, null, instanceProcessor));
+            }
+        }
+
+
+        /**
+         * Receive the next batch of classifications from the archive.
+         *
+         * @param classifications list of classifications and the entities they are attached to
+         */
+        @Override
+        public void processClassifications(List<ClassificationEntityExtension> classifications)
+        {
+            if (archiveProperties != null)
+            {
+                this.startPhase(classificationsPhase);
+                this.loadInstances(classifications,
+                                   OMRSArchiveManager::getClassifiedEntityGUID,
+                                   batch -> processInstances(archiveProperties, null, null, batch, instanceProcessor));
+            }
+        }
+
+
+        /**
+         * Pass a batch of instances to the local repository.  With a single load thread, this happens on the
+         * calling thread.  Otherwise the batch is split into one part for each load thread and the parts are
+         * queued for the load threads.  If a partition key is supplied, instances with the same key are placed
+         * in the same part, in the order they appear in the batch.  If a load thread fails, the exception is
+         * thrown to the caller of this method or of the next method that receives archive content, as it would
+         * be if the instances were loaded on the calling thread.
+         *
+         * @param instances batch of instances
+         * @param partitionKey function that returns the key used to split the batch - or null to split the
+         *                     batch into consecutive parts
+         * @param loader function that loads a list of instances and returns the number loaded
+         * @param <T> type of instance
+         */
+        private <T> void loadInstances(List<T>                    instances,
+                                       Function<T, String>        partitionKey,
+                                       Function<List<T>, Integer> loader)
+        {
+            this.throwLoadFailure();
+
+            if ((instances == null) || (instances.isEmpty()))
+            {
+                return;
+            }
+
+            if ((loadThreads == 1) || (instanceProcessor == null))
+            {
+                phaseCount.addAndGet(loader.apply(instances));
+                return;
+            }
+
+            if (loadExecutor == null)
+            {
+                String        threadNamePrefix = "OMRSArchiveManager:" + archiveProperties.getArchiveName() + "-";
+                AtomicInteger threadNumber     = new AtomicInteger(0);
+
+                loadExecutor = Executors.newFixedThreadPool(loadThreads, runnable ->
+                {
+                    Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                loadSlots = new Semaphore(loadThreads * 2);
+            }
+
+            for (List<T> part : partitionInstances(instances, loadThreads, partitionKey))
+            {
+                loadSlots.acquireUninterruptibly();
+
+                /*
+                 * A load thread may have failed while this thread was waiting.
+                 */
+                try
+                {
+                    this.throwLoadFailure();
+                }
+                catch (RuntimeException | Error error)
+                {
+                    loadSlots.release();
+                    throw error;
+                }
+
+                loadTasks.add(loadExecutor.submit(() ->
+                {
+                    try
+                    {
+                        phaseCount.addAndGet(loader.apply(part));
+                    }
+                    catch (Throwable error)
+                    {
+                        loadFailure.compareAndSet(null, error);
+                    }
+                    finally
+                    {
+                        loadSlots.release();
+                    }
+                }));
+            }
+        }
+
+
+        /**
+         * Throw the first exception received by a load thread, if any.  Exceptions are passed on unchanged,
+         * so the caller sees the same exception that loading the instance on its own thread would have thrown.
+         */
+        private void throwLoadFailure()
+        {
+            Throwable error = loadFailure.get();
+
+            if (error instanceof RuntimeException)
+            {
+                throw (RuntimeException) error;
+            }
+            else if (error instanceof Error)
+            {
+                throw (Error) error;
+            }
+        }
+
+
+        /**
+         * Move to a new phase of loading.  The current phase is completed first.
+         *
+         * @param phase name of the new phase
+         */
+        private void startPhase(String   phase)
+        {
+            if (! phase.equals(currentPhase))
+            {
+                this.completePhase();
+
+                int phaseIndex = phaseOrder.indexOf(phase);
+
+                if (phaseIndex < latestPhaseIndex)
+                {
+                    log.warn("Archive " + archiveSource + " passed " + phase + " after " + phaseOrder.get(latestPhaseIndex) +
+                                     "; the instances they refer to may not be loaded yet");
+                }
+
+                latestPhaseIndex = Math.max(latestPhaseIndex, phaseIndex);
+
+                currentPhase = phase;
+                phaseStartTime = System.currentTimeMillis();
+                phaseCount.set(0);
+            }
+        }
+
+
+        /**
+         * Wait for the load threads to finish the current phase and record its throughput in the audit log.
+         */
+        private void completePhase()
+        {
+            for (Future<?> loadTask : loadTasks)
+            {
+                try
+                {
+                    loadTask.get();
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                catch (ExecutionException error)
+                {
+                    /*
+                     * The task records its own exceptions in loadFailure.
+                     */
+                }
+            }
+
+            loadTasks.clear();
+
+            this.throwLoadFailure();
+
+            if ((currentPhase != null) && (phaseCount.get() > 0))
+            {
+                long elapsedTime = Math.max(1, System.currentTimeMillis() - phaseStartTime);
+                int  count       = phaseCount.get();
+                int  threadCount = 1;
+
+                if (typesPhase.equals(currentPhase))
+                {
+                    typeCount = typeCount + count;
+                }
+                else
+                {
+                    instanceCount = instanceCount + count;
+
+                    if (loadExecutor != null)
+                    {
+                        threadCount = loadThreads;
+                    }
+                }
+
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.ARCHIVE_LOAD_PHASE_COMPLETE.getMessageDefinition(Integer.toString(count),
+                                                                                                   currentPhase,
+                                                                                                   archiveProperties.getArchiveName(),
+                                                                                                   Long.toString(elapsedTime),
+                                                                                                   Long.toString((count * 1000L) / elapsedTime),
+                                                                                                   Integer.toString(threadCount)));
+            }
+
+            currentPhase = null;
+        }
+
+
+        /**
+         * Record the outcome of loading the archive once the archive store has passed all of its contents.
+         */
+        void completeArchive()
+        {
+            this.completePhase();
+
+            if (! propertiesReceived)
+            {
+                auditLog.logMessage(actionDescription, OMRSAuditCode.EMPTY_ARCHIVE.getMessageDefinition(archiveSource));
+            }
+            else if (archiveProperties != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
+                                                                                         Integer.toString(instanceCount),
+                                                                                         archiveProperties.getArchiveName()));
+            }
+        }
+
+
+        /**
+         * Release the load threads.
+         */
+        void shutdown()
+        {
+            if (loadExecutor != null)
+            {
+                loadExecutor.shutdownNow();
+                loadExecutor = null;
+            }
+        }
+    }
 }
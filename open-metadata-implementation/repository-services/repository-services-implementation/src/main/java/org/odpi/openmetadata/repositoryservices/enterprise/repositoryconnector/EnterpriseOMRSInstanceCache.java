@@ -0,0 +1,593 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * EnterpriseOMRSInstanceCache holds the entities and TypeDefs recently retrieved through the enterprise
+ * repository connectors of a server.  The access services often retrieve the same element many times while
+ * processing a single request and each retrieval is otherwise a federated call to the repositories in the cohort(s).
+ * <p>
+ *     The cache is bounded both in size (least recently used elements are evicted first) and in time (an element
+ *     is only returned for a limited period after it was retrieved).  It is registered as a listener on the
+ *     enterprise OMRS topic so elements are removed as soon as an event reports that they have changed.
+ *     An element retrieved while such an event was being processed may be the version from before the change, so
+ *     the caller reads the generation of the cache before the retrieval and the element is only saved if that
+ *     element has not been removed from the cache since.
+ * </p>
+ * <p>
+ *     The repositories check the user's access to each element, so a cached element is only returned to the
+ *     users that it has already been successfully retrieved for.
+ * </p>
+ */
+public class EnterpriseOMRSInstanceCache implements OMRSTopicListener
+{
+    /**
+     * Default maximum number of entities, and separately TypeDefs, to keep in the cache.
+     */
+    public static final int  DEFAULT_MAX_ENTRIES   = 1000;
+
+    /**
+     * Default time in milliseconds that a retrieved element remains valid in the cache.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE  = 10000;
+
+    private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSInstanceCache.class);
+
+    private final CacheRegion<EntitySummary> entities;
+    private final CacheRegion<TypeDef>       typeDefs;
+
+    private final AtomicLong hitCount      = new AtomicLong(0);
+    private final AtomicLong missCount     = new AtomicLong(0);
+    private final AtomicLong evictionCount = new AtomicLong(0);
+
+
+    /**
+     * Constructor sets up the limits of the cache.
+     *
+     * @param maxEntries maximum number of entities, and separately TypeDefs, to keep in the cache
+     * @param timeToLive time in milliseconds that a retrieved element remains valid
+     */
+    public EnterpriseOMRSInstanceCache(int   maxEntries,
+                                       long  timeToLive)
+    {
+        this.entities = new CacheRegion<>(maxEntries, timeToLive);
+        this.typeDefs = new CacheRegion<>(maxEntries, timeToLive);
+    }
+
+
+    /**
+     * Return the generation of the entities in the cache.  This is passed to putEntity with the entity
+     * retrieved after the call.
+     *
+     * @return generation number
+     */
+    long getEntityGeneration()
+    {
+        return entities.getGeneration();
+    }
+
+
+    /**
+     * Return a copy of the cached summary of an entity.  Either a summary or the full detail of the entity
+     * satisfies this request.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity summary or null if it is not cached for this user
+     */
+    EntitySummary getEntitySummary(String   userId,
+                                   String   guid)
+    {
+        EntitySummary entity = this.recordLookUp(entities.get(userId, guid));
+
+        if (entity != null)
+        {
+            return new EntitySummary(entity);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return a copy of the cached detail of an entity.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity detail or null if it is not cached for this user
+     */
+    EntityDetail getEntityDetail(String   userId,
+                                 String   guid)
+    {
+        EntitySummary entity = entities.get(userId, guid);
+
+        if (entity instanceof EntityDetail)
+        {
+            this.recordLookUp(entity);
+
+            return new EntityDetail((EntityDetail)entity);
+        }
+
+        this.recordLookUp(null);
+
+        return null;
+    }
+
+
+    /**
+     * Save an entity that has been retrieved for a user.  If the same version of the entity is already
+     * cached with at least as much content, the user is added to the existing entry.  Nothing is saved if
+     * this entity has been removed from the cache since the retrieval started.
+     *
+     * @param userId calling user
+     * @param entity retrieved entity
+     * @param generation result of getEntityGeneration before the entity was retrieved
+     */
+    void putEntity(String         userId,
+                   EntitySummary  entity,
+                   long           generation)
+    {
+        if ((entity != null) && (entity.getGUID() != null))
+        {
+            entities.put(userId,
+                         entity.getGUID(),
+                         entity,
+                         generation,
+                         cachedEntity -> (cachedEntity.getVersion() == entity.getVersion()) &&
+                                         ((cachedEntity instanceof EntityDetail) || (! (entity instanceof EntityDetail))));
+        }
+    }
+
+
+    /**
+     * Return the generation of the TypeDefs in the cache.  This is passed to putTypeDef with the TypeDef
+     * retrieved after the call.
+     *
+     * @return generation number
+     */
+    long getTypeDefGeneration()
+    {
+        return typeDefs.getGeneration();
+    }
+
+
+    /**
+     * Return a copy of a cached TypeDef.
+     *
+     * @param userId calling user
+     * @param name unique name of the TypeDef
+     * @return TypeDef or null if it is not cached for this user
+     */
+    TypeDef getTypeDefByName(String   userId,
+                             String   name)
+    {
+        TypeDef typeDef = this.recordLookUp(typeDefs.get(userId, name));
+
+        if (typeDef != null)
+        {
+            return typeDef.cloneFromSubclass();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save a TypeDef that has been retrieved for a user.  Nothing is saved if the TypeDefs have been
+     * cleared from the cache since the retrieval started.
+     *
+     * @param userId calling user
+     * @param typeDef retrieved TypeDef
+     * @param generation result of getTypeDefGeneration before the TypeDef was retrieved
+     */
+    void putTypeDef(String   userId,
+                    TypeDef  typeDef,
+                    long     generation)
+    {
+        if ((typeDef != null) && (typeDef.getName() != null))
+        {
+            typeDefs.put(userId, typeDef.getName(), typeDef, generation, null);
+        }
+    }
+
+
+    /**
+     * Remove an entity from the cache because it has been changed.
+     *
+     * @param guid unique identifier of the entity
+     */
+    void removeEntity(String   guid)
+    {
+        if (guid != null)
+        {
+            entities.remove(guid);
+        }
+    }
+
+
+    /**
+     * Return the number of requests that were satisfied from the cache.
+     *
+     * @return count since the cache was created
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+
+    /**
+     * Return the number of requests that could not be satisfied from the cache.
+     *
+     * @return count since the cache was created
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+
+    /**
+     * Return the number of elements removed from the cache to keep it within its size limit.
+     *
+     * @return count since the cache was created
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+
+    /**
+     * Empty the cache.
+     */
+    public void clear()
+    {
+        entities.clear();
+        typeDefs.clear();
+    }
+
+
+    /**
+     * Registry events do not change the content of the cache.  Repositories leaving the cohort are handled
+     * by the time limit on the cached elements.
+     *
+     * @param event inbound event
+     */
+    public void processRegistryEvent(OMRSRegistryEvent event)
+    {
+    }
+
+
+    /**
+     * Any change to the TypeDefs may change the result of a TypeDef look up (and is rare) so all of the
+     * cached TypeDefs are removed.
+     *
+     * @param event inbound event
+     */
+    public void processTypeDefEvent(OMRSTypeDefEvent event)
+    {
+        if (event != null)
+        {
+            log.debug("Clearing cached TypeDefs after TypeDef event: " + event.getTypeDefEventType());
+
+            typeDefs.clear();
+        }
+    }
+
+
+    /**
+     * Remove any entities that are changed by an instance event.  Relationship events do not change
+     * the entities at their ends.
+     *
+     * @param event inbound event
+     */
+    public void processInstanceEvent(OMRSInstanceEvent event)
+    {
+        if (event != null)
+        {
+            this.removeEntity(event.getInstanceGUID());
+            this.removeEntity(event.getOriginalInstanceGUID());
+            this.removeEntity(event.getEntity());
+            this.removeEntity(event.getOriginalEntity());
+
+            InstanceGraph instanceBatch = event.getInstanceBatch();
+
+            if (instanceBatch != null)
+            {
+                List<EntityDetail> batchEntities = instanceBatch.getEntities();
+
+                if (batchEntities != null)
+                {
+                    for (EntityDetail entity : batchEntities)
+                    {
+                        this.removeEntity(entity);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Describe the activity of the cache.
+     *
+     * @return string of counts
+     */
+    @Override
+    public String toString()
+    {
+        return "EnterpriseOMRSInstanceCache{" +
+                       "hitCount=" + hitCount +
+                       ", missCount=" + missCount +
+                       ", evictionCount=" + evictionCount +
+                       '}';
+    }
+
+
+    /**
+     * Remove an entity from the cache.
+     *
+     * @param entity changed entity - may be null
+     */
+    private void removeEntity(EntitySummary  entity)
+    {
+        if (entity != null)
+        {
+            this.removeEntity(entity.getGUID());
+        }
+    }
+
+
+    /**
+     * Update the hit and miss counts for a look up.
+     *
+     * @param element result of the look up
+     * @param <T> type of element
+     * @return element
+     */
+    private <T> T recordLookUp(T   element)
+    {
+        if (element != null)
+        {
+            hitCount.incrementAndGet();
+        }
+        else
+        {
+            missCount.incrementAndGet();
+        }
+
+        return element;
+    }
+
+
+    /**
+     * CacheEntry holds a cached element along with the time it was retrieved and the users it has been
+     * retrieved for.
+     *
+     * @param <T> type of element
+     */
+    private static class CacheEntry<T>
+    {
+        private final T           element;
+        private final long        loadTime = System.currentTimeMillis();
+        private final Set<String> userIds  = new HashSet<>();
+
+
+        /**
+         * Constructor supplies the element.
+         *
+         * @param element cached element
+         */
+        CacheEntry(T   element)
+        {
+            this.element = element;
+        }
+    }
+
+
+    /**
+     * CacheRegion is a bounded map of cached elements that evicts the least recently used elements first.
+     * All access to the map is synchronized since a look up reorders the map.  The generation is increased
+     * each time an element is removed because it has changed, and the new generation is recorded against the
+     * key of the element.  An element is only stored if its key has not been removed since the retrieval
+     * started.  The record of removed keys is bounded to the same size as the region.  When the oldest record
+     * is dropped, elements retrieved before that removal are refused for every key.
+     *
+     * @param <T> type of element
+     */
+    private class CacheRegion<T>
+    {
+        private final long                       timeToLive;
+        private final Map<String, CacheEntry<T>> cacheEntries;
+        private final Map<String, Long>          removedKeys;
+        private long                             generation        = 0;
+        private long                             minimumGeneration = 0;
+
+
+        /**
+         * Constructor sets up the limits of the region.
+         *
+         * @param maxEntries maximum number of elements
+         * @param timeToLive time in milliseconds that an element remains valid
+         */
+        CacheRegion(int   maxEntries,
+                    long  timeToLive)
+        {
+            this.timeToLive = timeToLive;
+            this.cacheEntries = new LinkedHashMap<String, CacheEntry<T>>(16, 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry<T>> eldest)
+                {
+                    if (size() > maxEntries)
+                    {
+                        evictionCount.incrementAndGet();
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+            this.removedKeys = new LinkedHashMap<String, Long>()
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest)
+                {
+                    if (size() > maxEntries)
+                    {
+                        minimumGeneration = eldest.getValue();
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+        }
+
+
+        /**
+         * Return the current generation of the region.
+         *
+         * @return generation number
+         */
+        synchronized long getGeneration()
+        {
+            return generation;
+        }
+
+
+        /**
+         * Return the element stored under the key if it is still valid and has been retrieved for the user.
+         *
+         * @param userId calling user
+         * @param key key of the element
+         * @return element or null
+         */
+        synchronized T get(String   userId,
+                           String   key)
+        {
+            CacheEntry<T> cacheEntry = this.getValidEntry(key);
+
+            if ((cacheEntry != null) && (cacheEntry.userIds.contains(userId)))
+            {
+                return cacheEntry.element;
+            }
+
+            return null;
+        }
+
+
+        /**
+         * Store an element retrieved for a user unless its key has been removed since the retrieval started.
+         * If the valid element already stored under the key is as good as the retrieved element, the user
+         * is added to the stored element rather than replacing it.
+         *
+         * @param userId calling user
+         * @param key key of the element
+         * @param element retrieved element
+         * @param retrievalGeneration generation of the region before the element was retrieved
+         * @param isAsGood test of whether a stored element is as good as the retrieved element - null means never
+         */
+        synchronized void put(String        userId,
+                              String        key,
+                              T             element,
+                              long          retrievalGeneration,
+                              Predicate<T>  isAsGood)
+        {
+            Long removedGeneration = removedKeys.get(key);
+
+            if ((retrievalGeneration < minimumGeneration) ||
+                ((removedGeneration != null) && (retrievalGeneration < removedGeneration)))
+            {
+                log.debug("Not caching " + key + " since it has changed during its retrieval");
+                return;
+            }
+
+            CacheEntry<T> cacheEntry = this.getValidEntry(key);
+
+            if ((cacheEntry == null) || (isAsGood == null) || (! isAsGood.test(cacheEntry.element)))
+            {
+                cacheEntry = new CacheEntry<>(element);
+                cacheEntries.put(key, cacheEntry);
+            }
+
+            cacheEntry.userIds.add(userId);
+        }
+
+
+        /**
+         * Return the entry stored under the key if it is still valid.  An entry that has outlived its time to
+         * live is removed.
+         *
+         * @param key key of the element
+         * @return entry or null
+         */
+        private CacheEntry<T> getValidEntry(String   key)
+        {
+            CacheEntry<T> cacheEntry = cacheEntries.get(key);
+
+            if ((cacheEntry != null) && (System.currentTimeMillis() - cacheEntry.loadTime > timeToLive))
+            {
+                cacheEntries.remove(key);
+                return null;
+            }
+
+            return cacheEntry;
+        }
+
+
+        /**
+         * Remove an element.
+         *
+         * @param key key of the element
+         */
+        synchronized void remove(String   key)
+        {
+            generation++;
+            cacheEntries.remove(key);
+
+            /*
+             * The key is removed first so the record moves to the end of the map and the records stay in
+             * generation order.
+             */
+            removedKeys.remove(key);
+            removedKeys.put(key, generation);
+        }
+
+
+        /**
+         * Remove all of the elements.
+         */
+        synchronized void clear()
+        {
+            generation++;
+            minimumGeneration = generation;
+            cacheEntries.clear();
+            removedKeys.clear();
+        }
+    }
+}
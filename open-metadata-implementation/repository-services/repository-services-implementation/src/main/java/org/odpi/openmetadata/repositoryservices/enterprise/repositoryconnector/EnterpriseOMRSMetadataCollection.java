@@ -26,6 +26,8 @@ import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 
 /**
@@ -136,7 +138,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationExecutor(),
+                                                                            enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                            methodName);
         GetAllTypesExecutor executor = new GetAllTypesExecutor(userId,
                                                                methodName,
                                                                localMetadataCollectionId,
@@ -505,8 +511,23 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         this.typeNameParameterValidation(userId, name, nameParameterName, methodName);
 
         /*
-         * Perform operation
+         * Perform operation - retrieving all of the types is a federated call so the cache is checked first
          */
+        EnterpriseOMRSInstanceCache instanceCache   = enterpriseParentConnector.getInstanceCache();
+        long                        cacheGeneration = 0;
+
+        if (instanceCache != null)
+        {
+            TypeDef  cachedTypeDef = instanceCache.getTypeDefByName(userId, name);
+
+            if (cachedTypeDef != null)
+            {
+                return cachedTypeDef;
+            }
+
+            cacheGeneration = instanceCache.getTypeDefGeneration();
+        }
+
         TypeDefGallery   allTypes = this.getAllTypes(userId);
 
         if (allTypes != null)
@@ -518,6 +539,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                 super.reportUnknownTypeName(name, methodName);
             }
 
+            if (instanceCache != null)
+            {
+                instanceCache.putTypeDef(userId, result, cacheGeneration);
+            }
+
             return result;
         }
 
@@ -916,8 +942,24 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         super.getInstanceParameterValidation(userId, guid, methodName);
 
         /*
-         * Validation complete, ok to continue with request
-         *
+         * Validation complete - use the cached entity if it has been recently retrieved for this user.
+         */
+        EnterpriseOMRSInstanceCache instanceCache   = enterpriseParentConnector.getInstanceCache();
+        long                        cacheGeneration = 0;
+
+        if (instanceCache != null)
+        {
+            EntitySummary  cachedEntity = instanceCache.getEntitySummary(userId, guid);
+
+            if (cachedEntity != null)
+            {
+                return cachedEntity;
+            }
+
+            cacheGeneration = instanceCache.getEntityGeneration();
+        }
+
+        /*
          * The list of cohort connectors are retrieved for each request to ensure that any changes in
          * the shape of the cohort are reflected immediately.
          */
@@ -933,7 +975,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
-        return executor.getEntitySummary();
+        EntitySummary  entity = executor.getEntitySummary();
+
+        if (instanceCache != null)
+        {
+            instanceCache.putEntity(userId, entity, cacheGeneration);
+        }
+
+        return entity;
     }
 
 
@@ -965,8 +1014,24 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         super.getInstanceParameterValidation(userId, guid, methodName);
 
         /*
-         * Validation complete, ok to continue with request
-         *
+         * Validation complete - use the cached entity if it has been recently retrieved for this user.
+         */
+        EnterpriseOMRSInstanceCache instanceCache   = enterpriseParentConnector.getInstanceCache();
+        long                        cacheGeneration = 0;
+
+        if (instanceCache != null)
+        {
+            EntityDetail  cachedEntity = instanceCache.getEntityDetail(userId, guid);
+
+            if (cachedEntity != null)
+            {
+                return cachedEntity;
+            }
+
+            cacheGeneration = instanceCache.getEntityGeneration();
+        }
+
+        /*
          * The list of cohort connectors are retrieved for each request to ensure that any changes in
          * the shape of the cohort are reflected immediately.
          */
@@ -982,7 +1047,154 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
-        return executor.getEntityDetail();
+        EntityDetail  entity = executor.getEntityDetail();
+
+        if (instanceCache != null)
+        {
+            instanceCache.putEntity(userId, entity, cacheGeneration);
+        }
+
+        return entity;
+    }
+
+
+    /**
+     * Return the header, classifications and properties of a list of entities.  Entities that are not known,
+     * are only stored as proxies, or can not be retrieved for this user or because of a repository error,
+     * are omitted from the results.  This means that a problem with one entity does not prevent the others
+     * from being returned.
+     *
+     * Entities in the cache are returned straight away.  The others are requested from each cohort member
+     * in a single call, with the calls to the members issued in parallel using the pool of worker threads
+     * for federated requests (if there is one).  When more than one member returns an entity, the latest
+     * version is used.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of the entities that were found, in the order of the supplied GUIDs - or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem with the state of one of the cohort members.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           UserNotAuthorizedException
+    {
+        final String  methodName = "getEntityDetails";
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validate parameters
+         */
+        for (String guid : guids)
+        {
+            super.getInstanceParameterValidation(userId, guid, methodName);
+        }
+
+        /*
+         * Validation complete - use the cached entities that have been recently retrieved for this user.
+         */
+        Map<String, EntityDetail>   retrievedEntities = new HashMap<>();
+        Set<String>                 uncachedGUIDs     = new LinkedHashSet<>();
+        EnterpriseOMRSInstanceCache instanceCache     = enterpriseParentConnector.getInstanceCache();
+        long                        cacheGeneration   = 0;
+
+        if (instanceCache != null)
+        {
+            cacheGeneration = instanceCache.getEntityGeneration();
+        }
+
+        for (String guid : guids)
+        {
+            if ((! retrievedEntities.containsKey(guid)) && (! uncachedGUIDs.contains(guid)))
+            {
+                EntityDetail cachedEntity = null;
+
+                if (instanceCache != null)
+                {
+                    cachedEntity = instanceCache.getEntityDetail(userId, guid);
+                }
+
+                if (cachedEntity != null)
+                {
+                    retrievedEntities.put(guid, cachedEntity);
+                }
+                else
+                {
+                    uncachedGUIDs.add(guid);
+                }
+            }
+        }
+
+        if (! uncachedGUIDs.isEmpty())
+        {
+            /*
+             * The list of cohort connectors are retrieved for each request to ensure that any changes in
+             * the shape of the cohort are reflected immediately.
+             */
+            List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+            FederationControl   federationControl = new ParallelFederationControl(userId,
+                                                                                  cohortConnectors,
+                                                                                  enterpriseParentConnector.getFederationExecutor(),
+                                                                                  enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                                  methodName);
+            GetEntitiesExecutor executor          = new GetEntitiesExecutor(userId,
+                                                                            new ArrayList<>(uncachedGUIDs),
+                                                                            localMetadataCollectionId,
+                                                                            auditLog,
+                                                                            repositoryValidator,
+                                                                            methodName);
+
+            /*
+             * Ready to process the request.  Each cohort member is called once with the whole list of entities.
+             * A member that fails does not prevent the entities from the other members being returned.
+             */
+            federationControl.executeCommand(executor);
+
+            List<EntityDetail> federatedEntities = executor.getResults(enterpriseParentConnector);
+
+            if (federatedEntities != null)
+            {
+                for (EntityDetail entity : federatedEntities)
+                {
+                    if ((entity != null) && (uncachedGUIDs.contains(entity.getGUID())))
+                    {
+                        retrievedEntities.put(entity.getGUID(), entity);
+
+                        if (instanceCache != null)
+                        {
+                            instanceCache.putEntity(userId, entity, cacheGeneration);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = retrievedEntities.get(guid);
+
+            if (entity != null)
+            {
+                results.add(entity);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
     }
 
 
@@ -1111,7 +1323,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                 federationControl = new ParallelFederationControl(userId,
+                                                                                            cohortConnectors,
+                                                                                            enterpriseParentConnector.getFederationExecutor(),
+                                                                                            enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                                            methodName);
         GetRelationshipsForEntityExecutor executor          = new GetRelationshipsForEntityExecutor(userId,
                                                                                                     entityGUID,
                                                                                                     relationshipTypeGUID,
@@ -1229,7 +1445,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                 federationControl = new ParallelFederationControl(userId,
+                                                                                            cohortConnectors,
+                                                                                            enterpriseParentConnector.getFederationExecutor(),
+                                                                                            enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                                            methodName);
         FindEntitiesByPropertyExecutor    executor          = new FindEntitiesByPropertyExecutor(userId,
                                                                                                  entityTypeGUID,
                                                                                                  matchProperties,
@@ -1335,7 +1555,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationExecutor(),
+                                                                            enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                            methodName);
         FindEntitiesExecutor executor       = new FindEntitiesExecutor(userId,
                                                                        entityTypeGUID,
                                                                        entitySubtypeGUIDs,
@@ -1447,7 +1671,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                       federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                       federationControl = new ParallelFederationControl(userId,
+                                                                                                  cohortConnectors,
+                                                                                                  enterpriseParentConnector.getFederationExecutor(),
+                                                                                                  enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                                                  methodName);
         FindEntitiesByClassificationExecutor    executor          = new FindEntitiesByClassificationExecutor(userId,
                                                                                                              entityTypeGUID,
                                                                                                              classificationName,
@@ -1554,7 +1782,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                   federationControl = new ParallelFederationControl(userId,
+                                                                                              cohortConnectors,
+                                                                                              enterpriseParentConnector.getFederationExecutor(),
+                                                                                              enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                                              methodName);
         FindEntitiesByPropertyValueExecutor executor          = new FindEntitiesByPropertyValueExecutor(userId,
                                                                                                         entityTypeGUID,
                                                                                                         searchCriteria,
@@ -1804,7 +2036,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl         federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl         federationControl = new ParallelFederationControl(userId,
+                                                                                    cohortConnectors,
+                                                                                    enterpriseParentConnector.getFederationExecutor(),
+                                                                                    enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                                    methodName);
         FindRelationshipsExecutor executor          = new FindRelationshipsExecutor(userId,
                                                                                     relationshipTypeGUID,
                                                                                     relationshipSubtypeGUIDs,
@@ -1908,7 +2144,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                   federationControl = new ParallelFederationControl(userId,
+                                                                                              cohortConnectors,
+                                                                                              enterpriseParentConnector.getFederationExecutor(),
+                                                                                              enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                                              methodName);
         FindRelationshipsByPropertyExecutor executor          = new FindRelationshipsByPropertyExecutor(userId,
                                                                                                         relationshipTypeGUID,
                                                                                                         matchProperties,
@@ -2011,7 +2251,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                        federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                        federationControl = new ParallelFederationControl(userId,
+                                                                                                   cohortConnectors,
+                                                                                                   enterpriseParentConnector.getFederationExecutor(),
+                                                                                                   enterpriseParentConnector.getFederatedRequestTimeout(),
+                                                                                                   methodName);
         FindRelationshipsByPropertyValueExecutor executor          = new FindRelationshipsByPropertyValueExecutor(userId,
                                                                                                                   relationshipTypeGUID,
                                                                                                                   searchCriteria,
@@ -2761,7 +3005,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.updateEntityStatus(userId, entityGUID, newStatus);
+            EntityDetail  updatedEntity = metadataCollection.updateEntityStatus(userId, entityGUID, newStatus);
+
+            this.removeCachedEntity(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -2812,7 +3060,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.updateEntityProperties(userId, entityGUID, properties);
+            EntityDetail  updatedEntity = metadataCollection.updateEntityProperties(userId, entityGUID, properties);
+
+            this.removeCachedEntity(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -2859,7 +3111,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.undoEntityUpdate(userId, entityGUID);
+            EntityDetail  updatedEntity = metadataCollection.undoEntityUpdate(userId, entityGUID);
+
+            this.removeCachedEntity(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -2918,7 +3174,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.deleteEntity(userId, typeDefGUID, typeDefName, obsoleteEntityGUID);
+            EntityDetail  updatedEntity = metadataCollection.deleteEntity(userId, typeDefGUID, typeDefName, obsoleteEntityGUID);
+
+            this.removeCachedEntity(obsoleteEntityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -2986,6 +3246,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         federationControl.executeCommand(executor);
 
         executor.getResult();
+
+        this.removeCachedEntity(deletedEntityGUID);
     }
 
 
@@ -3039,6 +3301,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.removeCachedEntity(deletedEntityGUID);
+
         return executor.getRestoredEntity();
     }
 
@@ -3115,6 +3379,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.removeCachedEntity(entityGUID);
+
         return executor.getUpdatedEntity();
     }
 
@@ -3199,6 +3465,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.removeCachedEntity(entityGUID);
+
         return executor.getUpdatedEntity();
     }
 
@@ -3246,7 +3514,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.declassifyEntity(userId, entityGUID, classificationName);
+            EntityDetail  updatedEntity = metadataCollection.declassifyEntity(userId, entityGUID, classificationName);
+
+            this.removeCachedEntity(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -3302,10 +3574,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.updateEntityClassification(userId,
-                                                                 entityGUID,
-                                                                 classificationName,
-                                                                 properties);
+            EntityDetail  updatedEntity = metadataCollection.updateEntityClassification(userId,
+                                                                                        entityGUID,
+                                                                                        classificationName,
+                                                                                        properties);
+
+            this.removeCachedEntity(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -4455,6 +4731,23 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Remove an entity from the cache after it has been changed through this metadata collection.
+     * Events from the repositories remove it too but they arrive asynchronously.
+     *
+     * @param guid unique identifier of the entity
+     */
+    private void removeCachedEntity(String guid)
+    {
+        EnterpriseOMRSInstanceCache instanceCache = enterpriseParentConnector.getInstanceCache();
+
+        if (instanceCache != null)
+        {
+            instanceCache.removeEntity(guid);
+        }
+    }
+
+
     /**
      * Indicates to the caller that the method called is not supported by the enterprise connector.
      *
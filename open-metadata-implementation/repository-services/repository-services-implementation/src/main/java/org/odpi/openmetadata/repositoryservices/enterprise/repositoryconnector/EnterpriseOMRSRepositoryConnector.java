@@ -22,6 +22,12 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeExcept
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * EnterpriseOMRSRepositoryConnector supports federating calls to multiple metadata repositories.  As a result,
@@ -49,6 +55,15 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
 
     private String callingServiceName = null;
 
+    private static final String maxParallelRequestsProperty     = "maxParallelRequests";
+    private static final String federatedRequestTimeoutProperty = "federatedRequestTimeout";
+
+    private int             maxParallelRequests     = 10;
+    private long            federatedRequestTimeout = 0;
+    private ExecutorService federationExecutor      = null;
+
+    private EnterpriseOMRSInstanceCache instanceCache = null;
+
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
     /**
@@ -107,6 +122,18 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Set up the cache of recently retrieved entities and TypeDefs shared by the enterprise connectors
+     * of this server.
+     *
+     * @param instanceCache cache - or null if retrieved elements are not to be cached
+     */
+    public void setInstanceCache(EnterpriseOMRSInstanceCache instanceCache)
+    {
+        this.instanceCache = instanceCache;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      *
@@ -123,6 +150,28 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             auditLog.logMessage(actionDescription, OMRSAuditCode.STARTING_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
         }
 
+        if (super.connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = super.connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                this.maxParallelRequests = (int)this.getNumericProperty(configurationProperties,
+                                                                        maxParallelRequestsProperty,
+                                                                        maxParallelRequests,
+                                                                        Integer.MAX_VALUE);
+                this.federatedRequestTimeout = this.getNumericProperty(configurationProperties,
+                                                                       federatedRequestTimeoutProperty,
+                                                                       federatedRequestTimeout,
+                                                                       Long.MAX_VALUE);
+            }
+        }
+
+        if (maxParallelRequests > 0)
+        {
+            federationExecutor = this.createFederationExecutor(maxParallelRequests);
+        }
+
         if (connectorManager != null)
         {
             this.connectorConsumerId = connectorManager.registerConnectorConsumer(this);
@@ -138,6 +187,57 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Return the value of a numeric configuration property.  The value may be any number or a string holding
+     * a whole number.  A value that is negative, too large or not a whole number is ignored.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not valid
+     * @param maximumValue largest value allowed
+     * @return property value
+     */
+    private long getNumericProperty(Map<String, Object> configurationProperties,
+                                    String              propertyName,
+                                    long                defaultValue,
+                                    long                maximumValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue == null)
+        {
+            return defaultValue;
+        }
+
+        long value = -1;
+
+        try
+        {
+            if (propertyValue instanceof Number)
+            {
+                value = ((Number) propertyValue).longValue();
+            }
+            else
+            {
+                value = Long.parseLong(propertyValue.toString().trim());
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            value = -1;
+        }
+
+        if ((value >= 0) && (value <= maximumValue))
+        {
+            return value;
+        }
+
+        log.warn("Ignoring configuration property " + propertyName + " with value " + propertyValue + "; using " + defaultValue);
+
+        return defaultValue;
+    }
+
+
     /**
      * Free up any resources held since the connector is no longer needed.
      *
@@ -159,11 +259,82 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             connectorManager.unregisterConnectorConsumer(connectorConsumerId);
         }
 
+        if (federationExecutor != null)
+        {
+            federationExecutor.shutdownNow();
+            federationExecutor = null;
+        }
+
         localConnector = null;
         remoteCohortConnectors = new ArrayList<>();
     }
 
 
+    /**
+     * Create the pool of worker threads used to issue federated queries to the cohort members in parallel.
+     * The threads are created on demand and time out when idle.  Requests that arrive when all of the threads
+     * are busy are queued.
+     *
+     * @param maxThreads maximum number of worker threads
+     * @return executor service
+     */
+    private ExecutorService createFederationExecutor(int maxThreads)
+    {
+        final String        threadNamePrefix = "EnterpriseFederation: " + callingServiceName + ": ";
+        final AtomicInteger threadNumber     = new AtomicInteger(0);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads,
+                                                             maxThreads,
+                                                             60L,
+                                                             TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(),
+                                                             (runnable) ->
+                                                             {
+                                                                 Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+
+                                                                 thread.setDaemon(true);
+                                                                 return thread;
+                                                             });
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+
+    /**
+     * Return the pool of worker threads used to issue federated queries in parallel.
+     *
+     * @return executor service or null if queries are to be issued sequentially
+     */
+    ExecutorService getFederationExecutor()
+    {
+        return federationExecutor;
+    }
+
+
+    /**
+     * Return the maximum time (in milliseconds) to wait for the cohort members to respond to a federated query.
+     *
+     * @return timeout - zero means wait indefinitely
+     */
+    long getFederatedRequestTimeout()
+    {
+        return federatedRequestTimeout;
+    }
+
+
+    /**
+     * Return the cache of recently retrieved entities and TypeDefs.
+     *
+     * @return cache or null if retrieved elements are not cached
+     */
+    EnterpriseOMRSInstanceCache getInstanceCache()
+    {
+        return instanceCache;
+    }
+
+
     /**
      * Returns the metadata collection to the repository where the supplied instance can be updated, ie its home repository.
      *
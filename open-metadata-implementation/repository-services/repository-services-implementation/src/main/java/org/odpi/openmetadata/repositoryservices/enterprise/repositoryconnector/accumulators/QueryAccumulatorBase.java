@@ -22,7 +22,7 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
 
     private int                  responsesRequired  = 0;
     private Map<String, Integer> resultsContributed = new HashMap<>();
-    private boolean              resultsReturned = false;
+    private volatile boolean     resultsReturned = false;
 
 
     /**
@@ -7,8 +7,8 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * QueryAccumulatorBase acts as a base class to the accumulators that need to visit each repository and
@@ -16,7 +16,7 @@ import java.util.List;
  */
 public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
 {
-    protected List<String>            locallyStoredInstancesGUIDs = new ArrayList<>();
+    protected Set<String>             locallyStoredInstancesGUIDs = new HashSet<>();
 
     /**
      * Construct a query accumulator.  This base class manages the common variables needed to
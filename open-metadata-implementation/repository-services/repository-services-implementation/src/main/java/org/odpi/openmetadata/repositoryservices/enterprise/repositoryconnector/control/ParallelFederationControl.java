@@ -4,18 +4,50 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * The first repository in the list (the local repository if there is one) is called on the caller's thread while
+ * the calls to the remaining repositories are handed to the supplied executor service.  Each worker uses its own
+ * clone of the executor, and the clones share the same accumulator to assemble the results.
+ *
+ * If the executor can not be cloned, or no executor service is available, the repositories are called sequentially.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses a sequential since the
-    // todo worker threads are not implemented.
+    private static final Logger log = LoggerFactory.getLogger(ParallelFederationControl.class);
+
+    private ExecutorService federationExecutor;
+    private long            requestTimeout;
+
+
+    /**
+     * Constructor for a federated query that runs sequentially.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param methodName calling method
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     String                        methodName)
+    {
+        this(userId, cohortConnectors, null, 0, methodName);
+    }
 
 
     /**
@@ -23,14 +55,21 @@ public class ParallelFederationControl extends FederationControlBase
      *
      * @param userId calling user
      * @param cohortConnectors list of connectors to call
+     * @param federationExecutor pool of worker threads used to call the repositories - null means call them sequentially
+     * @param requestTimeout maximum number of milliseconds to wait for all of the repositories to respond - zero means
+     *                       wait indefinitely
      * @param methodName calling method
      */
     public ParallelFederationControl(String                        userId,
                                      List<OMRSRepositoryConnector> cohortConnectors,
+                                     ExecutorService               federationExecutor,
+                                     long                          requestTimeout,
                                      String                        methodName)
     {
         super(userId, cohortConnectors, methodName);
 
+        this.federationExecutor = federationExecutor;
+        this.requestTimeout = requestTimeout;
     }
 
 
@@ -45,17 +84,148 @@ public class ParallelFederationControl extends FederationControlBase
     {
         if (super.cohortConnectors != null)
         {
+            List<OMRSRepositoryConnector> activeConnectors = new ArrayList<>();
+
             for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
             {
                 if (cohortConnector != null)
                 {
-                    OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+                    activeConnectors.add(cohortConnector);
+                }
+            }
+
+            if ((activeConnectors.size() > 1) &&
+                (executor instanceof CloneableRepositoryExecutor) &&
+                (federationExecutor != null) &&
+                (! federationExecutor.isShutdown()))
+            {
+                this.executeInParallel((CloneableRepositoryExecutor)executor, executor, activeConnectors);
+            }
+            else
+            {
+                for (OMRSRepositoryConnector cohortConnector : activeConnectors)
+                {
+                    this.issueRequest(executor, cohortConnector);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Call the first repository on the caller's thread and the rest of the repositories on worker threads.
+     * The method returns once all of the repositories have responded, or the request timeout has expired.
+     * Requests that are still outstanding when the timeout expires are cancelled and their results are
+     * ignored.
+     *
+     * @param cloneableExecutor executor that is able to clone itself
+     * @param executor the same executor as a repository executor
+     * @param activeConnectors list of non-null connectors
+     * @throws RepositoryErrorException problem with the state of one of the repositories.
+     */
+    private void executeInParallel(CloneableRepositoryExecutor   cloneableExecutor,
+                                   RepositoryExecutor            executor,
+                                   List<OMRSRepositoryConnector> activeConnectors) throws RepositoryErrorException
+    {
+        List<Future<Boolean>> outstandingRequests = new ArrayList<>();
+
+        try
+        {
+            for (OMRSRepositoryConnector cohortConnector : activeConnectors.subList(1, activeConnectors.size()))
+            {
+                RepositoryExecutor clone = (RepositoryExecutor)cloneableExecutor.getClone();
+
+                try
+                {
+                    outstandingRequests.add(federationExecutor.submit(() -> this.issueRequest(clone, cohortConnector)));
+                }
+                catch (RejectedExecutionException error)
+                {
+                    /*
+                     * The pool is shutting down - make the call on this thread instead.
+                     */
+                    this.issueRequest(clone, cohortConnector);
+                }
+            }
+
+            this.issueRequest(executor, activeConnectors.get(0));
+
+            this.waitForRequests(outstandingRequests);
+        }
+        finally
+        {
+            for (Future<Boolean> outstandingRequest : outstandingRequests)
+            {
+                if (! outstandingRequest.isDone())
+                {
+                    outstandingRequest.cancel(true);
+                }
+            }
+        }
+    }
 
-                    String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
 
-                    executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+    /**
+     * Wait for each of the requests to the remote repositories to complete.
+     *
+     * @param outstandingRequests list of requests running on worker threads
+     * @throws RepositoryErrorException problem with the state of one of the repositories.
+     */
+    private void waitForRequests(List<Future<Boolean>> outstandingRequests) throws RepositoryErrorException
+    {
+        long deadline = System.currentTimeMillis() + requestTimeout;
+
+        for (Future<Boolean> outstandingRequest : outstandingRequests)
+        {
+            try
+            {
+                if (requestTimeout > 0)
+                {
+                    outstandingRequest.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
                 }
+                else
+                {
+                    outstandingRequest.get();
+                }
+            }
+            catch (TimeoutException error)
+            {
+                log.warn("Federated request " + methodName + " did not complete within " + requestTimeout + "ms");
+                return;
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (ExecutionException error)
+            {
+                if (error.getCause() instanceof RepositoryErrorException)
+                {
+                    throw (RepositoryErrorException)error.getCause();
+                }
+
+                log.error("Unexpected exception from federated request " + methodName + ": " + error.getCause());
             }
         }
     }
+
+
+    /**
+     * Pass a single repository to the executor.
+     *
+     * @param executor command to execute
+     * @param cohortConnector connector to the repository
+     * @return boolean returned by the executor
+     * @throws RepositoryErrorException the repository's metadata collection is null
+     */
+    private boolean issueRequest(RepositoryExecutor      executor,
+                                 OMRSRepositoryConnector cohortConnector) throws RepositoryErrorException
+    {
+        OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+        String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+
+        return executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+    }
 }
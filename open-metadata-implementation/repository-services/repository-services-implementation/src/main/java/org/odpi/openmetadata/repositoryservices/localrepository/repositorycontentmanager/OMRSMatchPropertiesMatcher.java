@@ -0,0 +1,289 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceMatcher;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSSearchPattern;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory.ENUM;
+import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory.PRIMITIVE;
+import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING;
+
+/**
+ * OMRSMatchPropertiesMatcher holds the match properties and match criteria of a find...ByProperty search in a
+ * form that is quick to test against each instance.  The string form of each match value and the search patterns
+ * used to match it are worked out once for the search rather than for each instance.  Errors in the regular
+ * expressions are reported when an instance is tested, as they were when the match properties were interpreted
+ * for each instance.
+ */
+class OMRSMatchPropertiesMatcher implements OMRSInstanceMatcher
+{
+    private enum MatchOption {
+        RegexFullMatch,
+        RegexContainsMatch,
+        ExactMatch
+    }
+
+    private final OMRSRepositoryValidator   repositoryValidator;
+    private final InstanceProperties        matchProperties;
+    private final MatchCriteria             matchCriteria;
+    private final List<CompiledProperty>    compiledProperties = new ArrayList<>();
+
+
+    /**
+     * Constructor prepares the match properties.
+     *
+     * @param repositoryValidator validator that provides the string form of property values and matches
+     *                            the header properties
+     * @param matchProperties the properties to match (may be null)
+     * @param matchCriteria rule on how the match should occur
+     */
+    OMRSMatchPropertiesMatcher(OMRSRepositoryValidator repositoryValidator,
+                               InstanceProperties      matchProperties,
+                               MatchCriteria           matchCriteria)
+    {
+        this.repositoryValidator = repositoryValidator;
+        this.matchProperties     = matchProperties;
+        this.matchCriteria       = matchCriteria;
+
+        if (matchProperties != null)
+        {
+            Iterator<String> matchPropertyNames = matchProperties.getPropertyNames();
+
+            while (matchPropertyNames.hasNext())
+            {
+                String matchPropertyName = matchPropertyNames.next();
+
+                if (matchPropertyName != null)
+                {
+                    InstancePropertyValue matchPropertyValue = matchProperties.getPropertyValue(matchPropertyName);
+
+                    if (matchPropertyValue != null)
+                    {
+                        compiledProperties.add(new CompiledProperty(matchPropertyName,
+                                                                    matchPropertyValue,
+                                                                    repositoryValidator.getStringFromPropertyValue(matchPropertyValue)));
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Determine if the instance properties match the match properties and match criteria.
+     *
+     * @param instanceHeader the header of the instance.
+     * @param instanceProperties the properties from the instance.
+     * @return boolean flag indicating whether the properties match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    @Override
+    public boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                                     InstanceProperties  instanceProperties) throws InvalidParameterException
+    {
+        if ((matchProperties == null) || (matchProperties.getInstanceProperties() == null))
+        {
+            return true;
+        }
+
+        int matchingProperties = this.countMatchingPropertyValues(instanceProperties) +
+                                 repositoryValidator.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties);
+
+        switch (matchCriteria)
+        {
+            case ALL:
+                return matchingProperties == matchProperties.getPropertyCount();
+
+            case ANY:
+                return matchingProperties > 0;
+
+            case NONE:
+                return matchingProperties == 0;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * There are no classification conditions in a find...ByProperty search.
+     *
+     * @param entity the entity instance.
+     * @return true
+     */
+    @Override
+    public boolean matchesClassifications(EntitySummary entity)
+    {
+        return true;
+    }
+
+
+    /**
+     * Count the number of match property values that the properties of an instance match.  Header properties
+     * are not included.
+     *
+     * @param instanceProperties the properties from the instance.
+     * @return integer count of the matching properties.
+     * @throws InvalidParameterException invalid search criteria
+     */
+    int countMatchingPropertyValues(InstanceProperties instanceProperties) throws InvalidParameterException
+    {
+        int matchingProperties = 0;
+
+        if (instanceProperties != null)
+        {
+            for (CompiledProperty compiledProperty : compiledProperties)
+            {
+                InstancePropertyValue instancePropertyValue = instanceProperties.getPropertyValue(compiledProperty.propertyName);
+
+                if ((instancePropertyValue != null) && (compiledProperty.matches(instancePropertyValue)))
+                {
+                    matchingProperties++;
+                }
+            }
+        }
+
+        return matchingProperties;
+    }
+
+
+    /**
+     * A single match property.  The type of match performed depends on the property category of the instance's
+     * value [and for primitives also the primitive def category].  The rules are as follows:
+     *
+     * Primitives:
+     *   ** String        - the match value is used as a full regex.
+     *   ** Non-String    - the match value must be an exact match (.equals() not regex)
+     * Non-primitives:
+     *   ** Array         - flattened to "{ value, ... }" and matched using contains regex
+     *   ** Map           - flattened to "{ key -> value, ... }" and matched using contains regex
+     *   ** Struct        - flattened to "{ key : value, ... }" and matched using contains regex
+     *   ** Enums:        - matched using exact match (not regex)
+     */
+    private class CompiledProperty
+    {
+        private final String                propertyName;
+        private final InstancePropertyValue matchPropertyValue;
+        private final String                fullMatchRegex;
+        private final String                containsMatchRegex;
+
+        private OMRSSearchPattern           fullMatchPattern     = null;
+        private OMRSSearchPattern           containsMatchPattern = null;
+
+
+        /**
+         * Constructor saves the values that do not depend on the instance.
+         *
+         * @param propertyName name of the property
+         * @param matchPropertyValue value to match
+         * @param matchPropertyValueString string form of the value to match
+         */
+        CompiledProperty(String                propertyName,
+                         InstancePropertyValue matchPropertyValue,
+                         String                matchPropertyValueString)
+        {
+            this.propertyName       = propertyName;
+            this.matchPropertyValue = matchPropertyValue;
+            this.fullMatchRegex     = matchPropertyValueString;
+            this.containsMatchRegex = ".*" + matchPropertyValueString + ".*";
+        }
+
+
+        /**
+         * Return the way that the instance's value is matched.
+         *
+         * @param instancePropertyValue value from the instance
+         * @return match option
+         */
+        private MatchOption getMatchOption(InstancePropertyValue instancePropertyValue)
+        {
+            InstancePropertyCategory ipCat = instancePropertyValue.getInstancePropertyCategory();
+
+            if (ipCat == PRIMITIVE)
+            {
+                if (((PrimitivePropertyValue) instancePropertyValue).getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING)
+                {
+                    return MatchOption.RegexFullMatch;
+                }
+
+                return MatchOption.ExactMatch;
+            }
+            else if (ipCat == ENUM)
+            {
+                return MatchOption.ExactMatch;
+            }
+
+            return MatchOption.RegexContainsMatch;
+        }
+
+
+        /**
+         * Test whether the instance's value matches.
+         *
+         * @param instancePropertyValue value from the instance
+         * @return boolean flag
+         * @throws InvalidParameterException the regular expression is invalid
+         */
+        boolean matches(InstancePropertyValue instancePropertyValue) throws InvalidParameterException
+        {
+            final String  methodName = "countMatchingPropertyValues";
+
+            MatchOption matchOption = this.getMatchOption(instancePropertyValue);
+
+            if (matchOption == MatchOption.ExactMatch)
+            {
+                return instancePropertyValue.equals(matchPropertyValue);
+            }
+
+            String instancePropertyValueString = repositoryValidator.getStringFromPropertyValue(instancePropertyValue);
+
+            if (instancePropertyValueString == null)
+            {
+                return false;
+            }
+
+            String regex = (matchOption == MatchOption.RegexFullMatch) ? fullMatchRegex : containsMatchRegex;
+
+            try
+            {
+                if (matchOption == MatchOption.RegexFullMatch)
+                {
+                    if (fullMatchPattern == null)
+                    {
+                        fullMatchPattern = OMRSSearchPattern.getSearchPattern(regex);
+                    }
+
+                    return fullMatchPattern.matches(instancePropertyValueString);
+                }
+
+                if (containsMatchPattern == null)
+                {
+                    containsMatchPattern = OMRSSearchPattern.getSearchPattern(regex);
+                }
+
+                return containsMatchPattern.matches(instancePropertyValueString);
+            }
+            catch (Throwable error)
+            {
+                throw new InvalidParameterException(OMRSErrorCode.INVALID_SEARCH_CRITERIA.getMessageDefinition(error.getClass().getName(),
+                                                                                                               regex,
+                                                                                                               instancePropertyValueString,
+                                                                                                               error.getMessage(),
+                                                                                                               methodName),
+                                                    repositoryValidator.getClass().getName(),
+                                                    methodName,
+                                                    "instanceProperties");
+            }
+        }
+    }
+}
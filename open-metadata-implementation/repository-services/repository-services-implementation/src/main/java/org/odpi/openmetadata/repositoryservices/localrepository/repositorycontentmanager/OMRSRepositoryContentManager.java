@@ -50,18 +50,15 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private String                          localServerUserId;             /* initialized in the constructor */
     private OMRSRepositoryEventManager      outboundRepositoryEventManager = null;
     private String                          openTypesOriginGUID            = null;
-    private Map<String, TypeDef>            knownTypeDefGUIDs              = new HashMap<>();
-    private Map<String, TypeDef>            knownTypeDefNames              = new HashMap<>();
-    private Map<String, AttributeTypeDef>   knownAttributeTypeDefGUIDs     = new HashMap<>();
-    private Map<String, AttributeTypeDef>   knownAttributeTypeDefNames     = new HashMap<>();
-    private Map<String, TypeDef>            activeTypeDefGUIDs             = new HashMap<>();
-    private Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
-    private Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
-    private Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
-    private Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
     private Map<String, String>             metadataCollectionNames        = new HashMap<>();
 
+    /*
+     * The cached types are held in an immutable registry that is replaced whenever they change.  Request threads
+     * read the current registry without locking.  Changes are made under the lock so that none are lost.
+     */
+    private volatile OMRSTypeRegistry       typeRegistry                   = new OMRSTypeRegistry();
+    private final Object                    typeRegistryLock               = new Object();
+
 
     /*
      * The audit log provides a verifiable record of the open metadata archives that have been loaded into
@@ -148,14 +145,13 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     private void cacheTypeDef(String  sourceName, TypeDef      newTypeDef, boolean isLocallySupported)
     {
-        knownTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
-        knownTypeDefNames.put(newTypeDef.getName(), newTypeDef);
+        synchronized (typeRegistryLock)
+        {
+            typeRegistry = typeRegistry.withTypeDef(newTypeDef, isLocallySupported);
+        }
 
         if (isLocallySupported)
         {
-            activeTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
-            activeTypeDefNames.put(newTypeDef.getName(), newTypeDef);
-
             log.debug("New Active Type " + newTypeDef.getName() + " from " + sourceName + ". Full TypeDef: " + newTypeDef);
         }
         else
@@ -177,13 +173,9 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                 String  obsoleteTypeDefName,
                                 boolean isLocallySupported)
     {
-        knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-        knownTypeDefNames.remove(obsoleteTypeDefName);
-
-        if (isLocallySupported)
+        synchronized (typeRegistryLock)
         {
-            activeTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-            activeTypeDefNames.remove(obsoleteTypeDefName);
+            typeRegistry = typeRegistry.withoutTypeDef(obsoleteTypeDefGUID, obsoleteTypeDefName, isLocallySupported);
         }
 
         log.debug("Removed Type " + obsoleteTypeDefName + " from " + sourceName);
@@ -213,14 +205,13 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                        AttributeTypeDef newAttributeTypeDef,
                                        boolean          isLocallySupported)
     {
-        knownAttributeTypeDefGUIDs.put(newAttributeTypeDef.getGUID(), newAttributeTypeDef);
-        knownAttributeTypeDefNames.put(newAttributeTypeDef.getName(), newAttributeTypeDef);
+        synchronized (typeRegistryLock)
+        {
+            typeRegistry = typeRegistry.withAttributeTypeDef(newAttributeTypeDef, isLocallySupported);
+        }
 
         if (isLocallySupported)
         {
-            activeAttributeTypeDefGUIDs.put(newAttributeTypeDef.getGUID(), newAttributeTypeDef);
-            activeAttributeTypeDefNames.put(newAttributeTypeDef.getName(), newAttributeTypeDef);
-
             if (log.isDebugEnabled())
             {
                 log.debug("New Active Attribute Type " + newAttributeTypeDef.getName() + " from " + sourceName+ ". Full AttributeTypeDef: " + newAttributeTypeDef);
@@ -259,14 +250,15 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, obsoleteTypeDefGUID, obsoleteTypeDefName))
         {
-            knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-            knownTypeDefNames.remove(obsoleteTypeDefName);
+            synchronized (typeRegistryLock)
+            {
+                typeRegistry = typeRegistry.withoutTypeDef(obsoleteTypeDefGUID,
+                                                           obsoleteTypeDefName,
+                                                           localRepositoryConnector != null);
+            }
 
             if (localRepositoryConnector != null)
             {
-                activeTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-                activeTypeDefNames.remove(obsoleteTypeDefName);
-
                 log.debug("Deleted Active TypeDef " + obsoleteTypeDefName + " from " + sourceName);
             }
         }
@@ -286,14 +278,15 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, obsoleteAttributeTypeDefGUID, obsoleteAttributeTypeDefName))
         {
-            knownAttributeTypeDefGUIDs.remove(obsoleteAttributeTypeDefGUID);
-            knownAttributeTypeDefNames.remove(obsoleteAttributeTypeDefName);
+            synchronized (typeRegistryLock)
+            {
+                typeRegistry = typeRegistry.withoutAttributeTypeDef(obsoleteAttributeTypeDefGUID,
+                                                                    obsoleteAttributeTypeDefName,
+                                                                    localRepositoryConnector != null);
+            }
 
             if (localRepositoryConnector != null)
             {
-                activeAttributeTypeDefGUIDs.remove(obsoleteAttributeTypeDefGUID);
-                activeAttributeTypeDefNames.remove(obsoleteAttributeTypeDefName);
-
                 if (log.isDebugEnabled())
                 {
                     log.debug("Deleted Active AttributeTypeDef " + obsoleteAttributeTypeDefName + " from " + sourceName);
@@ -414,7 +407,8 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
 
     /**
-     * Evaluate the superTypes for a type.  The results are cached in typeDefSuperTypes.
+     * Evaluate the superTypes for a type.  The results come from the type hierarchy unless the supertypes of the type
+     * are not all known, in which case the error is logged.
      *
      * @param sourceName source of the request (used for logging)
      * @param typeName name of type to process
@@ -427,67 +421,64 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String  thisMethodName = "getSuperTypes";
 
-        List<TypeDefLink>   typeHierarchy = typeDefSuperTypes.get(typeName);
+        OMRSTypeDefHierarchy hierarchy = typeRegistry.getTypeDefHierarchy();
 
-        if (typeHierarchy == null)
+        if (hierarchy.isKnownTypeName(typeName))
         {
-            /*
-             * The type hierarchy is not known at this time (it is evaluated lazily).
-             */
-            typeHierarchy = new ArrayList<>();
+            return hierarchy.getSuperTypes(typeName);
+        }
 
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
+        List<TypeDefLink>   typeHierarchy = new ArrayList<>();
 
-            if (typeDef != null)
+        /*
+         * The supertypes are not all known so walk the chain to report the error.
+         */
+        TypeDef typeDef = typeRegistry.getKnownTypeDefNames().get(typeName);
+
+        if (typeDef != null)
+        {
+            TypeDefLink superTypeLink = typeDef.getSuperType();
+
+            while (superTypeLink != null)
             {
-                TypeDefLink superTypeLink = typeDef.getSuperType();
+                String superTypeName = superTypeLink.getName();
 
-                while (superTypeLink != null)
+                if (superTypeName != null)
                 {
-                    String superTypeName = superTypeLink.getName();
+                    log.debug(typeName + " has super type " + superTypeName);
 
-                    if (superTypeName != null)
-                    {
-                        log.debug(typeName + " has super type " + superTypeName);
+                    typeHierarchy.add(superTypeLink);
 
-                        typeHierarchy.add(superTypeLink);
+                    /*
+                     * Retrieve the TypeDef for this super type
+                     */
+                    TypeDef superTypeDef = typeRegistry.getKnownTypeDefNames().get(superTypeName);
 
+                    if (superTypeDef != null)
+                    {
                         /*
-                         * Retrieve the TypeDef for this super type
+                         * Retrieve the super type for this super typeDef.  It will be null if the type is top-level.
                          */
-                        TypeDef superTypeDef = knownTypeDefNames.get(superTypeName);
-
-                        if (superTypeDef != null)
-                        {
-                            /*
-                             * Retrieve the super type for this super typeDef.  It will be null if the type is top-level.
-                             */
-                            superTypeLink = superTypeDef.getSuperType();
-                        }
-                        else
-                        {
-                            log.error(superTypeName + " supertype is not known in TypeDef cache");
-                            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                        }
+                        superTypeLink = superTypeDef.getSuperType();
                     }
                     else
                     {
-                        log.error("Corrupted TypeDef cache, no name for " + superTypeLink.toString());
+                        log.error(superTypeName + " supertype is not known in TypeDef cache");
                         throwContentManagerLogicError(sourceName, methodName, thisMethodName);
                     }
                 }
-
-                /*
-                 * Cache the resulting superType list
-                 */
-                typeDefSuperTypes.put(typeName, typeHierarchy);
-            }
-            else
-            {
-                log.error(typeName + " type is not known in TypeDef cache");
-                throwContentManagerLogicError(sourceName, methodName, thisMethodName);
+                else
+                {
+                    log.error("Corrupted TypeDef cache, no name for " + superTypeLink.toString());
+                    throwContentManagerLogicError(sourceName, methodName, thisMethodName);
+                }
             }
         }
+        else
+        {
+            log.error(typeName + " type is not known in TypeDef cache");
+            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
+        }
 
         if (typeHierarchy.isEmpty())
         {
@@ -498,9 +489,6 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         }
         else
         {
-            /*
-             * The type hierarchy is known and can be returned directly.
-             */
             return typeHierarchy;
         }
     }
@@ -521,7 +509,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String methodName = "isTypeOf";
 
-        log.debug("isTypeOf: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeName = " + expectedTypeName);
+        if (log.isDebugEnabled())
+        {
+            log.debug("isTypeOf: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeName = " + expectedTypeName);
+        }
 
         if (expectedTypeName == null)
         {
@@ -549,6 +540,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return true;
         }
 
+        /*
+         * Use the precomputed type hierarchy where possible.
+         */
+        OMRSTypeDefHierarchy hierarchy = typeRegistry.getTypeDefHierarchy();
+
+        if (hierarchy.isKnownTypeName(actualTypeName))
+        {
+            return hierarchy.isTypeOf(actualTypeName, expectedTypeName);
+        }
+
         /*
          * Looking for a match in the superTypes.
          */
@@ -595,7 +596,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String methodName = "isTypeOfByGUID";
 
-        log.debug("IsTypeOfByGUID: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeGUID = " + expectedTypeGUID);
+        if (log.isDebugEnabled())
+        {
+            log.debug("IsTypeOfByGUID: sourceName = " + sourceName + "; actualTypeName = " + actualTypeName + "; expectedTypeGUID = " + expectedTypeGUID);
+        }
 
         if (expectedTypeGUID == null)
         {
@@ -625,10 +629,20 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return true;
         }
 
+        /*
+         * Use the precomputed type hierarchy where possible.
+         */
+        OMRSTypeDefHierarchy hierarchy = typeRegistry.getTypeDefHierarchy();
+
+        if (hierarchy.isKnownTypeName(actualTypeName))
+        {
+            return hierarchy.isTypeOfByGUID(actualTypeName, expectedTypeGUID);
+        }
+
         /*
          * Looking for a match in the superTypes.
          */
-       List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+        List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
 
         if (typeHierarchy != null)
         {
@@ -672,7 +686,8 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (isValidTypeCategory(sourceName, category, typeName, methodName))
         {
-            InstanceType    instanceType = knownInstanceTypes.get(typeName);
+            OMRSTypeRegistry registry     = typeRegistry;
+            InstanceType     instanceType = registry.getKnownInstanceTypes().get(typeName);
 
             if (instanceType != null)
             {
@@ -682,7 +697,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             /*
              * The instance type has not yet been created. (They are created lazily.)
              */
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
+            TypeDef typeDef = registry.getKnownTypeDefNames().get(typeName);
 
             if (typeDef != null)
             {
@@ -727,7 +742,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                         /*
                          * Retrieve the TypeDef for this super type
                          */
-                        TypeDef         superTypeDef  = knownTypeDefNames.get(superTypeName);
+                        TypeDef         superTypeDef  = registry.getKnownTypeDefNames().get(superTypeName);
 
                         if (superTypeDef != null)
                         {
@@ -773,7 +788,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                 /*
                  * Cache the instance type for next time
                  */
-                knownInstanceTypes.put(typeName, instanceType);
+                registry.getKnownInstanceTypes().put(typeName, instanceType);
 
                 return instanceType;
             }
@@ -825,7 +840,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeName);
+        TypeDef   typeDef = typeRegistry.getKnownTypeDefNames().get(typeName);
 
         if (typeDef != null)
         {
@@ -876,7 +891,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             if ((isValidTypeCategory(sourceName, TypeDefCategory.CLASSIFICATION_DEF, classificationTypeName, methodName)) &&
                 (isValidTypeCategory(sourceName, TypeDefCategory.ENTITY_DEF, entityTypeName, methodName)))
             {
-                ClassificationDef  classificationTypeDef = (ClassificationDef) knownTypeDefNames.get(classificationTypeName);
+                ClassificationDef  classificationTypeDef = (ClassificationDef) typeRegistry.getKnownTypeDefNames().get(classificationTypeName);
 
                 if (classificationTypeDef != null)
                 {
@@ -909,7 +924,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                             TypeDefLink superTypeLink=typeDef.getSuperType();
                             String parentName= superTypeLink.getName();
                             entityTypes.add(parentName);
-                            typeDef  = this.knownTypeDefGUIDs.get(superTypeLink.getGUID());
+                            typeDef  = typeRegistry.getKnownTypeDefGUIDs().get(superTypeLink.getGUID());
                         }
 
                         for (TypeDefLink  allowedEntityDefLink : entityDefs)
@@ -966,7 +981,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             this.throwContentManagerLogicError(sourceName, thisMethodName, originalMethodName);
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeName);
+        TypeDef   typeDef = typeRegistry.getKnownTypeDefNames().get(typeName);
 
         if (typeDef == null)
         {
@@ -1034,15 +1049,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     TypeDefGallery   getActiveTypeDefGallery()
     {
         TypeDefGallery               typeDefGallery               = new TypeDefGallery();
+        OMRSTypeRegistry             registry                     = typeRegistry;
 
-        if (! activeAttributeTypeDefNames.isEmpty())
+        if (! registry.getActiveAttributeTypeDefNames().isEmpty())
         {
-            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(activeAttributeTypeDefNames.values()));
+            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(registry.getActiveAttributeTypeDefNames().values()));
         }
 
-        if (! activeTypeDefNames.isEmpty())
+        if (! registry.getActiveTypeDefNames().isEmpty())
         {
-            typeDefGallery.setTypeDefs(new ArrayList<>(activeTypeDefNames.values()));
+            typeDefGallery.setTypeDefs(new ArrayList<>(registry.getActiveTypeDefNames().values()));
         }
 
         return typeDefGallery;
@@ -1056,11 +1072,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     List<TypeDef>  getActiveTypeDefs()
     {
-        List<TypeDef> results = null;
+        OMRSTypeRegistry registry = typeRegistry;
+        List<TypeDef>    results  = null;
 
-        if (! activeTypeDefGUIDs.isEmpty())
+        if (! registry.getActiveTypeDefGUIDs().isEmpty())
         {
-            results = new ArrayList<>(activeTypeDefGUIDs.values());
+            results = new ArrayList<>(registry.getActiveTypeDefGUIDs().values());
         }
 
         return results;
@@ -1074,11 +1091,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     List<AttributeTypeDef>  getActiveAttributeTypeDefs()
     {
-        List<AttributeTypeDef> results = null;
+        OMRSTypeRegistry       registry = typeRegistry;
+        List<AttributeTypeDef> results  = null;
 
-        if (! activeAttributeTypeDefGUIDs.isEmpty())
+        if (! registry.getActiveAttributeTypeDefGUIDs().isEmpty())
         {
-            results = new ArrayList<>(activeAttributeTypeDefGUIDs.values());
+            results = new ArrayList<>(registry.getActiveAttributeTypeDefGUIDs().values());
         }
 
         return results;
@@ -1093,15 +1111,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     TypeDefGallery   getKnownTypeDefGallery()
     {
         TypeDefGallery               typeDefGallery               = new TypeDefGallery();
+        OMRSTypeRegistry             registry                     = typeRegistry;
 
-        if (! knownAttributeTypeDefNames.isEmpty())
+        if (! registry.getKnownAttributeTypeDefNames().isEmpty())
         {
-            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(knownAttributeTypeDefNames.values()));
+            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(registry.getKnownAttributeTypeDefNames().values()));
         }
 
-        if (! knownTypeDefNames.isEmpty())
+        if (! registry.getKnownTypeDefNames().isEmpty())
         {
-            typeDefGallery.setTypeDefs(new ArrayList<>(knownTypeDefNames.values()));
+            typeDefGallery.setTypeDefs(new ArrayList<>(registry.getKnownTypeDefNames().values()));
         }
 
         return typeDefGallery;
@@ -1115,11 +1134,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     List<TypeDef>  getKnownTypeDefs()
     {
-        List<TypeDef> results = null;
+        OMRSTypeRegistry registry = typeRegistry;
+        List<TypeDef>    results  = null;
 
-        if (! knownTypeDefGUIDs.isEmpty())
+        if (! registry.getKnownTypeDefGUIDs().isEmpty())
         {
-            results = new ArrayList<>(knownTypeDefGUIDs.values());
+            results = new ArrayList<>(registry.getKnownTypeDefGUIDs().values());
         }
 
         return results;
@@ -1133,11 +1153,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     List<AttributeTypeDef>  getKnownAttributeTypeDefs()
     {
-        List<AttributeTypeDef> results = null;
+        OMRSTypeRegistry       registry = typeRegistry;
+        List<AttributeTypeDef> results  = null;
 
-        if (! knownAttributeTypeDefGUIDs.isEmpty())
+        if (! registry.getKnownAttributeTypeDefGUIDs().isEmpty())
         {
-            results = new ArrayList<>(knownAttributeTypeDefGUIDs.values());
+            results = new ArrayList<>(registry.getKnownAttributeTypeDefGUIDs().values());
         }
 
         return results;
@@ -1154,7 +1175,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     TypeDef  getTypeDefByName(String    typeDefName)
     {
-        return knownTypeDefNames.get(typeDefName);
+        return typeRegistry.getKnownTypeDefNames().get(typeDefName);
     }
 
 
@@ -1168,7 +1189,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     AttributeTypeDef getAttributeTypeDefByName(String    attributeTypeDefName)
     {
-        return knownAttributeTypeDefNames.get(attributeTypeDefName);
+        return typeRegistry.getKnownAttributeTypeDefNames().get(attributeTypeDefName);
     }
 
 
@@ -1193,7 +1214,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (typeDefGUID != null)
         {
-            TypeDef typeDef = knownTypeDefGUIDs.get(typeDefGUID);
+            TypeDef typeDef = typeRegistry.getKnownTypeDefGUIDs().get(typeDefGUID);
 
             if (typeDef == null)
             {
@@ -1231,7 +1252,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (attributeTypeDefGUID != null)
         {
-            AttributeTypeDef attributeTypeDef = knownAttributeTypeDefGUIDs.get(attributeTypeDefGUID);
+            AttributeTypeDef attributeTypeDef = typeRegistry.getKnownAttributeTypeDefGUIDs().get(attributeTypeDefGUID);
 
             if (attributeTypeDef == null)
             {
@@ -1273,7 +1294,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (validTypeId(sourceName, typeDefGUID, typeDefName))
         {
-            return knownTypeDefNames.get(typeDefName);
+            return typeRegistry.getKnownTypeDefNames().get(typeDefName);
         }
         else
         {
@@ -1310,7 +1331,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (validTypeId(sourceName, attributeTypeDefGUID, attributeTypeDefName))
         {
-            return knownAttributeTypeDefNames.get(attributeTypeDefName);
+            return typeRegistry.getKnownAttributeTypeDefNames().get(attributeTypeDefName);
         }
         else
         {
@@ -1423,6 +1444,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return null;
         }
 
+        /*
+         * The type hierarchy has the properties for the cached TypeDefs.
+         */
+        OMRSTypeDefHierarchy hierarchy = typeRegistry.getTypeDefHierarchy();
+
+        if (hierarchy.getTypeDef(typeDef.getName()) == typeDef)
+        {
+            return new ArrayList<>(hierarchy.getAllAttributes(typeDef.getName()));
+        }
+
         List<TypeDefAttribute>    propertiesDefinition = typeDef.getPropertiesDefinition();
 
         /*
@@ -1441,7 +1472,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         while (superTypeLink != null)
         {
-            TypeDef                superTypeDef                  = this.knownTypeDefGUIDs.get(superTypeLink.getGUID());
+            TypeDef                superTypeDef                  = typeRegistry.getKnownTypeDefGUIDs().get(superTypeLink.getGUID());
             List<TypeDefAttribute> superTypePropertiesDefinition = superTypeDef.getPropertiesDefinition();
 
             if (superTypePropertiesDefinition != null)
@@ -1456,6 +1487,47 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     }
 
 
+    /**
+     * Return the definitions of all of the properties in the supplied TypeDef and all of its super-types,
+     * indexed by property name.
+     *
+     * @param sourceName name of caller.
+     * @param typeDef TypeDef to query.
+     * @param methodName calling method.
+     * @return map of property names to property definitions.
+     */
+    Map<String, TypeDefAttribute> getAllPropertyNamesForTypeDef(String  sourceName,
+                                                                TypeDef typeDef,
+                                                                String  methodName)
+    {
+        if (typeDef != null)
+        {
+            OMRSTypeDefHierarchy hierarchy = typeRegistry.getTypeDefHierarchy();
+
+            if (hierarchy.getTypeDef(typeDef.getName()) == typeDef)
+            {
+                return hierarchy.getAllAttributeNames(typeDef.getName());
+            }
+        }
+
+        Map<String, TypeDefAttribute> propertyNames = new HashMap<>();
+        List<TypeDefAttribute>        properties    = this.getAllPropertiesForTypeDef(sourceName, typeDef, methodName);
+
+        if (properties != null)
+        {
+            for (TypeDefAttribute property : properties)
+            {
+                if ((property != null) && (property.getAttributeName() != null))
+                {
+                    propertyNames.put(property.getAttributeName(), property);
+                }
+            }
+        }
+
+        return propertyNames;
+    }
+
+
     /**
      * Return a boolean flag indicating whether the list of TypeDefs passed are compatible with the
      * all known typedefs.
@@ -1478,7 +1550,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
                 {
-                    knownTypeDefNames.put(typeDef.getName(), typeDef);
+                    synchronized (typeRegistryLock)
+                    {
+                        typeRegistry = typeRegistry.withTypeDef(typeDef, false);
+                    }
                 }
             }
             else
@@ -1513,7 +1588,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, attributeTypeDef.getGUID(), attributeTypeDef.getName()))
                 {
-                    knownAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
+                    synchronized (typeRegistryLock)
+                    {
+                        typeRegistry = typeRegistry.withAttributeTypeDef(attributeTypeDef, false);
+                    }
                 }
             }
             else
@@ -1538,7 +1616,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
+            TypeDef typeDef = typeRegistry.getKnownTypeDefNames().get(typeName);
 
             if (typeDef == null)
             {
@@ -1573,7 +1651,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            TypeDef typeDef = knownTypeDefGUIDs.get(typeGUID);
+            TypeDef typeDef = typeRegistry.getKnownTypeDefGUIDs().get(typeGUID);
             if (typeDef != null)
             {
                 String originGUID = typeDef.getOrigin();
@@ -1599,11 +1677,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef  typeDef = knownTypeDefNames.get(typeName);
+            TypeDef  typeDef = typeRegistry.getKnownTypeDefNames().get(typeName);
 
             if (typeDef == null)
             {
-                AttributeTypeDef  attributeTypeDef = knownAttributeTypeDefNames.get(typeName);
+                AttributeTypeDef  attributeTypeDef = typeRegistry.getKnownAttributeTypeDefNames().get(typeName);
 
                 if (attributeTypeDef == null)
                 {
@@ -1641,12 +1719,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            if (knownTypeDefGUIDs.get(typeGUID) != null)
+            if (typeRegistry.getKnownTypeDefGUIDs().get(typeGUID) != null)
             {
                 return true;
             }
 
-            return knownAttributeTypeDefGUIDs.get(typeGUID) != null;
+            return typeRegistry.getKnownAttributeTypeDefGUIDs().get(typeGUID) != null;
         }
 
         return false;
@@ -1665,11 +1743,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef  typeDef = activeTypeDefNames.get(typeName);
+            TypeDef  typeDef = typeRegistry.getActiveTypeDefNames().get(typeName);
 
             if (typeDef == null)
             {
-                AttributeTypeDef  attributeTypeDef = activeAttributeTypeDefNames.get(typeName);
+                AttributeTypeDef  attributeTypeDef = typeRegistry.getActiveAttributeTypeDefNames().get(typeName);
 
                 if (attributeTypeDef == null)
                 {
@@ -1706,12 +1784,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            if (activeTypeDefGUIDs.get(typeGUID) != null)
+            if (typeRegistry.getActiveTypeDefGUIDs().get(typeGUID) != null)
             {
                 return true;
             }
 
-            return activeAttributeTypeDefGUIDs.get(typeGUID) != null;
+            return typeRegistry.getActiveAttributeTypeDefGUIDs().get(typeGUID) != null;
         }
 
         return false;
@@ -1748,7 +1826,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef typeDef = knownTypeDefNames.get(typeName);
+        TypeDef typeDef = typeRegistry.getKnownTypeDefNames().get(typeName);
 
         if (typeDef != null)
         {
@@ -1771,7 +1849,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             /*
              * This TypeDef is unknown so see if it is an AttributeTypeDef
              */
-            AttributeTypeDef   attributeTypeDef = knownAttributeTypeDefNames.get(typeName);
+            AttributeTypeDef   attributeTypeDef = typeRegistry.getKnownAttributeTypeDefNames().get(typeName);
 
             if (attributeTypeDef == null)
             {
@@ -1949,7 +2027,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef typeDef = knownTypeDefNames.get(typeDefName);
+        TypeDef typeDef = typeRegistry.getKnownTypeDefNames().get(typeDefName);
 
         if (typeDef != null)
         {
@@ -2114,7 +2192,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        AttributeTypeDef          attributeTypeDef = knownAttributeTypeDefNames.get(attributeTypeDefName);
+        AttributeTypeDef          attributeTypeDef = typeRegistry.getKnownAttributeTypeDefNames().get(attributeTypeDefName);
 
         if (attributeTypeDef != null)
         {
@@ -2157,7 +2235,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeDefName);
+        TypeDef   typeDef = typeRegistry.getKnownTypeDefNames().get(typeDefName);
 
         if (typeDef == null)
         {
@@ -2202,7 +2280,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        AttributeTypeDef   attributeTypeDef = knownAttributeTypeDefNames.get(attributeTypeDefName);
+        AttributeTypeDef   attributeTypeDef = typeRegistry.getKnownAttributeTypeDefNames().get(attributeTypeDefName);
 
         if (attributeTypeDef == null)
         {
@@ -2542,7 +2620,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
             if (metadataCollection != null)
             {
-                TypeDef currentTypeDef = activeTypeDefNames.get(typeDef.getName());
+                TypeDef currentTypeDef = typeRegistry.getActiveTypeDefNames().get(typeDef.getName());
 
                 /*
                  * If we have already processed this type then the incoming event is an obsolete one.
@@ -2649,7 +2727,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                                                        localRepositoryConnector.getOrganizationName(),
                                                                        typeDef,
                                                                        originatorMetadataCollectionId,
-                                                                       knownTypeDefNames.get(typeDef.getName()),
+                                                                       typeRegistry.getKnownTypeDefNames().get(typeDef.getName()),
                                                                        error.getReportedErrorMessage());
         }
         catch (InvalidTypeDefException error)
@@ -2738,8 +2816,6 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                      */
                     this.cacheAttributeTypeDef(sourceName, attributeTypeDef, true);
 
-                    activeAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
-
                     auditLog.logMessage(actionDescription,
                                         OMRSAuditCode.NEW_TYPE_ADDED.getMessageDefinition(attributeTypeDef.getName(),
                                                                                           attributeTypeDef.getGUID(),
@@ -2830,7 +2906,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                                                                 localRepositoryConnector.getOrganizationName(),
                                                                                 attributeTypeDef,
                                                                                 originatorMetadataCollectionId,
-                                                                                knownAttributeTypeDefNames.get(
+                                                                                typeRegistry.getKnownAttributeTypeDefNames().get(
                                                                                         attributeTypeDef.getName()),
                                                                                 null);
         }
@@ -2906,7 +2982,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
             if (metadataCollection != null)
             {
-                TypeDef currentTypeDef = activeTypeDefNames.get(typeDefPatch.getTypeDefName());
+                TypeDef currentTypeDef = typeRegistry.getActiveTypeDefNames().get(typeDefPatch.getTypeDefName());
 
                 if (currentTypeDef != null)
                 {
@@ -4,12 +4,14 @@ package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconte
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRepositoryPropertiesUtilities;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSSearchPattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceMatcher;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
@@ -32,13 +34,6 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
     private        OMRSRepositoryContentManager    repositoryContentManager;
 
-    private enum MatchOption {
-        RegexFullMatch,
-        RegexContainsMatch,
-        ExactMatch
-    }
-
-
     /**
      * Typical constructor used by the OMRS to create a repository validator for a repository connector.
      *
@@ -1999,9 +1994,9 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
             typeDefCategoryName = typeDef.getCategory().getName();
         }
 
-        List<TypeDefAttribute> typeDefAttributes = repositoryContentManager.getAllPropertiesForTypeDef(sourceName,
-                                                                                                       typeDef,
-                                                                                                       methodName);
+        Map<String, TypeDefAttribute> typeDefAttributes = repositoryContentManager.getAllPropertyNamesForTypeDef(sourceName,
+                                                                                                                 typeDef,
+                                                                                                                 methodName);
 
         if (typeDefAttributes == null)
         {
@@ -2038,24 +2033,20 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
             AttributeTypeDef          attributeTypeDef = null;
             boolean                   recognizedProperty = false;
 
-            for (TypeDefAttribute typeDefAttribute : typeDefAttributes)
+            TypeDefAttribute typeDefAttribute = typeDefAttributes.get(propertyName);
+
+            if (typeDefAttribute != null)
             {
-                if (typeDefAttribute != null)
-                {
-                    if (propertyName.equals(typeDefAttribute.getAttributeName()))
-                    {
-                        recognizedProperty = true;
+                recognizedProperty = true;
 
-                        attributeTypeDef = typeDefAttribute.getAttributeType();
-                        if (attributeTypeDef == null)
-                        {
-                            propertyDefinitionType = AttributeTypeDefCategory.UNKNOWN_DEF;
-                        }
-                        else
-                        {
-                            propertyDefinitionType = attributeTypeDef.getCategory();
-                        }
-                    }
+                attributeTypeDef = typeDefAttribute.getAttributeType();
+                if (attributeTypeDef == null)
+                {
+                    propertyDefinitionType = AttributeTypeDefCategory.UNKNOWN_DEF;
+                }
+                else
+                {
+                    propertyDefinitionType = attributeTypeDef.getCategory();
                 }
             }
 
@@ -3516,158 +3507,12 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     public int countMatchingPropertyValues(InstanceProperties       matchProperties,
                                            InstanceProperties       instanceProperties) throws InvalidParameterException
     {
-        final String  methodName = "countMatchingPropertyValues";
-        int           matchingProperties = 0;
-
-        if ((matchProperties != null) && (instanceProperties != null))
+        if (matchProperties == null)
         {
-            Iterator<String> matchPropertyNames = matchProperties.getPropertyNames();
-
-            while (matchPropertyNames.hasNext())
-            {
-                String matchPropertyName = matchPropertyNames.next();
-
-                if (matchPropertyName != null)
-                {
-                    InstancePropertyValue matchPropertyValue = matchProperties.getPropertyValue(matchPropertyName);
-
-                    if (matchPropertyValue != null)
-                    {
-                        String           matchPropertyValueString = this.getStringFromPropertyValue(matchPropertyValue);
-                        Iterator<String> instancePropertyNames    = instanceProperties.getPropertyNames();
-
-                        while (instancePropertyNames.hasNext())
-                        {
-                            String instancePropertyName = instancePropertyNames.next();
-
-                            if (instancePropertyName != null)
-                            {
-                                InstancePropertyValue instancePropertyValue = instanceProperties.getPropertyValue(instancePropertyName);
-
-                                if (instancePropertyValue != null)
-                                {
-                                    if (instancePropertyName.equals(matchPropertyName))
-                                    {
-                                        /*
-                                         * The property names match - do the values?
-                                         */
-
-
-                                        /*
-                                         * The type of match performed depends on the property category [and for primitives also
-                                         * the primitive def category]. The rules are as follows:
-                                         *
-                                         * Primitives:
-                                         *   ** String        - the match value is used as a full regex.
-                                         *   ** Non-String    - the match value must be an exact match (.equals() not regex)
-                                         * Non-primitives:
-                                         *   ** Array         - flattened to "{ value, ... }" and matched using contains regex
-                                         *   ** Map           - flattened to "{ key -> value, ... }" and matched using contains regex
-                                         *   ** Struct        - flattened to "{ key : value, ... }" and matched using contains regex
-                                         *   ** Enums:        - matched using exact match (not regex)
-                                         *
-                                         */
-                                        MatchOption matchOption;
-
-                                        InstancePropertyCategory ipCat = instancePropertyValue.getInstancePropertyCategory();
-
-                                        if (ipCat == PRIMITIVE)
-                                        {
-
-                                            /*
-                                             * Property is a primitive.
-                                             * If it is a string, use a full regex match.
-                                             * If not a string, use an exact match.
-                                             */
-
-                                            PrimitivePropertyValue primPropValue = (PrimitivePropertyValue) instancePropertyValue;
-
-                                            if (primPropValue.getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING)
-                                            {
-                                                matchOption = MatchOption.RegexFullMatch;
-                                            }
-                                            else
-                                            {
-                                                matchOption = MatchOption.ExactMatch;
-                                            }
-                                        }
-                                        else
-                                        {
-
-                                            /*
-                                             * Property is not a primitive.
-                                             * If it is an Array, Struct or Map use a contains regex match (against stringified collection)
-                                             * If it is an Enum use an exact match
-                                             *
-                                             */
-                                            if (ipCat == ENUM)
-                                            {
-                                                matchOption = MatchOption.ExactMatch;
-                                            }
-                                            else
-                                            {
-                                                matchOption = MatchOption.RegexContainsMatch;
-                                            }
-                                        }
-
-                                        /*
-                                         *  Perform the appropriate comparison
-                                         */
-                                        switch (matchOption)
-                                        {
-                                            case ExactMatch:
-                                                if (instancePropertyValue.equals(matchPropertyValue))
-                                                {
-                                                    /*
-                                                     * The values match exactly.
-                                                     */
-                                                    matchingProperties++;
-                                                }
-                                                break;
-
-                                            case RegexContainsMatch:
-                                                matchPropertyValueString = ".*" + matchPropertyValueString + ".*";
-                                                // deliberate no break; let this drop through with the modified match string
-                                            case RegexFullMatch:
-                                                /*
-                                                 * Does a regex match work? It must match the complete regex...
-                                                 */
-                                                String instancePropertyValueString = this.getStringFromPropertyValue(instancePropertyValue);
-
-                                                if (instancePropertyValueString != null)
-                                                {
-                                                    try
-                                                    {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
-                                                        {
-                                                            matchingProperties++;
-                                                        }
-                                                    }
-                                                    catch (Throwable error)
-                                                    {
-                                                        throw new InvalidParameterException(
-                                                                OMRSErrorCode.INVALID_SEARCH_CRITERIA.getMessageDefinition(error.getClass().getName(),
-                                                                                                                           matchPropertyValueString,
-                                                                                                                           instancePropertyValueString,
-                                                                                                                           error.getMessage(),
-                                                                                                                           methodName),
-                                                                this.getClass().getName(),
-                                                                methodName,
-                                                                "instanceProperties");
-                                                    }
-                                                }
-                                                break;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+            return 0;
         }
 
-        return matchingProperties;
+        return new OMRSMatchPropertiesMatcher(this, matchProperties, null).countMatchingPropertyValues(instanceProperties);
     }
 
 
@@ -3697,7 +3542,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (matchValue.matches(expectedValue))
+                        if (OMRSSearchPattern.matches(matchValue, expectedValue))
                         {
                             result = true;
                         }
@@ -3857,41 +3702,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                         InstanceProperties   instanceProperties,
                                                         MatchCriteria        matchCriteria) throws InvalidParameterException
     {
-        if (matchProperties != null && matchProperties.getInstanceProperties() != null)
-        {
-            int matchingProperties = this.countMatchingPropertyValues(matchProperties, instanceProperties) +
-                                     this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties);
-
-            switch (matchCriteria)
-            {
-                case ALL:
-                    if (matchingProperties == matchProperties.getPropertyCount())
-                    {
-                        return true;
-                    }
-                    break;
-
-                case ANY:
-                    if (matchingProperties > 0)
-                    {
-                        return true;
-                    }
-                    break;
-
-                case NONE:
-                    if (matchingProperties == 0)
-                    {
-                        return true;
-                    }
-                    break;
-            }
-        }
-        else
-        {
-            return true;
-        }
-
-        return false;
+        return new OMRSMatchPropertiesMatcher(this, matchProperties, matchCriteria).matchesProperties(instanceHeader, instanceProperties);
     }
 
 
@@ -3942,139 +3753,12 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                         InstanceAuditHeader instanceHeader,
                                                         InstanceProperties  instanceProperties) throws InvalidParameterException
     {
-        final String methodName = "verifyMatchingInstancePropertyValues";
         if (matchProperties == null)
         {
             return true;
         }
-        List<PropertyCondition> conditions = matchProperties.getConditions();
-        int conditionMatchCount = 0;
-        for (PropertyCondition condition : conditions)
-        {
-            // Simplest way: this will also short-circuit to true immediately if nested conditions is null
-            boolean matchesNested = verifyMatchingInstancePropertyValues(condition.getNestedConditions(), instanceHeader, instanceProperties);
-            String propertyName = condition.getProperty();
-            InstancePropertyValue testValue = condition.getValue();
-            InstancePropertyValue actualValue = instanceProperties.getPropertyValue(propertyName);
-            boolean matchesProperties = true;
-            BigDecimal testBD = getNumericRepresentation(testValue);
-            BigDecimal actualBD = getNumericRepresentation(actualValue);
-            switch (condition.getOperator())
-            {
-                case EQ:
-                    matchesProperties = Objects.equals(actualValue, testValue);
-                    break;
-                case NEQ:
-                    matchesProperties = !Objects.equals(actualValue, testValue);
-                    break;
-                case LT:
-                    // Should only apply to numbers and dates
-                    matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) < 0);
-                    break;
-                case LTE:
-                    // Should only apply to numbers and dates
-                    matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) <= 0);
-                    break;
-                case GT:
-                    // Should only apply to numbers and dates
-                    matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) > 0);
-                    break;
-                case GTE:
-                    // Should only apply to numbers and dates
-                    matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) >= 0);
-                    break;
-                case IN:
-                    // The value to test against must be a list (ArrayPropertyValue)
-                    if (testValue instanceof ArrayPropertyValue)
-                    {
-                        ArrayPropertyValue apv = (ArrayPropertyValue) testValue;
-                        InstanceProperties values = apv.getArrayValues();
-                        if (values == null)
-                        {
-                            // Impossible to match against an empty list, so always return false
-                            matchesProperties = false;
-                        }
-                        else
-                        {
-                            Iterator<String> names = values.getPropertyNames();
-                            matchesProperties = false;
-                            while (names.hasNext() && !matchesProperties)
-                            {
-                                String index = names.next();
-                                InstancePropertyValue oneTestValue = values.getPropertyValue(index);
-                                if (oneTestValue != null)
-                                {
-                                    matchesProperties = oneTestValue.equals(actualValue);
-                                }
-                            }
-                        }
-                    }
-                    else
-                    {
-                        throw new InvalidParameterException(OMRSErrorCode.INVALID_LIST_CONDITION.getMessageDefinition(),
-                                                            this.getClass().getName(),
-                                                            methodName,
-                                                            "matchProperties");
-                    }
-                    break;
-                case IS_NULL:
-                    matchesProperties = (actualValue == null);
-                    break;
-                case NOT_NULL:
-                    matchesProperties = (actualValue != null);
-                    break;
-                case LIKE:
-                    // Should only apply to strings
-                    if (testValue instanceof PrimitivePropertyValue && ( (PrimitivePropertyValue) testValue).getPrimitiveDefCategory().equals(OM_PRIMITIVE_TYPE_STRING))
-                    {
-                        String test = testValue.valueAsString();
-                        if (actualValue == null)
-                        {
-                            matchesProperties = false;
-                        }
-                        else
-                        {
-                            String actual = actualValue.valueAsString();
-                            matchesProperties = actual.matches(test);
-                        }
-                    }
-                    else
-                    {
-                        throw new InvalidParameterException(OMRSErrorCode.INVALID_LIKE_CONDITION.getMessageDefinition(),
-                                                            this.getClass().getName(),
-                                                            methodName,
-                                                            "matchProperties");
-                    }
-                    break;
-                default:
-                    matchesProperties = true;
-                    break;
-            }
-            conditionMatchCount += (matchesNested && matchesProperties) ? 1 : 0;
-        }
-        // TODO: we may want to move this into the loop above to short-circuit (for performance)
-        switch (matchProperties.getMatchCriteria())
-        {
-            case ALL:
-                if (conditionMatchCount == conditions.size())
-                {
-                    return true;
-                }
-                break;
-            case ANY:
-                if (conditionMatchCount > 0)
-                {
-                    return true;
-                }
-                break;
-            case NONE:
-                if (conditionMatchCount == 0)
-                {
-                    return true;
-                }
-                break;
-        }
-        return false;
+
+        return new OMRSSearchConditionsMatcher(this, matchProperties, null).matchesProperties(instanceHeader, instanceProperties);
     }
 
 
@@ -4089,57 +3773,30 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
         {
             return true;
         }
-        List<ClassificationCondition> conditions = matchClassifications.getConditions();
-        if (conditions == null)
-        {
-            return true;
-        }
-        int matchingClassificationCount = 0;
-        List<Classification> classifications = entity.getClassifications();
-        for (ClassificationCondition condition : conditions)
-        {
-            String classificationName = condition.getName();
-            if (classificationName != null)
-            {
-                // Only attempt to match if a classification name has been provided: if not, we cannot match against
-                // the requested classification (as no definition of a classification has been provided that we should
-                // attempt to match against)
-                boolean isClassified = verifyEntityIsClassified(classificationName, entity);
-                SearchProperties properties = condition.getMatchProperties();
-                boolean classificationMatches = false;
-                for (Classification classification : classifications)
-                {
-                    if (classificationName.equals(classification.getName()))
-                    {
-                        classificationMatches = verifyMatchingInstancePropertyValues(properties, entity, classification.getProperties());
-                    }
-                }
-                matchingClassificationCount += (isClassified && classificationMatches) ? 1 : 0;
-            }
-        }
-        // TODO: we may want to move this into the loop above to short-circuit (for performance)
-        switch (matchClassifications.getMatchCriteria())
-        {
-            case ALL:
-                if (matchingClassificationCount == conditions.size())
-                {
-                    return true;
-                }
-                break;
-            case ANY:
-                if (matchingClassificationCount > 0)
-                {
-                    return true;
-                }
-                break;
-            case NONE:
-                if (matchingClassificationCount == 0)
-                {
-                    return true;
-                }
-                break;
-        }
-        return false;
+
+        return new OMRSSearchConditionsMatcher(this, null, matchClassifications).matchesClassifications(entity);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSInstanceMatcher getInstanceMatcher(InstanceProperties  matchProperties,
+                                                  MatchCriteria       matchCriteria)
+    {
+        return new OMRSMatchPropertiesMatcher(this, matchProperties, matchCriteria);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSInstanceMatcher getInstanceMatcher(SearchProperties       matchProperties,
+                                                  SearchClassifications  matchClassifications)
+    {
+        return new OMRSSearchConditionsMatcher(this, matchProperties, matchClassifications);
     }
 
 
@@ -4273,7 +3930,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                             if (stringProperty != null)
                             {
-                                if (stringProperty.matches(searchCriteria))
+                                if (OMRSSearchPattern.matches(stringProperty, searchCriteria))
                                 {
                                     return true;
                                 }
@@ -4287,7 +3944,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         String  enumValue = enumPropertyValue.getSymbolicName();
                         if (enumValue != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (OMRSSearchPattern.matches(enumValue, searchCriteria))
                             {
                                 return true;
                             }
@@ -0,0 +1,465 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.ClassificationCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceMatcher;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSSearchPattern;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING;
+
+/**
+ * OMRSSearchConditionsMatcher holds the property and classification conditions of a search in a form that is
+ * quick to test against each instance.  The values that do not depend on the instance - such as the numeric form
+ * of the values to compare with, the lists of values for IN conditions and the regular expressions for LIKE
+ * conditions - are worked out once when the matcher is created.  Errors in the conditions are reported when an
+ * instance is tested, as they were when the conditions were interpreted for each instance.
+ */
+class OMRSSearchConditionsMatcher implements OMRSInstanceMatcher
+{
+    private static final String matchPropertiesParameterName = "matchProperties";
+
+    private final OMRSRepositoryValidator       repositoryValidator;
+    private final CompiledSearchProperties      searchProperties;
+    private final List<CompiledClassification>  classificationConditions;
+    private final MatchCriteria                 classificationMatchCriteria;
+    private final int                           classificationConditionCount;
+
+
+    /**
+     * Constructor prepares the search conditions.
+     *
+     * @param repositoryValidator validator that provides the numeric representations of property values
+     * @param matchProperties property-based conditions to match (may be null)
+     * @param matchClassifications classification-based conditions to match (may be null)
+     */
+    OMRSSearchConditionsMatcher(OMRSRepositoryValidator repositoryValidator,
+                                SearchProperties        matchProperties,
+                                SearchClassifications   matchClassifications)
+    {
+        this.repositoryValidator = repositoryValidator;
+        this.searchProperties    = this.compileSearchProperties(matchProperties);
+
+        if ((matchClassifications == null) || (matchClassifications.getConditions() == null))
+        {
+            this.classificationConditions     = null;
+            this.classificationMatchCriteria  = null;
+            this.classificationConditionCount = 0;
+        }
+        else
+        {
+            this.classificationConditions     = new ArrayList<>();
+            this.classificationMatchCriteria  = matchClassifications.getMatchCriteria();
+            this.classificationConditionCount = matchClassifications.getConditions().size();
+
+            /*
+             * Conditions without a classification name can not match anything but they are still counted
+             * when all conditions must match.
+             */
+            for (ClassificationCondition condition : matchClassifications.getConditions())
+            {
+                if ((condition != null) && (condition.getName() != null))
+                {
+                    this.classificationConditions.add(new CompiledClassification(condition.getName(),
+                                                                                 this.compileSearchProperties(condition.getMatchProperties())));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Determine if the instance properties match the property conditions of the search.
+     *
+     * @param instanceHeader the header of the instance.
+     * @param instanceProperties the properties from the instance.
+     * @return boolean flag indicating whether the properties match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    @Override
+    public boolean matchesProperties(InstanceAuditHeader instanceHeader,
+                                     InstanceProperties  instanceProperties) throws InvalidParameterException
+    {
+        return this.matches(searchProperties, instanceProperties);
+    }
+
+
+    /**
+     * Determine if the classifications of an entity match the classification conditions of the search.
+     *
+     * @param entity the entity instance.
+     * @return boolean flag indicating whether the classifications match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    @Override
+    public boolean matchesClassifications(EntitySummary entity) throws InvalidParameterException
+    {
+        if (classificationConditions == null)
+        {
+            return true;
+        }
+
+        List<Classification> classifications = entity.getClassifications();
+        int                  matchCount      = 0;
+
+        for (CompiledClassification condition : classificationConditions)
+        {
+            boolean classificationMatches = false;
+
+            if (classifications != null)
+            {
+                for (Classification classification : classifications)
+                {
+                    if ((classification != null) && (condition.classificationName.equals(classification.getName())))
+                    {
+                        classificationMatches = this.matches(condition.matchProperties, classification.getProperties());
+                    }
+                }
+            }
+
+            matchCount += classificationMatches ? 1 : 0;
+        }
+
+        return this.meetsMatchCriteria(classificationMatchCriteria, matchCount, classificationConditionCount);
+    }
+
+
+    /**
+     * Prepare a set of property conditions.
+     *
+     * @param matchProperties property conditions
+     * @return compiled conditions or null if there are no conditions
+     */
+    private CompiledSearchProperties compileSearchProperties(SearchProperties   matchProperties)
+    {
+        if (matchProperties == null)
+        {
+            return null;
+        }
+
+        List<CompiledCondition> conditions = new ArrayList<>();
+
+        if (matchProperties.getConditions() != null)
+        {
+            for (PropertyCondition condition : matchProperties.getConditions())
+            {
+                if (condition != null)
+                {
+                    conditions.add(new CompiledCondition(condition));
+                }
+            }
+        }
+
+        return new CompiledSearchProperties(conditions, matchProperties.getMatchCriteria());
+    }
+
+
+    /**
+     * Test a set of property conditions against the properties of an instance.
+     *
+     * @param matchProperties compiled conditions (null means match anything)
+     * @param instanceProperties properties from the instance
+     * @return boolean flag
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean matches(CompiledSearchProperties  matchProperties,
+                            InstanceProperties        instanceProperties) throws InvalidParameterException
+    {
+        if (matchProperties == null)
+        {
+            return true;
+        }
+
+        int matchCount = 0;
+
+        for (CompiledCondition condition : matchProperties.conditions)
+        {
+            boolean matchesNested     = this.matches(condition.nestedConditions, instanceProperties);
+            boolean matchesProperties = condition.matches(instanceProperties);
+
+            if (matchesNested && matchesProperties)
+            {
+                matchCount++;
+            }
+        }
+
+        return this.meetsMatchCriteria(matchProperties.matchCriteria, matchCount, matchProperties.conditions.size());
+    }
+
+
+    /**
+     * Apply the match criteria to the number of conditions that match.
+     *
+     * @param matchCriteria rule on how the match should occur
+     * @param matchCount number of matching conditions
+     * @param conditionCount number of conditions
+     * @return boolean flag
+     */
+    private boolean meetsMatchCriteria(MatchCriteria  matchCriteria,
+                                       int            matchCount,
+                                       int            conditionCount)
+    {
+        if (matchCriteria != null)
+        {
+            switch (matchCriteria)
+            {
+                case ALL:
+                    return matchCount == conditionCount;
+
+                case ANY:
+                    return matchCount > 0;
+
+                case NONE:
+                    return matchCount == 0;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * A set of property conditions and how they are combined.
+     */
+    private static class CompiledSearchProperties
+    {
+        private final List<CompiledCondition> conditions;
+        private final MatchCriteria           matchCriteria;
+
+        /**
+         * Constructor.
+         *
+         * @param conditions compiled conditions
+         * @param matchCriteria rule on how the conditions are combined
+         */
+        CompiledSearchProperties(List<CompiledCondition>  conditions,
+                                 MatchCriteria            matchCriteria)
+        {
+            this.conditions    = conditions;
+            this.matchCriteria = matchCriteria;
+        }
+    }
+
+
+    /**
+     * The property conditions for a classification.
+     */
+    private static class CompiledClassification
+    {
+        private final String                    classificationName;
+        private final CompiledSearchProperties  matchProperties;
+
+        /**
+         * Constructor.
+         *
+         * @param classificationName name of the classification
+         * @param matchProperties compiled property conditions for the classification (null means match anything)
+         */
+        CompiledClassification(String                    classificationName,
+                               CompiledSearchProperties  matchProperties)
+        {
+            this.classificationName = classificationName;
+            this.matchProperties    = matchProperties;
+        }
+    }
+
+
+    /**
+     * A single property condition.
+     */
+    private class CompiledCondition
+    {
+        private final CompiledSearchProperties     nestedConditions;
+        private final String                       propertyName;
+        private final PropertyComparisonOperator   operator;
+        private final InstancePropertyValue        testValue;
+        private final BigDecimal                   numericTestValue;
+        private final List<InstancePropertyValue>  testValues;
+        private final OMRSSearchPattern            testPattern;
+        private final OMRSErrorCode                conditionError;
+
+
+        /**
+         * Constructor works out the parts of the condition that do not depend on the instance.
+         *
+         * @param condition property condition from the search
+         */
+        CompiledCondition(PropertyCondition   condition)
+        {
+            this.nestedConditions = compileSearchProperties(condition.getNestedConditions());
+            this.propertyName     = condition.getProperty();
+            this.operator         = condition.getOperator();
+            this.testValue        = condition.getValue();
+            this.numericTestValue = repositoryValidator.getNumericRepresentation(testValue);
+
+            List<InstancePropertyValue> inValues    = null;
+            OMRSSearchPattern           likePattern = null;
+            OMRSErrorCode               error       = null;
+
+            if (operator == PropertyComparisonOperator.IN)
+            {
+                if (testValue instanceof ArrayPropertyValue)
+                {
+                    InstanceProperties values = ((ArrayPropertyValue) testValue).getArrayValues();
+
+                    inValues = new ArrayList<>();
+
+                    if (values != null)
+                    {
+                        Iterator<String> names = values.getPropertyNames();
+
+                        while (names.hasNext())
+                        {
+                            InstancePropertyValue oneTestValue = values.getPropertyValue(names.next());
+
+                            if (oneTestValue != null)
+                            {
+                                inValues.add(oneTestValue);
+                            }
+                        }
+                    }
+                }
+                else
+                {
+                    error = OMRSErrorCode.INVALID_LIST_CONDITION;
+                }
+            }
+            else if (operator == PropertyComparisonOperator.LIKE)
+            {
+                if ((testValue instanceof PrimitivePropertyValue) &&
+                    (((PrimitivePropertyValue) testValue).getPrimitiveDefCategory().equals(OM_PRIMITIVE_TYPE_STRING)))
+                {
+                    likePattern = OMRSSearchPattern.getSearchPattern(testValue.valueAsString());
+                }
+                else
+                {
+                    error = OMRSErrorCode.INVALID_LIKE_CONDITION;
+                }
+            }
+
+            this.testValues     = inValues;
+            this.testPattern    = likePattern;
+            this.conditionError = error;
+        }
+
+
+        /**
+         * Test the condition against the properties of an instance.
+         *
+         * @param instanceProperties properties of the instance
+         * @return boolean flag
+         * @throws InvalidParameterException the condition is invalid
+         */
+        boolean matches(InstanceProperties   instanceProperties) throws InvalidParameterException
+        {
+            final String methodName = "verifyMatchingInstancePropertyValues";
+
+            if (conditionError != null)
+            {
+                throw new InvalidParameterException(conditionError.getMessageDefinition(),
+                                                    repositoryValidator.getClass().getName(),
+                                                    methodName,
+                                                    matchPropertiesParameterName);
+            }
+
+            if (operator == null)
+            {
+                return true;
+            }
+
+            InstancePropertyValue actualValue = null;
+
+            if (instanceProperties != null)
+            {
+                actualValue = instanceProperties.getPropertyValue(propertyName);
+            }
+
+            switch (operator)
+            {
+                case EQ:
+                    return Objects.equals(actualValue, testValue);
+
+                case NEQ:
+                    return ! Objects.equals(actualValue, testValue);
+
+                case LT:
+                case LTE:
+                case GT:
+                case GTE:
+                    return this.matchesNumeric(actualValue);
+
+                case IN:
+                    for (InstancePropertyValue oneTestValue : testValues)
+                    {
+                        if (oneTestValue.equals(actualValue))
+                        {
+                            return true;
+                        }
+                    }
+                    return false;
+
+                case IS_NULL:
+                    return actualValue == null;
+
+                case NOT_NULL:
+                    return actualValue != null;
+
+                case LIKE:
+                    return (actualValue != null) && (testPattern.matches(actualValue.valueAsString()));
+
+                default:
+                    return true;
+            }
+        }
+
+
+        /**
+         * Compare the numeric representation of an instance's value with the test value.  These comparisons
+         * only apply to numbers and dates.
+         *
+         * @param actualValue value from the instance
+         * @return boolean flag - false if either value is not numeric
+         */
+        private boolean matchesNumeric(InstancePropertyValue   actualValue)
+        {
+            BigDecimal numericActualValue = repositoryValidator.getNumericRepresentation(actualValue);
+
+            if ((numericActualValue == null) || (numericTestValue == null))
+            {
+                return false;
+            }
+
+            int comparison = numericActualValue.compareTo(numericTestValue);
+
+            switch (operator)
+            {
+                case LT:
+                    return comparison < 0;
+
+                case LTE:
+                    return comparison <= 0;
+
+                case GT:
+                    return comparison > 0;
+
+                default:
+                    return comparison >= 0;
+            }
+        }
+    }
+}
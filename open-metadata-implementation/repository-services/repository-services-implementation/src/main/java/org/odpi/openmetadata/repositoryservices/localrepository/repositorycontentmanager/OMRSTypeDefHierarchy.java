@@ -0,0 +1,342 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OMRSTypeDefHierarchy is an immutable snapshot of the inheritance relationships between a set of TypeDefs.
+ * Each TypeDef is given an ordinal and the hierarchy holds, for each TypeDef, the set of ordinals of the TypeDef
+ * and all of its subtypes.  This means testing whether one type is a subtype of another is a single bit test
+ * rather than a walk up the supertype chain.  The supertype chain and the full set of attributes (including the
+ * inherited attributes) are also evaluated once for each TypeDef.
+ *
+ * TypeDefs with a supertype chain that can not be resolved from the supplied TypeDefs are left out of the
+ * hierarchy.  The repository content manager processes these types (and reports the errors) as it did before.
+ * A new hierarchy is built by the repository content manager whenever its TypeDefs change.  Since the hierarchy
+ * is never changed once it is built, it can be used by many threads without locking.
+ */
+class OMRSTypeDefHierarchy
+{
+    private final Map<String, Integer>             typeNameOrdinals = new HashMap<>();
+    private final Map<String, Integer>             typeGUIDOrdinals = new HashMap<>();
+    private final TypeDef[]                        typeDefs;
+    private final BitSet[]                         subTypes;
+    private final List<TypeDefLink>[]              superTypes;
+    private final List<TypeDefAttribute>[]         attributes;
+    private final Map<String, TypeDefAttribute>[]  attributeNames;
+
+
+    /**
+     * Build the hierarchy for the supplied TypeDefs.
+     *
+     * @param knownTypeDefs TypeDefs to include in the hierarchy
+     */
+    @SuppressWarnings(value = "unchecked")
+    OMRSTypeDefHierarchy(Collection<TypeDef>   knownTypeDefs)
+    {
+        Map<String, TypeDef> knownTypeDefNames = new HashMap<>();
+
+        if (knownTypeDefs != null)
+        {
+            for (TypeDef typeDef : knownTypeDefs)
+            {
+                if ((typeDef != null) && (typeDef.getName() != null))
+                {
+                    knownTypeDefNames.put(typeDef.getName(), typeDef);
+                }
+            }
+        }
+
+        /*
+         * Work out the supertype chain for each TypeDef.  The TypeDefs with an incomplete chain are skipped.
+         */
+        List<TypeDef>             resolvedTypeDefs   = new ArrayList<>();
+        List<List<TypeDef>>       resolvedSuperTypes = new ArrayList<>();
+        List<List<TypeDefLink>>   resolvedLinks      = new ArrayList<>();
+
+        for (TypeDef typeDef : knownTypeDefNames.values())
+        {
+            List<TypeDef>     superTypeDefs  = new ArrayList<>();
+            List<TypeDefLink> superTypeLinks = new ArrayList<>();
+
+            if (this.resolveSuperTypes(typeDef, knownTypeDefNames, superTypeDefs, superTypeLinks))
+            {
+                resolvedTypeDefs.add(typeDef);
+                resolvedSuperTypes.add(superTypeDefs);
+                resolvedLinks.add(superTypeLinks);
+            }
+        }
+
+        int typeCount = resolvedTypeDefs.size();
+
+        typeDefs       = new TypeDef[typeCount];
+        subTypes       = new BitSet[typeCount];
+        superTypes     = new List[typeCount];
+        attributes     = new List[typeCount];
+        attributeNames = new Map[typeCount];
+
+        for (int ordinal = 0; ordinal < typeCount; ordinal++)
+        {
+            TypeDef typeDef = resolvedTypeDefs.get(ordinal);
+
+            typeDefs[ordinal] = typeDef;
+            subTypes[ordinal] = new BitSet(typeCount);
+
+            typeNameOrdinals.put(typeDef.getName(), ordinal);
+
+            if (typeDef.getGUID() != null)
+            {
+                typeGUIDOrdinals.put(typeDef.getGUID(), ordinal);
+            }
+        }
+
+        for (int ordinal = 0; ordinal < typeCount; ordinal++)
+        {
+            TypeDef typeDef = typeDefs[ordinal];
+
+            subTypes[ordinal].set(ordinal);
+
+            List<TypeDefAttribute> allAttributes = new ArrayList<>();
+
+            if (typeDef.getPropertiesDefinition() != null)
+            {
+                allAttributes.addAll(typeDef.getPropertiesDefinition());
+            }
+
+            for (TypeDef superTypeDef : resolvedSuperTypes.get(ordinal))
+            {
+                subTypes[typeNameOrdinals.get(superTypeDef.getName())].set(ordinal);
+
+                if (superTypeDef.getPropertiesDefinition() != null)
+                {
+                    allAttributes.addAll(superTypeDef.getPropertiesDefinition());
+                }
+            }
+
+            Map<String, TypeDefAttribute> allAttributeNames = new LinkedHashMap<>();
+
+            for (TypeDefAttribute attribute : allAttributes)
+            {
+                if ((attribute != null) && (attribute.getAttributeName() != null))
+                {
+                    allAttributeNames.put(attribute.getAttributeName(), attribute);
+                }
+            }
+
+            List<TypeDefLink> superTypeLinks = resolvedLinks.get(ordinal);
+
+            superTypes[ordinal]     = superTypeLinks.isEmpty() ? null : Collections.unmodifiableList(superTypeLinks);
+            attributes[ordinal]     = Collections.unmodifiableList(allAttributes);
+            attributeNames[ordinal] = Collections.unmodifiableMap(allAttributeNames);
+        }
+    }
+
+
+    /**
+     * Walk up the supertype chain of a TypeDef.
+     *
+     * @param typeDef TypeDef to start from
+     * @param knownTypeDefNames map of TypeDef names to TypeDefs
+     * @param superTypeDefs list to add the supertypes to - nearest first
+     * @param superTypeLinks list to add the links to the supertypes to - nearest first
+     * @return false if one of the supertypes is not known or the chain loops
+     */
+    private boolean resolveSuperTypes(TypeDef               typeDef,
+                                      Map<String, TypeDef>  knownTypeDefNames,
+                                      List<TypeDef>         superTypeDefs,
+                                      List<TypeDefLink>     superTypeLinks)
+    {
+        TypeDefLink superTypeLink = typeDef.getSuperType();
+
+        while (superTypeLink != null)
+        {
+            TypeDef superTypeDef = null;
+
+            if (superTypeLink.getName() != null)
+            {
+                superTypeDef = knownTypeDefNames.get(superTypeLink.getName());
+            }
+
+            if ((superTypeDef == null) || (superTypeDefs.size() >= knownTypeDefNames.size()))
+            {
+                return false;
+            }
+
+            superTypeDefs.add(superTypeDef);
+            superTypeLinks.add(superTypeLink);
+
+            superTypeLink = superTypeDef.getSuperType();
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return whether the named type is part of the hierarchy.
+     *
+     * @param typeName name of the type
+     * @return boolean flag
+     */
+    boolean isKnownTypeName(String   typeName)
+    {
+        return (typeName != null) && (typeNameOrdinals.containsKey(typeName));
+    }
+
+
+    /**
+     * Return the TypeDef that the hierarchy was built from for the named type.
+     *
+     * @param typeName name of the type
+     * @return TypeDef or null if the type is not part of the hierarchy
+     */
+    TypeDef getTypeDef(String   typeName)
+    {
+        Integer ordinal = this.getOrdinal(typeNameOrdinals, typeName);
+
+        if (ordinal == null)
+        {
+            return null;
+        }
+
+        return typeDefs[ordinal];
+    }
+
+
+    /**
+     * Test whether the actual type is the expected type or one of its subtypes.
+     *
+     * @param actualTypeName name of the type that is part of the hierarchy
+     * @param expectedTypeName name of the expected type
+     * @return boolean flag
+     */
+    boolean isTypeOf(String   actualTypeName,
+                     String   expectedTypeName)
+    {
+        return this.isSubType(this.getOrdinal(typeNameOrdinals, actualTypeName),
+                              this.getOrdinal(typeNameOrdinals, expectedTypeName));
+    }
+
+
+    /**
+     * Test whether the actual type is the expected type or one of its subtypes.
+     *
+     * @param actualTypeName name of the type that is part of the hierarchy
+     * @param expectedTypeGUID unique identifier of the expected type
+     * @return boolean flag
+     */
+    boolean isTypeOfByGUID(String   actualTypeName,
+                           String   expectedTypeGUID)
+    {
+        return this.isSubType(this.getOrdinal(typeNameOrdinals, actualTypeName),
+                              this.getOrdinal(typeGUIDOrdinals, expectedTypeGUID));
+    }
+
+
+    /**
+     * Return the links to the supertypes of the named type, nearest first.
+     *
+     * @param typeName name of the type that is part of the hierarchy
+     * @return unmodifiable list of links or null if the type is top-level
+     */
+    List<TypeDefLink> getSuperTypes(String   typeName)
+    {
+        Integer ordinal = this.getOrdinal(typeNameOrdinals, typeName);
+
+        if (ordinal == null)
+        {
+            return null;
+        }
+
+        return superTypes[ordinal];
+    }
+
+
+    /**
+     * Return the attributes of the named type, followed by the attributes inherited from its supertypes.
+     *
+     * @param typeName name of the type that is part of the hierarchy
+     * @return unmodifiable list of attributes
+     */
+    List<TypeDefAttribute> getAllAttributes(String   typeName)
+    {
+        Integer ordinal = this.getOrdinal(typeNameOrdinals, typeName);
+
+        if (ordinal == null)
+        {
+            return null;
+        }
+
+        return attributes[ordinal];
+    }
+
+
+    /**
+     * Return the attributes of the named type, including the attributes inherited from its supertypes,
+     * indexed by attribute name.
+     *
+     * @param typeName name of the type that is part of the hierarchy
+     * @return unmodifiable map of attribute names to attributes
+     */
+    Map<String, TypeDefAttribute> getAllAttributeNames(String   typeName)
+    {
+        Integer ordinal = this.getOrdinal(typeNameOrdinals, typeName);
+
+        if (ordinal == null)
+        {
+            return null;
+        }
+
+        return attributeNames[ordinal];
+    }
+
+
+    /**
+     * Look up the ordinal of a type.
+     *
+     * @param ordinals map of identifiers to ordinals
+     * @param identifier name or unique identifier of the type
+     * @return ordinal or null if not known
+     */
+    private Integer getOrdinal(Map<String, Integer>  ordinals,
+                               String                identifier)
+    {
+        if (identifier == null)
+        {
+            return null;
+        }
+
+        return ordinals.get(identifier);
+    }
+
+
+    /**
+     * Test whether one type is the same as, or a subtype of, another.
+     *
+     * @param actualOrdinal ordinal of the actual type
+     * @param expectedOrdinal ordinal of the expected type
+     * @return boolean flag
+     */
+    private boolean isSubType(Integer   actualOrdinal,
+                              Integer   expectedOrdinal)
+    {
+        if ((actualOrdinal == null) || (expectedOrdinal == null))
+        {
+            return false;
+        }
+
+        return subTypes[expectedOrdinal].get(actualOrdinal);
+    }
+}
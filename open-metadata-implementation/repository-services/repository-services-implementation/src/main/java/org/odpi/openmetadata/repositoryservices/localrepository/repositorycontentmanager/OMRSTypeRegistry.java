@@ -0,0 +1,391 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OMRSTypeRegistry is an immutable snapshot of the TypeDefs and AttributeTypeDefs cached by the
+ * OMRSRepositoryContentManager.  A change to the types creates a new snapshot that only copies the maps that
+ * change.  The content manager publishes the new snapshot in a single write so that request threads can read
+ * the types without locking and always see a consistent set of them.
+ *
+ * The type hierarchy and the instance types are derived from the TypeDefs in the snapshot.  They are built the first
+ * time they are needed and are discarded with the snapshot when the types change.
+ */
+class OMRSTypeRegistry
+{
+    private final Map<String, TypeDef>            knownTypeDefGUIDs;
+    private final Map<String, TypeDef>            knownTypeDefNames;
+    private final Map<String, AttributeTypeDef>   knownAttributeTypeDefGUIDs;
+    private final Map<String, AttributeTypeDef>   knownAttributeTypeDefNames;
+    private final Map<String, TypeDef>            activeTypeDefGUIDs;
+    private final Map<String, TypeDef>            activeTypeDefNames;
+    private final Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs;
+    private final Map<String, AttributeTypeDef>   activeAttributeTypeDefNames;
+
+    private final Map<String, InstanceType>       knownInstanceTypes = new ConcurrentHashMap<>();
+    private volatile OMRSTypeDefHierarchy         typeDefHierarchy   = null;
+
+
+    /**
+     * Constructor for an empty registry.
+     */
+    OMRSTypeRegistry()
+    {
+        this(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(),
+             new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+    }
+
+
+    /**
+     * Constructor is passed the maps of the new snapshot.  They must not be changed after this call.
+     *
+     * @param knownTypeDefGUIDs known TypeDefs by unique identifier
+     * @param knownTypeDefNames known TypeDefs by unique name
+     * @param knownAttributeTypeDefGUIDs known AttributeTypeDefs by unique identifier
+     * @param knownAttributeTypeDefNames known AttributeTypeDefs by unique name
+     * @param activeTypeDefGUIDs TypeDefs supported by the local repository by unique identifier
+     * @param activeTypeDefNames TypeDefs supported by the local repository by unique name
+     * @param activeAttributeTypeDefGUIDs AttributeTypeDefs supported by the local repository by unique identifier
+     * @param activeAttributeTypeDefNames AttributeTypeDefs supported by the local repository by unique name
+     */
+    private OMRSTypeRegistry(Map<String, TypeDef>            knownTypeDefGUIDs,
+                             Map<String, TypeDef>            knownTypeDefNames,
+                             Map<String, AttributeTypeDef>   knownAttributeTypeDefGUIDs,
+                             Map<String, AttributeTypeDef>   knownAttributeTypeDefNames,
+                             Map<String, TypeDef>            activeTypeDefGUIDs,
+                             Map<String, TypeDef>            activeTypeDefNames,
+                             Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs,
+                             Map<String, AttributeTypeDef>   activeAttributeTypeDefNames)
+    {
+        this.knownTypeDefGUIDs = Collections.unmodifiableMap(knownTypeDefGUIDs);
+        this.knownTypeDefNames = Collections.unmodifiableMap(knownTypeDefNames);
+        this.knownAttributeTypeDefGUIDs = Collections.unmodifiableMap(knownAttributeTypeDefGUIDs);
+        this.knownAttributeTypeDefNames = Collections.unmodifiableMap(knownAttributeTypeDefNames);
+        this.activeTypeDefGUIDs = Collections.unmodifiableMap(activeTypeDefGUIDs);
+        this.activeTypeDefNames = Collections.unmodifiableMap(activeTypeDefNames);
+        this.activeAttributeTypeDefGUIDs = Collections.unmodifiableMap(activeAttributeTypeDefGUIDs);
+        this.activeAttributeTypeDefNames = Collections.unmodifiableMap(activeAttributeTypeDefNames);
+    }
+
+
+    /**
+     * Return a new registry that includes the TypeDef.
+     *
+     * @param typeDef new or updated TypeDef
+     * @param isActive is the TypeDef supported by the local repository
+     * @return new registry
+     */
+    OMRSTypeRegistry withTypeDef(TypeDef   typeDef,
+                                 boolean   isActive)
+    {
+        Map<String, TypeDef> newActiveTypeDefGUIDs = activeTypeDefGUIDs;
+        Map<String, TypeDef> newActiveTypeDefNames = activeTypeDefNames;
+
+        if (isActive)
+        {
+            newActiveTypeDefGUIDs = this.copyAndPut(activeTypeDefGUIDs, typeDef.getGUID(), typeDef);
+            newActiveTypeDefNames = this.copyAndPut(activeTypeDefNames, typeDef.getName(), typeDef);
+        }
+
+        return new OMRSTypeRegistry(this.copyAndPut(knownTypeDefGUIDs, typeDef.getGUID(), typeDef),
+                                    this.copyAndPut(knownTypeDefNames, typeDef.getName(), typeDef),
+                                    knownAttributeTypeDefGUIDs,
+                                    knownAttributeTypeDefNames,
+                                    newActiveTypeDefGUIDs,
+                                    newActiveTypeDefNames,
+                                    activeAttributeTypeDefGUIDs,
+                                    activeAttributeTypeDefNames);
+    }
+
+
+    /**
+     * Return a new registry without the TypeDef.
+     *
+     * @param typeDefGUID unique identifier of the TypeDef
+     * @param typeDefName unique name of the TypeDef
+     * @param isActive should the TypeDef also be removed from the TypeDefs supported by the local repository
+     * @return new registry
+     */
+    OMRSTypeRegistry withoutTypeDef(String    typeDefGUID,
+                                    String    typeDefName,
+                                    boolean   isActive)
+    {
+        Map<String, TypeDef> newActiveTypeDefGUIDs = activeTypeDefGUIDs;
+        Map<String, TypeDef> newActiveTypeDefNames = activeTypeDefNames;
+
+        if (isActive)
+        {
+            newActiveTypeDefGUIDs = this.copyAndRemove(activeTypeDefGUIDs, typeDefGUID);
+            newActiveTypeDefNames = this.copyAndRemove(activeTypeDefNames, typeDefName);
+        }
+
+        return new OMRSTypeRegistry(this.copyAndRemove(knownTypeDefGUIDs, typeDefGUID),
+                                    this.copyAndRemove(knownTypeDefNames, typeDefName),
+                                    knownAttributeTypeDefGUIDs,
+                                    knownAttributeTypeDefNames,
+                                    newActiveTypeDefGUIDs,
+                                    newActiveTypeDefNames,
+                                    activeAttributeTypeDefGUIDs,
+                                    activeAttributeTypeDefNames);
+    }
+
+
+    /**
+     * Return a new registry that includes the AttributeTypeDef.
+     *
+     * @param attributeTypeDef new or updated AttributeTypeDef
+     * @param isActive is the AttributeTypeDef supported by the local repository
+     * @return new registry
+     */
+    OMRSTypeRegistry withAttributeTypeDef(AttributeTypeDef   attributeTypeDef,
+                                          boolean            isActive)
+    {
+        Map<String, AttributeTypeDef> newActiveAttributeTypeDefGUIDs = activeAttributeTypeDefGUIDs;
+        Map<String, AttributeTypeDef> newActiveAttributeTypeDefNames = activeAttributeTypeDefNames;
+
+        if (isActive)
+        {
+            newActiveAttributeTypeDefGUIDs = this.copyAndPut(activeAttributeTypeDefGUIDs, attributeTypeDef.getGUID(), attributeTypeDef);
+            newActiveAttributeTypeDefNames = this.copyAndPut(activeAttributeTypeDefNames, attributeTypeDef.getName(), attributeTypeDef);
+        }
+
+        /*
+         * The TypeDefs are unchanged so the type hierarchy and instance types are carried over.
+         */
+        OMRSTypeRegistry newRegistry = new OMRSTypeRegistry(knownTypeDefGUIDs,
+                                                            knownTypeDefNames,
+                                                            this.copyAndPut(knownAttributeTypeDefGUIDs, attributeTypeDef.getGUID(), attributeTypeDef),
+                                                            this.copyAndPut(knownAttributeTypeDefNames, attributeTypeDef.getName(), attributeTypeDef),
+                                                            activeTypeDefGUIDs,
+                                                            activeTypeDefNames,
+                                                            newActiveAttributeTypeDefGUIDs,
+                                                            newActiveAttributeTypeDefNames);
+
+        return newRegistry.withDerivedTypesOf(this);
+    }
+
+
+    /**
+     * Return a new registry without the AttributeTypeDef.
+     *
+     * @param attributeTypeDefGUID unique identifier of the AttributeTypeDef
+     * @param attributeTypeDefName unique name of the AttributeTypeDef
+     * @param isActive should the AttributeTypeDef also be removed from the AttributeTypeDefs supported by the
+     *                 local repository
+     * @return new registry
+     */
+    OMRSTypeRegistry withoutAttributeTypeDef(String    attributeTypeDefGUID,
+                                             String    attributeTypeDefName,
+                                             boolean   isActive)
+    {
+        Map<String, AttributeTypeDef> newActiveAttributeTypeDefGUIDs = activeAttributeTypeDefGUIDs;
+        Map<String, AttributeTypeDef> newActiveAttributeTypeDefNames = activeAttributeTypeDefNames;
+
+        if (isActive)
+        {
+            newActiveAttributeTypeDefGUIDs = this.copyAndRemove(activeAttributeTypeDefGUIDs, attributeTypeDefGUID);
+            newActiveAttributeTypeDefNames = this.copyAndRemove(activeAttributeTypeDefNames, attributeTypeDefName);
+        }
+
+        OMRSTypeRegistry newRegistry = new OMRSTypeRegistry(knownTypeDefGUIDs,
+                                                            knownTypeDefNames,
+                                                            this.copyAndRemove(knownAttributeTypeDefGUIDs, attributeTypeDefGUID),
+                                                            this.copyAndRemove(knownAttributeTypeDefNames, attributeTypeDefName),
+                                                            activeTypeDefGUIDs,
+                                                            activeTypeDefNames,
+                                                            newActiveAttributeTypeDefGUIDs,
+                                                            newActiveAttributeTypeDefNames);
+
+        return newRegistry.withDerivedTypesOf(this);
+    }
+
+
+    /**
+     * Return the known TypeDefs indexed by unique identifier.
+     *
+     * @return unmodifiable map
+     */
+    Map<String, TypeDef> getKnownTypeDefGUIDs()
+    {
+        return knownTypeDefGUIDs;
+    }
+
+
+    /**
+     * Return the known TypeDefs indexed by unique name.
+     *
+     * @return unmodifiable map
+     */
+    Map<String, TypeDef> getKnownTypeDefNames()
+    {
+        return knownTypeDefNames;
+    }
+
+
+    /**
+     * Return the known AttributeTypeDefs indexed by unique identifier.
+     *
+     * @return unmodifiable map
+     */
+    Map<String, AttributeTypeDef> getKnownAttributeTypeDefGUIDs()
+    {
+        return knownAttributeTypeDefGUIDs;
+    }
+
+
+    /**
+     * Return the known AttributeTypeDefs indexed by unique name.
+     *
+     * @return unmodifiable map
+     */
+    Map<String, AttributeTypeDef> getKnownAttributeTypeDefNames()
+    {
+        return knownAttributeTypeDefNames;
+    }
+
+
+    /**
+     * Return the TypeDefs supported by the local repository indexed by unique identifier.
+     *
+     * @return unmodifiable map
+     */
+    Map<String, TypeDef> getActiveTypeDefGUIDs()
+    {
+        return activeTypeDefGUIDs;
+    }
+
+
+    /**
+     * Return the TypeDefs supported by the local repository indexed by unique name.
+     *
+     * @return unmodifiable map
+     */
+    Map<String, TypeDef> getActiveTypeDefNames()
+    {
+        return activeTypeDefNames;
+    }
+
+
+    /**
+     * Return the AttributeTypeDefs supported by the local repository indexed by unique identifier.
+     *
+     * @return unmodifiable map
+     */
+    Map<String, AttributeTypeDef> getActiveAttributeTypeDefGUIDs()
+    {
+        return activeAttributeTypeDefGUIDs;
+    }
+
+
+    /**
+     * Return the AttributeTypeDefs supported by the local repository indexed by unique name.
+     *
+     * @return unmodifiable map
+     */
+    Map<String, AttributeTypeDef> getActiveAttributeTypeDefNames()
+    {
+        return activeAttributeTypeDefNames;
+    }
+
+
+    /**
+     * Return the instance types built from the TypeDefs of this registry, indexed by type name.  The instance types
+     * are added as they are first requested.
+     *
+     * @return thread-safe map
+     */
+    Map<String, InstanceType> getKnownInstanceTypes()
+    {
+        return knownInstanceTypes;
+    }
+
+
+    /**
+     * Return the hierarchy of the known TypeDefs.  It is built the first time it is needed.
+     *
+     * @return type hierarchy
+     */
+    OMRSTypeDefHierarchy getTypeDefHierarchy()
+    {
+        OMRSTypeDefHierarchy currentHierarchy = typeDefHierarchy;
+
+        if (currentHierarchy != null)
+        {
+            return currentHierarchy;
+        }
+
+        synchronized (this)
+        {
+            if (typeDefHierarchy == null)
+            {
+                typeDefHierarchy = new OMRSTypeDefHierarchy(knownTypeDefNames.values());
+            }
+
+            return typeDefHierarchy;
+        }
+    }
+
+
+    /**
+     * Reuse the type hierarchy and instance types of a registry with the same TypeDefs.
+     *
+     * @param previousRegistry registry that this registry was created from
+     * @return this registry
+     */
+    private OMRSTypeRegistry withDerivedTypesOf(OMRSTypeRegistry   previousRegistry)
+    {
+        typeDefHierarchy = previousRegistry.typeDefHierarchy;
+        knownInstanceTypes.putAll(previousRegistry.knownInstanceTypes);
+
+        return this;
+    }
+
+
+    /**
+     * Return a copy of a map with an extra entry.
+     *
+     * @param map original map
+     * @param key key of the entry
+     * @param value value of the entry
+     * @param <T> type of the values
+     * @return new map
+     */
+    private <T> Map<String, T> copyAndPut(Map<String, T>   map,
+                                          String           key,
+                                          T                value)
+    {
+        Map<String, T> newMap = new HashMap<>(map);
+
+        newMap.put(key, value);
+
+        return newMap;
+    }
+
+
+    /**
+     * Return a copy of a map without an entry.
+     *
+     * @param map original map
+     * @param key key of the entry
+     * @param <T> type of the values
+     * @return new map
+     */
+    private <T> Map<String, T> copyAndRemove(Map<String, T>   map,
+                                             String           key)
+    {
+        Map<String, T> newMap = new HashMap<>(map);
+
+        newMap.remove(key);
+
+        return newMap;
+    }
+}
@@ -0,0 +1,403 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate the loading of archive instances by OMRSArchiveManager: the splitting of batches between load
+ * threads, the naming of the load threads, the parsing of the archiveLoadThreads property and the handling of
+ * exceptions from the local repository.
+ */
+public class OMRSArchiveManagerTest
+{
+    private static final String archiveName = "TestArchive";
+    private static final String failingGUID = "failing-entity";
+
+
+    /**
+     * Exception thrown by the test instance processor.
+     */
+    private static class TestLoadException extends RuntimeException
+    {
+        TestLoadException(String message)
+        {
+            super(message);
+        }
+    }
+
+
+    /**
+     * Archive store that returns a fixed archive and configures the number of load threads.
+     */
+    private static class TestArchiveStore extends OpenMetadataArchiveStoreConnector
+    {
+        private final OpenMetadataArchive  archive;
+        private final ConnectionProperties connectionProperties;
+
+
+        /**
+         * Constructor
+         *
+         * @param archive archive to return
+         * @param loadThreads value for the archiveLoadThreads configuration property
+         */
+        TestArchiveStore(OpenMetadataArchive archive,
+                         Object              loadThreads)
+        {
+            Connection          connection              = new Connection();
+            Map<String, Object> configurationProperties = new HashMap<>();
+
+            configurationProperties.put("archiveLoadThreads", loadThreads);
+            connection.setConfigurationProperties(configurationProperties);
+
+            this.archive = archive;
+            this.connectionProperties = new ConnectionProperties(connection);
+        }
+
+
+        /**
+         * Return the connection with the configuration properties.
+         *
+         * @return connection properties
+         */
+        @Override
+        public ConnectionProperties getConnection()
+        {
+            return connectionProperties;
+        }
+
+
+        /**
+         * Return the archive.
+         *
+         * @return archive
+         */
+        @Override
+        public OpenMetadataArchive getArchiveContents()
+        {
+            return archive;
+        }
+
+
+        /**
+         * Not used.
+         *
+         * @param archiveContents ignored
+         */
+        @Override
+        public void setArchiveContents(OpenMetadataArchive archiveContents)
+        {
+        }
+    }
+
+
+    /**
+     * Return an audit log that discards its records.
+     *
+     * @return audit log
+     */
+    private AuditLog getAuditLog()
+    {
+        AuditLogDestination destination = new AuditLogDestination()
+        {
+            @Override
+            public void addLogRecord(AuditLogRecord logRecord)
+            {
+            }
+        };
+
+        return new AuditLog(destination, 1, "OMRSArchiveManagerTest", "Test", null);
+    }
+
+
+    /**
+     * Return an instance processor that records the thread that processes each new entity, and fails for the
+     * failing entity.
+     *
+     * @param threadNames names of the threads that processed entities
+     * @return instance processor
+     */
+    private OMRSInstanceEventProcessorInterface getInstanceProcessor(Set<String> threadNames)
+    {
+        return (OMRSInstanceEventProcessorInterface) Proxy.newProxyInstance(OMRSInstanceEventProcessorInterface.class.getClassLoader(),
+                                                                            new Class<?>[]{OMRSInstanceEventProcessorInterface.class},
+                                                                            (proxy, method, args) ->
+                                                                            {
+                                                                                if ("processNewEntityEvent".equals(method.getName()))
+                                                                                {
+                                                                                    EntityDetail entity = (EntityDetail) args[5];
+
+                                                                                    synchronized (threadNames)
+                                                                                    {
+                                                                                        threadNames.add(Thread.currentThread().getName());
+                                                                                    }
+
+                                                                                    if (failingGUID.equals(entity.getGUID()))
+                                                                                    {
+                                                                                        throw new TestLoadException(entity.getGUID());
+                                                                                    }
+                                                                                }
+
+                                                                                return null;
+                                                                            });
+    }
+
+
+    /**
+     * Return an archive with the requested entities.
+     *
+     * @param entityGUIDs GUIDs of the entities
+     * @return archive
+     */
+    private OpenMetadataArchive getArchive(List<String> entityGUIDs)
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID("test-archive-guid");
+        archiveProperties.setArchiveName(archiveName);
+        archiveProperties.setArchiveType(OpenMetadataArchiveType.CONTENT_PACK);
+        archiveProperties.setCreationDate(new Date());
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : entityGUIDs)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+            entities.add(entity);
+        }
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+
+        instanceStore.setEntities(entities);
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        return archive;
+    }
+
+
+    /**
+     * Return a list of entity GUIDs, with the failing entity at the requested position.
+     *
+     * @param count number of entities
+     * @param failingPosition position of the failing entity - or -1 for none
+     * @return list of GUIDs
+     */
+    private List<String> getEntityGUIDs(int count,
+                                        int failingPosition)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            guids.add((i == failingPosition) ? failingGUID : "entity-" + i);
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Load an archive through a new archive manager.
+     *
+     * @param archive archive to load
+     * @param loadThreads number of load threads
+     * @param threadNames names of the threads that processed entities
+     */
+    private void loadArchive(OpenMetadataArchive archive,
+                             Object              loadThreads,
+                             Set<String>         threadNames)
+    {
+        AuditLog           auditLog       = getAuditLog();
+        OMRSArchiveManager archiveManager = new OMRSArchiveManager(null, auditLog);
+
+        archiveManager.setLocalRepository(new OMRSRepositoryContentManager("testUser", auditLog),
+                                          getInstanceProcessor(threadNames));
+        archiveManager.addOpenMetadataArchive(new TestArchiveStore(archive, loadThreads), "test");
+    }
+
+
+    /**
+     * Without a partition key the batch is split into consecutive parts.
+     */
+    @Test
+    public void testPartitionWithoutKey()
+    {
+        List<List<String>> parts = OMRSArchiveManager.partitionInstances(Arrays.asList("a", "b", "c", "d", "e"), 2, null);
+
+        assertEquals(parts.size(), 2);
+        assertEquals(parts.get(0), Arrays.asList("a", "b", "c"));
+        assertEquals(parts.get(1), Arrays.asList("d", "e"));
+
+        assertTrue(OMRSArchiveManager.partitionInstances(Collections.<String>emptyList(), 2, null).isEmpty());
+    }
+
+
+    /**
+     * With a partition key, instances with the same key are in the same part and keep their order.
+     */
+    @Test
+    public void testPartitionByKey()
+    {
+        List<String> instances = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++)
+        {
+            instances.add("entity" + (i % 17) + ":" + i);
+        }
+
+        List<List<String>> parts = OMRSArchiveManager.partitionInstances(instances, 4, instance -> instance.substring(0, instance.indexOf(':')));
+
+        assertTrue(parts.size() <= 4);
+
+        Map<String, Integer> partForKey = new HashMap<>();
+        List<String>         allInstances = new ArrayList<>();
+
+        for (int partIndex = 0; partIndex < parts.size(); partIndex++)
+        {
+            int lastPosition = -1;
+
+            for (String instance : parts.get(partIndex))
+            {
+                String key      = instance.substring(0, instance.indexOf(':'));
+                int    position = Integer.parseInt(instance.substring(instance.indexOf(':') + 1));
+
+                Integer previousPart = partForKey.put(key, partIndex);
+
+                assertTrue((previousPart == null) || (previousPart == partIndex), "Key " + key + " is in two parts");
+                assertTrue(position > lastPosition, "Instances out of order in part " + partIndex);
+
+                lastPosition = position;
+                allInstances.add(instance);
+            }
+        }
+
+        assertEquals(allInstances.size(), instances.size());
+        assertEquals(new HashSet<>(allInstances), new HashSet<>(instances));
+    }
+
+
+    /**
+     * Instances loaded on several threads are all loaded, on threads with their own names.
+     */
+    @Test
+    public void testParallelLoad()
+    {
+        Set<String> threadNames = new HashSet<>();
+
+        loadArchive(getArchive(getEntityGUIDs(400, -1)), 4, threadNames);
+
+        assertTrue(! threadNames.isEmpty());
+
+        for (String threadName : threadNames)
+        {
+            assertTrue(threadName.matches("OMRSArchiveManager:" + archiveName + "-[1-4]"), "Unexpected thread name " + threadName);
+        }
+    }
+
+
+    /**
+     * The archiveLoadThreads property may be any number or a numeric string.  Other values are ignored and the
+     * archive is loaded on the calling thread.
+     */
+    @Test
+    public void testLoadThreadsProperty()
+    {
+        Object[] validValues   = { 4L, 4.0, "4", " 4 " };
+        Object[] invalidValues = { "many", "4.5", 0, -4, Long.MAX_VALUE, Boolean.TRUE };
+
+        for (Object value : validValues)
+        {
+            Set<String> threadNames = new HashSet<>();
+
+            loadArchive(getArchive(getEntityGUIDs(400, -1)), value, threadNames);
+
+            assertTrue(! threadNames.isEmpty());
+
+            for (String threadName : threadNames)
+            {
+                assertTrue(threadName.matches("OMRSArchiveManager:" + archiveName + "-[1-4]"), "Value " + value);
+            }
+        }
+
+        for (Object value : invalidValues)
+        {
+            Set<String> threadNames = new HashSet<>();
+
+            loadArchive(getArchive(getEntityGUIDs(10, -1)), value, threadNames);
+
+            assertEquals(threadNames, Collections.singleton(Thread.currentThread().getName()), "Value " + value);
+        }
+    }
+
+
+    /**
+     * An exception from the local repository is returned to the caller when the archive is loaded on the
+     * calling thread.
+     */
+    @Test
+    public void testSequentialLoadFailure()
+    {
+        try
+        {
+            loadArchive(getArchive(getEntityGUIDs(10, 5)), 1, new HashSet<>());
+            fail("TestLoadException expected");
+        }
+        catch (TestLoadException error)
+        {
+            assertEquals(error.getMessage(), failingGUID);
+        }
+    }
+
+
+    /**
+     * The same exception is returned to the caller when the archive is loaded on several threads.
+     */
+    @Test
+    public void testParallelLoadFailure()
+    {
+        try
+        {
+            loadArchive(getArchive(getEntityGUIDs(400, 250)), 4, new HashSet<>());
+            fail("TestLoadException expected");
+        }
+        catch (TestLoadException error)
+        {
+            assertEquals(error.getMessage(), failingGUID);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate the EnterpriseOMRSInstanceCache: the separation of users, the removal of changed entities, the refusal
+ * to save an entity retrieved while it changed, the time limit and the size limit.
+ */
+public class EnterpriseOMRSInstanceCacheTest
+{
+    private static final String userId      = "testUser";
+    private static final String otherUserId = "otherUser";
+    private static final String guid        = "entity-1";
+    private static final String otherGUID   = "entity-2";
+
+
+    /**
+     * Return an entity detail.
+     *
+     * @param guid unique identifier
+     * @param version version of the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return entity;
+    }
+
+
+    /**
+     * An entity is only returned to the users it was retrieved for, and a summary satisfies only summary requests.
+     */
+    @Test
+    public void testUsers()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache(10, 60000);
+
+        EntitySummary summary = new EntitySummary();
+
+        summary.setGUID(guid);
+        cache.putEntity(userId, summary, cache.getEntityGeneration());
+
+        assertNotNull(cache.getEntitySummary(userId, guid));
+        assertNull(cache.getEntityDetail(userId, guid));
+        assertNull(cache.getEntitySummary(otherUserId, guid));
+
+        cache.putEntity(otherUserId, getEntity(guid, 0), cache.getEntityGeneration());
+        cache.putEntity(userId, getEntity(guid, 0), cache.getEntityGeneration());
+
+        assertNotNull(cache.getEntityDetail(userId, guid));
+        assertNotNull(cache.getEntityDetail(otherUserId, guid));
+        assertEquals(cache.getHitCount(), 3L);
+        assertEquals(cache.getMissCount(), 2L);
+    }
+
+
+    /**
+     * An instance event for an entity removes it from the cache.
+     */
+    @Test
+    public void testInstanceEvent()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache(10, 60000);
+
+        cache.putEntity(userId, getEntity(guid, 0), cache.getEntityGeneration());
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity(guid, 0), getEntity(guid, 1)));
+
+        assertNull(cache.getEntityDetail(userId, guid));
+    }
+
+
+    /**
+     * An entity retrieved before a change is not saved after the change has been processed.
+     */
+    @Test
+    public void testStalePut()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache(10, 60000);
+
+        long generation = cache.getEntityGeneration();
+
+        cache.removeEntity(guid);
+        cache.putEntity(userId, getEntity(guid, 0), generation);
+
+        assertNull(cache.getEntityDetail(userId, guid));
+
+        cache.putEntity(userId, getEntity(guid, 1), cache.getEntityGeneration());
+
+        assertEquals(cache.getEntityDetail(userId, guid).getVersion(), 1L);
+    }
+
+
+    /**
+     * Removing one entity does not stop a different entity that was retrieved at the same time from being saved.
+     */
+    @Test
+    public void testUnrelatedRemoval()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache(10, 60000);
+
+        long generation = cache.getEntityGeneration();
+
+        cache.removeEntity(otherGUID);
+        cache.putEntity(userId, getEntity(guid, 0), generation);
+        cache.putEntity(userId, getEntity(otherGUID, 0), generation);
+
+        assertNotNull(cache.getEntityDetail(userId, guid));
+        assertNull(cache.getEntityDetail(userId, otherGUID));
+    }
+
+
+    /**
+     * Once the record of a removal has been dropped to keep the cache bounded, entities retrieved before that
+     * removal are not saved, whatever their key.
+     */
+    @Test
+    public void testRemovedKeyRetention()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache(1, 60000);
+
+        long firstGeneration = cache.getEntityGeneration();
+
+        cache.removeEntity(guid);
+
+        long secondGeneration = cache.getEntityGeneration();
+
+        cache.removeEntity(otherGUID);
+        cache.putEntity(userId, getEntity(guid, 0), firstGeneration);
+
+        assertNull(cache.getEntityDetail(userId, guid));
+
+        cache.putEntity(userId, getEntity(guid, 0), secondGeneration);
+
+        assertNotNull(cache.getEntityDetail(userId, guid));
+    }
+
+
+    /**
+     * A TypeDef retrieved before a TypeDef event is not saved after the event has been processed.
+     */
+    @Test
+    public void testStaleTypeDefPut()
+    {
+        EnterpriseOMRSInstanceCache cache   = new EnterpriseOMRSInstanceCache(10, 60000);
+        EntityDef                   typeDef = new EntityDef();
+
+        typeDef.setName("TestType");
+
+        long generation = cache.getTypeDefGeneration();
+
+        cache.clear();
+        cache.putTypeDef(userId, typeDef, generation);
+
+        assertNull(cache.getTypeDefByName(userId, "TestType"));
+
+        cache.putTypeDef(userId, typeDef, cache.getTypeDefGeneration());
+
+        assertNotNull(cache.getTypeDefByName(userId, "TestType"));
+    }
+
+
+    /**
+     * An expired entity is replaced rather than having a new user added to it, so it is not returned to either user.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testTimeToLive() throws Exception
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache(10, 50);
+
+        cache.putEntity(userId, getEntity(guid, 0), cache.getEntityGeneration());
+
+        Thread.sleep(100);
+
+        cache.putEntity(otherUserId, getEntity(guid, 0), cache.getEntityGeneration());
+
+        assertNotNull(cache.getEntityDetail(otherUserId, guid));
+        assertNull(cache.getEntityDetail(userId, guid));
+
+        Thread.sleep(100);
+
+        assertNull(cache.getEntityDetail(otherUserId, guid));
+    }
+
+
+    /**
+     * The least recently used entity is evicted when the cache is full.
+     */
+    @Test
+    public void testEviction()
+    {
+        EnterpriseOMRSInstanceCache cache = new EnterpriseOMRSInstanceCache(1, 60000);
+
+        cache.putEntity(userId, getEntity(guid, 0), cache.getEntityGeneration());
+        cache.putEntity(userId, getEntity(otherGUID, 0), cache.getEntityGeneration());
+
+        assertNull(cache.getEntityDetail(userId, guid));
+        assertNotNull(cache.getEntityDetail(userId, otherGUID));
+        assertTrue(cache.getEvictionCount() >= 1);
+    }
+}
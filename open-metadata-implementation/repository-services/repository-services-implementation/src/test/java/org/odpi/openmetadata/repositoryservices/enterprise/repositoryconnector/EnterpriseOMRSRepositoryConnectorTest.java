@@ -0,0 +1,147 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate the reading of the federation configuration properties of the EnterpriseOMRSRepositoryConnector.
+ */
+public class EnterpriseOMRSRepositoryConnectorTest
+{
+    /**
+     * Start a connector with the supplied configuration properties.  There is no connector manager so start
+     * fails once the configuration properties have been read.
+     *
+     * @param configurationProperties configuration properties
+     * @return connector
+     * @throws Exception problem in test
+     */
+    private EnterpriseOMRSRepositoryConnector startConnector(Map<String, Object> configurationProperties) throws Exception
+    {
+        Connection connection = new Connection();
+
+        connection.setConfigurationProperties(configurationProperties);
+
+        EnterpriseOMRSRepositoryConnector connector = new EnterpriseOMRSRepositoryConnector(null);
+
+        connector.initialize("test", new ConnectionProperties(connection));
+
+        try
+        {
+            connector.start();
+        }
+        catch (OMRSRuntimeException error)
+        {
+            /*
+             * Expected since there is no connector manager.
+             */
+        }
+
+        return connector;
+    }
+
+
+    /**
+     * Return the maximum number of worker threads of the federation executor.
+     *
+     * @param connector started connector
+     * @return pool size
+     */
+    private int getPoolSize(EnterpriseOMRSRepositoryConnector connector)
+    {
+        assertTrue(connector.getFederationExecutor() instanceof ThreadPoolExecutor);
+
+        return ((ThreadPoolExecutor) connector.getFederationExecutor()).getMaximumPoolSize();
+    }
+
+
+    /**
+     * Integer, long and string values are all accepted.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testNumericValues() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("maxParallelRequests", 4);
+        configurationProperties.put("federatedRequestTimeout", 5000L);
+
+        EnterpriseOMRSRepositoryConnector connector = startConnector(configurationProperties);
+
+        assertEquals(getPoolSize(connector), 4);
+        assertEquals(connector.getFederatedRequestTimeout(), 5000L);
+        connector.disconnect();
+
+        configurationProperties.put("maxParallelRequests", 6L);
+        configurationProperties.put("federatedRequestTimeout", " 7000 ");
+
+        connector = startConnector(configurationProperties);
+
+        assertEquals(getPoolSize(connector), 6);
+        assertEquals(connector.getFederatedRequestTimeout(), 7000L);
+        connector.disconnect();
+    }
+
+
+    /**
+     * Zero parallel requests means the requests are issued sequentially.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testSequentialRequests() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("maxParallelRequests", "0");
+
+        EnterpriseOMRSRepositoryConnector connector = startConnector(configurationProperties);
+
+        assertNull(connector.getFederationExecutor());
+        connector.disconnect();
+    }
+
+
+    /**
+     * Values that are negative, too large or not whole numbers are ignored and the defaults are used.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testInvalidValues() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put("maxParallelRequests", "many");
+        configurationProperties.put("federatedRequestTimeout", -1);
+
+        EnterpriseOMRSRepositoryConnector connector = startConnector(configurationProperties);
+
+        assertEquals(getPoolSize(connector), 10);
+        assertEquals(connector.getFederatedRequestTimeout(), 0L);
+        connector.disconnect();
+
+        configurationProperties.put("maxParallelRequests", 5000000000L);
+        configurationProperties.put("federatedRequestTimeout", "1.5");
+
+        connector = startConnector(configurationProperties);
+
+        assertEquals(getPoolSize(connector), 10);
+        assertEquals(connector.getFederatedRequestTimeout(), 0L);
+        connector.disconnect();
+    }
+}
@@ -0,0 +1,361 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstanceMatcher;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the matcher returned by OMRSRepositoryContentValidator for the match properties and match criteria
+ * of a find...ByProperty search gives the same answers as the interpretation of the match properties that the
+ * repository validator performed for each instance before they were compiled.  That interpretation is kept in
+ * this test as the reference.
+ */
+public class OMRSMatchPropertiesMatcherTest
+{
+    private final OMRSRepositoryContentValidator repositoryValidator = new OMRSRepositoryContentValidator(new OMRSRepositoryContentManager("testUser", null));
+
+
+    /**
+     * Test the match properties against the properties of an instance in the way the repository validator
+     * did before they were compiled.  There is no instance header.
+     *
+     * @param matchProperties the properties to match
+     * @param instanceProperties the properties from the instance
+     * @param matchCriteria rule on how the match should occur
+     * @return boolean flag
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean referenceMatchesProperties(InstanceProperties  matchProperties,
+                                               InstanceProperties  instanceProperties,
+                                               MatchCriteria       matchCriteria) throws InvalidParameterException
+    {
+        if ((matchProperties == null) || (matchProperties.getInstanceProperties() == null))
+        {
+            return true;
+        }
+
+        int matchingProperties = 0;
+
+        if (instanceProperties != null)
+        {
+            Iterator<String> matchPropertyNames = matchProperties.getPropertyNames();
+
+            while (matchPropertyNames.hasNext())
+            {
+                String                matchPropertyName        = matchPropertyNames.next();
+                InstancePropertyValue matchPropertyValue       = matchProperties.getPropertyValue(matchPropertyName);
+                String                matchPropertyValueString = repositoryValidator.getStringFromPropertyValue(matchPropertyValue);
+                InstancePropertyValue instancePropertyValue    = instanceProperties.getPropertyValue(matchPropertyName);
+
+                if (instancePropertyValue != null)
+                {
+                    InstancePropertyCategory category = instancePropertyValue.getInstancePropertyCategory();
+
+                    if (((category == InstancePropertyCategory.PRIMITIVE) &&
+                         (((PrimitivePropertyValue) instancePropertyValue).getPrimitiveDefCategory() != PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING)) ||
+                        (category == InstancePropertyCategory.ENUM))
+                    {
+                        matchingProperties += instancePropertyValue.equals(matchPropertyValue) ? 1 : 0;
+                    }
+                    else
+                    {
+                        if (category != InstancePropertyCategory.PRIMITIVE)
+                        {
+                            matchPropertyValueString = ".*" + matchPropertyValueString + ".*";
+                        }
+
+                        String instancePropertyValueString = repositoryValidator.getStringFromPropertyValue(instancePropertyValue);
+
+                        if (instancePropertyValueString != null)
+                        {
+                            try
+                            {
+                                matchingProperties += instancePropertyValueString.matches(matchPropertyValueString) ? 1 : 0;
+                            }
+                            catch (Throwable error)
+                            {
+                                throw new InvalidParameterException(OMRSErrorCode.INVALID_SEARCH_CRITERIA.getMessageDefinition(error.getClass().getName(),
+                                                                                                                               matchPropertyValueString,
+                                                                                                                               instancePropertyValueString,
+                                                                                                                               error.getMessage(),
+                                                                                                                               "countMatchingPropertyValues"),
+                                                                    this.getClass().getName(),
+                                                                    "countMatchingPropertyValues",
+                                                                    "instanceProperties");
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        switch (matchCriteria)
+        {
+            case ALL:
+                return matchingProperties == matchProperties.getPropertyCount();
+
+            case ANY:
+                return matchingProperties > 0;
+
+            case NONE:
+                return matchingProperties == 0;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Return a primitive property value.
+     *
+     * @param category primitive type
+     * @param value value
+     * @return property value
+     */
+    private PrimitivePropertyValue getPrimitive(PrimitiveDefCategory category,
+                                                Object               value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(category);
+        propertyValue.setPrimitiveValue(value);
+
+        return propertyValue;
+    }
+
+
+    /**
+     * Return a string property value.
+     *
+     * @param value value
+     * @return property value
+     */
+    private PrimitivePropertyValue getString(String value)
+    {
+        return getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, value);
+    }
+
+
+    /**
+     * Return an enum property value.
+     *
+     * @param ordinal ordinal of the enum
+     * @param symbolicName name of the enum
+     * @return property value
+     */
+    private EnumPropertyValue getEnum(int     ordinal,
+                                      String  symbolicName)
+    {
+        EnumPropertyValue enumValue = new EnumPropertyValue();
+
+        enumValue.setOrdinal(ordinal);
+        enumValue.setSymbolicName(symbolicName);
+
+        return enumValue;
+    }
+
+
+    /**
+     * Return an array property value.
+     *
+     * @param values values of the array
+     * @return property value
+     */
+    private ArrayPropertyValue getArray(InstancePropertyValue... values)
+    {
+        ArrayPropertyValue arrayValue = new ArrayPropertyValue();
+
+        arrayValue.setArrayCount(values.length);
+
+        for (int elementNumber = 0; elementNumber < values.length; elementNumber++)
+        {
+            arrayValue.setArrayValue(elementNumber, values[elementNumber]);
+        }
+
+        return arrayValue;
+    }
+
+
+    /**
+     * Return a set of properties.
+     *
+     * @param propertyNamesAndValues alternate names and values
+     * @return properties
+     */
+    private InstanceProperties getProperties(Object... propertyNamesAndValues)
+    {
+        InstanceProperties properties = new InstanceProperties();
+
+        for (int index = 0; index < propertyNamesAndValues.length; index = index + 2)
+        {
+            properties.setProperty((String) propertyNamesAndValues[index], (InstancePropertyValue) propertyNamesAndValues[index + 1]);
+        }
+
+        return properties;
+    }
+
+
+    /**
+     * Return the properties of the instances to test.
+     *
+     * @return list of instance properties
+     */
+    private List<InstanceProperties> getInstanceProperties()
+    {
+        return Arrays.asList(getProperties("name", getString("Customer"),
+                                           "count", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, 5),
+                                           "status", getEnum(1, "Active"),
+                                           "tags", getArray(getString("red"), getString("blue"))),
+                             getProperties("name", getString("Supplier"),
+                                           "count", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, 10),
+                                           "status", getEnum(2, "Retired")),
+                             getProperties("name", getString("a.b (customer)")),
+                             new InstanceProperties(),
+                             null);
+    }
+
+
+    /**
+     * Return the match properties to test.
+     *
+     * @return list of match properties
+     */
+    private List<InstanceProperties> getMatchPropertiesList()
+    {
+        return Arrays.asList(getProperties("name", getString("Customer")),
+                             getProperties("name", getString("Cust.*")),
+                             getProperties("name", getString(".*\\Q(customer)\\E")),
+                             getProperties("count", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, 5)),
+                             getProperties("status", getEnum(2, "Retired")),
+                             getProperties("tags", getString("blue")),
+                             getProperties("name", getString("Customer"), "count", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, 10)),
+                             getProperties("name", getString("S.*"), "status", getEnum(2, "Retired")),
+                             new InstanceProperties(),
+                             null);
+    }
+
+
+    /**
+     * Return the result of a test as text, or the class of the exception it threw, so that the results of
+     * the reference interpretation and the compiled matcher can be compared.
+     *
+     * @param test test to run
+     * @return result
+     */
+    private String getResult(Callable<Boolean> test)
+    {
+        try
+        {
+            return String.valueOf(test.call());
+        }
+        catch (Exception error)
+        {
+            return error.getClass().getName();
+        }
+    }
+
+
+    /**
+     * Each set of match properties gives the same result from the compiled matcher, and from the repository
+     * validator, as from the reference interpretation for each match criteria and instance.
+     */
+    @Test
+    public void testMatchesProperties()
+    {
+        int matchCount   = 0;
+        int noMatchCount = 0;
+
+        for (MatchCriteria matchCriteria : MatchCriteria.values())
+        {
+            for (InstanceProperties matchProperties : getMatchPropertiesList())
+            {
+                OMRSInstanceMatcher matcher = repositoryValidator.getInstanceMatcher(matchProperties, matchCriteria);
+
+                for (InstanceProperties instanceProperties : getInstanceProperties())
+                {
+                    String expectedResult = getResult(() -> referenceMatchesProperties(matchProperties, instanceProperties, matchCriteria));
+                    String actualResult   = getResult(() -> matcher.matchesProperties(null, instanceProperties));
+                    String verifyResult   = getResult(() -> repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                                                                     null,
+                                                                                                                     instanceProperties,
+                                                                                                                     matchCriteria));
+
+                    String message = matchCriteria + " of " + matchProperties + " on " + instanceProperties;
+
+                    assertEquals(actualResult, expectedResult, message);
+                    assertEquals(verifyResult, expectedResult, message);
+
+                    if (Boolean.TRUE.toString().equals(expectedResult))
+                    {
+                        matchCount++;
+                    }
+                    else if (Boolean.FALSE.toString().equals(expectedResult))
+                    {
+                        noMatchCount++;
+                    }
+                }
+            }
+        }
+
+        assertTrue(matchCount > 0);
+        assertTrue(noMatchCount > 0);
+    }
+
+
+    /**
+     * The count of matching properties is the same as the reference interpretation with the ANY criteria.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testCountMatchingPropertyValues() throws Exception
+    {
+        InstanceProperties matchProperties = getProperties("name", getString("Cust.*"), "status", getEnum(1, "Active"), "tags", getString("red"));
+
+        assertEquals(repositoryValidator.countMatchingPropertyValues(matchProperties, getInstanceProperties().get(0)), 3);
+        assertEquals(repositoryValidator.countMatchingPropertyValues(matchProperties, getInstanceProperties().get(1)), 0);
+        assertEquals(repositoryValidator.countMatchingPropertyValues(matchProperties, null), 0);
+        assertEquals(repositoryValidator.countMatchingPropertyValues(null, getInstanceProperties().get(0)), 0);
+    }
+
+
+    /**
+     * An invalid regular expression is reported when an instance with a string value is tested, by both
+     * interpretations.
+     */
+    @Test
+    public void testInvalidRegex()
+    {
+        InstanceProperties  matchProperties = getProperties("name", getString("[Customer"));
+        OMRSInstanceMatcher matcher         = repositoryValidator.getInstanceMatcher(matchProperties, MatchCriteria.ANY);
+
+        List<String> results = new ArrayList<>();
+
+        for (InstanceProperties instanceProperties : getInstanceProperties())
+        {
+            String expectedResult = getResult(() -> referenceMatchesProperties(matchProperties, instanceProperties, MatchCriteria.ANY));
+            String actualResult   = getResult(() -> matcher.matchesProperties(null, instanceProperties));
+
+            assertEquals(actualResult, expectedResult);
+            results.add(actualResult);
+        }
+
+        assertTrue(results.contains(InvalidParameterException.class.getName()));
+        assertTrue(results.contains(Boolean.FALSE.toString()));
+    }
+}
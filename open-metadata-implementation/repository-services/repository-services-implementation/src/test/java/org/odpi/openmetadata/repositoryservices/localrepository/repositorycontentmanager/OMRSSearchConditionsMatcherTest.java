@@ -0,0 +1,780 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.ClassificationCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that OMRSSearchConditionsMatcher gives the same answers as the interpretation of the search conditions
+ * that OMRSRepositoryContentValidator performed for each instance before the conditions were compiled.  That
+ * interpretation is kept in this test as the reference.  The conditions cover each comparison operator - including
+ * IN and LIKE - nested conditions and the ALL, ANY and NONE match criteria, for properties and classifications.
+ */
+public class OMRSSearchConditionsMatcherTest
+{
+    private final OMRSRepositoryContentValidator repositoryValidator = new OMRSRepositoryContentValidator(new OMRSRepositoryContentManager("testUser", null));
+
+
+    /*
+     * ===========================================================================================================
+     * Reference interpretation of the search conditions.
+     */
+
+    /**
+     * Test the property conditions of a search against the properties of an instance in the way the repository
+     * validator did before the conditions were compiled.
+     *
+     * @param matchProperties property conditions
+     * @param instanceProperties properties of the instance
+     * @return boolean flag
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean referenceMatchesProperties(SearchProperties    matchProperties,
+                                               InstanceProperties  instanceProperties) throws InvalidParameterException
+    {
+        final String methodName = "verifyMatchingInstancePropertyValues";
+
+        if (matchProperties == null)
+        {
+            return true;
+        }
+
+        List<PropertyCondition> conditions          = matchProperties.getConditions();
+        int                     conditionMatchCount = 0;
+
+        for (PropertyCondition condition : conditions)
+        {
+            boolean               matchesNested     = referenceMatchesProperties(condition.getNestedConditions(), instanceProperties);
+            String                propertyName      = condition.getProperty();
+            InstancePropertyValue testValue         = condition.getValue();
+            InstancePropertyValue actualValue       = instanceProperties.getPropertyValue(propertyName);
+            boolean               matchesProperties = true;
+            BigDecimal            testBD            = repositoryValidator.getNumericRepresentation(testValue);
+            BigDecimal            actualBD          = repositoryValidator.getNumericRepresentation(actualValue);
+
+            switch (condition.getOperator())
+            {
+                case EQ:
+                    matchesProperties = Objects.equals(actualValue, testValue);
+                    break;
+
+                case NEQ:
+                    matchesProperties = ! Objects.equals(actualValue, testValue);
+                    break;
+
+                case LT:
+                    matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) < 0);
+                    break;
+
+                case LTE:
+                    matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) <= 0);
+                    break;
+
+                case GT:
+                    matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) > 0);
+                    break;
+
+                case GTE:
+                    matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) >= 0);
+                    break;
+
+                case IN:
+                    if (testValue instanceof ArrayPropertyValue)
+                    {
+                        InstanceProperties values = ((ArrayPropertyValue) testValue).getArrayValues();
+
+                        matchesProperties = false;
+
+                        if (values != null)
+                        {
+                            Iterator<String> names = values.getPropertyNames();
+
+                            while (names.hasNext() && ! matchesProperties)
+                            {
+                                InstancePropertyValue oneTestValue = values.getPropertyValue(names.next());
+
+                                if (oneTestValue != null)
+                                {
+                                    matchesProperties = oneTestValue.equals(actualValue);
+                                }
+                            }
+                        }
+                    }
+                    else
+                    {
+                        throw new InvalidParameterException(OMRSErrorCode.INVALID_LIST_CONDITION.getMessageDefinition(),
+                                                            this.getClass().getName(),
+                                                            methodName,
+                                                            "matchProperties");
+                    }
+                    break;
+
+                case IS_NULL:
+                    matchesProperties = (actualValue == null);
+                    break;
+
+                case NOT_NULL:
+                    matchesProperties = (actualValue != null);
+                    break;
+
+                case LIKE:
+                    if ((testValue instanceof PrimitivePropertyValue) &&
+                        (((PrimitivePropertyValue) testValue).getPrimitiveDefCategory().equals(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING)))
+                    {
+                        matchesProperties = (actualValue != null) && (actualValue.valueAsString().matches(testValue.valueAsString()));
+                    }
+                    else
+                    {
+                        throw new InvalidParameterException(OMRSErrorCode.INVALID_LIKE_CONDITION.getMessageDefinition(),
+                                                            this.getClass().getName(),
+                                                            methodName,
+                                                            "matchProperties");
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+
+            conditionMatchCount += (matchesNested && matchesProperties) ? 1 : 0;
+        }
+
+        return referenceMeetsMatchCriteria(matchProperties.getMatchCriteria(), conditionMatchCount, conditions.size());
+    }
+
+
+    /**
+     * Test the classification conditions of a search against an entity in the way the repository validator did
+     * before the conditions were compiled.
+     *
+     * @param matchClassifications classification conditions
+     * @param entity entity to test
+     * @return boolean flag
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean referenceMatchesClassifications(SearchClassifications matchClassifications,
+                                                    EntitySummary         entity) throws InvalidParameterException
+    {
+        if ((matchClassifications == null) || (matchClassifications.getConditions() == null))
+        {
+            return true;
+        }
+
+        List<ClassificationCondition> conditions                  = matchClassifications.getConditions();
+        List<Classification>          classifications             = entity.getClassifications();
+        int                           matchingClassificationCount = 0;
+
+        for (ClassificationCondition condition : conditions)
+        {
+            String classificationName = condition.getName();
+
+            if (classificationName != null)
+            {
+                boolean isClassified          = false;
+                boolean classificationMatches = false;
+
+                /*
+                 * The repository validator failed with a NullPointerException for an entity without
+                 * classifications.  The matcher treats it as not matching the condition, as is done here.
+                 */
+                if (classifications != null)
+                {
+                    for (Classification classification : classifications)
+                    {
+                        if (classificationName.equals(classification.getName()))
+                        {
+                            isClassified = true;
+                            classificationMatches = referenceMatchesProperties(condition.getMatchProperties(), classification.getProperties());
+                        }
+                    }
+                }
+
+                matchingClassificationCount += (isClassified && classificationMatches) ? 1 : 0;
+            }
+        }
+
+        return referenceMeetsMatchCriteria(matchClassifications.getMatchCriteria(), matchingClassificationCount, conditions.size());
+    }
+
+
+    /**
+     * Apply the match criteria to the number of conditions that match.
+     *
+     * @param matchCriteria rule on how the match should occur
+     * @param matchCount number of matching conditions
+     * @param conditionCount number of conditions
+     * @return boolean flag
+     */
+    private boolean referenceMeetsMatchCriteria(MatchCriteria  matchCriteria,
+                                                int            matchCount,
+                                                int            conditionCount)
+    {
+        switch (matchCriteria)
+        {
+            case ALL:
+                return matchCount == conditionCount;
+
+            case ANY:
+                return matchCount > 0;
+
+            case NONE:
+                return matchCount == 0;
+        }
+
+        return false;
+    }
+
+
+    /*
+     * ===========================================================================================================
+     * Test data.
+     */
+
+    /**
+     * Return a primitive property value.
+     *
+     * @param category primitive type
+     * @param value value
+     * @return property value
+     */
+    private PrimitivePropertyValue getPrimitive(PrimitiveDefCategory category,
+                                                Object               value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(category);
+        propertyValue.setPrimitiveValue(value);
+
+        return propertyValue;
+    }
+
+
+    /**
+     * Return a string property value.
+     *
+     * @param value value
+     * @return property value
+     */
+    private PrimitivePropertyValue getString(String value)
+    {
+        return getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, value);
+    }
+
+
+    /**
+     * Return an integer property value.
+     *
+     * @param value value
+     * @return property value
+     */
+    private PrimitivePropertyValue getInt(int value)
+    {
+        return getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, value);
+    }
+
+
+    /**
+     * Return an array property value, as used by the IN operator.
+     *
+     * @param values values of the array
+     * @return property value
+     */
+    private ArrayPropertyValue getArray(InstancePropertyValue... values)
+    {
+        ArrayPropertyValue arrayValue = new ArrayPropertyValue();
+
+        arrayValue.setArrayCount(values.length);
+
+        for (int elementNumber = 0; elementNumber < values.length; elementNumber++)
+        {
+            arrayValue.setArrayValue(elementNumber, values[elementNumber]);
+        }
+
+        return arrayValue;
+    }
+
+
+    /**
+     * Return an enum property value.
+     *
+     * @param ordinal ordinal of the enum
+     * @param symbolicName name of the enum
+     * @return property value
+     */
+    private EnumPropertyValue getEnum(int     ordinal,
+                                      String  symbolicName)
+    {
+        EnumPropertyValue enumValue = new EnumPropertyValue();
+
+        enumValue.setOrdinal(ordinal);
+        enumValue.setSymbolicName(symbolicName);
+
+        return enumValue;
+    }
+
+
+    /**
+     * Return a property condition.
+     *
+     * @param propertyName name of the property
+     * @param operator comparison operator
+     * @param value value to compare with
+     * @return condition
+     */
+    private PropertyCondition getCondition(String                      propertyName,
+                                           PropertyComparisonOperator  operator,
+                                           InstancePropertyValue       value)
+    {
+        PropertyCondition condition = new PropertyCondition();
+
+        condition.setProperty(propertyName);
+        condition.setOperator(operator);
+        condition.setValue(value);
+
+        return condition;
+    }
+
+
+    /**
+     * Return a property condition that is satisfied when its nested conditions are satisfied.
+     *
+     * @param nestedConditions nested conditions
+     * @return condition
+     */
+    private PropertyCondition getNestedCondition(SearchProperties nestedConditions)
+    {
+        PropertyCondition condition = getCondition("name", PropertyComparisonOperator.NOT_NULL, null);
+
+        condition.setNestedConditions(nestedConditions);
+
+        return condition;
+    }
+
+
+    /**
+     * Return a set of property conditions.
+     *
+     * @param matchCriteria how the conditions are combined
+     * @param conditions conditions
+     * @return search properties
+     */
+    private SearchProperties getSearchProperties(MatchCriteria        matchCriteria,
+                                                 PropertyCondition... conditions)
+    {
+        SearchProperties searchProperties = new SearchProperties();
+
+        searchProperties.setMatchCriteria(matchCriteria);
+        searchProperties.setConditions(Arrays.asList(conditions));
+
+        return searchProperties;
+    }
+
+
+    /**
+     * Return the properties of the instances to test.
+     *
+     * @return list of instance properties
+     */
+    private List<InstanceProperties> getInstanceProperties()
+    {
+        List<InstanceProperties> instances = new ArrayList<>();
+
+        InstanceProperties customer = new InstanceProperties();
+        customer.setProperty("name", getString("Customer"));
+        customer.setProperty("count", getInt(5));
+        customer.setProperty("score", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DOUBLE, 2.5));
+        customer.setProperty("created", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DATE, 1000L));
+        customer.setProperty("status", getEnum(1, "Active"));
+        instances.add(customer);
+
+        InstanceProperties supplier = new InstanceProperties();
+        supplier.setProperty("name", getString("Supplier"));
+        supplier.setProperty("count", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_LONG, 10L));
+        supplier.setProperty("created", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DATE, 5000L));
+        supplier.setProperty("status", getEnum(2, "Retired"));
+        instances.add(supplier);
+
+        InstanceProperties special = new InstanceProperties();
+        special.setProperty("name", getString("a.b (customer)"));
+        special.setProperty("count", getInt(-3));
+        special.setProperty("score", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_FLOAT, 7.0f));
+        instances.add(special);
+
+        instances.add(new InstanceProperties());
+
+        return instances;
+    }
+
+
+    /**
+     * Return property conditions covering each operator, nesting and each match criteria.
+     *
+     * @return list of search properties
+     */
+    private List<SearchProperties> getSearchPropertiesList()
+    {
+        List<PropertyCondition> singleConditions = Arrays.asList(
+                getCondition("name", PropertyComparisonOperator.EQ, getString("Customer")),
+                getCondition("name", PropertyComparisonOperator.NEQ, getString("Customer")),
+                getCondition("status", PropertyComparisonOperator.EQ, getEnum(1, "Active")),
+                getCondition("count", PropertyComparisonOperator.EQ, getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_LONG, 10L)),
+                getCondition("count", PropertyComparisonOperator.LT, getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_LONG, 10L)),
+                getCondition("count", PropertyComparisonOperator.LTE, getInt(10)),
+                getCondition("count", PropertyComparisonOperator.GT, getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DOUBLE, 4.5)),
+                getCondition("count", PropertyComparisonOperator.GTE, getInt(5)),
+                getCondition("score", PropertyComparisonOperator.GT, getInt(2)),
+                getCondition("created", PropertyComparisonOperator.LT, getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DATE, 3000L)),
+                getCondition("name", PropertyComparisonOperator.GT, getString("A")),
+                getCondition("score", PropertyComparisonOperator.IS_NULL, null),
+                getCondition("score", PropertyComparisonOperator.NOT_NULL, null),
+                getCondition("name", PropertyComparisonOperator.IN, getArray(getString("Customer"), getString("Partner"))),
+                getCondition("count", PropertyComparisonOperator.IN, getArray(getInt(-3), getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_LONG, 10L))),
+                getCondition("name", PropertyComparisonOperator.IN, getArray()),
+                getCondition("name", PropertyComparisonOperator.IN, new ArrayPropertyValue()),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString("Cust.*")),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString(".*er")),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString(".*ustom.*")),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString("Supplier")),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString("\\QCustomer\\E")),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString("\\Qa.b\\E.*")),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString("(?i)customer")),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString(".*\\(customer\\)")),
+                getCondition("name", PropertyComparisonOperator.LIKE, getString("Customer|Supplier")),
+                getCondition("count", PropertyComparisonOperator.LIKE, getString("-?[0-9]")),
+                getCondition("status", PropertyComparisonOperator.LIKE, getString("Act.*")),
+                getCondition("score", PropertyComparisonOperator.LIKE, getString(".*")));
+
+        List<SearchProperties> searchPropertiesList = new ArrayList<>();
+
+        for (MatchCriteria matchCriteria : MatchCriteria.values())
+        {
+            for (PropertyCondition condition : singleConditions)
+            {
+                searchPropertiesList.add(getSearchProperties(matchCriteria, condition));
+            }
+
+            searchPropertiesList.add(getSearchProperties(matchCriteria,
+                                                         getCondition("name", PropertyComparisonOperator.LIKE, getString("Cust.*")),
+                                                         getCondition("count", PropertyComparisonOperator.GT, getInt(3)),
+                                                         getCondition("score", PropertyComparisonOperator.IS_NULL, null)));
+
+            searchPropertiesList.add(getSearchProperties(matchCriteria,
+                                                         getCondition("name", PropertyComparisonOperator.IN, getArray(getString("Supplier"))),
+                                                         getNestedCondition(getSearchProperties(MatchCriteria.ALL,
+                                                                                                getCondition("count", PropertyComparisonOperator.GTE, getInt(5)),
+                                                                                                getCondition("score", PropertyComparisonOperator.NOT_NULL, null)))));
+
+            searchPropertiesList.add(getSearchProperties(matchCriteria,
+                                                         getNestedCondition(getSearchProperties(MatchCriteria.NONE,
+                                                                                                getCondition("name", PropertyComparisonOperator.LIKE, getString(".*er")),
+                                                                                                getNestedCondition(getSearchProperties(MatchCriteria.ANY,
+                                                                                                                                       getCondition("count", PropertyComparisonOperator.LT, getInt(0)),
+                                                                                                                                       getCondition("status", PropertyComparisonOperator.EQ, getEnum(2, "Retired")))))),
+                                                         getCondition("created", PropertyComparisonOperator.NOT_NULL, null)));
+
+            searchPropertiesList.add(getSearchProperties(matchCriteria));
+        }
+
+        return searchPropertiesList;
+    }
+
+
+    /**
+     * Return the entities to test, each with a different set of classifications.
+     *
+     * @return list of entities
+     */
+    private List<EntitySummary> getEntities()
+    {
+        InstanceProperties confidentialityProperties = new InstanceProperties();
+        confidentialityProperties.setProperty("level", getInt(3));
+        confidentialityProperties.setProperty("steward", getString("Erin"));
+
+        Classification confidentiality = new Classification();
+        confidentiality.setName("Confidentiality");
+        confidentiality.setProperties(confidentialityProperties);
+
+        InstanceProperties lowConfidentialityProperties = new InstanceProperties();
+        lowConfidentialityProperties.setProperty("level", getInt(1));
+
+        Classification lowConfidentiality = new Classification();
+        lowConfidentiality.setName("Confidentiality");
+        lowConfidentiality.setProperties(lowConfidentialityProperties);
+
+        Classification memento = new Classification();
+        memento.setName("Memento");
+        memento.setProperties(new InstanceProperties());
+
+        List<List<Classification>> classificationLists = Arrays.asList(Arrays.asList(confidentiality, memento),
+                                                                        Collections.singletonList(lowConfidentiality),
+                                                                        Collections.singletonList(memento),
+                                                                        Collections.emptyList());
+
+        List<EntitySummary> entities = new ArrayList<>();
+
+        for (List<Classification> classifications : classificationLists)
+        {
+            EntitySummary entity = new EntitySummary();
+
+            entity.setClassifications(classifications);
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+
+    /**
+     * Return a classification condition.
+     *
+     * @param classificationName name of the classification
+     * @param matchProperties property conditions for the classification
+     * @return condition
+     */
+    private ClassificationCondition getClassificationCondition(String            classificationName,
+                                                               SearchProperties  matchProperties)
+    {
+        ClassificationCondition condition = new ClassificationCondition();
+
+        condition.setName(classificationName);
+        condition.setMatchProperties(matchProperties);
+
+        return condition;
+    }
+
+
+    /**
+     * Return classification conditions covering classification names, properties, nesting and each match criteria.
+     *
+     * @return list of search classifications
+     */
+    private List<SearchClassifications> getSearchClassificationsList()
+    {
+        List<List<ClassificationCondition>> conditionLists = Arrays.asList(
+                Collections.singletonList(getClassificationCondition("Confidentiality", null)),
+                Collections.singletonList(getClassificationCondition("Unknown", null)),
+                Collections.singletonList(getClassificationCondition(null, null)),
+                Collections.singletonList(getClassificationCondition("Confidentiality",
+                                                                     getSearchProperties(MatchCriteria.ALL,
+                                                                                         getCondition("level", PropertyComparisonOperator.GTE, getInt(2))))),
+                Collections.singletonList(getClassificationCondition("Confidentiality",
+                                                                     getSearchProperties(MatchCriteria.ANY,
+                                                                                         getCondition("steward", PropertyComparisonOperator.LIKE, getString("Er.*")),
+                                                                                         getCondition("level", PropertyComparisonOperator.IN, getArray(getInt(1), getInt(2)))))),
+                Collections.singletonList(getClassificationCondition("Confidentiality",
+                                                                     getSearchProperties(MatchCriteria.NONE,
+                                                                                         getNestedCondition(getSearchProperties(MatchCriteria.ALL,
+                                                                                                                                getCondition("level", PropertyComparisonOperator.GT, getInt(2)),
+                                                                                                                                getCondition("steward", PropertyComparisonOperator.NOT_NULL, null)))))),
+                Arrays.asList(getClassificationCondition("Confidentiality", null),
+                              getClassificationCondition("Memento", getSearchProperties(MatchCriteria.ALL))),
+                Arrays.asList(getClassificationCondition("Memento", null),
+                              getClassificationCondition(null, null)),
+                Collections.emptyList());
+
+        List<SearchClassifications> searchClassificationsList = new ArrayList<>();
+
+        for (MatchCriteria matchCriteria : MatchCriteria.values())
+        {
+            for (List<ClassificationCondition> conditions : conditionLists)
+            {
+                SearchClassifications searchClassifications = new SearchClassifications();
+
+                searchClassifications.setMatchCriteria(matchCriteria);
+                searchClassifications.setConditions(conditions);
+                searchClassificationsList.add(searchClassifications);
+            }
+        }
+
+        return searchClassificationsList;
+    }
+
+
+    /*
+     * ===========================================================================================================
+     * Tests.
+     */
+
+    /**
+     * Return the result of a test as text, or the class of the exception it threw, so that the results of
+     * the reference interpretation and the compiled matcher can be compared.
+     *
+     * @param test test to run
+     * @return result
+     */
+    private String getResult(Callable<Boolean> test)
+    {
+        try
+        {
+            return String.valueOf(test.call());
+        }
+        catch (Exception error)
+        {
+            return error.getClass().getName();
+        }
+    }
+
+
+    /**
+     * Each set of property conditions gives the same result from the compiled matcher as from the reference
+     * interpretation, for each instance.
+     */
+    @Test
+    public void testMatchesProperties()
+    {
+        int matchCount   = 0;
+        int noMatchCount = 0;
+        int errorCount   = 0;
+
+        for (SearchProperties searchProperties : getSearchPropertiesList())
+        {
+            OMRSSearchConditionsMatcher matcher = new OMRSSearchConditionsMatcher(repositoryValidator, searchProperties, null);
+
+            for (InstanceProperties instanceProperties : getInstanceProperties())
+            {
+                String expectedResult = getResult(() -> referenceMatchesProperties(searchProperties, instanceProperties));
+                String actualResult   = getResult(() -> matcher.matchesProperties(null, instanceProperties));
+
+                assertEquals(actualResult, expectedResult, "Conditions " + searchProperties + " on " + instanceProperties);
+
+                if (Boolean.TRUE.toString().equals(expectedResult))
+                {
+                    matchCount++;
+                }
+                else if (Boolean.FALSE.toString().equals(expectedResult))
+                {
+                    noMatchCount++;
+                }
+                else
+                {
+                    errorCount++;
+                }
+            }
+        }
+
+        assertTrue(matchCount > 0);
+        assertTrue(noMatchCount > 0);
+        assertTrue(errorCount == 0);
+    }
+
+
+    /**
+     * Invalid IN and LIKE conditions are reported when an instance is tested, by both interpretations.
+     */
+    @Test
+    public void testInvalidConditions()
+    {
+        List<SearchProperties> invalidConditions = Arrays.asList(
+                getSearchProperties(MatchCriteria.ANY, getCondition("name", PropertyComparisonOperator.IN, getString("Customer"))),
+                getSearchProperties(MatchCriteria.ALL, getCondition("count", PropertyComparisonOperator.LIKE, getInt(5))),
+                getSearchProperties(MatchCriteria.NONE, getNestedCondition(getSearchProperties(MatchCriteria.ALL,
+                                                                                                getCondition("name", PropertyComparisonOperator.LIKE, null)))));
+
+        for (SearchProperties searchProperties : invalidConditions)
+        {
+            OMRSSearchConditionsMatcher matcher = new OMRSSearchConditionsMatcher(repositoryValidator, searchProperties, null);
+
+            for (InstanceProperties instanceProperties : getInstanceProperties())
+            {
+                String expectedResult = getResult(() -> referenceMatchesProperties(searchProperties, instanceProperties));
+                String actualResult   = getResult(() -> matcher.matchesProperties(null, instanceProperties));
+
+                assertEquals(expectedResult, InvalidParameterException.class.getName());
+                assertEquals(actualResult, expectedResult);
+            }
+        }
+    }
+
+
+    /**
+     * Each set of classification conditions gives the same result from the compiled matcher as from the reference
+     * interpretation, for each entity.  The repository validator gives the same result too.
+     */
+    @Test
+    public void testMatchesClassifications()
+    {
+        int matchCount   = 0;
+        int noMatchCount = 0;
+
+        for (SearchClassifications searchClassifications : getSearchClassificationsList())
+        {
+            OMRSSearchConditionsMatcher matcher = new OMRSSearchConditionsMatcher(repositoryValidator, null, searchClassifications);
+
+            for (EntitySummary entity : getEntities())
+            {
+                String expectedResult  = getResult(() -> referenceMatchesClassifications(searchClassifications, entity));
+                String actualResult    = getResult(() -> matcher.matchesClassifications(entity));
+                String validatorResult = getResult(() -> repositoryValidator.verifyMatchingClassifications(searchClassifications, entity));
+
+                assertEquals(actualResult, expectedResult, "Conditions " + searchClassifications + " on " + entity.getClassifications());
+                assertEquals(validatorResult, expectedResult);
+
+                if (Boolean.TRUE.toString().equals(expectedResult))
+                {
+                    matchCount++;
+                }
+                else
+                {
+                    noMatchCount++;
+                }
+            }
+        }
+
+        assertTrue(matchCount > 0);
+        assertTrue(noMatchCount > 0);
+    }
+
+
+    /**
+     * A matcher with both property and classification conditions applies each set of conditions independently,
+     * and a matcher without conditions matches everything.
+     *
+     * @throws Exception problem in test
+     */
+    @Test
+    public void testCombinedAndEmptyMatchers() throws Exception
+    {
+        SearchProperties      searchProperties      = getSearchProperties(MatchCriteria.ALL,
+                                                                          getCondition("name", PropertyComparisonOperator.LIKE, getString("Cust.*")));
+        SearchClassifications searchClassifications = getSearchClassificationsList().get(0);
+
+        OMRSSearchConditionsMatcher combinedMatcher = new OMRSSearchConditionsMatcher(repositoryValidator, searchProperties, searchClassifications);
+        OMRSSearchConditionsMatcher emptyMatcher    = new OMRSSearchConditionsMatcher(repositoryValidator, null, null);
+
+        for (InstanceProperties instanceProperties : getInstanceProperties())
+        {
+            assertEquals(combinedMatcher.matchesProperties(null, instanceProperties),
+                         referenceMatchesProperties(searchProperties, instanceProperties));
+            assertTrue(emptyMatcher.matchesProperties(null, instanceProperties));
+        }
+
+        for (EntitySummary entity : getEntities())
+        {
+            assertEquals(combinedMatcher.matchesClassifications(entity),
+                         referenceMatchesClassifications(searchClassifications, entity));
+            assertTrue(emptyMatcher.matchesClassifications(entity));
+        }
+    }
+}
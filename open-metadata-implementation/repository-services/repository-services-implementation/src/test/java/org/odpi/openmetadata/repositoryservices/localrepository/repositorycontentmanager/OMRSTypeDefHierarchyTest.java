@@ -0,0 +1,114 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Validate the evaluation of the type hierarchy.
+ */
+public class OMRSTypeDefHierarchyTest
+{
+    private TypeDef getTypeDef(String    name,
+                               TypeDef   superType,
+                               String... propertyNames)
+    {
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setName(name);
+        typeDef.setGUID(name + "-guid");
+
+        if (superType != null)
+        {
+            TypeDefLink superTypeLink = new TypeDefLink();
+
+            superTypeLink.setGUID(superType.getGUID());
+            superTypeLink.setName(superType.getName());
+
+            typeDef.setSuperType(superTypeLink);
+        }
+
+        List<TypeDefAttribute> attributes = new ArrayList<>();
+
+        for (String propertyName : propertyNames)
+        {
+            TypeDefAttribute attribute = new TypeDefAttribute();
+
+            attribute.setAttributeName(propertyName);
+            attributes.add(attribute);
+        }
+
+        typeDef.setPropertiesDefinition(attributes);
+
+        return typeDef;
+    }
+
+
+    @Test
+    void testIsTypeOf()
+    {
+        TypeDef referenceable = getTypeDef("Referenceable", null, "qualifiedName");
+        TypeDef asset         = getTypeDef("Asset", referenceable, "name");
+        TypeDef dataSet       = getTypeDef("DataSet", asset);
+        TypeDef comment       = getTypeDef("Comment", null);
+
+        List<TypeDef> typeDefs = new ArrayList<>();
+
+        typeDefs.add(dataSet);
+        typeDefs.add(asset);
+        typeDefs.add(comment);
+        typeDefs.add(referenceable);
+
+        OMRSTypeDefHierarchy hierarchy = new OMRSTypeDefHierarchy(typeDefs);
+
+        assertTrue(hierarchy.isTypeOf("DataSet", "DataSet"));
+        assertTrue(hierarchy.isTypeOf("DataSet", "Asset"));
+        assertTrue(hierarchy.isTypeOf("DataSet", "Referenceable"));
+        assertFalse(hierarchy.isTypeOf("Asset", "DataSet"));
+        assertFalse(hierarchy.isTypeOf("Comment", "Referenceable"));
+        assertFalse(hierarchy.isTypeOf("DataSet", "UnknownType"));
+
+        assertTrue(hierarchy.isTypeOfByGUID("DataSet", "Referenceable-guid"));
+        assertFalse(hierarchy.isTypeOfByGUID("Referenceable", "DataSet-guid"));
+
+        List<TypeDefLink> superTypes = hierarchy.getSuperTypes("DataSet");
+
+        assertEquals(superTypes.size(), 2);
+        assertEquals(superTypes.get(0).getName(), "Asset");
+        assertEquals(superTypes.get(1).getName(), "Referenceable");
+        assertNull(hierarchy.getSuperTypes("Referenceable"));
+
+        Map<String, TypeDefAttribute> attributes = hierarchy.getAllAttributeNames("DataSet");
+
+        assertEquals(attributes.size(), 2);
+        assertTrue(attributes.containsKey("qualifiedName"));
+        assertTrue(attributes.containsKey("name"));
+        assertEquals(hierarchy.getAllAttributes("Asset").get(0).getAttributeName(), "name");
+    }
+
+
+    @Test
+    void testIncompleteHierarchy()
+    {
+        TypeDef referenceable = getTypeDef("Referenceable", null);
+        TypeDef asset         = getTypeDef("Asset", referenceable);
+
+        OMRSTypeDefHierarchy hierarchy = new OMRSTypeDefHierarchy(Collections.singletonList(asset));
+
+        assertFalse(hierarchy.isKnownTypeName("Asset"));
+        assertFalse(hierarchy.isTypeOf("Asset", "Referenceable"));
+        assertNull(hierarchy.getTypeDef("Asset"));
+        assertFalse(hierarchy.isKnownTypeName(null));
+    }
+}
@@ -0,0 +1,101 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Validate that changes to the type registry create new snapshots and leave the existing ones unchanged.
+ */
+public class OMRSTypeRegistryTest
+{
+    private TypeDef getTypeDef(String    name,
+                               TypeDef   superType)
+    {
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setName(name);
+        typeDef.setGUID(name + "-guid");
+
+        if (superType != null)
+        {
+            TypeDefLink superTypeLink = new TypeDefLink();
+
+            superTypeLink.setGUID(superType.getGUID());
+            superTypeLink.setName(superType.getName());
+
+            typeDef.setSuperType(superTypeLink);
+        }
+
+        return typeDef;
+    }
+
+
+    @Test
+    void testTypeDefChanges()
+    {
+        TypeDef referenceable = getTypeDef("Referenceable", null);
+        TypeDef asset         = getTypeDef("Asset", referenceable);
+
+        OMRSTypeRegistry emptyRegistry = new OMRSTypeRegistry();
+        OMRSTypeRegistry registry      = emptyRegistry.withTypeDef(referenceable, true).withTypeDef(asset, false);
+
+        assertTrue(emptyRegistry.getKnownTypeDefNames().isEmpty());
+        assertSame(registry.getKnownTypeDefGUIDs().get("Asset-guid"), asset);
+        assertSame(registry.getActiveTypeDefNames().get("Referenceable"), referenceable);
+        assertNull(registry.getActiveTypeDefNames().get("Asset"));
+        assertTrue(registry.getTypeDefHierarchy().isTypeOf("Asset", "Referenceable"));
+
+        registry.getKnownInstanceTypes().put("Asset", new InstanceType());
+
+        OMRSTypeRegistry removedRegistry = registry.withoutTypeDef("Asset-guid", "Asset", false);
+
+        assertNull(removedRegistry.getKnownTypeDefNames().get("Asset"));
+        assertFalse(removedRegistry.getTypeDefHierarchy().isKnownTypeName("Asset"));
+        assertTrue(removedRegistry.getKnownInstanceTypes().isEmpty());
+
+        assertSame(registry.getKnownTypeDefNames().get("Asset"), asset);
+        assertTrue(registry.getTypeDefHierarchy().isKnownTypeName("Asset"));
+    }
+
+
+    @Test
+    void testAttributeTypeDefChanges()
+    {
+        TypeDef          referenceable = getTypeDef("Referenceable", null);
+        AttributeTypeDef string        = new PrimitiveDef();
+
+        string.setName("string");
+        string.setGUID("string-guid");
+
+        OMRSTypeRegistry registry = new OMRSTypeRegistry().withTypeDef(referenceable, true);
+
+        OMRSTypeDefHierarchy hierarchy = registry.getTypeDefHierarchy();
+
+        registry.getKnownInstanceTypes().put("Referenceable", new InstanceType());
+
+        OMRSTypeRegistry newRegistry = registry.withAttributeTypeDef(string, true);
+
+        assertSame(newRegistry.getActiveAttributeTypeDefGUIDs().get("string-guid"), string);
+        assertNull(registry.getKnownAttributeTypeDefNames().get("string"));
+        assertSame(newRegistry.getTypeDefHierarchy(), hierarchy);
+        assertNotNull(newRegistry.getKnownInstanceTypes().get("Referenceable"));
+
+        assertTrue(newRegistry.withoutAttributeTypeDef("string-guid", "string", true).getActiveAttributeTypeDefNames().isEmpty());
+    }
+
+
+    @Test (expectedExceptions = UnsupportedOperationException.class)
+    void testMapsAreUnmodifiable()
+    {
+        new OMRSTypeRegistry().getKnownTypeDefNames().put("Referenceable", getTypeDef("Referenceable", null));
+    }
+}
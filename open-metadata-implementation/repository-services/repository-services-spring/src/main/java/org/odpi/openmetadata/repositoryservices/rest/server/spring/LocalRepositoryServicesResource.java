@@ -695,6 +695,31 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  Entities that are not known,
+     * are only stored as proxies, or can not be retrieved for this user are omitted from the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return EntityListResponse:
+     * list of the entities that were found, in the order of the supplied GUIDs or
+     * InvalidParameterException one of the guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support retrieving many entities at once or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-guids")
+
+    public EntityListResponse getEntityDetails(@PathVariable String            serverName,
+                                               @PathVariable String            userId,
+                                               @RequestBody  GUIDListRequest   guids)
+    {
+        return restAPI.getEntityDetails(serverName, userId, guids);
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -2820,4 +2845,39 @@ public class LocalRepositoryServicesResource
     {
         return restAPI.saveInstanceReferenceCopies(serverName, userId, instances);
     }
+
+
+    /**
+     * Create the entities and relationships supplied in the instance graph as new instances.  Relationships
+     * that refer to entities in the graph are connected to the newly created entities.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param instances template instances to create
+     * @return InstanceGraphResponse:
+     * the newly created entities and relationships or
+     * InvalidParameterException one of the instances has no type or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored or
+     * TypeErrorException the requested type is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection or
+     * PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the instance's type or
+     * ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for an entity type or
+     * StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       the requested status or
+     * EntityNotKnownException one of the entities identified by a relationship is not found in the
+     *                                   metadata collection or
+     * FunctionNotSupportedException the repository does not support maintenance of metadata or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/new")
+
+    public InstanceGraphResponse addInstances(@PathVariable String                 serverName,
+                                              @PathVariable String                 userId,
+                                              @RequestBody  InstanceGraphRequest   instances)
+    {
+        return restAPI.addInstances(serverName, userId, instances);
+    }
 }